@@ -36,6 +36,7 @@ public class EventDissector
     private static final NakFlyweight NAK_HEADER = new NakFlyweight();
     private static final SetupFlyweight SETUP_HEADER = new SetupFlyweight();
     private static final RttMeasurementFlyweight RTT_MEASUREMENT = new RttMeasurementFlyweight();
+    private static final FecFlyweight FEC_HEADER = new FecFlyweight();
     private static final PublicationMessageFlyweight PUB_MSG = new PublicationMessageFlyweight();
     private static final SubscriptionMessageFlyweight SUB_MSG = new SubscriptionMessageFlyweight();
     private static final PublicationBuffersReadyFlyweight PUB_READY = new PublicationBuffersReadyFlyweight();
@@ -91,6 +92,12 @@ public class EventDissector
                 builder.append(dissect(rttMeasurementFlyweight));
                 break;
 
+            case HeaderFlyweight.HDR_TYPE_FEC:
+                final FecFlyweight fecFrame = FEC_HEADER;
+                fecFrame.wrap(buffer, frameOffset, buffer.capacity() - frameOffset);
+                builder.append(dissect(fecFrame));
+                break;
+
             default:
                 builder.append("FRAME_UNKNOWN");
                 break;
@@ -306,6 +313,20 @@ public class EventDissector
             msg.length());
     }
 
+    private static String dissect(final FecFlyweight msg)
+    {
+        return String.format(
+            "FEC 0x%x len %d %d:%d:%d @%x %d %d",
+            msg.flags(),
+            msg.frameLength(),
+            msg.sessionId(),
+            msg.streamId(),
+            msg.termId(),
+            msg.termOffset(),
+            msg.datagramCount(),
+            msg.parityLength());
+    }
+
     private static String dissect(final SetupFlyweight msg)
     {
         return String.format(
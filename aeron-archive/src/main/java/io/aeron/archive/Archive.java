@@ -174,6 +174,9 @@ public final class Archive implements AutoCloseable
         public static final String REPLAY_FRAGMENT_LIMIT_PROP_NAME = "aeron.archive.replay.fragment.limit";
         public static final int REPLAY_FRAGMENT_LIMIT_DEFAULT = 16;
 
+        public static final String REPLAY_BLOCK_LENGTH_PROP_NAME = "aeron.archive.replay.block.length";
+        public static final int REPLAY_BLOCK_LENGTH_DEFAULT = 64 * 1024;
+
         private static final String CONTROLLABLE_IDLE_STRATEGY = "org.agrona.concurrent.ControllableIdleStrategy";
 
         public static String archiveDirName()
@@ -248,6 +251,11 @@ public final class Archive implements AutoCloseable
         {
             return Integer.getInteger(REPLAY_FRAGMENT_LIMIT_PROP_NAME, REPLAY_FRAGMENT_LIMIT_DEFAULT);
         }
+
+        public static int replayBlockLength()
+        {
+            return Integer.getInteger(REPLAY_BLOCK_LENGTH_PROP_NAME, REPLAY_BLOCK_LENGTH_DEFAULT);
+        }
     }
 
     /**
@@ -208,6 +208,59 @@ class RecordingFragmentReader implements AutoCloseable
         return polled;
     }
 
+    int controlledBlockPoll(
+        final SimplifiedControlledBlockHandler blockHandler, final int fragmentLimit, final int blockLengthLimit)
+        throws IOException
+    {
+        if (isDone() || noAvailableData())
+        {
+            return 0;
+        }
+
+        if (termOffset == termLength)
+        {
+            termOffset = 0;
+            nextTerm();
+        }
+
+        final long availableLength = stopPosition - replayPosition;
+        final int lengthLimit = (int)Math.min(availableLength, termLength - termOffset);
+        final long replayRemaining = replayLimit - replayPosition;
+        int blockLength = 0;
+        int polled = 0;
+
+        while (polled < fragmentLimit && blockLength < replayRemaining)
+        {
+            final int frameLength = FrameDescriptor.frameLength(termBuffer, termOffset + blockLength);
+            final int alignedLength = BitUtil.align(frameLength, FRAME_ALIGNMENT);
+
+            if (blockLength + alignedLength > lengthLimit ||
+                (polled > 0 && blockLength + alignedLength > blockLengthLimit))
+            {
+                break;
+            }
+
+            blockLength += alignedLength;
+            polled++;
+        }
+
+        if (0 == polled || !blockHandler.onBlock(termBuffer, termOffset, blockLength))
+        {
+            return 0;
+        }
+
+        replayPosition += blockLength;
+        termOffset += blockLength;
+
+        if (replayLimit <= replayPosition)
+        {
+            isDone = true;
+            closeRecordingSegment();
+        }
+
+        return polled;
+    }
+
     private boolean noAvailableData()
     {
         return recordingPosition != null &&
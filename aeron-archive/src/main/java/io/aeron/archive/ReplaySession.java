@@ -20,9 +20,6 @@ import io.aeron.Publication;
 import io.aeron.archive.ArchiveConductor.ReplayPublicationSupplier;
 import io.aeron.archive.codecs.ControlResponseCode;
 import io.aeron.archive.codecs.RecordingDescriptorDecoder;
-import io.aeron.logbuffer.ExclusiveBufferClaim;
-import io.aeron.logbuffer.FrameDescriptor;
-import io.aeron.protocol.DataHeaderFlyweight;
 import org.agrona.CloseHelper;
 import org.agrona.LangUtil;
 import org.agrona.concurrent.EpochClock;
@@ -33,10 +30,6 @@ import java.io.File;
 
 import static io.aeron.archive.Catalog.NULL_POSITION;
 import static io.aeron.archive.Catalog.wrapDescriptorDecoder;
-import static io.aeron.logbuffer.FrameDescriptor.frameFlags;
-import static io.aeron.logbuffer.FrameDescriptor.frameType;
-import static io.aeron.protocol.DataHeaderFlyweight.RESERVED_VALUE_OFFSET;
-import static java.nio.ByteOrder.LITTLE_ENDIAN;
 
 /**
  * A replay session with a client which works through the required request response flow and streaming of recorded data.
@@ -47,11 +40,11 @@ import static java.nio.ByteOrder.LITTLE_ENDIAN;
  * <li>Wait for replay subscription to connect to the requested replay publication. If no subscription appears within
  * {@link #CONNECT_TIMEOUT_MS} the session will terminate and respond will error.</li>
  * <li>Once the replay publication is connected send an OK response to control client</li>
- * <li>Stream recorded data into the replayPublication {@link ExclusivePublication}</li>
+ * <li>Stream recorded data into the replayPublication {@link ExclusivePublication} in blocks of frames</li>
  * <li>If the replay is aborted part way through, send a ReplayAborted message and terminate.</li>
  * </ul>
  */
-class ReplaySession implements Session, SimplifiedControlledFragmentHandler
+class ReplaySession implements Session, SimplifiedControlledBlockHandler
 {
     enum State
     {
@@ -64,11 +57,11 @@ class ReplaySession implements Session, SimplifiedControlledFragmentHandler
     static final long CONNECT_TIMEOUT_MS = 5000;
 
     private static final int REPLAY_FRAGMENT_LIMIT = Archive.Configuration.replayFragmentLimit();
+    private static final int REPLAY_BLOCK_LENGTH = Archive.Configuration.replayBlockLength();
 
     private long connectDeadlineMs;
     private final long replaySessionId;
     private final long correlationId;
-    private final ExclusiveBufferClaim bufferClaim = new ExclusiveBufferClaim();
     private final ExclusivePublication replayPublication;
     private final RecordingFragmentReader cursor;
     private ControlResponseProxy threadLocalControlResponseProxy;
@@ -208,20 +201,14 @@ class ReplaySession implements Session, SimplifiedControlledFragmentHandler
         return state == State.INACTIVE;
     }
 
-    public boolean onFragment(final UnsafeBuffer termBuffer, final int offset, final int length)
+    public boolean onBlock(final UnsafeBuffer termBuffer, final int termOffset, final int blockLength)
     {
         if (isDone())
         {
             return false;
         }
 
-        final int frameOffset = offset - DataHeaderFlyweight.HEADER_LENGTH;
-        final int frameType = frameType(termBuffer, frameOffset);
-
-        final long result = frameType == FrameDescriptor.PADDING_FRAME_TYPE ?
-            replayPublication.appendPadding(length) :
-            replayFrame(termBuffer, offset, length, frameOffset);
-
+        final long result = replayPublication.offerBlock(termBuffer, termOffset, blockLength);
         if (result > 0)
         {
             return true;
@@ -248,7 +235,7 @@ class ReplaySession implements Session, SimplifiedControlledFragmentHandler
     {
         try
         {
-            final int polled = cursor.controlledPoll(this, REPLAY_FRAGMENT_LIMIT);
+            final int polled = cursor.controlledBlockPoll(this, REPLAY_FRAGMENT_LIMIT, REPLAY_BLOCK_LENGTH);
             if (cursor.isDone())
             {
                 state = State.INACTIVE;
@@ -262,27 +249,6 @@ class ReplaySession implements Session, SimplifiedControlledFragmentHandler
         }
     }
 
-    private long replayFrame(final UnsafeBuffer termBuffer, final int offset, final int length, final int frameOffset)
-    {
-        final long result = replayPublication.tryClaim(length, bufferClaim);
-        if (result > 0)
-        {
-            try
-            {
-                bufferClaim
-                    .flags(frameFlags(termBuffer, frameOffset))
-                    .reservedValue(termBuffer.getLong(frameOffset + RESERVED_VALUE_OFFSET, LITTLE_ENDIAN))
-                    .buffer().putBytes(bufferClaim.offset(), termBuffer, offset, length);
-            }
-            finally
-            {
-                bufferClaim.commit();
-            }
-        }
-
-        return result;
-    }
-
     private int init()
     {
         if (!replayPublication.isConnected())
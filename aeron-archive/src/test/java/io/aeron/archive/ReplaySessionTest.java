@@ -17,10 +17,10 @@ package io.aeron.archive;
 
 import io.aeron.ExclusivePublication;
 import io.aeron.archive.codecs.RecordingDescriptorEncoder;
-import io.aeron.logbuffer.ExclusiveBufferClaim;
 import io.aeron.logbuffer.FrameDescriptor;
 import io.aeron.logbuffer.Header;
 import io.aeron.protocol.DataHeaderFlyweight;
+import org.agrona.DirectBuffer;
 import org.agrona.IoUtil;
 import org.agrona.concurrent.EpochClock;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -211,6 +211,45 @@ public class ReplaySessionTest
         }
     }
 
+    @Test
+    public void verifyRecordingFileInBlocks() throws IOException
+    {
+        try (RecordingFragmentReader reader = newRecordingFragmentReader(descriptorBuffer, archiveDir))
+        {
+            int polled = reader.controlledBlockPoll(
+                (buffer, termOffset, blockLength) ->
+                {
+                    assertEquals(INITIAL_TERM_OFFSET, termOffset);
+                    assertEquals(2 * FRAME_LENGTH, blockLength);
+                    assertEquals(FrameDescriptor.UNFRAGMENTED, FrameDescriptor.frameFlags(buffer, termOffset));
+
+                    return true;
+                },
+                2,
+                Integer.MAX_VALUE);
+
+            assertEquals(2, polled);
+
+            polled = reader.controlledBlockPoll((buffer, termOffset, blockLength) -> false, 2, Integer.MAX_VALUE);
+
+            assertEquals(0, polled);
+
+            polled = reader.controlledBlockPoll(
+                (buffer, termOffset, blockLength) ->
+                {
+                    assertEquals(INITIAL_TERM_OFFSET + 2 * FRAME_LENGTH, termOffset);
+                    assertEquals(FRAME_LENGTH, blockLength);
+                    assertEquals(FrameDescriptor.END_FRAG_FLAG, FrameDescriptor.frameFlags(buffer, termOffset));
+
+                    return true;
+                },
+                16,
+                FRAME_LENGTH);
+
+            assertEquals(1, polled);
+        }
+    }
+
     @Test
     public void shouldReplayPartialDataFromFile()
     {
@@ -320,7 +359,7 @@ public class ReplaySessionTest
         validateFrame(termBuffer, 1, FrameDescriptor.BEGIN_FRAG_FLAG);
         validateFrame(termBuffer, 2, FrameDescriptor.END_FRAG_FLAG);
 
-        verify(mockReplayPub).appendPadding(FRAME_LENGTH - HEADER_LENGTH);
+        assertEquals(HDR_TYPE_PAD, FrameDescriptor.frameType(termBuffer, 3 * FRAME_LENGTH));
         assertTrue(replaySession.isDone());
         replaySession.close();
     }
@@ -466,7 +505,7 @@ public class ReplaySessionTest
         assertNotEquals(0, replaySession.doWork());
 
         validateFrame(termBuffer, 2, FrameDescriptor.END_FRAG_FLAG);
-        verify(mockReplayPub).appendPadding(FRAME_LENGTH - HEADER_LENGTH);
+        assertEquals(HDR_TYPE_PAD, FrameDescriptor.frameType(termBuffer, 3 * FRAME_LENGTH));
 
         assertTrue(replaySession.isDone());
         replaySession.close();
@@ -505,24 +544,16 @@ public class ReplaySessionTest
 
     private void mockPublication(final ExclusivePublication replay, final UnsafeBuffer termBuffer)
     {
-        when(replay.tryClaim(anyInt(), any(ExclusiveBufferClaim.class))).then(
-            (invocation) ->
-            {
-                final int claimedSize = invocation.getArgument(0);
-                final ExclusiveBufferClaim buffer = invocation.getArgument(1);
-                buffer.wrap(termBuffer, messageCounter * FRAME_LENGTH, claimedSize + HEADER_LENGTH);
-                messageCounter++;
-
-                return (long)claimedSize;
-            });
-
-        when(replay.appendPadding(anyInt())).then(
+        when(replay.offerBlock(any(DirectBuffer.class), anyInt(), anyInt())).then(
             (invocation) ->
             {
-                final int claimedSize = invocation.getArgument(0);
-                messageCounter++;
+                final DirectBuffer buffer = invocation.getArgument(0);
+                final int offset = invocation.getArgument(1);
+                final int length = invocation.getArgument(2);
+                termBuffer.putBytes(messageCounter * FRAME_LENGTH, buffer, offset, length);
+                messageCounter += length / FRAME_LENGTH;
 
-                return (long)claimedSize;
+                return (long)length;
             });
     }
 
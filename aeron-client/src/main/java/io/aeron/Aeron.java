@@ -317,6 +317,176 @@ public final class Aeron implements AutoCloseable
         }
     }
 
+    /**
+     * Asynchronously add a {@link Publication} for publishing messages to subscribers. The registration id returned
+     * can be polled with {@link #getPublication(long)} until the publication is ready so many registrations can be
+     * pipelined without waiting for the round trip to the Media Driver for each.
+     *
+     * @param channel  for receiving the messages known to the media layer.
+     * @param streamId within the channel scope.
+     * @return registration id for the publication.
+     */
+    public long asyncAddPublication(final String channel, final int streamId)
+    {
+        clientLock.lock();
+        try
+        {
+            return conductor.asyncAddPublication(channel, streamId);
+        }
+        finally
+        {
+            clientLock.unlock();
+        }
+    }
+
+    /**
+     * Asynchronously add an {@link ExclusivePublication} for publishing messages to subscribers from a single thread.
+     * The registration id returned can be polled with {@link #getExclusivePublication(long)} until the publication is
+     * ready.
+     *
+     * @param channel  for receiving the messages known to the media layer.
+     * @param streamId within the channel scope.
+     * @return registration id for the publication.
+     */
+    public long asyncAddExclusivePublication(final String channel, final int streamId)
+    {
+        clientLock.lock();
+        try
+        {
+            return conductor.asyncAddExclusivePublication(channel, streamId);
+        }
+        finally
+        {
+            clientLock.unlock();
+        }
+    }
+
+    /**
+     * Asynchronously add a new {@link Subscription} for subscribing to messages from publishers using the default
+     * image handlers from the {@link Aeron.Context}. The registration id returned can be polled with
+     * {@link #getSubscription(long)} until the subscription is ready.
+     *
+     * @param channel  for receiving the messages known to the media layer.
+     * @param streamId within the channel scope.
+     * @return registration id for the subscription.
+     */
+    public long asyncAddSubscription(final String channel, final int streamId)
+    {
+        return asyncAddSubscription(
+            channel, streamId, ctx.availableImageHandler(), ctx.unavailableImageHandler());
+    }
+
+    /**
+     * Asynchronously add a new {@link Subscription} for subscribing to messages from publishers. The registration id
+     * returned can be polled with {@link #getSubscription(long)} until the subscription is ready.
+     *
+     * @param channel                 for receiving the messages known to the media layer.
+     * @param streamId                within the channel scope.
+     * @param availableImageHandler   called when {@link Image}s become available for consumption.
+     * @param unavailableImageHandler called when {@link Image}s go unavailable for consumption.
+     * @return registration id for the subscription.
+     */
+    public long asyncAddSubscription(
+        final String channel,
+        final int streamId,
+        final AvailableImageHandler availableImageHandler,
+        final UnavailableImageHandler unavailableImageHandler)
+    {
+        clientLock.lock();
+        try
+        {
+            return conductor.asyncAddSubscription(channel, streamId, availableImageHandler, unavailableImageHandler);
+        }
+        finally
+        {
+            clientLock.unlock();
+        }
+    }
+
+    /**
+     * Get a {@link Publication} added with {@link #asyncAddPublication(String, int)} once the Media Driver has
+     * responded.
+     *
+     * @param registrationId returned from {@link #asyncAddPublication(String, int)}.
+     * @return the {@link Publication} or null if it is not yet ready.
+     * @throws io.aeron.exceptions.RegistrationException if the Media Driver rejected the registration.
+     */
+    public Publication getPublication(final long registrationId)
+    {
+        clientLock.lock();
+        try
+        {
+            return conductor.getPublication(registrationId);
+        }
+        finally
+        {
+            clientLock.unlock();
+        }
+    }
+
+    /**
+     * Get an {@link ExclusivePublication} added with {@link #asyncAddExclusivePublication(String, int)} once the Media
+     * Driver has responded.
+     *
+     * @param registrationId returned from {@link #asyncAddExclusivePublication(String, int)}.
+     * @return the {@link ExclusivePublication} or null if it is not yet ready.
+     * @throws io.aeron.exceptions.RegistrationException if the Media Driver rejected the registration.
+     */
+    public ExclusivePublication getExclusivePublication(final long registrationId)
+    {
+        clientLock.lock();
+        try
+        {
+            return conductor.getExclusivePublication(registrationId);
+        }
+        finally
+        {
+            clientLock.unlock();
+        }
+    }
+
+    /**
+     * Get a {@link Subscription} added with {@link #asyncAddSubscription(String, int)} once the Media Driver has
+     * responded.
+     *
+     * @param registrationId returned from {@link #asyncAddSubscription(String, int)}.
+     * @return the {@link Subscription} or null if it is not yet ready.
+     * @throws io.aeron.exceptions.RegistrationException if the Media Driver rejected the registration.
+     */
+    public Subscription getSubscription(final long registrationId)
+    {
+        clientLock.lock();
+        try
+        {
+            return conductor.getSubscription(registrationId);
+        }
+        finally
+        {
+            clientLock.unlock();
+        }
+    }
+
+    /**
+     * Is an asynchronous command, such as {@link Publication#asyncAddDestination(String)}, still awaiting a response
+     * from the Media Driver.
+     *
+     * @param correlationId returned when the command was sent.
+     * @return true if the command is still awaiting a response otherwise false.
+     * @throws io.aeron.exceptions.RegistrationException if the Media Driver rejected the command.
+     */
+    public boolean isCommandActive(final long correlationId)
+    {
+        clientLock.lock();
+        try
+        {
+            return conductor.isCommandActive(correlationId);
+        }
+        finally
+        {
+            clientLock.unlock();
+        }
+    }
+
     /**
      * Generate the next correlation id that is unique for the connected Media Driver.
      * <p>
@@ -22,10 +22,12 @@ import org.agrona.ErrorHandler;
 import org.agrona.ManagedResource;
 import org.agrona.collections.ArrayListUtil;
 import org.agrona.collections.Long2ObjectHashMap;
+import org.agrona.collections.LongHashSet;
 import org.agrona.concurrent.*;
 import org.agrona.concurrent.status.UnsafeBufferPosition;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 
@@ -63,6 +65,9 @@ class ClientConductor implements Agent, DriverEventsListener
     private final Long2ObjectHashMap<Publication> publicationByRegIdMap = new Long2ObjectHashMap<>();
     private final Long2ObjectHashMap<ExclusivePublication> exclusivePublicationByRegIdMap = new Long2ObjectHashMap<>();
     private final Long2ObjectHashMap<Subscription> subscriptionByRegIdMap = new Long2ObjectHashMap<>();
+    private final LongHashSet asyncCommandIdSet = new LongHashSet();
+    private final Long2ObjectHashMap<String> asyncChannelByRegIdMap = new Long2ObjectHashMap<>();
+    private final Long2ObjectHashMap<AsyncError> asyncErrorByRegIdMap = new Long2ObjectHashMap<>();
     private final ArrayList<ManagedResource> lingeringResources = new ArrayList<>();
     private final UnavailableImageHandler defaultUnavailableImageHandler;
     private final AvailableImageHandler defaultAvailableImageHandler;
@@ -86,7 +91,7 @@ class ClientConductor implements Agent, DriverEventsListener
         interServiceTimeoutNs = ctx.interServiceTimeout();
         defaultAvailableImageHandler = ctx.availableImageHandler();
         defaultUnavailableImageHandler = ctx.unavailableImageHandler();
-        driverEventsAdapter = new DriverEventsAdapter(ctx.toClientBuffer(), this);
+        driverEventsAdapter = new DriverEventsAdapter(ctx.toClientBuffer(), this, asyncCommandIdSet);
         driverAgentInvoker = ctx.driverAgentInvoker();
 
         final long nowNs = nanoClock.nanoTime();
@@ -103,6 +108,7 @@ class ClientConductor implements Agent, DriverEventsListener
 
             final int lingeringResourcesSize = lingeringResources.size();
             forceClosePublicationsAndSubscriptions();
+            clearAsyncCommands();
 
             if (lingeringResources.size() > lingeringResourcesSize)
             {
@@ -182,6 +188,38 @@ class ClientConductor implements Agent, DriverEventsListener
         return exclusivePublicationByRegIdMap.get(registrationId);
     }
 
+    long asyncAddPublication(final String channel, final int streamId)
+    {
+        ensureOpen();
+
+        final long registrationId = driverProxy.addPublication(channel, streamId);
+        asyncChannelByRegIdMap.put(registrationId, channel);
+        asyncCommandIdSet.add(registrationId);
+
+        return registrationId;
+    }
+
+    long asyncAddExclusivePublication(final String channel, final int streamId)
+    {
+        ensureOpen();
+
+        final long registrationId = driverProxy.addExclusivePublication(channel, streamId);
+        asyncChannelByRegIdMap.put(registrationId, channel);
+        asyncCommandIdSet.add(registrationId);
+
+        return registrationId;
+    }
+
+    Publication getPublication(final long registrationId)
+    {
+        return isAsyncCommandComplete(registrationId) ? publicationByRegIdMap.get(registrationId) : null;
+    }
+
+    ExclusivePublication getExclusivePublication(final long registrationId)
+    {
+        return isAsyncCommandComplete(registrationId) ? exclusivePublicationByRegIdMap.get(registrationId) : null;
+    }
+
     void releasePublication(final Publication publication)
     {
         ensureOpen();
@@ -240,6 +278,29 @@ class ClientConductor implements Agent, DriverEventsListener
         return subscription;
     }
 
+    long asyncAddSubscription(
+        final String channel,
+        final int streamId,
+        final AvailableImageHandler availableImageHandler,
+        final UnavailableImageHandler unavailableImageHandler)
+    {
+        ensureOpen();
+
+        final long correlationId = driverProxy.addSubscription(channel, streamId);
+        final Subscription subscription = new Subscription(
+            this, channel, streamId, correlationId, availableImageHandler, unavailableImageHandler);
+
+        subscriptionByRegIdMap.put(correlationId, subscription);
+        asyncCommandIdSet.add(correlationId);
+
+        return correlationId;
+    }
+
+    Subscription getSubscription(final long registrationId)
+    {
+        return isAsyncCommandComplete(registrationId) ? subscriptionByRegIdMap.get(registrationId) : null;
+    }
+
     void releaseSubscription(final Subscription subscription)
     {
         ensureOpen();
@@ -261,6 +322,16 @@ class ClientConductor implements Agent, DriverEventsListener
         awaitResponse(driverProxy.addDestination(registrationId, endpointChannel));
     }
 
+    long asyncAddDestination(final long registrationId, final String endpointChannel)
+    {
+        ensureOpen();
+
+        final long correlationId = driverProxy.addDestination(registrationId, endpointChannel);
+        asyncCommandIdSet.add(correlationId);
+
+        return correlationId;
+    }
+
     void removeDestination(final long registrationId, final String endpointChannel)
     {
         ensureOpen();
@@ -268,9 +339,40 @@ class ClientConductor implements Agent, DriverEventsListener
         awaitResponse(driverProxy.removeDestination(registrationId, endpointChannel));
     }
 
+    long asyncRemoveDestination(final long registrationId, final String endpointChannel)
+    {
+        ensureOpen();
+
+        final long correlationId = driverProxy.removeDestination(registrationId, endpointChannel);
+        asyncCommandIdSet.add(correlationId);
+
+        return correlationId;
+    }
+
+    boolean isCommandActive(final long correlationId)
+    {
+        return !isAsyncCommandComplete(correlationId);
+    }
+
     public void onError(final long correlationId, final ErrorCode errorCode, final String message)
     {
-        driverException = new RegistrationException(errorCode, message);
+        if (asyncCommandIdSet.remove(correlationId))
+        {
+            asyncChannelByRegIdMap.remove(correlationId);
+            subscriptionByRegIdMap.remove(correlationId);
+            asyncErrorByRegIdMap.put(
+                correlationId,
+                new AsyncError(new RegistrationException(errorCode, message), nanoClock.nanoTime() + driverTimeoutNs));
+        }
+        else
+        {
+            driverException = new RegistrationException(errorCode, message);
+        }
+    }
+
+    public void onOperationSuccess(final long correlationId)
+    {
+        asyncCommandIdSet.remove(correlationId);
     }
 
     public void onNewPublication(
@@ -283,7 +385,7 @@ class ClientConductor implements Agent, DriverEventsListener
     {
         final Publication publication = new Publication(
             this,
-            stashedChannel,
+            asyncCommandIdSet.remove(correlationId) ? asyncChannelByRegIdMap.remove(correlationId) : stashedChannel,
             streamId,
             sessionId,
             new UnsafeBufferPosition(counterValuesBuffer, publicationLimitId),
@@ -304,7 +406,7 @@ class ClientConductor implements Agent, DriverEventsListener
     {
         final ExclusivePublication publication = new ExclusivePublication(
             this,
-            stashedChannel,
+            asyncCommandIdSet.remove(correlationId) ? asyncChannelByRegIdMap.remove(correlationId) : stashedChannel,
             streamId,
             sessionId,
             new UnsafeBufferPosition(counterValuesBuffer, publicationLimitId),
@@ -408,6 +510,24 @@ class ClientConductor implements Agent, DriverEventsListener
         }
     }
 
+    private boolean isAsyncCommandComplete(final long registrationId)
+    {
+        ensureOpen();
+
+        if (asyncCommandIdSet.contains(registrationId))
+        {
+            service(NO_CORRELATION_ID);
+        }
+
+        final AsyncError error = asyncErrorByRegIdMap.remove(registrationId);
+        if (null != error)
+        {
+            throw error.exception;
+        }
+
+        return !asyncCommandIdSet.contains(registrationId);
+    }
+
     private LogBuffers logBuffers(final long registrationId, final String logFileName)
     {
         LogBuffers logBuffers = logBuffersByIdMap.get(registrationId);
@@ -554,6 +674,7 @@ class ClientConductor implements Agent, DriverEventsListener
                 }
             }
 
+            expireAsyncErrors(nowNs);
             timeOfLastResourcesCheckNs = nowNs;
 
             return 1;
@@ -562,6 +683,25 @@ class ClientConductor implements Agent, DriverEventsListener
         return 0;
     }
 
+    private void expireAsyncErrors(final long nowNs)
+    {
+        final Iterator<AsyncError> iterator = asyncErrorByRegIdMap.values().iterator();
+        while (iterator.hasNext())
+        {
+            if (nowNs > iterator.next().deadlineNs)
+            {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void clearAsyncCommands()
+    {
+        asyncCommandIdSet.clear();
+        asyncChannelByRegIdMap.clear();
+        asyncErrorByRegIdMap.clear();
+    }
+
     private void forceClosePublicationsAndSubscriptions()
     {
         for (final ExclusivePublication publication : exclusivePublicationByRegIdMap.values())
@@ -582,4 +722,16 @@ class ClientConductor implements Agent, DriverEventsListener
         }
         subscriptionByRegIdMap.clear();
     }
+
+    private static final class AsyncError
+    {
+        final RegistrationException exception;
+        final long deadlineNs;
+
+        AsyncError(final RegistrationException exception, final long deadlineNs)
+        {
+            this.exception = exception;
+            this.deadlineNs = deadlineNs;
+        }
+    }
 }
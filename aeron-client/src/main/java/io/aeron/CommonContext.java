@@ -146,6 +146,88 @@ public class CommonContext implements AutoCloseable
      */
     public static final String RELIABLE_STREAM_PARAM_NAME = "reliable";
 
+    /**
+     * Parameter name for channel URI param to assign the receive endpoint of a channel to a given receiver, indexed
+     * from 0, when the driver runs a pool of receivers. Without it endpoints are assigned by a hash of the channel.
+     */
+    public static final String RECEIVER_INDEX_PARAM_NAME = "receiver-index";
+
+    /**
+     * Parameter name for channel URI param to assign the send endpoint of a channel, and its publications, to a given
+     * sender, indexed from 0, when the driver runs a pool of senders. Without it endpoints are assigned by a hash of
+     * the channel.
+     */
+    public static final String SENDER_INDEX_PARAM_NAME = "sender-index";
+
+    /**
+     * Parameter name for channel URI param to pace the sending of data for a publication to a rate in bytes per
+     * second. Without it a publication sends as fast as flow control allows.
+     */
+    public static final String SEND_RATE_PARAM_NAME = "send-rate";
+
+    /**
+     * Parameter name for channel URI param to set the maximum burst in bytes which a paced publication can send at
+     * once, see {@link #SEND_RATE_PARAM_NAME}.
+     */
+    public static final String SEND_BURST_PARAM_NAME = "send-burst";
+
+    /**
+     * Parameter name for channel URI param to indicate if consecutive equal length datagrams should be coalesced into
+     * a single segmented send, when supported by the transport, to be split into datagrams below the application.
+     * Value is boolean.
+     * <p>
+     * The param has no effect on transports which cannot send segments in a single operation, which includes the
+     * default NIO transport of the Java driver, as datagrams are then sent one at a time as without the param.
+     */
+    public static final String SEGMENTED_SEND_PARAM_NAME = "gso";
+
+    /**
+     * Parameter name for channel URI param to send a FEC parity frame for each group of the given number of datagrams
+     * so receivers can rebuild a single lost datagram in each group without a NAK. Without it no parity is sent.
+     * <p>
+     * A group which is not full is closed with a parity frame at the end of a term, or when nothing has been sent for
+     * the publication heartbeat timeout since the group began.
+     */
+    public static final String FEC_GROUP_SIZE_PARAM_NAME = "fec";
+
+    /**
+     * Parameter name for channel URI param to tag the Status Messages of a subscription with a 64-bit group tag so a
+     * publication can apply flow control to the group. On a publication it is the group tag required of receivers
+     * for them to be in the group.
+     */
+    public static final String GROUP_TAG_PARAM_NAME = "group-tag";
+
+    /**
+     * Parameter name for channel URI param to set the number of receivers in the group, see
+     * {@link #GROUP_TAG_PARAM_NAME}, which must be tracked before a publication can advance.
+     */
+    public static final String GROUP_MIN_SIZE_PARAM_NAME = "group-min-size";
+
+    /**
+     * Parameter name for channel URI param to indicate if a unicast subscription channel should receive the payload
+     * of in order datagrams directly into the term buffer of an image to avoid a copy. It applies while the channel
+     * has a single image and only to datagrams from its source, others are received with a copy as usual. It requires
+     * a transport which can scatter a receive from any source so has no effect with the default NIO transport.
+     * Value is boolean.
+     */
+    public static final String ZERO_COPY_RECEIVE_PARAM_NAME = "rcv-zero-copy";
+
+    /**
+     * Parameter name for channel URI param to indicate if a subscription channel should gather the Status Messages,
+     * NAKs, and RTT measurements for each control address during a duty cycle and send them packed as consecutive
+     * frames in a single datagram. Value is boolean.
+     */
+    public static final String CONTROL_BATCH_PARAM_NAME = "control-batch";
+
+    /**
+     * Parameter name for channel URI param to indicate if a subscription channel should stamp each data frame with the
+     * time, from the driver {@link org.agrona.concurrent.NanoClock}, at which it was inserted into the term. The
+     * timestamp replaces the reserved value of the frame so is available from
+     * {@link io.aeron.logbuffer.Header#reservedValue()}, and FEC recovery is not possible on the channel as the
+     * parity covers the reserved values of the publisher. Value is boolean.
+     */
+    public static final String RECEIVE_TIMESTAMP_PARAM_NAME = "rcv-timestamp";
+
     private long driverTimeoutMs = DRIVER_TIMEOUT_MS;
     private String aeronDirectoryName;
     private File aeronDirectory;
@@ -17,6 +17,7 @@ package io.aeron;
 
 import io.aeron.command.*;
 import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.LongHashSet;
 import org.agrona.concurrent.MessageHandler;
 import org.agrona.concurrent.broadcast.CopyBroadcastReceiver;
 
@@ -24,6 +25,8 @@ import static io.aeron.command.ControlProtocolEvents.*;
 
 /**
  * Analogue of {@link DriverProxy} on the client side
+ * <p>
+ * Responses are dispatched for the command being awaited and for any outstanding asynchronous commands.
  */
 class DriverEventsAdapter implements MessageHandler
 {
@@ -35,14 +38,19 @@ class DriverEventsAdapter implements MessageHandler
     private final CorrelatedMessageFlyweight correlatedMessage = new CorrelatedMessageFlyweight();
     private final ImageMessageFlyweight imageMessage = new ImageMessageFlyweight();
     private final DriverEventsListener listener;
+    private final LongHashSet asyncCommandIdSet;
 
     private long activeCorrelationId;
     private long lastReceivedCorrelationId;
 
-    DriverEventsAdapter(final CopyBroadcastReceiver broadcastReceiver, final DriverEventsListener listener)
+    DriverEventsAdapter(
+        final CopyBroadcastReceiver broadcastReceiver,
+        final DriverEventsListener listener,
+        final LongHashSet asyncCommandIdSet)
     {
         this.broadcastReceiver = broadcastReceiver;
         this.listener = listener;
+        this.asyncCommandIdSet = asyncCommandIdSet;
     }
 
     public int receive(final long activeCorrelationId)
@@ -68,7 +76,7 @@ class DriverEventsAdapter implements MessageHandler
                 errorResponse.wrap(buffer, index);
 
                 final long correlationId = errorResponse.offendingCommandCorrelationId();
-                if (correlationId == activeCorrelationId)
+                if (correlationId == activeCorrelationId || asyncCommandIdSet.contains(correlationId))
                 {
                     listener.onError(correlationId, errorResponse.errorCode(), errorResponse.errorMessage());
 
@@ -97,7 +105,7 @@ class DriverEventsAdapter implements MessageHandler
                 publicationReady.wrap(buffer, index);
 
                 final long correlationId = publicationReady.correlationId();
-                if (correlationId == activeCorrelationId)
+                if (correlationId == activeCorrelationId || asyncCommandIdSet.contains(correlationId))
                 {
                     listener.onNewPublication(
                         correlationId,
@@ -117,8 +125,10 @@ class DriverEventsAdapter implements MessageHandler
                 correlatedMessage.wrap(buffer, index);
 
                 final long correlationId = correlatedMessage.correlationId();
-                if (correlationId == activeCorrelationId)
+                if (correlationId == activeCorrelationId || asyncCommandIdSet.contains(correlationId))
                 {
+                    listener.onOperationSuccess(correlationId);
+
                     lastReceivedCorrelationId = correlationId;
                 }
                 break;
@@ -137,7 +147,7 @@ class DriverEventsAdapter implements MessageHandler
                 publicationReady.wrap(buffer, index);
 
                 final long correlationId = publicationReady.correlationId();
-                if (correlationId == activeCorrelationId)
+                if (correlationId == activeCorrelationId || asyncCommandIdSet.contains(correlationId))
                 {
                     listener.onNewExclusivePublication(
                         correlationId,
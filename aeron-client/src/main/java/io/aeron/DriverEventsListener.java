@@ -22,6 +22,8 @@ interface DriverEventsListener
 {
     void onError(long correlationId, ErrorCode errorCode, String message);
 
+    void onOperationSuccess(long correlationId);
+
     void onAvailableImage(
         long correlationId,
         int streamId,
@@ -21,7 +21,8 @@ import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.concurrent.status.ReadablePosition;
 
 import static io.aeron.logbuffer.LogBufferDescriptor.*;
-import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static io.aeron.protocol.DataHeaderFlyweight.*;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
 
 /**
  * Aeron publisher API for sending messages to subscribers of a given channel and streamId pair. ExclusivePublications
@@ -560,6 +561,72 @@ public class ExclusivePublication implements AutoCloseable
         return newPosition;
     }
 
+    /**
+     * Try to claim a range in the publication log into which a batch of messages can be written with zero copy
+     * semantics. Each message is in its own frame and the range for all of them is claimed with a single move of the
+     * tail so the cost of claiming is paid once per batch rather than once per message. Once the messages have been
+     * written then {@link BatchClaim#commit()} should be called to make them all available to subscribers at once.
+     * <p>
+     * <b>Note:</b> Each message length must be less than MTU length minus header, and the batch with its headers
+     * must be no longer than {@link #maxMessageLength()}.
+     * <pre>{@code
+     *     final BatchClaim batchClaim = new BatchClaim(); // Can be stored and reused to avoid allocation
+     *
+     *     if (publication.tryClaim(messageLengths, messageCount, batchClaim) > 0L)
+     *     {
+     *         try
+     *         {
+     *              final MutableDirectBuffer buffer = batchClaim.buffer();
+     *              for (int i = 0; i < messageCount; i++)
+     *              {
+     *                  final int offset = batchClaim.offset(i);
+     *
+     *                  // Work with buffer directly or wrap with a flyweight
+     *              }
+     *         }
+     *         finally
+     *         {
+     *             batchClaim.commit();
+     *         }
+     *     }
+     * }</pre>
+     *
+     * @param messageLengths of the messages to claim ranges for, in bytes.
+     * @param messageCount   of the message lengths which are in the batch.
+     * @param batchClaim     to be populated if the claim succeeds.
+     * @return The new stream position, otherwise a negative error value of {@link #NOT_CONNECTED},
+     * {@link #BACK_PRESSURED}, {@link #ADMIN_ACTION}, {@link #CLOSED}, or {@link #MAX_POSITION_EXCEEDED}.
+     * @throws IllegalArgumentException if a length is greater than {@link #maxPayloadLength()} within an MTU or the
+     * batch is greater than {@link #maxMessageLength()}.
+     * @see BatchClaim#commit()
+     * @see BatchClaim#abort()
+     */
+    public long tryClaim(final int[] messageLengths, final int messageCount, final BatchClaim batchClaim)
+    {
+        final int batchLength = checkForMaxBatchLength(messageLengths, messageCount);
+        long newPosition = CLOSED;
+
+        if (!isClosed)
+        {
+            final long limit = positionLimit.getVolatile();
+            final ExclusiveTermAppender termAppender = termAppenders[activePartitionIndex];
+            final long position = termBeginPosition + termOffset;
+
+            if (position < limit)
+            {
+                final int result = termAppender.claim(
+                    termId, termOffset, headerWriter, messageLengths, messageCount, batchLength, batchClaim);
+                newPosition = newPosition(result);
+            }
+            else
+            {
+                newPosition = backPressureStatus(position, batchLength);
+            }
+        }
+
+        return newPosition;
+    }
+
     /**
      * Append a padding record log of a given length to make up the log to a position.
      *
@@ -593,6 +660,49 @@ public class ExclusivePublication implements AutoCloseable
         return newPosition;
     }
 
+    /**
+     * Offer a block of pre-formatted frames, such as those read from a recording or the term of another
+     * {@link Image}, to the publication with a single copy. The session id, stream id, term id and term offset of each
+     * frame header are set for this publication and the block becomes available to subscribers atomically.
+     * <p>
+     * The block must be a whole number of data or padding frames which are each aligned to
+     * {@link io.aeron.logbuffer.FrameDescriptor#FRAME_ALIGNMENT} and no longer than {@link #termBufferLength()}.
+     * If the block will not fit in the remainder of the current term then the term is padded and
+     * {@link #ADMIN_ACTION} is returned so the block can be offered again at the start of the next term.
+     *
+     * @param buffer containing the block of frames.
+     * @param offset offset in the buffer at which the block begins.
+     * @param length in bytes of the block.
+     * @return The new stream position, otherwise a negative error value of {@link #NOT_CONNECTED},
+     * {@link #BACK_PRESSURED}, {@link #ADMIN_ACTION}, {@link #CLOSED}, or {@link #MAX_POSITION_EXCEEDED}.
+     * @throws IllegalArgumentException if the block is not a valid sequence of frames.
+     */
+    public long offerBlock(final DirectBuffer buffer, final int offset, final int length)
+    {
+        checkBlock(buffer, offset, length);
+        long newPosition = CLOSED;
+
+        if (!isClosed)
+        {
+            final long limit = positionLimit.getVolatile();
+            final ExclusiveTermAppender termAppender = termAppenders[activePartitionIndex];
+            final long position = termBeginPosition + termOffset;
+
+            if (position < limit)
+            {
+                final int result = termAppender.appendBlock(
+                    termId, termOffset, headerWriter, sessionId, streamId, buffer, offset, length);
+                newPosition = newPosition(result);
+            }
+            else
+            {
+                newPosition = backPressureStatus(position, length);
+            }
+        }
+
+        return newPosition;
+    }
+
     /**
      * Add a destination manually to a multi-destination-cast Publication.
      *
@@ -611,6 +721,26 @@ public class ExclusivePublication implements AutoCloseable
         }
     }
 
+    /**
+     * Asynchronously add a destination manually to a multi-destination-cast Publication. The correlation id returned
+     * can be polled with {@link Aeron#isCommandActive(long)} until the Media Driver has responded.
+     *
+     * @param endpointChannel for the destination to add
+     * @return the correlation id for the command.
+     */
+    public long asyncAddDestination(final String endpointChannel)
+    {
+        conductor.clientLock().lock();
+        try
+        {
+            return conductor.asyncAddDestination(registrationId, endpointChannel);
+        }
+        finally
+        {
+            conductor.clientLock().unlock();
+        }
+    }
+
     /**
      * Remove a previously added destination manually from a multi-destination-cast Publication.
      *
@@ -629,6 +759,26 @@ public class ExclusivePublication implements AutoCloseable
         }
     }
 
+    /**
+     * Asynchronously remove a previously added destination from a multi-destination-cast Publication. The correlation
+     * id returned can be polled with {@link Aeron#isCommandActive(long)} until the Media Driver has responded.
+     *
+     * @param endpointChannel for the destination to remove
+     * @return the correlation id for the command.
+     */
+    public long asyncRemoveDestination(final String endpointChannel)
+    {
+        conductor.clientLock().lock();
+        try
+        {
+            return conductor.asyncRemoveDestination(registrationId, endpointChannel);
+        }
+        finally
+        {
+            conductor.clientLock().unlock();
+        }
+    }
+
     private long newPosition(final int resultingOffset)
     {
         if (resultingOffset > 0)
@@ -683,6 +833,63 @@ public class ExclusivePublication implements AutoCloseable
         }
     }
 
+    private int checkForMaxBatchLength(final int[] messageLengths, final int messageCount)
+    {
+        if (messageCount < 1 || messageCount > messageLengths.length)
+        {
+            throw new IllegalArgumentException(
+                "Batch message count must be between 1 and " + messageLengths.length + ", count=" + messageCount);
+        }
+
+        for (int i = 0; i < messageCount; i++)
+        {
+            checkForMaxPayloadLength(messageLengths[i]);
+        }
+
+        final int batchLength = BatchClaim.computeBatchLength(messageLengths, messageCount);
+        if (batchLength > maxMessageLength)
+        {
+            throw new IllegalArgumentException(
+                "Batch exceeds maxMessageLength of " + maxMessageLength + ", length=" + batchLength);
+        }
+
+        return batchLength;
+    }
+
+    private void checkBlock(final DirectBuffer buffer, final int offset, final int length)
+    {
+        if (length <= 0 || length > termBufferLength)
+        {
+            throw new IllegalArgumentException(
+                "Block length must be between 1 and termBufferLength of " + termBufferLength + ", length=" + length);
+        }
+
+        final int limit = offset + length;
+        int frameOffset = offset;
+        while (frameOffset < limit)
+        {
+            final int frameLength = buffer.getInt(frameOffset + FRAME_LENGTH_FIELD_OFFSET, LITTLE_ENDIAN);
+            final int frameType = buffer.getShort(frameOffset + TYPE_FIELD_OFFSET, LITTLE_ENDIAN) & 0xFFFF;
+
+            if (frameLength < HEADER_LENGTH ||
+                (frameType != HDR_TYPE_DATA && frameType != HDR_TYPE_PAD) ||
+                (frameType == HDR_TYPE_DATA && frameLength - HEADER_LENGTH > maxPayloadLength))
+            {
+                throw new IllegalArgumentException(
+                    "Invalid frame in block at offset=" + (frameOffset - offset) +
+                    " frameLength=" + frameLength + " frameType=" + frameType);
+            }
+
+            frameOffset += BitUtil.align(frameLength, FrameDescriptor.FRAME_ALIGNMENT);
+        }
+
+        if (frameOffset != limit)
+        {
+            throw new IllegalArgumentException(
+                "Block length must be a whole number of aligned frames, length=" + length);
+        }
+    }
+
     private void checkForMaxMessageLength(final int length)
     {
         if (length > maxMessageLength)
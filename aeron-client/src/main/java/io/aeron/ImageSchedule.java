@@ -0,0 +1,104 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+/**
+ * Order of the {@link Image}s under a {@link Subscription} in priority tiers with their weights as given by an
+ * {@link ImageScheduler}. A schedule is computed when the array of Images changes and is held by the poller.
+ */
+final class ImageSchedule
+{
+    final Image[] sourceImages;
+    final Image[] images;
+    final int[] weights;
+    final int[] tierLimits;
+    final long[] tierWeights;
+    final int tierCount;
+
+    ImageSchedule(final ImageScheduler imageScheduler, final Image[] sourceImages)
+    {
+        final int length = sourceImages.length;
+        final int[] priorities = new int[length];
+        this.sourceImages = sourceImages;
+        images = new Image[length];
+        weights = new int[length];
+
+        for (int i = 0; i < length; i++)
+        {
+            final Image image = sourceImages[i];
+            final int priority = imageScheduler.priority(image);
+            final int weight = Math.max(1, imageScheduler.weight(image));
+
+            int j = i;
+            while (j > 0 && priorities[j - 1] < priority)
+            {
+                images[j] = images[j - 1];
+                priorities[j] = priorities[j - 1];
+                weights[j] = weights[j - 1];
+                j--;
+            }
+
+            images[j] = image;
+            priorities[j] = priority;
+            weights[j] = weight;
+        }
+
+        int tierCount = 0;
+        final int[] tierLimits = new int[length];
+        final long[] tierWeights = new long[length];
+        for (int i = 0; i < length; i++)
+        {
+            if (i > 0 && priorities[i] != priorities[i - 1])
+            {
+                tierCount++;
+            }
+
+            tierLimits[tierCount] = i + 1;
+            tierWeights[tierCount] += weights[i];
+        }
+
+        this.tierLimits = tierLimits;
+        this.tierWeights = tierWeights;
+        this.tierCount = length > 0 ? tierCount + 1 : 0;
+    }
+
+    /**
+     * Index of the Image in the tier which starts a round of polling.
+     *
+     * @param tierIndex of the tier.
+     * @param rotation  which is advanced on each poll.
+     * @return index of the Image in the tier which starts a round of polling.
+     */
+    int startingIndex(final int tierIndex, final int rotation)
+    {
+        final int tierStart = tierIndex > 0 ? tierLimits[tierIndex - 1] : 0;
+
+        return tierStart + (rotation % (tierLimits[tierIndex] - tierStart));
+    }
+
+    /**
+     * Share of the remaining fragment limit for an Image which is at least 1.
+     *
+     * @param tierIndex      of the tier the Image is in.
+     * @param index          of the Image in the schedule.
+     * @param remainingLimit of fragments for the poll.
+     * @return share of the remaining fragment limit for the Image.
+     */
+    int quota(final int tierIndex, final int index, final int remainingLimit)
+    {
+        return (int)Math.max(1, ((long)remainingLimit * weights[index]) / tierWeights[tierIndex]);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Scheduling of the {@link Image}s under a {@link Subscription} when it is polled for message fragments, see
+ * {@link Subscription#imageScheduler(ImageScheduler)}.
+ * <p>
+ * Images are polled in tiers of descending {@link #priority(Image)} and a tier is drained, up to the fragment limit,
+ * before a lower tier is polled. Within a tier each Image is given a share of the remaining fragment limit in
+ * proportion to its {@link #weight(Image)}, and at least one fragment, in rounds until the limit is reached or no
+ * Image in the tier has further fragments. The Image which starts each round is rotated on each poll so a single busy
+ * Image cannot consume the fragment limit to the exclusion of others in its tier.
+ * <p>
+ * Priority and weight are evaluated for an Image when the set of Images under a Subscription changes, and therefore
+ * should depend only on attributes of the Image such as {@link Image#sessionId()} or {@link Image#sourceIdentity()}.
+ */
+public interface ImageScheduler
+{
+    /**
+     * Fair share of the fragment limit for each Image with all Images in the same tier.
+     */
+    ImageScheduler FAIR = new ImageScheduler()
+    {
+    };
+
+    /**
+     * Priority tier of an Image. Images with a higher priority are polled before Images with a lower priority.
+     *
+     * @param image to be scheduled.
+     * @return priority tier of the Image.
+     */
+    default int priority(final Image image)
+    {
+        return 0;
+    }
+
+    /**
+     * Weight of an Image for its share of the fragment limit relative to other Images in the same priority tier.
+     * Weights less than 1 are treated as 1.
+     *
+     * @param image to be scheduled.
+     * @return weight of the Image within its priority tier.
+     */
+    default int weight(final Image image)
+    {
+        return 1;
+    }
+
+    /**
+     * Scheduler for a weighted fair share of the fragment limit with all Images in the same tier, e.g. weighted by
+     * session id or source identity.
+     *
+     * @param weightFunction returning the weight of an Image.
+     * @return a new scheduler for the weighted fair share of the fragment limit.
+     */
+    static ImageScheduler weighted(final ToIntFunction<Image> weightFunction)
+    {
+        return prioritised((image) -> 0, weightFunction);
+    }
+
+    /**
+     * Scheduler for priority tiers of Images with a weighted fair share of the fragment limit within each tier.
+     *
+     * @param priorityFunction returning the priority tier of an Image.
+     * @param weightFunction   returning the weight of an Image within its tier.
+     * @return a new scheduler for priority tiers of Images.
+     */
+    static ImageScheduler prioritised(
+        final ToIntFunction<Image> priorityFunction, final ToIntFunction<Image> weightFunction)
+    {
+        return new ImageScheduler()
+        {
+            public int priority(final Image image)
+            {
+                return priorityFunction.applyAsInt(image);
+            }
+
+            public int weight(final Image image)
+            {
+                return weightFunction.applyAsInt(image);
+            }
+        };
+    }
+}
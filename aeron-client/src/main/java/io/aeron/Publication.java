@@ -555,6 +555,81 @@ public class Publication implements AutoCloseable
         return newPosition;
     }
 
+    /**
+     * Try to claim a range in the publication log into which a batch of messages can be written with zero copy
+     * semantics. Each message is in its own frame and the range for all of them is claimed with a single move of the
+     * tail so the cost of claiming is paid once per batch rather than once per message. Once the messages have been
+     * written then {@link BatchClaim#commit()} should be called to make them all available to subscribers at once.
+     * <p>
+     * <b>Note:</b> Each message length must be less than MTU length minus header, and the batch with its headers
+     * must be no longer than {@link #maxMessageLength()}.
+     * <pre>{@code
+     *     final BatchClaim batchClaim = new BatchClaim(); // Can be stored and reused to avoid allocation
+     *
+     *     if (publication.tryClaim(messageLengths, messageCount, batchClaim) > 0L)
+     *     {
+     *         try
+     *         {
+     *              final MutableDirectBuffer buffer = batchClaim.buffer();
+     *              for (int i = 0; i < messageCount; i++)
+     *              {
+     *                  final int offset = batchClaim.offset(i);
+     *
+     *                  // Work with buffer directly or wrap with a flyweight
+     *              }
+     *         }
+     *         finally
+     *         {
+     *             batchClaim.commit();
+     *         }
+     *     }
+     * }</pre>
+     *
+     * @param messageLengths of the messages to claim ranges for, in bytes.
+     * @param messageCount   of the message lengths which are in the batch.
+     * @param batchClaim     to be populated if the claim succeeds.
+     * @return The new stream position, otherwise a negative error value of {@link #NOT_CONNECTED},
+     * {@link #BACK_PRESSURED}, {@link #ADMIN_ACTION}, {@link #CLOSED}, or {@link #MAX_POSITION_EXCEEDED}.
+     * @throws IllegalArgumentException if a length is greater than {@link #maxPayloadLength()} within an MTU or the
+     * batch is greater than {@link #maxMessageLength()}.
+     * @see BatchClaim#commit()
+     * @see BatchClaim#abort()
+     */
+    public long tryClaim(final int[] messageLengths, final int messageCount, final BatchClaim batchClaim)
+    {
+        final int batchLength = checkForMaxBatchLength(messageLengths, messageCount);
+        long newPosition = CLOSED;
+
+        if (!isClosed)
+        {
+            final long limit = positionLimit.getVolatile();
+            final int termCount = activeTermCount(logMetaDataBuffer);
+            final TermAppender termAppender = termAppenders[indexByTermCount(termCount)];
+            final long rawTail = termAppender.rawTailVolatile();
+            final long termOffset = rawTail & 0xFFFF_FFFFL;
+            final int termId = termId(rawTail);
+            final long position = computeTermBeginPosition(termId, positionBitsToShift, initialTermId) + termOffset;
+
+            if (termCount != (termId - initialTermId))
+            {
+                return ADMIN_ACTION;
+            }
+
+            if (position < limit)
+            {
+                final int resultingOffset = termAppender.claim(
+                    headerWriter, messageLengths, messageCount, batchLength, batchClaim, termId);
+                newPosition = newPosition(termCount, (int)termOffset, termId, position, resultingOffset);
+            }
+            else
+            {
+                newPosition = backPressureStatus(position, batchLength);
+            }
+        }
+
+        return newPosition;
+    }
+
     /**
      * Add a destination manually to a multi-destination-cast Publication.
      *
@@ -573,6 +648,26 @@ public class Publication implements AutoCloseable
         }
     }
 
+    /**
+     * Asynchronously add a destination manually to a multi-destination-cast Publication. The correlation id returned
+     * can be polled with {@link Aeron#isCommandActive(long)} until the Media Driver has responded.
+     *
+     * @param endpointChannel for the destination to add
+     * @return the correlation id for the command.
+     */
+    public long asyncAddDestination(final String endpointChannel)
+    {
+        conductor.clientLock().lock();
+        try
+        {
+            return conductor.asyncAddDestination(registrationId, endpointChannel);
+        }
+        finally
+        {
+            conductor.clientLock().unlock();
+        }
+    }
+
     /**
      * Remove a previously added destination manually from a multi-destination-cast Publication.
      *
@@ -591,6 +686,26 @@ public class Publication implements AutoCloseable
         }
     }
 
+    /**
+     * Asynchronously remove a previously added destination from a multi-destination-cast Publication. The correlation
+     * id returned can be polled with {@link Aeron#isCommandActive(long)} until the Media Driver has responded.
+     *
+     * @param endpointChannel for the destination to remove
+     * @return the correlation id for the command.
+     */
+    public long asyncRemoveDestination(final String endpointChannel)
+    {
+        conductor.clientLock().lock();
+        try
+        {
+            return conductor.asyncRemoveDestination(registrationId, endpointChannel);
+        }
+        finally
+        {
+            conductor.clientLock().unlock();
+        }
+    }
+
     private long newPosition(
         final int termCount, final int termOffset, final int termId, final long position, final int resultingOffset)
     {
@@ -633,6 +748,29 @@ public class Publication implements AutoCloseable
         }
     }
 
+    private int checkForMaxBatchLength(final int[] messageLengths, final int messageCount)
+    {
+        if (messageCount < 1 || messageCount > messageLengths.length)
+        {
+            throw new IllegalArgumentException(
+                "Batch message count must be between 1 and " + messageLengths.length + ", count=" + messageCount);
+        }
+
+        for (int i = 0; i < messageCount; i++)
+        {
+            checkForMaxPayloadLength(messageLengths[i]);
+        }
+
+        final int batchLength = BatchClaim.computeBatchLength(messageLengths, messageCount);
+        if (batchLength > maxMessageLength)
+        {
+            throw new IllegalArgumentException(
+                "Batch exceeds maxMessageLength of " + maxMessageLength + ", length=" + batchLength);
+        }
+
+        return batchLength;
+    }
+
     private void checkForMaxMessageLength(final int length)
     {
         if (length > maxMessageLength)
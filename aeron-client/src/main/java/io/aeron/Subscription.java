@@ -34,6 +34,8 @@ class SubscriptionFields extends SubscriptionLhsPadding
 
     protected final long registrationId;
     protected int roundRobinIndex = 0;
+    protected ImageScheduler imageScheduler = null;
+    protected ImageSchedule imageSchedule = null;
     protected final int streamId;
     protected volatile boolean isClosed = false;
 
@@ -147,6 +149,31 @@ public class Subscription extends SubscriptionFields implements AutoCloseable
         return unavailableImageHandler;
     }
 
+    /**
+     * The {@link ImageScheduler} used to share the fragment limit of a poll across the {@link Image}s.
+     *
+     * @return the {@link ImageScheduler} used to share the fragment limit of a poll or null for round robin.
+     */
+    public ImageScheduler imageScheduler()
+    {
+        return imageScheduler;
+    }
+
+    /**
+     * Set the {@link ImageScheduler} used to share the fragment limit of a poll across the {@link Image}s, and the
+     * order in which {@link Image}s are polled for blocks. This should be set from the thread which polls.
+     *
+     * @param imageScheduler to share the fragment limit of a poll or null for the default of round robin.
+     * @return this for a fluent API.
+     */
+    public Subscription imageScheduler(final ImageScheduler imageScheduler)
+    {
+        this.imageScheduler = imageScheduler;
+        this.imageSchedule = null;
+
+        return this;
+    }
+
     /**
      * Poll the {@link Image}s under the subscription for having reached End of Stream.
      *
@@ -176,6 +203,10 @@ public class Subscription extends SubscriptionFields implements AutoCloseable
      * as a series of fragments ordered within a session.
      * <p>
      * To assemble messages that span multiple fragments then use {@link FragmentAssembler}.
+     * <p>
+     * The fragment limit is shared across the {@link Image}s as given by the {@link #imageScheduler()} if set,
+     * otherwise each {@link Image} in turn, from a starting {@link Image} rotated on each poll, may read up to the
+     * remaining limit.
      *
      * @param fragmentHandler callback for handling each message fragment as it is read.
      * @param fragmentLimit   number of message fragments to limit for the poll operation across multiple {@link Image}s.
@@ -184,6 +215,11 @@ public class Subscription extends SubscriptionFields implements AutoCloseable
     public int poll(final FragmentHandler fragmentHandler, final int fragmentLimit)
     {
         final Image[] images = this.images;
+        if (null != imageScheduler)
+        {
+            return scheduledPoll(schedule(images), fragmentHandler, fragmentLimit);
+        }
+
         final int length = images.length;
         int fragmentsRead = 0;
 
@@ -215,6 +251,8 @@ public class Subscription extends SubscriptionFields implements AutoCloseable
      * as a series of fragments ordered within a session.
      * <p>
      * To assemble messages that span multiple fragments then use {@link ControlledFragmentAssembler}.
+     * <p>
+     * The fragment limit is shared across the {@link Image}s as given by the {@link #imageScheduler()} if set.
      *
      * @param fragmentHandler callback for handling each message fragment as it is read.
      * @param fragmentLimit   number of message fragments to limit for the poll operation across multiple {@link Image}s.
@@ -224,6 +262,11 @@ public class Subscription extends SubscriptionFields implements AutoCloseable
     public int controlledPoll(final ControlledFragmentHandler fragmentHandler, final int fragmentLimit)
     {
         final Image[] images = this.images;
+        if (null != imageScheduler)
+        {
+            return scheduledControlledPoll(schedule(images), fragmentHandler, fragmentLimit);
+        }
+
         final int length = images.length;
         int fragmentsRead = 0;
 
@@ -257,6 +300,7 @@ public class Subscription extends SubscriptionFields implements AutoCloseable
      */
     public long blockPoll(final BlockHandler blockHandler, final int blockLengthLimit)
     {
+        final Image[] images = null != imageScheduler ? schedule(this.images).images : this.images;
         long bytesConsumed = 0;
         for (final Image image : images)
         {
@@ -277,6 +321,7 @@ public class Subscription extends SubscriptionFields implements AutoCloseable
      */
     public long rawPoll(final RawBlockHandler rawBlockHandler, final int blockLengthLimit)
     {
+        final Image[] images = null != imageScheduler ? schedule(this.images).images : this.images;
         long bytesConsumed = 0;
         for (final Image image : images)
         {
@@ -463,6 +508,98 @@ public class Subscription extends SubscriptionFields implements AutoCloseable
         return removedImage;
     }
 
+    private ImageSchedule schedule(final Image[] images)
+    {
+        ImageSchedule imageSchedule = this.imageSchedule;
+        if (null == imageSchedule || imageSchedule.sourceImages != images)
+        {
+            imageSchedule = new ImageSchedule(imageScheduler, images);
+            this.imageSchedule = imageSchedule;
+        }
+
+        return imageSchedule;
+    }
+
+    private int scheduledPoll(
+        final ImageSchedule schedule, final FragmentHandler fragmentHandler, final int fragmentLimit)
+    {
+        final Image[] images = schedule.images;
+        final int[] tierLimits = schedule.tierLimits;
+        final int rotation = roundRobinIndex++ & Integer.MAX_VALUE;
+        int fragmentsRead = 0;
+
+        for (int tierIndex = 0; tierIndex < schedule.tierCount && fragmentsRead < fragmentLimit; tierIndex++)
+        {
+            final int tierLimit = tierLimits[tierIndex];
+            final int tierLength = tierLimit - (tierIndex > 0 ? tierLimits[tierIndex - 1] : 0);
+            final int startingIndex = schedule.startingIndex(tierIndex, rotation);
+            boolean isQuotaReached;
+
+            do
+            {
+                isQuotaReached = false;
+                final int remainingLimit = fragmentLimit - fragmentsRead;
+
+                for (int i = startingIndex, n = 0; n < tierLength && fragmentsRead < fragmentLimit; n++)
+                {
+                    final int quota = Math.min(
+                        schedule.quota(tierIndex, i, remainingLimit), fragmentLimit - fragmentsRead);
+                    final int read = images[i].poll(fragmentHandler, quota);
+                    isQuotaReached |= read >= quota;
+                    fragmentsRead += read;
+
+                    if (++i == tierLimit)
+                    {
+                        i -= tierLength;
+                    }
+                }
+            }
+            while (isQuotaReached && fragmentsRead < fragmentLimit);
+        }
+
+        return fragmentsRead;
+    }
+
+    private int scheduledControlledPoll(
+        final ImageSchedule schedule, final ControlledFragmentHandler fragmentHandler, final int fragmentLimit)
+    {
+        final Image[] images = schedule.images;
+        final int[] tierLimits = schedule.tierLimits;
+        final int rotation = roundRobinIndex++ & Integer.MAX_VALUE;
+        int fragmentsRead = 0;
+
+        for (int tierIndex = 0; tierIndex < schedule.tierCount && fragmentsRead < fragmentLimit; tierIndex++)
+        {
+            final int tierLimit = tierLimits[tierIndex];
+            final int tierLength = tierLimit - (tierIndex > 0 ? tierLimits[tierIndex - 1] : 0);
+            final int startingIndex = schedule.startingIndex(tierIndex, rotation);
+            boolean isQuotaReached;
+
+            do
+            {
+                isQuotaReached = false;
+                final int remainingLimit = fragmentLimit - fragmentsRead;
+
+                for (int i = startingIndex, n = 0; n < tierLength && fragmentsRead < fragmentLimit; n++)
+                {
+                    final int quota = Math.min(
+                        schedule.quota(tierIndex, i, remainingLimit), fragmentLimit - fragmentsRead);
+                    final int read = images[i].controlledPoll(fragmentHandler, quota);
+                    isQuotaReached |= read >= quota;
+                    fragmentsRead += read;
+
+                    if (++i == tierLimit)
+                    {
+                        i -= tierLength;
+                    }
+                }
+            }
+            while (isQuotaReached && fragmentsRead < fragmentLimit);
+        }
+
+        return fragmentsRead;
+    }
+
     private void closeImages()
     {
         final Image[] images = this.images;
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.Header;
+import io.aeron.logbuffer.VectorMessageHandler;
+import org.agrona.DirectBuffer;
+import org.agrona.collections.Int2IntHashMap;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.util.Arrays;
+
+import static io.aeron.logbuffer.FrameDescriptor.*;
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static org.agrona.BitUtil.align;
+
+/**
+ * A {@link FragmentHandler} that sits in a chain-of-responsibility pattern that reassembles fragmented messages
+ * so that the next handler in the chain only sees whole messages as a sequence of {@link DirectBufferVector}s.
+ * <p>
+ * Unfragmented messages are delegated as a single vector without copy. The fragments of a message are appended
+ * to a single term in order so when the first fragment is read the following fragments are scanned for in the term.
+ * If all the fragments are present then the message is delegated without copy as a vector per fragment which skips
+ * the intermediate headers, and the following fragments are then ignored as they are read. Otherwise, the fragments
+ * are copied to a temporary buffer as they are read and delegated as a single vector once the last fragment arrives.
+ * <p>
+ * The {@link Header} passed to the delegate on assembling a message will be that of the last fragment.
+ * <p>
+ * Session based buffers will be allocated and grown as necessary based on the length of messages to be assembled.
+ * When sessions go inactive see {@link UnavailableImageHandler}, it is possible to free the buffer by calling
+ * {@link #freeSessionBuffer(int)}.
+ *
+ * @see FragmentAssembler
+ */
+public class VectorFragmentAssembler implements FragmentHandler
+{
+    private static final int INITIAL_VECTOR_COUNT = 16;
+
+    private final int initialBufferLength;
+    private final VectorMessageHandler delegate;
+    private final Int2ObjectHashMap<BufferBuilder> builderBySessionIdMap = new Int2ObjectHashMap<>();
+    private final Int2IntHashMap fragmentsToSkipBySessionIdMap = new Int2IntHashMap(0);
+    private DirectBufferVector[] vectors = newVectors(INITIAL_VECTOR_COUNT);
+
+    /**
+     * Construct an adapter to reassemble message fragments and delegate on whole messages.
+     *
+     * @param delegate onto which whole messages are forwarded.
+     */
+    public VectorFragmentAssembler(final VectorMessageHandler delegate)
+    {
+        this(delegate, 0);
+    }
+
+    /**
+     * Construct an adapter to reassemble message fragments and delegate on whole messages.
+     *
+     * @param delegate            onto which whole messages are forwarded.
+     * @param initialBufferLength to be used for each session when fragments must be copied.
+     */
+    public VectorFragmentAssembler(final VectorMessageHandler delegate, final int initialBufferLength)
+    {
+        this.delegate = delegate;
+        this.initialBufferLength = initialBufferLength;
+    }
+
+    /**
+     * Get the delegate unto which assembled messages are delegated.
+     *
+     * @return the delegate unto which assembled messages are delegated.
+     */
+    public VectorMessageHandler delegate()
+    {
+        return delegate;
+    }
+
+    /**
+     * The implementation of {@link FragmentHandler} that reassembles and forwards whole messages.
+     *
+     * @param buffer containing the data.
+     * @param offset at which the data begins.
+     * @param length of the data in bytes.
+     * @param header representing the meta data for the data.
+     */
+    public void onFragment(final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        final byte flags = header.flags();
+
+        if ((flags & UNFRAGMENTED) == UNFRAGMENTED)
+        {
+            vectors[0].reset(buffer, offset, length);
+            delegate.onMessage(vectors, 1, length, header);
+        }
+        else
+        {
+            handleFragment(buffer, offset, length, header, flags);
+        }
+    }
+
+    private void handleFragment(
+        final DirectBuffer buffer, final int offset, final int length, final Header header, final byte flags)
+    {
+        final int sessionId = header.sessionId();
+
+        if ((flags & BEGIN_FRAG_FLAG) == BEGIN_FRAG_FLAG)
+        {
+            fragmentsToSkipBySessionIdMap.remove(sessionId);
+
+            final BufferBuilder builder = builderBySessionIdMap.get(sessionId);
+            if (null != builder)
+            {
+                builder.reset();
+            }
+
+            if (!delegateInPlace(header, sessionId))
+            {
+                getBufferBuilder(sessionId).append(buffer, offset, length);
+            }
+        }
+        else
+        {
+            final int fragmentsToSkip = fragmentsToSkipBySessionIdMap.get(sessionId);
+            if (fragmentsToSkip > 0)
+            {
+                if (fragmentsToSkip > 1)
+                {
+                    fragmentsToSkipBySessionIdMap.put(sessionId, fragmentsToSkip - 1);
+                }
+                else
+                {
+                    fragmentsToSkipBySessionIdMap.remove(sessionId);
+                }
+
+                return;
+            }
+
+            final BufferBuilder builder = builderBySessionIdMap.get(sessionId);
+            if (null != builder && builder.limit() != 0)
+            {
+                builder.append(buffer, offset, length);
+
+                if ((flags & END_FRAG_FLAG) == END_FRAG_FLAG)
+                {
+                    final int msgLength = builder.limit();
+                    vectors[0].reset(builder.buffer(), 0, msgLength);
+                    delegate.onMessage(vectors, 1, msgLength, header);
+                    builder.reset();
+                }
+            }
+        }
+    }
+
+    private boolean delegateInPlace(final Header header, final int sessionId)
+    {
+        if (!(header.buffer() instanceof UnsafeBuffer))
+        {
+            return false;
+        }
+
+        final UnsafeBuffer termBuffer = (UnsafeBuffer)header.buffer();
+        final int capacity = termBuffer.capacity();
+        final int beginFrameOffset = header.offset();
+        int frameOffset = beginFrameOffset;
+        int vectorCount = 0;
+        int messageLength = 0;
+
+        while (true)
+        {
+            final int frameLength = frameLengthVolatile(termBuffer, frameOffset);
+            if (frameLength < HEADER_LENGTH)
+            {
+                return false;
+            }
+
+            final byte flags = frameFlags(termBuffer, frameOffset);
+            if (vectorCount > 0 && (flags & BEGIN_FRAG_FLAG) == BEGIN_FRAG_FLAG)
+            {
+                return false;
+            }
+
+            if (vectorCount == vectors.length)
+            {
+                growVectors();
+            }
+
+            final int payloadLength = frameLength - HEADER_LENGTH;
+            vectors[vectorCount++].reset(termBuffer, frameOffset + HEADER_LENGTH, payloadLength);
+            messageLength += payloadLength;
+
+            if ((flags & END_FRAG_FLAG) == END_FRAG_FLAG)
+            {
+                break;
+            }
+
+            frameOffset += align(frameLength, FRAME_ALIGNMENT);
+            if (frameOffset >= capacity)
+            {
+                return false;
+            }
+        }
+
+        fragmentsToSkipBySessionIdMap.put(sessionId, vectorCount - 1);
+
+        header.offset(frameOffset);
+        try
+        {
+            delegate.onMessage(vectors, vectorCount, messageLength, header);
+        }
+        finally
+        {
+            header.offset(beginFrameOffset);
+        }
+
+        return true;
+    }
+
+    /**
+     * Free an existing session buffer to reduce memory pressure when an image goes inactive or no more
+     * large messages are expected.
+     *
+     * @param sessionId to have its buffer freed
+     * @return true if a buffer has been freed otherwise false.
+     */
+    public boolean freeSessionBuffer(final int sessionId)
+    {
+        fragmentsToSkipBySessionIdMap.remove(sessionId);
+
+        return null != builderBySessionIdMap.remove(sessionId);
+    }
+
+    /**
+     * Clear down the cache of buffers by session for reassembling messages.
+     */
+    public void clear()
+    {
+        builderBySessionIdMap.clear();
+        fragmentsToSkipBySessionIdMap.clear();
+    }
+
+    private BufferBuilder getBufferBuilder(final int sessionId)
+    {
+        BufferBuilder bufferBuilder = builderBySessionIdMap.get(sessionId);
+
+        if (null == bufferBuilder)
+        {
+            bufferBuilder = new BufferBuilder(initialBufferLength);
+            builderBySessionIdMap.put(sessionId, bufferBuilder);
+        }
+
+        return bufferBuilder;
+    }
+
+    private void growVectors()
+    {
+        final int length = vectors.length;
+        vectors = Arrays.copyOf(vectors, length * 2);
+        for (int i = length; i < vectors.length; i++)
+        {
+            vectors[i] = new DirectBufferVector();
+        }
+    }
+
+    private static DirectBufferVector[] newVectors(final int length)
+    {
+        final DirectBufferVector[] vectors = new DirectBufferVector[length];
+        for (int i = 0; i < length; i++)
+        {
+            vectors[i] = new DirectBufferVector();
+        }
+
+        return vectors;
+    }
+}
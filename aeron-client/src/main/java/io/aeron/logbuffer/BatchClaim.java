@@ -0,0 +1,200 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.logbuffer;
+
+import io.aeron.protocol.DataHeaderFlyweight;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static io.aeron.protocol.DataHeaderFlyweight.RESERVED_VALUE_OFFSET;
+import static io.aeron.protocol.HeaderFlyweight.FRAME_LENGTH_FIELD_OFFSET;
+import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_PAD;
+import static io.aeron.protocol.HeaderFlyweight.TYPE_FIELD_OFFSET;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.agrona.BitUtil.align;
+
+/**
+ * Represents a claimed range in a buffer for recording a batch of messages, each in its own frame, without copy
+ * semantics for later commit.
+ * <p>
+ * The frames are contiguous in {@link #buffer()} and the space for message {@code i} is between {@link #offset(int)}
+ * and {@link #offset(int)} + {@link #length(int)}. When the buffer is filled with message data, use {@link #commit()}
+ * to make all the messages available to subscribers at once.
+ * <p>
+ * If the claimed space is no longer required it can be aborted by calling {@link #abort()}.
+ *
+ * @see io.aeron.Publication#tryClaim(int[], int, BatchClaim)
+ * @see io.aeron.ExclusivePublication#tryClaim(int[], int, BatchClaim)
+ */
+public class BatchClaim
+{
+    private static final int INITIAL_FRAME_CAPACITY = 16;
+
+    private final UnsafeBuffer buffer = new UnsafeBuffer(0, 0);
+    private int frameCount;
+    private int[] frameOffsets = new int[INITIAL_FRAME_CAPACITY];
+    private int[] frameLengths = new int[INITIAL_FRAME_CAPACITY];
+
+    /**
+     * Compute the length of a batch in a log buffer once the frame header is added to each message and the frames
+     * are aligned.
+     *
+     * @param messageLengths of the messages in the batch.
+     * @param messageCount   of the message lengths which are in the batch.
+     * @return the aligned length of the batch in a log buffer.
+     */
+    public static int computeBatchLength(final int[] messageLengths, final int messageCount)
+    {
+        long batchLength = 0;
+        for (int i = 0; i < messageCount; i++)
+        {
+            batchLength += align(messageLengths[i] + HEADER_LENGTH, FRAME_ALIGNMENT);
+        }
+
+        return (int)Math.min(batchLength, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Wrap a region of an underlying log buffer so it can represent a claimed space for a batch of messages.
+     *
+     * @param buffer         to be wrapped.
+     * @param offset         at which the claimed region begins including space for the first header.
+     * @param length         of the underlying claimed region including space for the headers and alignment.
+     * @param messageLengths of the messages in the batch.
+     * @param messageCount   of the message lengths which are in the batch.
+     */
+    public void wrap(
+        final AtomicBuffer buffer,
+        final int offset,
+        final int length,
+        final int[] messageLengths,
+        final int messageCount)
+    {
+        this.buffer.wrap(buffer, offset, length);
+
+        if (messageCount > frameOffsets.length)
+        {
+            final int capacity = Math.max(messageCount, frameOffsets.length * 2);
+            frameOffsets = Arrays.copyOf(frameOffsets, capacity);
+            frameLengths = Arrays.copyOf(frameLengths, capacity);
+        }
+
+        int frameOffset = 0;
+        for (int i = 0; i < messageCount; i++)
+        {
+            final int frameLength = messageLengths[i] + HEADER_LENGTH;
+            frameOffsets[i] = frameOffset;
+            frameLengths[i] = frameLength;
+            frameOffset += align(frameLength, FRAME_ALIGNMENT);
+        }
+
+        frameCount = messageCount;
+    }
+
+    /**
+     * The referenced buffer to be used which contains all the frames of the batch.
+     *
+     * @return the referenced buffer to be used.
+     */
+    public MutableDirectBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * The number of messages in the claimed batch.
+     *
+     * @return the number of messages in the claimed batch.
+     */
+    public int messageCount()
+    {
+        return frameCount;
+    }
+
+    /**
+     * The offset in the buffer at which the range for a message begins.
+     *
+     * @param index of the message in the batch.
+     * @return offset in the buffer at which the range for the message begins.
+     */
+    public int offset(final int index)
+    {
+        return frameOffsets[index] + HEADER_LENGTH;
+    }
+
+    /**
+     * The length of the range for a message in the buffer.
+     *
+     * @param index of the message in the batch.
+     * @return length of the range for the message in the buffer.
+     */
+    public int length(final int index)
+    {
+        return frameLengths[index] - HEADER_LENGTH;
+    }
+
+    /**
+     * Write the provided value into the reserved space at the end of the data frame header of a message.
+     * <p>
+     * Note: The value will be written in {@link ByteOrder#LITTLE_ENDIAN} format.
+     *
+     * @param index of the message in the batch.
+     * @param value to be stored in the reserve space at the end of a data frame header.
+     * @return this for fluent API semantics.
+     * @see DataHeaderFlyweight
+     */
+    public BatchClaim reservedValue(final int index, final long value)
+    {
+        buffer.putLong(frameOffsets[index] + RESERVED_VALUE_OFFSET, value, LITTLE_ENDIAN);
+        return this;
+    }
+
+    /**
+     * Commit the messages to the log buffer so that they are available to subscribers. The frames are committed
+     * from last to first so subscribers see the whole batch once the first frame is committed.
+     */
+    public void commit()
+    {
+        for (int i = frameCount - 1; i >= 0; i--)
+        {
+            buffer.putIntOrdered(frameOffsets[i] + FRAME_LENGTH_FIELD_OFFSET, littleEndian(frameLengths[i]));
+        }
+    }
+
+    /**
+     * Abort a claim of the batch space to the log buffer so that the log can progress by ignoring this claim.
+     */
+    public void abort()
+    {
+        for (int i = frameCount - 1; i >= 0; i--)
+        {
+            final int frameOffset = frameOffsets[i];
+            buffer.putShort(frameOffset + TYPE_FIELD_OFFSET, (short)HDR_TYPE_PAD, LITTLE_ENDIAN);
+            buffer.putIntOrdered(frameOffset + FRAME_LENGTH_FIELD_OFFSET, littleEndian(frameLengths[i]));
+        }
+    }
+
+    private static int littleEndian(final int value)
+    {
+        return ByteOrder.nativeOrder() != LITTLE_ENDIAN ? Integer.reverseBytes(value) : value;
+    }
+}
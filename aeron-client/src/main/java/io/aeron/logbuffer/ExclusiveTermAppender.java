@@ -24,9 +24,9 @@ import org.agrona.concurrent.UnsafeBuffer;
 import static io.aeron.logbuffer.FrameDescriptor.*;
 import static io.aeron.logbuffer.LogBufferDescriptor.TERM_TAIL_COUNTERS_OFFSET;
 import static io.aeron.logbuffer.LogBufferDescriptor.packTail;
-import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
-import static io.aeron.protocol.DataHeaderFlyweight.RESERVED_VALUE_OFFSET;
+import static io.aeron.protocol.DataHeaderFlyweight.*;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.agrona.BitUtil.SIZE_OF_INT;
 import static org.agrona.BitUtil.SIZE_OF_LONG;
 import static org.agrona.BitUtil.align;
 
@@ -110,6 +110,54 @@ public class ExclusiveTermAppender
         return resultingOffset;
     }
 
+    /**
+     * Claim length of the term buffer for writing in a batch of messages, each in its own frame, with zero copy
+     * semantics by moving the tail once for the whole batch.
+     *
+     * @param termId         for the current term.
+     * @param termOffset     in the term at which to append.
+     * @param header         for writing the default header.
+     * @param messageLengths of the messages to be written.
+     * @param messageCount   of the message lengths which are in the batch.
+     * @param batchLength    of the batch as computed by {@link BatchClaim#computeBatchLength(int[], int)}.
+     * @param batchClaim     to be updated with the claimed region.
+     * @return the resulting offset of the term after the append on success otherwise {@link #FAILED}.
+     */
+    public int claim(
+        final int termId,
+        final int termOffset,
+        final HeaderWriter header,
+        final int[] messageLengths,
+        final int messageCount,
+        final int batchLength,
+        final BatchClaim batchClaim)
+    {
+        final UnsafeBuffer termBuffer = this.termBuffer;
+        final int termLength = termBuffer.capacity();
+
+        int resultingOffset = termOffset + batchLength;
+        putRawTailOrdered(termId, resultingOffset);
+
+        if (resultingOffset > termLength)
+        {
+            resultingOffset = handleEndOfLogCondition(termBuffer, termOffset, header, termLength, termId);
+        }
+        else
+        {
+            int frameOffset = termOffset;
+            for (int i = 0; i < messageCount; i++)
+            {
+                final int frameLength = messageLengths[i] + HEADER_LENGTH;
+                header.write(termBuffer, frameOffset, frameLength, termId);
+                frameOffset += align(frameLength, FRAME_ALIGNMENT);
+            }
+
+            batchClaim.wrap(termBuffer, termOffset, batchLength, messageLengths, messageCount);
+        }
+
+        return resultingOffset;
+    }
+
     /**
      * Pad a length of the term buffer with a padding record.
      *
@@ -431,6 +479,65 @@ public class ExclusiveTermAppender
         return resultingOffset;
     }
 
+    /**
+     * Append a block of pre-formatted frames to the term buffer with a single copy. The term offset, session id,
+     * stream id, and term id of each frame header are set for this term and the block is published atomically to
+     * subscribers by committing the length of the first frame last.
+     *
+     * @param termId     for the current term.
+     * @param termOffset in the term at which to append.
+     * @param header     for writing the default header.
+     * @param sessionId  to be set in the header of each frame.
+     * @param streamId   to be set in the header of each frame.
+     * @param srcBuffer  containing the block of frames.
+     * @param srcOffset  at which the block begins.
+     * @param length     of the block in the source buffer which must be a whole number of aligned frames.
+     * @return the resulting offset of the term after the append on success otherwise {@link #FAILED}.
+     */
+    public int appendBlock(
+        final int termId,
+        final int termOffset,
+        final HeaderWriter header,
+        final int sessionId,
+        final int streamId,
+        final DirectBuffer srcBuffer,
+        final int srcOffset,
+        final int length)
+    {
+        final UnsafeBuffer termBuffer = this.termBuffer;
+        final int termLength = termBuffer.capacity();
+
+        int resultingOffset = termOffset + length;
+        putRawTailOrdered(termId, resultingOffset);
+
+        if (resultingOffset > termLength)
+        {
+            resultingOffset = handleEndOfLogCondition(termBuffer, termOffset, header, termLength, termId);
+        }
+        else
+        {
+            final int firstFrameLength = srcBuffer.getInt(srcOffset + FRAME_LENGTH_FIELD_OFFSET, LITTLE_ENDIAN);
+            termBuffer.putBytes(termOffset + SIZE_OF_INT, srcBuffer, srcOffset + SIZE_OF_INT, length - SIZE_OF_INT);
+
+            int frameOffset = termOffset;
+            while (frameOffset < resultingOffset)
+            {
+                frameTermOffset(termBuffer, frameOffset);
+                termBuffer.putInt(frameOffset + SESSION_ID_FIELD_OFFSET, sessionId, LITTLE_ENDIAN);
+                termBuffer.putInt(frameOffset + STREAM_ID_FIELD_OFFSET, streamId, LITTLE_ENDIAN);
+                frameTermId(termBuffer, frameOffset, termId);
+
+                final int frameLength = frameOffset == termOffset ?
+                    firstFrameLength : termBuffer.getInt(frameOffset + FRAME_LENGTH_FIELD_OFFSET, LITTLE_ENDIAN);
+                frameOffset += align(frameLength, FRAME_ALIGNMENT);
+            }
+
+            frameLengthOrdered(termBuffer, termOffset, firstFrameLength);
+        }
+
+        return resultingOffset;
+    }
+
     private int handleEndOfLogCondition(
         final UnsafeBuffer termBuffer,
         final long termOffset,
@@ -126,6 +126,55 @@ public class TermAppender
         return (int)resultingOffset;
     }
 
+    /**
+     * Claim length of the term buffer for writing in a batch of messages, each in its own frame, with zero copy
+     * semantics by incrementing the tail once for the whole batch.
+     *
+     * @param header         for writing the default header.
+     * @param messageLengths of the messages to be written.
+     * @param messageCount   of the message lengths which are in the batch.
+     * @param batchLength    of the batch as computed by {@link BatchClaim#computeBatchLength(int[], int)}.
+     * @param batchClaim     to be updated with the claimed region.
+     * @param activeTermId   used for flow control.
+     * @return the resulting offset of the term after the append on success otherwise {@link #FAILED}.
+     */
+    public int claim(
+        final HeaderWriter header,
+        final int[] messageLengths,
+        final int messageCount,
+        final int batchLength,
+        final BatchClaim batchClaim,
+        final int activeTermId)
+    {
+        final long rawTail = getAndAddRawTail(batchLength);
+        final int termId = termId(rawTail);
+        final long termOffset = rawTail & 0xFFFF_FFFFL;
+        final UnsafeBuffer termBuffer = this.termBuffer;
+        final int termLength = termBuffer.capacity();
+
+        checkTerm(activeTermId, termId);
+
+        long resultingOffset = termOffset + batchLength;
+        if (resultingOffset > termLength)
+        {
+            resultingOffset = handleEndOfLogCondition(termBuffer, termOffset, header, termLength, termId);
+        }
+        else
+        {
+            int frameOffset = (int)termOffset;
+            for (int i = 0; i < messageCount; i++)
+            {
+                final int frameLength = messageLengths[i] + HEADER_LENGTH;
+                header.write(termBuffer, frameOffset, frameLength, termId);
+                frameOffset += align(frameLength, FRAME_ALIGNMENT);
+            }
+
+            batchClaim.wrap(termBuffer, (int)termOffset, batchLength, messageLengths, messageCount);
+        }
+
+        return (int)resultingOffset;
+    }
+
     /**
      * Append an unfragmented message to the the term buffer.
      *
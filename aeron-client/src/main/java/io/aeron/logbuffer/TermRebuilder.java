@@ -41,12 +41,26 @@ public class TermRebuilder
         if (0 == termBuffer.getInt(termOffset))
         {
             termBuffer.putBytes(termOffset + HEADER_LENGTH, packet, HEADER_LENGTH, length - HEADER_LENGTH);
+            insertHeader(termBuffer, termOffset, packet);
+        }
+    }
 
-            termBuffer.putLong(termOffset + 24, packet.getLong(24));
-            termBuffer.putLong(termOffset + 16, packet.getLong(16));
-            termBuffer.putLong(termOffset + 8, packet.getLong(8));
+    /**
+     * Insert the header of a packet into the log at termOffset to complete the packet when the bytes which follow the
+     * header are already in place, such as when a datagram payload has been received directly into the term.
+     * <p>
+     * The frame length is written last with ordered semantics so the frame is only visible once complete.
+     *
+     * @param termBuffer into which the header should be inserted.
+     * @param termOffset in the term at which the header should be inserted.
+     * @param packet     containing the header of the first frame at offset 0.
+     */
+    public static void insertHeader(final UnsafeBuffer termBuffer, final int termOffset, final UnsafeBuffer packet)
+    {
+        termBuffer.putLong(termOffset + 24, packet.getLong(24));
+        termBuffer.putLong(termOffset + 16, packet.getLong(16));
+        termBuffer.putLong(termOffset + 8, packet.getLong(8));
 
-            termBuffer.putLongOrdered(termOffset, packet.getLong(0));
-        }
+        termBuffer.putLongOrdered(termOffset, packet.getLong(0));
     }
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.logbuffer;
+
+import io.aeron.DirectBufferVector;
+
+/**
+ * Handler for whole messages which are presented as a sequence of vectors over the buffers in which they reside
+ * rather than being copied into a single contiguous buffer.
+ *
+ * @see io.aeron.VectorFragmentAssembler
+ */
+@FunctionalInterface
+public interface VectorMessageHandler
+{
+    /**
+     * Callback for handling a whole message made up of one or more vectors which are in order. The vectors are only
+     * valid for the duration of the callback and must be copied if they are to be retained.
+     *
+     * @param vectors       containing the message payload in order.
+     * @param vectorCount   of the vectors which are valid for this message.
+     * @param messageLength of the message in bytes which is the sum of the vector lengths.
+     * @param header        representing the meta data for the last fragment of the message.
+     */
+    void onMessage(DirectBufferVector[] vectors, int vectorCount, int messageLength, Header header);
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.protocol;
+
+import org.agrona.BitUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.agrona.BitUtil.SIZE_OF_INT;
+
+/**
+ * Flyweight for a FEC parity frame which protects a group of consecutive data datagrams in a term.
+ * <p>
+ * The group starts at the term offset in the header and each datagram follows the previous one with the lengths
+ * listed after the header. The parity is the XOR of the datagrams, each padded with zeros to the parity length, so
+ * any single datagram of the group can be rebuilt from the parity and the other datagrams.
+ * <p>
+ * The parity is the last parity length bytes of the frame so a sender can reserve room in the list of lengths for a
+ * full group and still send a parity frame for a partial group.
+ * <pre>
+ *   0                   1                   2                   3
+ *   0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *  |                        Frame Length                           |
+ *  +---------------------------------------------------------------+
+ *  |  Version    |     Flags     |               Type              |
+ *  +-------------+---------------+---------------------------------+
+ *  |                          Session ID                           |
+ *  +---------------------------------------------------------------+
+ *  |                          Stream ID                            |
+ *  +---------------------------------------------------------------+
+ *  |                           Term ID                             |
+ *  +---------------------------------------------------------------+
+ *  |                          Term Offset                          |
+ *  +---------------------------------------------------------------+
+ *  |                        Datagram Count                         |
+ *  +---------------------------------------------------------------+
+ *  |                         Parity Length                         |
+ *  +---------------------------------------------------------------+
+ *  |                      Datagram Lengths                        ...
+ * ...                                                              |
+ *  +---------------------------------------------------------------+
+ *  |                            Parity                            ...
+ * ...                                                              |
+ *  +---------------------------------------------------------------+
+ * </pre>
+ */
+public class FecFlyweight extends HeaderFlyweight
+{
+    public static final int HEADER_LENGTH = 32;
+
+    /**
+     * Maximum number of datagrams which can be protected by a parity frame.
+     */
+    public static final int MAX_DATAGRAM_COUNT = 64;
+
+    private static final int SESSION_ID_FIELD_OFFSET = 8;
+    private static final int STREAM_ID_FIELD_OFFSET = 12;
+    private static final int TERM_ID_FIELD_OFFSET = 16;
+    private static final int TERM_OFFSET_FIELD_OFFSET = 20;
+    private static final int DATAGRAM_COUNT_FIELD_OFFSET = 24;
+    private static final int PARITY_LENGTH_FIELD_OFFSET = 28;
+
+    public FecFlyweight()
+    {
+    }
+
+    public FecFlyweight(final ByteBuffer buffer)
+    {
+        super(buffer);
+    }
+
+    public FecFlyweight(final UnsafeBuffer buffer)
+    {
+        super(buffer);
+    }
+
+    /**
+     * Minimum offset in the frame at which the parity can begin for a group of datagrams.
+     *
+     * @param datagramCount in the group.
+     * @return the minimum offset in the frame at which the parity can begin.
+     */
+    public static int parityOffset(final int datagramCount)
+    {
+        return BitUtil.align(HEADER_LENGTH + (datagramCount * SIZE_OF_INT), BitUtil.SIZE_OF_LONG);
+    }
+
+    /**
+     * Compute the frame length of a parity frame.
+     *
+     * @param datagramCount in the group.
+     * @param parityLength  which is the length of the longest datagram in the group.
+     * @return the frame length of the parity frame.
+     */
+    public static int frameLength(final int datagramCount, final int parityLength)
+    {
+        return parityOffset(datagramCount) + parityLength;
+    }
+
+    /**
+     * return session id field
+     *
+     * @return session id field
+     */
+    public int sessionId()
+    {
+        return getInt(SESSION_ID_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set session id field
+     *
+     * @param sessionId field value
+     * @return flyweight
+     */
+    public FecFlyweight sessionId(final int sessionId)
+    {
+        putInt(SESSION_ID_FIELD_OFFSET, sessionId, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return stream id field
+     *
+     * @return stream id field
+     */
+    public int streamId()
+    {
+        return getInt(STREAM_ID_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set stream id field
+     *
+     * @param streamId field value
+     * @return flyweight
+     */
+    public FecFlyweight streamId(final int streamId)
+    {
+        putInt(STREAM_ID_FIELD_OFFSET, streamId, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return term id field
+     *
+     * @return term id field
+     */
+    public int termId()
+    {
+        return getInt(TERM_ID_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set term id field
+     *
+     * @param termId field value
+     * @return flyweight
+     */
+    public FecFlyweight termId(final int termId)
+    {
+        putInt(TERM_ID_FIELD_OFFSET, termId, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return term offset field which is the start of the group of datagrams.
+     *
+     * @return term offset field
+     */
+    public int termOffset()
+    {
+        return getInt(TERM_OFFSET_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set term offset field which is the start of the group of datagrams.
+     *
+     * @param termOffset field value
+     * @return flyweight
+     */
+    public FecFlyweight termOffset(final int termOffset)
+    {
+        putInt(TERM_OFFSET_FIELD_OFFSET, termOffset, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return datagram count field
+     *
+     * @return datagram count field
+     */
+    public int datagramCount()
+    {
+        return getInt(DATAGRAM_COUNT_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set datagram count field
+     *
+     * @param datagramCount field value
+     * @return flyweight
+     */
+    public FecFlyweight datagramCount(final int datagramCount)
+    {
+        putInt(DATAGRAM_COUNT_FIELD_OFFSET, datagramCount, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return parity length field
+     *
+     * @return parity length field
+     */
+    public int parityLength()
+    {
+        return getInt(PARITY_LENGTH_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set parity length field
+     *
+     * @param parityLength field value
+     * @return flyweight
+     */
+    public FecFlyweight parityLength(final int parityLength)
+    {
+        putInt(PARITY_LENGTH_FIELD_OFFSET, parityLength, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * The length of a datagram in the group.
+     *
+     * @param index of the datagram in the group.
+     * @return the length of the datagram.
+     */
+    public int datagramLength(final int index)
+    {
+        return getInt(HEADER_LENGTH + (index * SIZE_OF_INT), LITTLE_ENDIAN);
+    }
+
+    /**
+     * Set the length of a datagram in the group.
+     *
+     * @param index  of the datagram in the group.
+     * @param length of the datagram.
+     * @return flyweight
+     */
+    public FecFlyweight datagramLength(final int index, final int length)
+    {
+        putInt(HEADER_LENGTH + (index * SIZE_OF_INT), length, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * Offset in the frame at which the parity begins.
+     *
+     * @return the offset in the frame at which the parity begins.
+     */
+    public int parityOffset()
+    {
+        return frameLength() - parityLength();
+    }
+
+    public String toString()
+    {
+        final StringBuilder sb = new StringBuilder();
+        final String formattedFlags = String.format("%1$8s", Integer.toBinaryString(flags())).replace(' ', '0');
+
+        sb.append("FEC Parity{")
+            .append("frame_length=").append(frameLength())
+            .append(" version=").append(version())
+            .append(" flags=").append(formattedFlags)
+            .append(" type=").append(headerType())
+            .append(" session_id=").append(sessionId())
+            .append(" stream_id=").append(streamId())
+            .append(" term_id=").append(termId())
+            .append(" term_offset=").append(termOffset())
+            .append(" datagram_count=").append(datagramCount())
+            .append(" parity_length=").append(parityLength())
+            .append("}");
+
+        return sb.toString();
+    }
+}
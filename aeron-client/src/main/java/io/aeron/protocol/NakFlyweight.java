@@ -26,16 +26,36 @@ import static java.nio.ByteOrder.LITTLE_ENDIAN;
  * <p>
  * <a href="https://github.com/real-logic/Aeron/wiki/Protocol-Specification#data-recovery-via-retransmit-request">
  * Data Recovery</a>
+ * <p>
+ * A NAK can report multiple gaps in the same term. The first gap is in the header and any further gaps follow it as a
+ * list of (term offset, length) ranges so the frame length is {@link #HEADER_LENGTH} plus {@link #RANGE_LENGTH} for
+ * each additional gap. Receivers of a NAK which only understand the header retransmit the first gap.
  */
 public class NakFlyweight extends HeaderFlyweight
 {
     public static final int HEADER_LENGTH = 28;
 
+    /**
+     * Length of each additional range which follows the header of a NAK reporting multiple gaps.
+     */
+    public static final int RANGE_LENGTH = 8;
+
+    /**
+     * Maximum number of gaps, including the one in the header, which can be reported in a NAK.
+     */
+    public static final int MAX_RANGE_COUNT = 64;
+
+    /**
+     * Maximum length of a NAK frame reporting {@link #MAX_RANGE_COUNT} gaps.
+     */
+    public static final int MAX_LENGTH = HEADER_LENGTH + ((MAX_RANGE_COUNT - 1) * RANGE_LENGTH);
+
     private static final int SESSION_ID_FIELD_OFFSET = 8;
     private static final int STREAM_ID_FIELD_OFFSET = 12;
     private static final int TERM_ID_FIELD_OFFSET = 16;
     private static final int TERM_OFFSET_FIELD_OFFSET = 20;
     private static final int LENGTH_FIELD_OFFSET = 24;
+    private static final int RANGE_LENGTH_FIELD_OFFSET = 4;
 
     public NakFlyweight()
     {
@@ -166,6 +186,85 @@ public class NakFlyweight extends HeaderFlyweight
         return this;
     }
 
+    /**
+     * Number of gaps reported by the NAK, including the one in the header, based on a frame length.
+     *
+     * @param frameLength of the NAK frame.
+     * @return number of gaps reported by the NAK.
+     */
+    public static int rangeCount(final int frameLength)
+    {
+        return frameLength > HEADER_LENGTH ? 1 + ((frameLength - HEADER_LENGTH) / RANGE_LENGTH) : 1;
+    }
+
+    /**
+     * Compute the frame length of a NAK reporting a number of gaps.
+     *
+     * @param rangeCount of gaps, including the one in the header.
+     * @return the frame length of the NAK.
+     */
+    public static int frameLengthForRangeCount(final int rangeCount)
+    {
+        return HEADER_LENGTH + ((rangeCount - 1) * RANGE_LENGTH);
+    }
+
+    /**
+     * Number of gaps reported by the NAK, including the one in the header.
+     *
+     * @return number of gaps reported by the NAK.
+     */
+    public int rangeCount()
+    {
+        return rangeCount(frameLength());
+    }
+
+    /**
+     * The term offset of a gap reported by the NAK where index 0 is the gap in the header.
+     *
+     * @param index of the gap.
+     * @return the term offset of the gap.
+     */
+    public int rangeTermOffset(final int index)
+    {
+        return 0 == index ? termOffset() : getInt(rangeFieldOffset(index), LITTLE_ENDIAN);
+    }
+
+    /**
+     * The length of a gap reported by the NAK where index 0 is the gap in the header.
+     *
+     * @param index of the gap.
+     * @return the length of the gap.
+     */
+    public int rangeLength(final int index)
+    {
+        return 0 == index ? length() : getInt(rangeFieldOffset(index) + RANGE_LENGTH_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * Set a gap reported by the NAK where index 0 is the gap in the header. The frame length must be set separately.
+     *
+     * @param index      of the gap.
+     * @param termOffset of the gap.
+     * @param length     of the gap.
+     * @return flyweight
+     */
+    public NakFlyweight range(final int index, final int termOffset, final int length)
+    {
+        if (0 == index)
+        {
+            termOffset(termOffset);
+            length(length);
+        }
+        else
+        {
+            final int offset = rangeFieldOffset(index);
+            putInt(offset, termOffset, LITTLE_ENDIAN);
+            putInt(offset + RANGE_LENGTH_FIELD_OFFSET, length, LITTLE_ENDIAN);
+        }
+
+        return this;
+    }
+
     public String toString()
     {
         final StringBuilder sb = new StringBuilder();
@@ -181,8 +280,14 @@ public class NakFlyweight extends HeaderFlyweight
             .append(" stream_id=").append(streamId())
             .append(" term_id=").append(termId())
             .append(" length=").append(length())
+            .append(" range_count=").append(rangeCount())
             .append("}");
 
         return sb.toString();
     }
+
+    private static int rangeFieldOffset(final int index)
+    {
+        return HEADER_LENGTH + ((index - 1) * RANGE_LENGTH);
+    }
 }
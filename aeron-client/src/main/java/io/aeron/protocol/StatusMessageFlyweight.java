@@ -39,6 +39,11 @@ public class StatusMessageFlyweight extends HeaderFlyweight
      */
     public static final short SEND_SETUP_FLAG = 0x80;
 
+    /**
+     * Length of the group tag when carried as the Application Specific Feedback of a Status Message.
+     */
+    public static final int GROUP_TAG_LENGTH = 8;
+
     private static final int SESSION_ID_FIELD_OFFSET = 8;
     private static final int STREAM_ID_FIELD_OFFSET = 12;
     private static final int CONSUMPTION_TERM_ID_FIELD_OFFSET = 16;
@@ -295,6 +300,50 @@ public class StatusMessageFlyweight extends HeaderFlyweight
         return this;
     }
 
+    /**
+     * Does the Status Message carry a group tag as its Application Specific Feedback.
+     *
+     * @return true if the Status Message carries a group tag.
+     */
+    public boolean hasGroupTag()
+    {
+        return frameLength() == HEADER_LENGTH + GROUP_TAG_LENGTH;
+    }
+
+    /**
+     * The group tag carried as the Application Specific Feedback in little endian byte order, see
+     * {@link #hasGroupTag()}.
+     *
+     * @return the group tag of the receiver.
+     */
+    public long groupTag()
+    {
+        long value = 0;
+        for (int i = GROUP_TAG_LENGTH - 1; i >= 0; i--)
+        {
+            value = (value << 8) | (getByte(APP_SPECIFIC_FEEDBACK_FIELD_OFFSET + i) & 0xFF);
+        }
+
+        return value;
+    }
+
+    /**
+     * Set the group tag as the Application Specific Feedback in little endian byte order.
+     *
+     * @param groupTag of the receiver.
+     * @return flyweight
+     */
+    public StatusMessageFlyweight groupTag(final long groupTag)
+    {
+        frameLength(HEADER_LENGTH + GROUP_TAG_LENGTH);
+        for (int i = 0; i < GROUP_TAG_LENGTH; i++)
+        {
+            putByte(APP_SPECIFIC_FEEDBACK_FIELD_OFFSET + i, (byte)(groupTag >> (i * 8)));
+        }
+
+        return this;
+    }
+
     public String toString()
     {
         final StringBuilder sb = new StringBuilder();
@@ -45,6 +45,8 @@ import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -294,6 +296,114 @@ public class ClientConductorTest
         conductor.addPublication(CHANNEL, STREAM_ID_1);
     }
 
+    @Test
+    public void asyncAddPublicationShouldBeReadyOnlyAfterReadyMessage()
+    {
+        final long registrationId = conductor.asyncAddPublication(CHANNEL, STREAM_ID_1);
+
+        assertThat(registrationId, is(CORRELATION_ID));
+        assertNull(conductor.getPublication(registrationId));
+
+        whenReceiveBroadcastOnMessage(
+            ControlProtocolEvents.ON_PUBLICATION_READY,
+            publicationReadyBuffer,
+            (buffer) -> publicationReady.length());
+
+        final Publication publication = conductor.getPublication(registrationId);
+
+        assertNotNull(publication);
+        assertThat(publication.channel(), is(CHANNEL));
+        verify(logBuffersFactory).map(SESSION_ID_1 + "-log");
+    }
+
+    @Test(expected = RegistrationException.class)
+    public void asyncAddPublicationShouldFailOnMediaDriverError()
+    {
+        final long registrationId = conductor.asyncAddPublication(CHANNEL, STREAM_ID_1);
+
+        whenReceiveBroadcastOnMessage(
+            ControlProtocolEvents.ON_ERROR,
+            errorMessageBuffer,
+            (buffer) ->
+            {
+                errorResponse.errorCode(INVALID_CHANNEL);
+                errorResponse.errorMessage("invalid channel");
+                errorResponse.offendingCommandCorrelationId(CORRELATION_ID);
+                return errorResponse.length();
+            });
+
+        conductor.getPublication(registrationId);
+    }
+
+    @Test
+    public void asyncAddPublicationErrorShouldExpireWhenNotPolled()
+    {
+        when(driverProxy.timeOfLastDriverKeepaliveMs()).then((invocation) -> timeMs);
+        final long registrationId = conductor.asyncAddPublication(CHANNEL, STREAM_ID_1);
+
+        whenReceiveBroadcastOnMessage(
+            ControlProtocolEvents.ON_ERROR,
+            errorMessageBuffer,
+            (buffer) ->
+            {
+                errorResponse.errorCode(INVALID_CHANNEL);
+                errorResponse.errorMessage("invalid channel");
+                errorResponse.offendingCommandCorrelationId(CORRELATION_ID);
+                return errorResponse.length();
+            });
+
+        final long deadlineNs = timeNs + TimeUnit.SECONDS.toNanos(3);
+        while (timeNs < deadlineNs)
+        {
+            conductor.doWork();
+        }
+
+        assertNull(conductor.getPublication(registrationId));
+    }
+
+    @Test
+    public void asyncAddDestinationShouldBeActiveUntilOperationSuccess()
+    {
+        when(driverProxy.addDestination(CORRELATION_ID, CHANNEL)).thenReturn(CORRELATION_ID_2);
+
+        final long correlationId = conductor.asyncAddDestination(CORRELATION_ID, CHANNEL);
+
+        assertThat(correlationId, is(CORRELATION_ID_2));
+        assertTrue(conductor.isCommandActive(correlationId));
+
+        whenReceiveBroadcastOnMessage(
+            ControlProtocolEvents.ON_OPERATION_SUCCESS,
+            correlatedMessageBuffer,
+            (buffer) ->
+            {
+                correlatedMessage.correlationId(CORRELATION_ID_2);
+                return CorrelatedMessageFlyweight.LENGTH;
+            });
+
+        assertFalse(conductor.isCommandActive(correlationId));
+    }
+
+    @Test(expected = RegistrationException.class)
+    public void asyncRemoveDestinationShouldFailOnMediaDriverError()
+    {
+        when(driverProxy.removeDestination(CORRELATION_ID, CHANNEL)).thenReturn(CORRELATION_ID_2);
+
+        final long correlationId = conductor.asyncRemoveDestination(CORRELATION_ID, CHANNEL);
+
+        whenReceiveBroadcastOnMessage(
+            ControlProtocolEvents.ON_ERROR,
+            errorMessageBuffer,
+            (buffer) ->
+            {
+                errorResponse.errorCode(INVALID_CHANNEL);
+                errorResponse.errorMessage("unknown destination");
+                errorResponse.offendingCommandCorrelationId(CORRELATION_ID_2);
+                return errorResponse.length();
+            });
+
+        conductor.isCommandActive(correlationId);
+    }
+
     @Test
     public void closingPublicationDoesNotRemoveOtherPublications() throws Exception
     {
@@ -406,6 +516,29 @@ public class ClientConductorTest
         verify(driverProxy).removeSubscription(CORRELATION_ID);
     }
 
+    @Test
+    public void asyncAddSubscriptionShouldBeReadyOnlyAfterOperationSuccess()
+    {
+        final long registrationId = conductor.asyncAddSubscription(
+            CHANNEL, STREAM_ID_1, mockAvailableImageHandler, mockUnavailableImageHandler);
+
+        assertNull(conductor.getSubscription(registrationId));
+
+        whenReceiveBroadcastOnMessage(
+            ControlProtocolEvents.ON_OPERATION_SUCCESS,
+            correlatedMessageBuffer,
+            (buffer) ->
+            {
+                correlatedMessage.correlationId(CORRELATION_ID);
+                return CorrelatedMessageFlyweight.LENGTH;
+            });
+
+        final Subscription subscription = conductor.getSubscription(registrationId);
+
+        assertNotNull(subscription);
+        assertThat(subscription.streamId(), is(STREAM_ID_1));
+    }
+
     @Test(expected = DriverTimeoutException.class, timeout = 5_000)
     public void addSubscriptionShouldTimeoutWithoutOperationSuccessful()
     {
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.BatchClaim;
+import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.HeaderFlyweight;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.ReadablePosition;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.locks.Lock;
+
+import static io.aeron.logbuffer.FrameDescriptor.*;
+import static io.aeron.logbuffer.LogBufferDescriptor.*;
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static io.aeron.protocol.DataHeaderFlyweight.createDefaultHeader;
+import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_DATA;
+import static java.nio.ByteBuffer.allocateDirect;
+import static org.agrona.BitUtil.align;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ExclusivePublicationTest
+{
+    private static final String CHANNEL = "aeron:udp?endpoint=localhost:40124";
+    private static final int STREAM_ID_1 = 2;
+    private static final int SESSION_ID_1 = 13;
+    private static final int TERM_ID_1 = 1;
+    private static final int CORRELATION_ID = 2000;
+    private static final int MTU_LENGTH = 4096;
+    private static final int PAGE_SIZE = 4 * 1024;
+
+    private final UnsafeBuffer logMetaDataBuffer = new UnsafeBuffer(allocateDirect(LOG_META_DATA_LENGTH));
+    private final UnsafeBuffer[] termBuffers = new UnsafeBuffer[PARTITION_COUNT];
+
+    private final Lock conductorLock = mock(Lock.class);
+    private final ClientConductor conductor = mock(ClientConductor.class);
+    private final LogBuffers logBuffers = mock(LogBuffers.class);
+    private final ReadablePosition publicationLimit = mock(ReadablePosition.class);
+
+    @Before
+    public void setUp()
+    {
+        when(publicationLimit.getVolatile()).thenReturn(Long.MAX_VALUE);
+        when(logBuffers.termBuffers()).thenReturn(termBuffers);
+        when(logBuffers.termLength()).thenReturn(TERM_MIN_LENGTH);
+        when(logBuffers.metaDataBuffer()).thenReturn(logMetaDataBuffer);
+        when(conductor.clientLock()).thenReturn(conductorLock);
+
+        initialTermId(logMetaDataBuffer, TERM_ID_1);
+        mtuLength(logMetaDataBuffer, MTU_LENGTH);
+        termLength(logMetaDataBuffer, TERM_MIN_LENGTH);
+        pageSize(logMetaDataBuffer, PAGE_SIZE);
+        storeDefaultFrameHeader(logMetaDataBuffer, createDefaultHeader(SESSION_ID_1, STREAM_ID_1, TERM_ID_1));
+
+        for (int i = 0; i < PARTITION_COUNT; i++)
+        {
+            termBuffers[i] = new UnsafeBuffer(allocateDirect(TERM_MIN_LENGTH));
+        }
+
+        initialiseTailWithTermId(logMetaDataBuffer, 0, TERM_ID_1);
+    }
+
+    @Test
+    public void shouldClaimBatchInNextTermAfterPaddingEndOfTerm()
+    {
+        final int[] msgLengths = { 100, 200 };
+        final int batchLength = BatchClaim.computeBatchLength(msgLengths, msgLengths.length);
+        final int tailOffset = TERM_MIN_LENGTH - FRAME_ALIGNMENT;
+        rawTail(logMetaDataBuffer, 0, packTail(TERM_ID_1, tailOffset));
+
+        final ExclusivePublication publication = newPublication();
+        final BatchClaim batchClaim = new BatchClaim();
+
+        assertThat(
+            publication.tryClaim(msgLengths, msgLengths.length, batchClaim), is(ExclusivePublication.ADMIN_ACTION));
+        assertThat(frameType(termBuffers[0], tailOffset), is(PADDING_FRAME_TYPE));
+        assertThat(frameLengthVolatile(termBuffers[0], tailOffset), is(FRAME_ALIGNMENT));
+        assertThat(activeTermCount(logMetaDataBuffer), is(1));
+
+        final long position = publication.tryClaim(msgLengths, msgLengths.length, batchClaim);
+
+        assertThat(position, is((long)TERM_MIN_LENGTH + batchLength));
+        assertThat(rawTailVolatile(logMetaDataBuffer, 1), is(packTail(TERM_ID_1 + 1, batchLength)));
+        assertThat(batchClaim.messageCount(), is(msgLengths.length));
+
+        batchClaim.commit();
+
+        assertThat(frameLengthVolatile(termBuffers[1], 0), is(msgLengths[0] + HEADER_LENGTH));
+        final int secondFrameOffset = align(msgLengths[0] + HEADER_LENGTH, FRAME_ALIGNMENT);
+        assertThat(frameLengthVolatile(termBuffers[1], secondFrameOffset), is(msgLengths[1] + HEADER_LENGTH));
+    }
+
+    @Test
+    public void shouldAdvancePositionPastAbortedBatchAsPadding()
+    {
+        final int[] msgLengths = { 100, 200 };
+        final int batchLength = BatchClaim.computeBatchLength(msgLengths, msgLengths.length);
+        final ExclusivePublication publication = newPublication();
+        final BatchClaim batchClaim = new BatchClaim();
+
+        assertThat(publication.tryClaim(msgLengths, msgLengths.length, batchClaim), is((long)batchLength));
+
+        batchClaim.abort();
+
+        final int secondFrameOffset = align(msgLengths[0] + HEADER_LENGTH, FRAME_ALIGNMENT);
+        assertThat(frameType(termBuffers[0], 0), is(PADDING_FRAME_TYPE));
+        assertThat(frameType(termBuffers[0], secondFrameOffset), is(PADDING_FRAME_TYPE));
+        assertThat(frameLengthVolatile(termBuffers[0], secondFrameOffset), is(msgLengths[1] + HEADER_LENGTH));
+
+        assertThat(publication.tryClaim(msgLengths, msgLengths.length, batchClaim), is(2L * batchLength));
+        assertThat(batchClaim.offset(0), is(HEADER_LENGTH));
+    }
+
+    @Test
+    public void shouldNotClaimBatchWhenClosed()
+    {
+        final ExclusivePublication publication = newPublication();
+        publication.close();
+
+        assertThat(publication.tryClaim(new int[]{ 8 }, 1, new BatchClaim()), is(ExclusivePublication.CLOSED));
+    }
+
+    @Test
+    public void shouldOfferBlockInNextTermAfterPaddingEndOfTerm()
+    {
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[1024]);
+        final int blockLength = fillBlock(srcBuffer, 0, 100, 200);
+        final int tailOffset = TERM_MIN_LENGTH - FRAME_ALIGNMENT;
+        rawTail(logMetaDataBuffer, 0, packTail(TERM_ID_1, tailOffset));
+
+        final ExclusivePublication publication = newPublication();
+
+        assertThat(publication.offerBlock(srcBuffer, 0, blockLength), is(ExclusivePublication.ADMIN_ACTION));
+        assertThat(frameType(termBuffers[0], tailOffset), is(PADDING_FRAME_TYPE));
+        assertThat(frameLengthVolatile(termBuffers[0], tailOffset), is(FRAME_ALIGNMENT));
+
+        assertThat(publication.offerBlock(srcBuffer, 0, blockLength), is((long)TERM_MIN_LENGTH + blockLength));
+
+        final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
+        final int secondFrameOffset = align(100 + HEADER_LENGTH, FRAME_ALIGNMENT);
+        dataHeader.wrap(termBuffers[1], secondFrameOffset, HEADER_LENGTH);
+        assertThat(dataHeader.frameLength(), is(200 + HEADER_LENGTH));
+        assertThat(dataHeader.termOffset(), is(secondFrameOffset));
+        assertThat(dataHeader.termId(), is(TERM_ID_1 + 1));
+        assertThat(dataHeader.sessionId(), is(SESSION_ID_1));
+        assertThat(dataHeader.streamId(), is(STREAM_ID_1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectBlockWhichIsNotWholeAlignedFrames()
+    {
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[1024]);
+        final int blockLength = fillBlock(srcBuffer, 0, 8, 8);
+
+        newPublication().offerBlock(srcBuffer, 0, blockLength - HEADER_LENGTH);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectBlockWithInvalidFrameLength()
+    {
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[1024]);
+        final int blockLength = fillBlock(srcBuffer, 0, 8, 8);
+        srcBuffer.putInt(align(8 + HEADER_LENGTH, FRAME_ALIGNMENT), 0);
+
+        newPublication().offerBlock(srcBuffer, 0, blockLength);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectBlockLongerThanTerm()
+    {
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[2 * TERM_MIN_LENGTH]);
+
+        newPublication().offerBlock(srcBuffer, 0, TERM_MIN_LENGTH + FRAME_ALIGNMENT);
+    }
+
+    private static int fillBlock(final UnsafeBuffer buffer, final int offset, final int... payloadLengths)
+    {
+        final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
+        int frameOffset = offset;
+        for (final int payloadLength : payloadLengths)
+        {
+            final int frameLength = payloadLength + HEADER_LENGTH;
+            dataHeader.wrap(buffer, frameOffset, HEADER_LENGTH);
+            dataHeader
+                .flags(DataHeaderFlyweight.BEGIN_AND_END_FLAGS)
+                .headerType(HDR_TYPE_DATA)
+                .frameLength(frameLength)
+                .version(HeaderFlyweight.CURRENT_VERSION);
+
+            frameOffset += align(frameLength, FRAME_ALIGNMENT);
+        }
+
+        return frameOffset - offset;
+    }
+
+    private ExclusivePublication newPublication()
+    {
+        return new ExclusivePublication(
+            conductor,
+            CHANNEL,
+            STREAM_ID_1,
+            SESSION_ID_1,
+            publicationLimit,
+            logBuffers,
+            CORRELATION_ID,
+            CORRELATION_ID);
+    }
+}
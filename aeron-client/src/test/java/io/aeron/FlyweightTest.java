@@ -157,6 +157,28 @@ public class FlyweightTest
         assertThat(decodeNakHeader.length(), is(512));
     }
 
+    @Test
+    public void shouldEncodeAndDecodeNakWithMultipleRangesCorrectly()
+    {
+        encodeNakHeader.wrap(aBuff);
+        encodeNakHeader.frameLength(NakFlyweight.frameLengthForRangeCount(3));
+        encodeNakHeader.termId(0x99887766);
+        encodeNakHeader
+            .range(0, 0x22334, 512)
+            .range(1, 0x23000, 1024)
+            .range(2, 0x24000, 64);
+
+        decodeNakHeader.wrap(aBuff);
+        assertThat(decodeNakHeader.frameLength(), is(NakFlyweight.HEADER_LENGTH + (2 * NakFlyweight.RANGE_LENGTH)));
+        assertThat(decodeNakHeader.rangeCount(), is(3));
+        assertThat(decodeNakHeader.termOffset(), is(0x22334));
+        assertThat(decodeNakHeader.length(), is(512));
+        assertThat(decodeNakHeader.rangeTermOffset(1), is(0x23000));
+        assertThat(decodeNakHeader.rangeLength(1), is(1024));
+        assertThat(decodeNakHeader.rangeTermOffset(2), is(0x24000));
+        assertThat(decodeNakHeader.rangeLength(2), is(64));
+    }
+
     @Test
     public void shouldEncodeAndDecodeChannelsCorrectly()
     {
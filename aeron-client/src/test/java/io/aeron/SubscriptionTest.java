@@ -17,17 +17,24 @@ package io.aeron;
 
 import org.junit.Before;
 import org.junit.Test;
+import io.aeron.logbuffer.BlockHandler;
+import io.aeron.logbuffer.ControlledFragmentHandler;
 import io.aeron.logbuffer.FragmentHandler;
 import io.aeron.logbuffer.FrameDescriptor;
 import io.aeron.logbuffer.Header;
+import io.aeron.logbuffer.RawBlockHandler;
 import io.aeron.protocol.DataHeaderFlyweight;
+import org.agrona.collections.MutableInteger;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
 
 import java.nio.ByteBuffer;
 import java.util.concurrent.locks.Lock;
 
+import static io.aeron.logbuffer.ControlledFragmentHandler.Action.BREAK;
+import static io.aeron.logbuffer.ControlledFragmentHandler.Action.CONTINUE;
 import static junit.framework.TestCase.assertTrue;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
@@ -47,6 +54,7 @@ public class SubscriptionTest
     private final Lock conductorLock = mock(Lock.class);
     private final ClientConductor conductor = mock(ClientConductor.class);
     private final FragmentHandler fragmentHandler = mock(FragmentHandler.class);
+    private final ControlledFragmentHandler controlledFragmentHandler = mock(ControlledFragmentHandler.class);
     private final Image imageOneMock = mock(Image.class);
     private final Header header = mock(Header.class);
     private final Image imageTwoMock = mock(Image.class);
@@ -147,4 +155,194 @@ public class SubscriptionTest
 
         assertThat(subscription.poll(fragmentHandler, FRAGMENT_COUNT_LIMIT), is(2));
     }
+
+    @Test
+    public void shouldShareFragmentLimitFairlyWhenOneImageIsBusy()
+    {
+        subscription.imageScheduler(ImageScheduler.FAIR);
+        subscription.addImage(imageOneMock);
+        subscription.addImage(imageTwoMock);
+
+        when(imageOneMock.poll(any(FragmentHandler.class), anyInt())).then((invocation) -> invocation.getArgument(1));
+        when(imageTwoMock.poll(any(FragmentHandler.class), anyInt())).thenReturn(1, 0);
+
+        assertThat(subscription.poll(fragmentHandler, 10), is(10));
+
+        final InOrder inOrder = Mockito.inOrder(imageOneMock, imageTwoMock);
+        inOrder.verify(imageOneMock).poll(fragmentHandler, 5);
+        inOrder.verify(imageTwoMock).poll(fragmentHandler, 5);
+        inOrder.verify(imageOneMock).poll(fragmentHandler, 2);
+        inOrder.verify(imageTwoMock).poll(fragmentHandler, 2);
+        inOrder.verify(imageOneMock).poll(fragmentHandler, 1);
+    }
+
+    @Test
+    public void shouldShareFragmentLimitByWeight()
+    {
+        subscription.imageScheduler(ImageScheduler.weighted((image) -> image == imageOneMock ? 3 : 1));
+        subscription.addImage(imageOneMock);
+        subscription.addImage(imageTwoMock);
+
+        when(imageOneMock.poll(any(FragmentHandler.class), anyInt())).then((invocation) -> invocation.getArgument(1));
+        when(imageTwoMock.poll(any(FragmentHandler.class), anyInt())).then((invocation) -> invocation.getArgument(1));
+
+        assertThat(subscription.poll(fragmentHandler, 8), is(8));
+        verify(imageOneMock).poll(fragmentHandler, 6);
+        verify(imageTwoMock).poll(fragmentHandler, 2);
+
+        assertThat(subscription.poll(fragmentHandler, 8), is(8));
+        verify(imageOneMock, times(2)).poll(fragmentHandler, 6);
+        verify(imageTwoMock, times(2)).poll(fragmentHandler, 2);
+    }
+
+    @Test
+    public void shouldDrainHigherPriorityImagesFirst()
+    {
+        subscription.imageScheduler(
+            ImageScheduler.prioritised((image) -> image == imageTwoMock ? 1 : 0, (image) -> 1));
+        subscription.addImage(imageOneMock);
+        subscription.addImage(imageTwoMock);
+
+        when(imageOneMock.poll(any(FragmentHandler.class), anyInt())).then((invocation) -> invocation.getArgument(1));
+        when(imageTwoMock.poll(any(FragmentHandler.class), anyInt())).thenReturn(3, 0);
+
+        assertThat(subscription.poll(fragmentHandler, 10), is(10));
+
+        final InOrder inOrder = Mockito.inOrder(imageOneMock, imageTwoMock);
+        inOrder.verify(imageTwoMock).poll(fragmentHandler, 10);
+        inOrder.verify(imageOneMock).poll(fragmentHandler, 7);
+    }
+
+    @Test
+    public void shouldShareFragmentLimitInScheduledControlledPoll()
+    {
+        subscription.imageScheduler(ImageScheduler.FAIR);
+        subscription.addImage(imageOneMock);
+        subscription.addImage(imageTwoMock);
+
+        when(imageOneMock.controlledPoll(any(ControlledFragmentHandler.class), anyInt()))
+            .then((invocation) -> invocation.getArgument(1));
+        when(imageTwoMock.controlledPoll(any(ControlledFragmentHandler.class), anyInt())).thenReturn(1, 0);
+
+        assertThat(subscription.controlledPoll(controlledFragmentHandler, 10), is(10));
+
+        final InOrder inOrder = Mockito.inOrder(imageOneMock, imageTwoMock);
+        inOrder.verify(imageOneMock).controlledPoll(controlledFragmentHandler, 5);
+        inOrder.verify(imageTwoMock).controlledPoll(controlledFragmentHandler, 5);
+        inOrder.verify(imageOneMock).controlledPoll(controlledFragmentHandler, 2);
+        inOrder.verify(imageTwoMock).controlledPoll(controlledFragmentHandler, 2);
+        inOrder.verify(imageOneMock).controlledPoll(controlledFragmentHandler, 1);
+    }
+
+    @Test
+    public void shouldNotStartAnotherRoundWhenHandlerBreaksBeforeQuota()
+    {
+        subscription.imageScheduler(ImageScheduler.FAIR);
+        subscription.addImage(imageOneMock);
+        subscription.addImage(imageTwoMock);
+
+        when(controlledFragmentHandler.onFragment(any(), anyInt(), anyInt(), any()))
+            .thenReturn(CONTINUE, BREAK, CONTINUE, BREAK);
+        when(imageOneMock.controlledPoll(any(ControlledFragmentHandler.class), anyInt())).then(this::pollUntilBreak);
+        when(imageTwoMock.controlledPoll(any(ControlledFragmentHandler.class), anyInt())).then(this::pollUntilBreak);
+
+        assertThat(subscription.controlledPoll(controlledFragmentHandler, 10), is(2));
+
+        verify(imageOneMock).controlledPoll(controlledFragmentHandler, 5);
+        verify(imageTwoMock).controlledPoll(controlledFragmentHandler, 5);
+        verify(controlledFragmentHandler, times(4)).onFragment(any(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    public void shouldBlockPollImagesInPriorityOrder()
+    {
+        subscription.imageScheduler(
+            ImageScheduler.prioritised((image) -> image == imageTwoMock ? 1 : 0, (image) -> 1));
+        subscription.addImage(imageOneMock);
+        subscription.addImage(imageTwoMock);
+
+        final BlockHandler blockHandler = mock(BlockHandler.class);
+        when(imageOneMock.blockPoll(blockHandler, READ_BUFFER_CAPACITY)).thenReturn(64);
+        when(imageTwoMock.blockPoll(blockHandler, READ_BUFFER_CAPACITY)).thenReturn(128);
+
+        assertThat(subscription.blockPoll(blockHandler, READ_BUFFER_CAPACITY), is(192L));
+
+        final InOrder inOrder = Mockito.inOrder(imageOneMock, imageTwoMock);
+        inOrder.verify(imageTwoMock).blockPoll(blockHandler, READ_BUFFER_CAPACITY);
+        inOrder.verify(imageOneMock).blockPoll(blockHandler, READ_BUFFER_CAPACITY);
+    }
+
+    @Test
+    public void shouldRawPollImagesInPriorityOrder()
+    {
+        subscription.imageScheduler(
+            ImageScheduler.prioritised((image) -> image == imageTwoMock ? 1 : 0, (image) -> 1));
+        subscription.addImage(imageOneMock);
+        subscription.addImage(imageTwoMock);
+
+        final RawBlockHandler rawBlockHandler = mock(RawBlockHandler.class);
+        when(imageOneMock.rawPoll(rawBlockHandler, READ_BUFFER_CAPACITY)).thenReturn(64);
+        when(imageTwoMock.rawPoll(rawBlockHandler, READ_BUFFER_CAPACITY)).thenReturn(128);
+
+        assertThat(subscription.rawPoll(rawBlockHandler, READ_BUFFER_CAPACITY), is(192L));
+
+        final InOrder inOrder = Mockito.inOrder(imageOneMock, imageTwoMock);
+        inOrder.verify(imageTwoMock).rawPoll(rawBlockHandler, READ_BUFFER_CAPACITY);
+        inOrder.verify(imageOneMock).rawPoll(rawBlockHandler, READ_BUFFER_CAPACITY);
+    }
+
+    @Test
+    public void shouldRebuildScheduleOnlyWhenImagesChange()
+    {
+        final MutableInteger priorityCalls = new MutableInteger();
+        subscription.imageScheduler(ImageScheduler.prioritised(
+            (image) ->
+            {
+                priorityCalls.value++;
+                return image == imageTwoMock ? 1 : 0;
+            },
+            (image) -> 1));
+        subscription.addImage(imageOneMock);
+
+        when(imageOneMock.poll(any(FragmentHandler.class), anyInt())).then((invocation) -> invocation.getArgument(1));
+        when(imageTwoMock.poll(any(FragmentHandler.class), anyInt())).thenReturn(0);
+
+        subscription.poll(fragmentHandler, 10);
+        subscription.poll(fragmentHandler, 10);
+        assertThat(priorityCalls.value, is(1));
+        verify(imageOneMock, times(2)).poll(fragmentHandler, 10);
+
+        subscription.addImage(imageTwoMock);
+        subscription.poll(fragmentHandler, 10);
+        assertThat(priorityCalls.value, is(3));
+
+        final InOrder inOrder = Mockito.inOrder(imageOneMock, imageTwoMock);
+        inOrder.verify(imageTwoMock).poll(fragmentHandler, 10);
+        inOrder.verify(imageOneMock).poll(fragmentHandler, 10);
+
+        subscription.removeImage(imageTwoMock.correlationId());
+        subscription.poll(fragmentHandler, 10);
+        assertThat(priorityCalls.value, is(4));
+        verify(imageTwoMock, times(1)).poll(fragmentHandler, 10);
+        verify(imageOneMock, times(4)).poll(fragmentHandler, 10);
+    }
+
+    private int pollUntilBreak(final InvocationOnMock invocation)
+    {
+        final ControlledFragmentHandler handler = invocation.getArgument(0);
+        final int fragmentLimit = invocation.getArgument(1);
+        int fragmentsRead = 0;
+
+        while (fragmentsRead < fragmentLimit)
+        {
+            if (handler.onFragment(atomicReadBuffer, HEADER_LENGTH, 0, header) == BREAK)
+            {
+                break;
+            }
+
+            fragmentsRead++;
+        }
+
+        return fragmentsRead;
+    }
 }
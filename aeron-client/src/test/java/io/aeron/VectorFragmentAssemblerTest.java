@@ -0,0 +1,184 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron;
+
+import io.aeron.logbuffer.Header;
+import io.aeron.logbuffer.LogBufferDescriptor;
+import io.aeron.logbuffer.TermReader;
+import io.aeron.protocol.DataHeaderFlyweight;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.aeron.logbuffer.FrameDescriptor.*;
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static org.agrona.BitUtil.align;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class VectorFragmentAssemblerTest
+{
+    private static final int SESSION_ID = 777;
+    private static final int STREAM_ID = 5;
+    private static final int INITIAL_TERM_ID = 3;
+    private static final int TERM_LENGTH = LogBufferDescriptor.TERM_MIN_LENGTH;
+    private static final int FRAGMENT_LENGTH = 100;
+
+    private final UnsafeBuffer termBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(TERM_LENGTH));
+    private final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
+    private final Header header = new Header(INITIAL_TERM_ID, Integer.numberOfTrailingZeros(TERM_LENGTH));
+    private final List<ExpandableArrayBuffer> messages = new ArrayList<>();
+    private final List<Integer> vectorCounts = new ArrayList<>();
+    private final List<Byte> lastFlags = new ArrayList<>();
+
+    private final VectorFragmentAssembler assembler = new VectorFragmentAssembler(
+        (vectors, vectorCount, messageLength, header) ->
+        {
+            final ExpandableArrayBuffer message = new ExpandableArrayBuffer(messageLength);
+            int offset = 0;
+            for (int i = 0; i < vectorCount; i++)
+            {
+                final DirectBufferVector vector = vectors[i];
+                message.putBytes(offset, vector.buffer, vector.offset, vector.length);
+                offset += vector.length;
+            }
+
+            assertThat(offset, is(messageLength));
+            messages.add(message);
+            vectorCounts.add(vectorCount);
+            lastFlags.add(header.flags());
+        });
+
+    @Test
+    public void shouldDelegateUnfragmentedMessageAsSingleVector()
+    {
+        final int nextOffset = appendFrame(0, UNFRAGMENTED, 'A');
+
+        assertThat(read(0, 10), is(nextOffset));
+        assertThat(vectorCounts.size(), is(1));
+        assertThat(vectorCounts.get(0), is(1));
+        verifyMessage(0, 'A');
+    }
+
+    @Test
+    public void shouldDelegateInPlaceWhenAllFragmentsArePresent()
+    {
+        int offset = appendFrame(0, BEGIN_FRAG_FLAG, 'A');
+        offset = appendFrame(offset, (byte)0, 'B');
+        offset = appendFrame(offset, END_FRAG_FLAG, 'C');
+
+        final UnsafeBuffer[] vectorBuffer = new UnsafeBuffer[1];
+        final VectorFragmentAssembler assembler = new VectorFragmentAssembler(
+            (vectors, vectorCount, messageLength, header) ->
+            {
+                vectorBuffer[0] = (UnsafeBuffer)vectors[1].buffer;
+                assertThat(vectorCount, is(3));
+                assertThat(vectors[1].offset, is(offsetOfSecondFragmentPayload()));
+                assertThat(messageLength, is(FRAGMENT_LENGTH * 3));
+                assertThat(header.flags(), is(END_FRAG_FLAG));
+            });
+
+        TermReader.read(termBuffer, 0, assembler, 10, header, Throwable::printStackTrace);
+
+        assertThat(vectorBuffer[0], sameInstance(termBuffer));
+    }
+
+    @Test
+    public void shouldSkipFollowingFragmentsWhenMessageSplitAcrossPolls()
+    {
+        int offset = appendFrame(0, BEGIN_FRAG_FLAG, 'A');
+        offset = appendFrame(offset, (byte)0, 'B');
+        offset = appendFrame(offset, END_FRAG_FLAG, 'C');
+        final int endOffset = appendFrame(offset, UNFRAGMENTED, 'D');
+
+        int readOffset = 0;
+        while (readOffset < endOffset)
+        {
+            readOffset = read(readOffset, 1);
+        }
+
+        assertThat(vectorCounts.size(), is(2));
+        assertThat(vectorCounts.get(0), is(3));
+        verifyMessage(0, 'A', 'B', 'C');
+        verifyMessage(1, 'D');
+    }
+
+    @Test
+    public void shouldCopyWhenFragmentsAreNotYetPresent()
+    {
+        int offset = appendFrame(0, BEGIN_FRAG_FLAG, 'A');
+        offset = appendFrame(offset, (byte)0, 'B');
+
+        final int readOffset = read(0, 10);
+        assertThat(readOffset, is(offset));
+        assertThat(messages.size(), is(0));
+
+        final int endOffset = appendFrame(offset, END_FRAG_FLAG, 'C');
+
+        assertThat(read(readOffset, 10), is(endOffset));
+        assertThat(vectorCounts.size(), is(1));
+        assertThat(vectorCounts.get(0), is(1));
+        assertThat(lastFlags.get(0), is(END_FRAG_FLAG));
+        verifyMessage(0, 'A', 'B', 'C');
+    }
+
+    private static int offsetOfSecondFragmentPayload()
+    {
+        return align(HEADER_LENGTH + FRAGMENT_LENGTH, FRAME_ALIGNMENT) + HEADER_LENGTH;
+    }
+
+    private int read(final int termOffset, final int fragmentsLimit)
+    {
+        final long outcome = TermReader.read(
+            termBuffer, termOffset, assembler, fragmentsLimit, header, Throwable::printStackTrace);
+
+        return TermReader.offset(outcome);
+    }
+
+    private int appendFrame(final int termOffset, final byte flags, final char fill)
+    {
+        final int frameLength = HEADER_LENGTH + FRAGMENT_LENGTH;
+
+        dataHeader.wrap(termBuffer, termOffset, TERM_LENGTH - termOffset);
+        dataHeader
+            .sessionId(SESSION_ID)
+            .streamId(STREAM_ID)
+            .termId(INITIAL_TERM_ID)
+            .termOffset(termOffset)
+            .flags(flags)
+            .headerType(DataHeaderFlyweight.HDR_TYPE_DATA)
+            .version(DataHeaderFlyweight.CURRENT_VERSION);
+
+        termBuffer.setMemory(termOffset + HEADER_LENGTH, FRAGMENT_LENGTH, (byte)fill);
+        frameLengthOrdered(termBuffer, termOffset, frameLength);
+
+        return termOffset + align(frameLength, FRAME_ALIGNMENT);
+    }
+
+    private void verifyMessage(final int index, final char... fills)
+    {
+        final ExpandableArrayBuffer message = messages.get(index);
+        for (int i = 0; i < fills.length * FRAGMENT_LENGTH; i++)
+        {
+            assertThat("at i=" + i, message.getByte(i), is((byte)fills[i / FRAGMENT_LENGTH]));
+        }
+    }
+}
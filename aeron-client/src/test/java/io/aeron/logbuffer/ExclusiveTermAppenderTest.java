@@ -0,0 +1,298 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.logbuffer;
+
+import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.HeaderFlyweight;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import static io.aeron.logbuffer.ExclusiveTermAppender.FAILED;
+import static io.aeron.logbuffer.FrameDescriptor.*;
+import static io.aeron.logbuffer.LogBufferDescriptor.TERM_TAIL_COUNTERS_OFFSET;
+import static io.aeron.logbuffer.LogBufferDescriptor.packTail;
+import static io.aeron.logbuffer.LogBufferDescriptor.rawTailVolatile;
+import static io.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static io.aeron.protocol.DataHeaderFlyweight.STREAM_ID_FIELD_OFFSET;
+import static io.aeron.protocol.DataHeaderFlyweight.createDefaultHeader;
+import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_DATA;
+import static java.nio.ByteBuffer.allocateDirect;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.agrona.BitUtil.SIZE_OF_INT;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.agrona.BitUtil.align;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class ExclusiveTermAppenderTest
+{
+    private static final int TERM_BUFFER_LENGTH = LogBufferDescriptor.TERM_MIN_LENGTH;
+    private static final int META_DATA_BUFFER_LENGTH = LogBufferDescriptor.LOG_META_DATA_LENGTH;
+    private static final int PARTITION_INDEX = 0;
+    private static final int TERM_TAIL_COUNTER_OFFSET = TERM_TAIL_COUNTERS_OFFSET + (PARTITION_INDEX * SIZE_OF_LONG);
+    private static final int TERM_ID = 7;
+    private static final int SESSION_ID = 11;
+    private static final int STREAM_ID = 13;
+
+    private final UnsafeBuffer termBuffer = spy(new UnsafeBuffer(allocateDirect(TERM_BUFFER_LENGTH)));
+    private final UnsafeBuffer logMetaDataBuffer = new UnsafeBuffer(allocateDirect(META_DATA_BUFFER_LENGTH));
+    private final HeaderWriter headerWriter = spy(new HeaderWriter(createDefaultHeader(0, 0, TERM_ID)));
+
+    private ExclusiveTermAppender termAppender;
+
+    @Before
+    public void setUp()
+    {
+        termAppender = new ExclusiveTermAppender(termBuffer, logMetaDataBuffer, PARTITION_INDEX);
+    }
+
+    @Test
+    public void shouldClaimBatchRegionWithSingleTailIncrement()
+    {
+        final int[] msgLengths = { 40, 8, 100 };
+        final int msgCount = msgLengths.length;
+        final int tail = 256;
+        final int batchLength = BatchClaim.computeBatchLength(msgLengths, msgCount);
+        final BatchClaim batchClaim = new BatchClaim();
+
+        logMetaDataBuffer.putLong(TERM_TAIL_COUNTER_OFFSET, packTail(TERM_ID, tail));
+
+        assertThat(
+            termAppender.claim(TERM_ID, tail, headerWriter, msgLengths, msgCount, batchLength, batchClaim),
+            is(tail + batchLength));
+
+        assertThat(rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX), is(packTail(TERM_ID, tail + batchLength)));
+        assertThat(batchClaim.messageCount(), is(msgCount));
+
+        int frameOffset = tail;
+        final InOrder inOrder = inOrder(headerWriter);
+        for (int i = 0; i < msgCount; i++)
+        {
+            final int frameLength = msgLengths[i] + HEADER_LENGTH;
+            inOrder.verify(headerWriter, times(1)).write(termBuffer, frameOffset, frameLength, TERM_ID);
+            assertThat(batchClaim.offset(i), is(frameOffset - tail + HEADER_LENGTH));
+            assertThat(batchClaim.length(i), is(msgLengths[i]));
+            assertThat(frameLengthVolatile(termBuffer, frameOffset), is(-frameLength));
+            frameOffset += align(frameLength, FRAME_ALIGNMENT);
+        }
+
+        batchClaim.commit();
+
+        frameOffset = tail;
+        for (int i = 0; i < msgCount; i++)
+        {
+            final int frameLength = msgLengths[i] + HEADER_LENGTH;
+            assertThat(frameType(termBuffer, frameOffset), is(HDR_TYPE_DATA));
+            assertThat(frameLengthVolatile(termBuffer, frameOffset), is(frameLength));
+            frameOffset += align(frameLength, FRAME_ALIGNMENT);
+        }
+    }
+
+    @Test
+    public void shouldPadAndFailWhenBatchCrossesTermBoundary()
+    {
+        final int[] msgLengths = { 40, 40 };
+        final int msgCount = msgLengths.length;
+        final int batchLength = BatchClaim.computeBatchLength(msgLengths, msgCount);
+        final int tail = TERM_BUFFER_LENGTH - (batchLength - FRAME_ALIGNMENT);
+        final int paddingLength = TERM_BUFFER_LENGTH - tail;
+        final BatchClaim batchClaim = new BatchClaim();
+
+        logMetaDataBuffer.putLong(TERM_TAIL_COUNTER_OFFSET, packTail(TERM_ID, tail));
+
+        assertThat(
+            termAppender.claim(TERM_ID, tail, headerWriter, msgLengths, msgCount, batchLength, batchClaim),
+            is(FAILED));
+
+        assertThat(rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX), is(packTail(TERM_ID, tail + batchLength)));
+        assertThat(batchClaim.messageCount(), is(0));
+
+        verify(headerWriter, times(1)).write(termBuffer, tail, paddingLength, TERM_ID);
+        assertThat(frameType(termBuffer, tail), is(PADDING_FRAME_TYPE));
+        assertThat(frameLengthVolatile(termBuffer, tail), is(paddingLength));
+    }
+
+    @Test
+    public void shouldClaimBatchWhichEndsExactlyAtTermBoundary()
+    {
+        final int[] msgLengths = { 40, 40 };
+        final int msgCount = msgLengths.length;
+        final int batchLength = BatchClaim.computeBatchLength(msgLengths, msgCount);
+        final int tail = TERM_BUFFER_LENGTH - batchLength;
+        final BatchClaim batchClaim = new BatchClaim();
+
+        logMetaDataBuffer.putLong(TERM_TAIL_COUNTER_OFFSET, packTail(TERM_ID, tail));
+
+        assertThat(
+            termAppender.claim(TERM_ID, tail, headerWriter, msgLengths, msgCount, batchLength, batchClaim),
+            is(TERM_BUFFER_LENGTH));
+
+        assertThat(batchClaim.messageCount(), is(msgCount));
+        batchClaim.commit();
+
+        final int secondFrameOffset = tail + align(msgLengths[0] + HEADER_LENGTH, FRAME_ALIGNMENT);
+        assertThat(frameLengthVolatile(termBuffer, secondFrameOffset), is(msgLengths[1] + HEADER_LENGTH));
+        assertThat(frameType(termBuffer, secondFrameOffset), is(HDR_TYPE_DATA));
+    }
+
+    @Test
+    public void shouldTurnBatchFramesIntoPaddingOnAbort()
+    {
+        final int[] msgLengths = { 40, 8, 100 };
+        final int msgCount = msgLengths.length;
+        final int tail = 0;
+        final int batchLength = BatchClaim.computeBatchLength(msgLengths, msgCount);
+        final BatchClaim batchClaim = new BatchClaim();
+
+        logMetaDataBuffer.putLong(TERM_TAIL_COUNTER_OFFSET, packTail(TERM_ID, tail));
+
+        assertThat(
+            termAppender.claim(TERM_ID, tail, headerWriter, msgLengths, msgCount, batchLength, batchClaim),
+            is(batchLength));
+
+        batchClaim.abort();
+
+        int frameOffset = tail;
+        for (int i = 0; i < msgCount; i++)
+        {
+            final int frameLength = msgLengths[i] + HEADER_LENGTH;
+            assertThat(frameType(termBuffer, frameOffset), is(PADDING_FRAME_TYPE));
+            assertThat(frameLengthVolatile(termBuffer, frameOffset), is(frameLength));
+            frameOffset += align(frameLength, FRAME_ALIGNMENT);
+        }
+
+        final long readOutcome = TermReader.read(
+            termBuffer,
+            tail,
+            (buffer, offset, length, header) -> {},
+            Integer.MAX_VALUE,
+            new Header(TERM_ID, TERM_BUFFER_LENGTH),
+            Throwable::printStackTrace);
+
+        assertThat(TermReader.fragmentsRead(readOutcome), is(0));
+        assertThat(TermReader.offset(readOutcome), is(tail + batchLength));
+    }
+
+    @Test
+    public void shouldAppendBlockAndRewriteFrameHeaders()
+    {
+        final int[] payloadLengths = { 40, 8, 100 };
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[1024]);
+        final int blockLength = fillBlock(srcBuffer, payloadLengths);
+        final int tail = 128;
+
+        logMetaDataBuffer.putLong(TERM_TAIL_COUNTER_OFFSET, packTail(TERM_ID, tail));
+
+        assertThat(
+            termAppender.appendBlock(TERM_ID, tail, headerWriter, SESSION_ID, STREAM_ID, srcBuffer, 0, blockLength),
+            is(tail + blockLength));
+
+        assertThat(rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX), is(packTail(TERM_ID, tail + blockLength)));
+
+        final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
+        int frameOffset = tail;
+        for (int i = 0; i < payloadLengths.length; i++)
+        {
+            final int frameLength = payloadLengths[i] + HEADER_LENGTH;
+            dataHeader.wrap(termBuffer, frameOffset, HEADER_LENGTH);
+
+            assertThat(dataHeader.frameLength(), is(frameLength));
+            assertThat(dataHeader.termOffset(), is(frameOffset));
+            assertThat(dataHeader.sessionId(), is(SESSION_ID));
+            assertThat(dataHeader.streamId(), is(STREAM_ID));
+            assertThat(dataHeader.termId(), is(TERM_ID));
+            assertThat(termBuffer.getByte(frameOffset + frameLength - 1), is((byte)i));
+
+            frameOffset += align(frameLength, FRAME_ALIGNMENT);
+        }
+    }
+
+    @Test
+    public void shouldCommitFirstFrameOfBlockAfterTheRestOfTheBlock()
+    {
+        final int[] payloadLengths = { 40, 8 };
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[1024]);
+        final int blockLength = fillBlock(srcBuffer, payloadLengths);
+        final int firstFrameLength = payloadLengths[0] + HEADER_LENGTH;
+        final int tail = 0;
+
+        logMetaDataBuffer.putLong(TERM_TAIL_COUNTER_OFFSET, packTail(TERM_ID, tail));
+        doAnswer(
+            (invocation) ->
+            {
+                assertThat(frameLengthVolatile(termBuffer, tail), is(0));
+                return invocation.callRealMethod();
+            })
+            .when(termBuffer).putBytes(anyInt(), any(DirectBuffer.class), anyInt(), anyInt());
+
+        termAppender.appendBlock(TERM_ID, tail, headerWriter, SESSION_ID, STREAM_ID, srcBuffer, 0, blockLength);
+
+        final InOrder inOrder = inOrder(termBuffer);
+        inOrder.verify(termBuffer).putBytes(tail + SIZE_OF_INT, srcBuffer, SIZE_OF_INT, blockLength - SIZE_OF_INT);
+        inOrder.verify(termBuffer).putInt(tail + STREAM_ID_FIELD_OFFSET, STREAM_ID, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer).putIntOrdered(lengthOffset(tail), firstFrameLength);
+        assertThat(frameLengthVolatile(termBuffer, tail), is(firstFrameLength));
+    }
+
+    @Test
+    public void shouldPadAndFailWhenBlockCrossesTermBoundary()
+    {
+        final int[] payloadLengths = { 40, 40 };
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[1024]);
+        final int blockLength = fillBlock(srcBuffer, payloadLengths);
+        final int tail = TERM_BUFFER_LENGTH - FRAME_ALIGNMENT;
+
+        logMetaDataBuffer.putLong(TERM_TAIL_COUNTER_OFFSET, packTail(TERM_ID, tail));
+
+        assertThat(
+            termAppender.appendBlock(TERM_ID, tail, headerWriter, SESSION_ID, STREAM_ID, srcBuffer, 0, blockLength),
+            is(FAILED));
+
+        assertThat(rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX), is(packTail(TERM_ID, tail + blockLength)));
+        verify(termBuffer, never()).putBytes(anyInt(), any(DirectBuffer.class), anyInt(), anyInt());
+        assertThat(frameType(termBuffer, tail), is(PADDING_FRAME_TYPE));
+        assertThat(frameLengthVolatile(termBuffer, tail), is(FRAME_ALIGNMENT));
+    }
+
+    private static int fillBlock(final UnsafeBuffer buffer, final int[] payloadLengths)
+    {
+        final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
+        int frameOffset = 0;
+        for (int i = 0; i < payloadLengths.length; i++)
+        {
+            final int frameLength = payloadLengths[i] + HEADER_LENGTH;
+            dataHeader.wrap(buffer, frameOffset, HEADER_LENGTH);
+            dataHeader
+                .termOffset(0xBAD)
+                .sessionId(-1)
+                .streamId(-1)
+                .termId(-1)
+                .flags(DataHeaderFlyweight.BEGIN_AND_END_FLAGS)
+                .headerType(HDR_TYPE_DATA)
+                .frameLength(frameLength)
+                .version(HeaderFlyweight.CURRENT_VERSION);
+            buffer.setMemory(frameOffset + HEADER_LENGTH, payloadLengths[i], (byte)i);
+
+            frameOffset += align(frameLength, FRAME_ALIGNMENT);
+        }
+
+        return frameOffset;
+    }
+}
@@ -199,6 +199,47 @@ public class TermAppenderTest
         inOrder.verify(headerWriter, times(1)).write(termBuffer, tail, frameLength, TERM_ID);
     }
 
+    @Test
+    public void shouldClaimBatchRegionWithSingleTailIncrement()
+    {
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final int[] msgLengths = { 40, 8, 100 };
+        final int msgCount = msgLengths.length;
+        final int tail = 0;
+        final int batchLength = BatchClaim.computeBatchLength(msgLengths, msgCount);
+        final BatchClaim batchClaim = new BatchClaim();
+
+        logMetaDataBuffer.putLong(TERM_TAIL_COUNTER_OFFSET, packTail(TERM_ID, tail));
+
+        assertThat(
+            termAppender.claim(headerWriter, msgLengths, msgCount, batchLength, batchClaim, TERM_ID),
+            is(batchLength));
+
+        assertThat(rawTailVolatile(logMetaDataBuffer, PARTITION_INDEX), is(packTail(TERM_ID, tail + batchLength)));
+        assertThat(batchClaim.messageCount(), is(msgCount));
+
+        int frameOffset = tail;
+        for (int i = 0; i < msgCount; i++)
+        {
+            assertThat(batchClaim.offset(i), is(frameOffset + headerLength));
+            assertThat(batchClaim.length(i), is(msgLengths[i]));
+            assertThat(frameLengthVolatile(termBuffer, frameOffset), is(-(msgLengths[i] + headerLength)));
+            frameOffset += align(msgLengths[i] + headerLength, FRAME_ALIGNMENT);
+        }
+
+        batchClaim.commit();
+
+        frameOffset = tail;
+        final InOrder inOrder = inOrder(headerWriter);
+        for (int i = 0; i < msgCount; i++)
+        {
+            final int frameLength = msgLengths[i] + headerLength;
+            inOrder.verify(headerWriter, times(1)).write(termBuffer, frameOffset, frameLength, TERM_ID);
+            assertThat(frameLengthVolatile(termBuffer, frameOffset), is(frameLength));
+            frameOffset += align(frameLength, FRAME_ALIGNMENT);
+        }
+    }
+
     @Test
     public void shouldAppendUnfragmentedFromVectorsToEmptyLog()
     {
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Feedback delay generator which adapts to the RTT measured for a single image or publication.
+ * <p>
+ * Smoothed RTT and RTT variance are estimated as per https://tools.ietf.org/html/rfc6298 and the delay is the
+ * retransmission timeout of {@code SRTT + 4 * RTTVAR} bounded by a min and max delay. Until the first measurement
+ * the initial delay is used.
+ * <p>
+ * For a group of receivers the delay is randomised as per {@link OptimalMulticastDelayGenerator} with a max backoff
+ * of {@link #MULTICAST_BACKOFF_RTT_MULTIPLE} times the retransmission timeout so NAKs from the group are suppressed.
+ * <p>
+ * Measurements are made on one thread while delays may be generated on another so the delay is published via a
+ * volatile field.
+ */
+public class AdaptiveDelayGenerator implements FeedbackDelayGenerator
+{
+    /**
+     * Multiple of the retransmission timeout used as the max backoff when randomising delays for a group.
+     */
+    public static final int MULTICAST_BACKOFF_RTT_MULTIPLE = 4;
+
+    private static final int RTT_VARIANCE_MULTIPLE = 4;
+
+    private final long minDelayNs;
+    private final long maxDelayNs;
+    private final long measurementIntervalNs;
+    private final boolean immediateFeedback;
+    private final boolean isRandomised;
+    private final double lambda;
+    private final double expLambdaMinusOne;
+    private long smoothedRttNs = 0;
+    private long rttVarianceNs = 0;
+    private long lastMeasurementNs;
+    private boolean hasRttMeasurement = false;
+    private volatile long delayNs;
+
+    /**
+     * Create a generator with a deterministic delay for a single receiver.
+     *
+     * @param initialDelayNs        to use until the first RTT measurement.
+     * @param minDelayNs            lower bound for the delay.
+     * @param maxDelayNs            upper bound for the delay.
+     * @param measurementIntervalNs between RTT measurements initiated for the delay.
+     * @param immediateFeedback     or not
+     */
+    public AdaptiveDelayGenerator(
+        final long initialDelayNs,
+        final long minDelayNs,
+        final long maxDelayNs,
+        final long measurementIntervalNs,
+        final boolean immediateFeedback)
+    {
+        this(initialDelayNs, minDelayNs, maxDelayNs, measurementIntervalNs, 1, immediateFeedback);
+    }
+
+    /**
+     * Create a generator which randomises the delay when the group size is greater than 1.
+     *
+     * @param initialDelayNs        to use as the delay, or max backoff for a group, until the first RTT measurement.
+     * @param minDelayNs            lower bound for the delay.
+     * @param maxDelayNs            upper bound for the delay.
+     * @param measurementIntervalNs between RTT measurements initiated for the delay.
+     * @param groupSize             estimate of the number of receivers.
+     * @param immediateFeedback     or not
+     */
+    public AdaptiveDelayGenerator(
+        final long initialDelayNs,
+        final long minDelayNs,
+        final long maxDelayNs,
+        final long measurementIntervalNs,
+        final double groupSize,
+        final boolean immediateFeedback)
+    {
+        if (minDelayNs < 0 || maxDelayNs < minDelayNs)
+        {
+            throw new IllegalArgumentException(
+                "invalid delay bounds: minDelayNs=" + minDelayNs + " maxDelayNs=" + maxDelayNs);
+        }
+
+        this.minDelayNs = minDelayNs;
+        this.maxDelayNs = maxDelayNs;
+        this.measurementIntervalNs = measurementIntervalNs;
+        this.immediateFeedback = immediateFeedback;
+        this.isRandomised = groupSize > 1;
+        this.lambda = Math.log(groupSize) + 1;
+        this.expLambdaMinusOne = Math.exp(lambda) - 1;
+        this.lastMeasurementNs = -measurementIntervalNs;
+        this.delayNs = initialDelayNs;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long generateDelay()
+    {
+        final long delayNs = this.delayNs;
+        if (!isRandomised)
+        {
+            return delayNs;
+        }
+
+        final double u = ThreadLocalRandom.current().nextDouble();
+
+        return (long)((delayNs / lambda) * Math.log(1.0 + (u * expLambdaMinusOne)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean shouldFeedbackImmediately()
+    {
+        return immediateFeedback;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean shouldMeasureRtt(final long nowNs)
+    {
+        if (nowNs - lastMeasurementNs >= measurementIntervalNs)
+        {
+            lastMeasurementNs = nowNs;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void onRttMeasurement(final long nowNs, final long rttNs)
+    {
+        if (rttNs < 0)
+        {
+            return;
+        }
+
+        if (!hasRttMeasurement)
+        {
+            smoothedRttNs = rttNs;
+            rttVarianceNs = rttNs >> 1;
+            hasRttMeasurement = true;
+        }
+        else
+        {
+            rttVarianceNs = rttVarianceNs - (rttVarianceNs >> 2) + (Math.abs(smoothedRttNs - rttNs) >> 2);
+            smoothedRttNs = smoothedRttNs - (smoothedRttNs >> 3) + (rttNs >> 3);
+        }
+
+        final long timeoutNs = smoothedRttNs + (RTT_VARIANCE_MULTIPLE * rttVarianceNs);
+        final long delayNs = isRandomised ? MULTICAST_BACKOFF_RTT_MULTIPLE * timeoutNs : timeoutNs;
+
+        this.delayNs = Math.min(Math.max(delayNs, minDelayNs), maxDelayNs);
+    }
+
+    /**
+     * Smoothed RTT estimate from measurements.
+     *
+     * @return smoothed RTT estimate in nanoseconds or 0 if not yet measured.
+     */
+    public long smoothedRttNs()
+    {
+        return smoothedRttNs;
+    }
+
+    /**
+     * RTT variance estimate from measurements.
+     *
+     * @return RTT variance estimate in nanoseconds or 0 if not yet measured.
+     */
+    public long rttVarianceNs()
+    {
+        return rttVarianceNs;
+    }
+
+    /**
+     * Current delay, or max backoff for a group, which has been derived from measurements.
+     *
+     * @return current delay, or max backoff for a group, in nanoseconds.
+     */
+    public long delayNs()
+    {
+        return delayNs;
+    }
+}
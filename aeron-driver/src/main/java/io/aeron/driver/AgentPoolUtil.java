@@ -0,0 +1,87 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.driver.media.UdpChannel;
+import org.agrona.concurrent.status.AtomicCounter;
+
+/**
+ * Assignment of channels to the agents in a pool of {@link Sender}s or {@link Receiver}s, and updates to counters
+ * which are shared by the agents of a pool.
+ */
+public class AgentPoolUtil
+{
+    /**
+     * Compute the index of the agent in a pool which services a channel. The index is taken from the param if present
+     * otherwise from a hash of the canonical form of the channel.
+     *
+     * @param udpChannel to be serviced.
+     * @param paramName  of the channel URI param which can explicitly select the agent.
+     * @param agentCount in the pool.
+     * @return the index of the agent which services the channel.
+     * @throws IllegalArgumentException if the param is not a valid index for the pool.
+     */
+    public static int agentIndex(final UdpChannel udpChannel, final String paramName, final int agentCount)
+    {
+        if (1 == agentCount)
+        {
+            return 0;
+        }
+
+        final String indexParam = udpChannel.channelUri().get(paramName);
+        if (null != indexParam)
+        {
+            final int index;
+            try
+            {
+                index = Integer.parseInt(indexParam);
+            }
+            catch (final NumberFormatException ex)
+            {
+                throw new IllegalArgumentException(paramName + " must be an integer: " + indexParam, ex);
+            }
+
+            if (index < 0 || index >= agentCount)
+            {
+                throw new IllegalArgumentException(
+                    paramName + " must be >= 0 and < " + agentCount + ": " + index);
+            }
+
+            return index;
+        }
+
+        return (udpChannel.canonicalForm().hashCode() & Integer.MAX_VALUE) % agentCount;
+    }
+
+    /**
+     * Increment a counter which may be shared with other agents of a pool. An atomic increment is required when the
+     * counter is shared by the agents of a pool, otherwise the cheaper single writer ordered increment is sufficient.
+     *
+     * @param counter  to be incremented.
+     * @param isPooled true if the counter is incremented by the agents of a pool.
+     */
+    public static void increment(final AtomicCounter counter, final boolean isPooled)
+    {
+        if (isPooled)
+        {
+            counter.increment();
+        }
+        else
+        {
+            counter.orderedIncrement();
+        }
+    }
+}
@@ -21,6 +21,7 @@ import io.aeron.driver.media.*;
 import io.aeron.logbuffer.FrameDescriptor;
 import io.aeron.logbuffer.LogBufferDescriptor;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.NakFlyweight;
 import org.agrona.BitUtil;
 import org.agrona.LangUtil;
 import org.agrona.concurrent.BackoffIdleStrategy;
@@ -596,6 +597,117 @@ public class Configuration
      */
     public static final int MTU_LENGTH = getInteger(MTU_LENGTH_PROP_NAME, MTU_LENGTH_DEFAULT);
 
+    /**
+     * Property name for the maximum number of MTU sized datagrams a {@link NetworkPublication} will gather from its
+     * term buffer and hand to the {@link SendChannelEndpoint} in a single send operation.
+     */
+    public static final String SEND_BATCH_SIZE_PROP_NAME = "aeron.send.batch.size";
+
+    /**
+     * Default number of datagrams gathered per send operation. A value of 1 sends a single datagram per
+     * {@link NetworkPublication#send(long)}.
+     */
+    public static final int SEND_BATCH_SIZE_DEFAULT = 1;
+
+    /**
+     * Maximum number of datagrams which can be gathered per send operation.
+     */
+    public static final int SEND_BATCH_SIZE_MAX = 64;
+
+    /**
+     * Number of datagrams gathered per send operation.
+     */
+    public static final int SEND_BATCH_SIZE = getInteger(SEND_BATCH_SIZE_PROP_NAME, SEND_BATCH_SIZE_DEFAULT);
+
+    /**
+     * Property name for the maximum number of datagrams the {@link Receiver} will drain from a
+     * {@link ReceiveChannelEndpoint} into its ring of receive buffers per poll of the transports.
+     */
+    public static final String RECEIVE_BATCH_SIZE_PROP_NAME = "aeron.receive.batch.size";
+
+    /**
+     * Default number of datagrams drained per endpoint per poll. A value of 1 receives a single datagram.
+     */
+    public static final int RECEIVE_BATCH_SIZE_DEFAULT = 1;
+
+    /**
+     * Maximum number of datagrams which can be drained per endpoint per poll.
+     */
+    public static final int RECEIVE_BATCH_SIZE_MAX = 64;
+
+    /**
+     * Number of datagrams drained per endpoint per poll.
+     */
+    public static final int RECEIVE_BATCH_SIZE = getInteger(
+        RECEIVE_BATCH_SIZE_PROP_NAME, RECEIVE_BATCH_SIZE_DEFAULT);
+
+    /**
+     * Property name for the number of {@link Receiver} agents, each with its own thread, in
+     * {@link ThreadingMode#DEDICATED} mode.
+     */
+    public static final String RECEIVER_COUNT_PROP_NAME = "aeron.receiver.count";
+
+    /**
+     * Default number of {@link Receiver} agents.
+     */
+    public static final int RECEIVER_COUNT_DEFAULT = 1;
+
+    /**
+     * Number of {@link Receiver} agents over which receive channel endpoints are sharded.
+     */
+    public static final int RECEIVER_COUNT = getInteger(RECEIVER_COUNT_PROP_NAME, RECEIVER_COUNT_DEFAULT);
+
+    /**
+     * Property name for the number of {@link Sender} agents, each with its own thread, in
+     * {@link ThreadingMode#DEDICATED} mode.
+     */
+    public static final String SENDER_COUNT_PROP_NAME = "aeron.sender.count";
+
+    /**
+     * Default number of {@link Sender} agents.
+     */
+    public static final int SENDER_COUNT_DEFAULT = 1;
+
+    /**
+     * Number of {@link Sender} agents over which send channel endpoints and their publications are partitioned.
+     */
+    public static final int SENDER_COUNT = getInteger(SENDER_COUNT_PROP_NAME, SENDER_COUNT_DEFAULT);
+
+    /**
+     * Property name for the maximum number of gaps in a term which a {@link PublicationImage} reports in a single NAK.
+     */
+    public static final String NAK_MAX_GAPS_PROP_NAME = "aeron.nak.max.gaps";
+
+    /**
+     * Default maximum number of gaps reported per NAK. A value of 1 reports only the first gap after the rebuild
+     * position so each gap costs a round trip to recover.
+     */
+    public static final int NAK_MAX_GAPS_DEFAULT = 1;
+
+    /**
+     * Maximum number of gaps reported per NAK.
+     */
+    public static final int NAK_MAX_GAPS = getInteger(NAK_MAX_GAPS_PROP_NAME, NAK_MAX_GAPS_DEFAULT);
+
+    /**
+     * Property name for the number of endpoints above which the transport pollers switch from polling each endpoint
+     * in turn to selecting the endpoints which are ready for read.
+     */
+    public static final String TRANSPORT_POLLER_ITERATION_THRESHOLD_PROP_NAME =
+        "aeron.transport.poller.iteration.threshold";
+
+    /**
+     * Default number of endpoints above which the transport pollers select for readiness.
+     */
+    public static final int TRANSPORT_POLLER_ITERATION_THRESHOLD_DEFAULT =
+        UdpTransportPoller.ITERATION_THRESHOLD_DEFAULT;
+
+    /**
+     * Number of endpoints above which the transport pollers select for readiness rather than polling each endpoint.
+     */
+    public static final int TRANSPORT_POLLER_ITERATION_THRESHOLD = getInteger(
+        TRANSPORT_POLLER_ITERATION_THRESHOLD_PROP_NAME, TRANSPORT_POLLER_ITERATION_THRESHOLD_DEFAULT);
+
     /**
      * Length of the maximum transmission unit of the media driver's protocol for IPC.
      */
@@ -644,6 +756,17 @@ public class Configuration
     public static final String RECEIVE_CHANNEL_ENDPOINT_SUPPLIER = getProperty(
         RECEIVE_CHANNEL_ENDPOINT_SUPPLIER_PROP_NAME, "io.aeron.driver.DefaultReceiveChannelEndpointSupplier");
 
+    /**
+     * Property name for {@link DatagramTransportSupplier}.
+     */
+    public static final String DATAGRAM_TRANSPORT_SUPPLIER_PROP_NAME = "aeron.DatagramTransport.supplier";
+
+    /**
+     * {@link DatagramTransportSupplier} to provide the datagram I/O backend for channel endpoints.
+     */
+    public static final String DATAGRAM_TRANSPORT_SUPPLIER = getProperty(
+        DATAGRAM_TRANSPORT_SUPPLIER_PROP_NAME, "io.aeron.driver.DefaultDatagramTransportSupplier");
+
     /**
      * Property name for Application Specific Feedback added to Status Messages by the driver for flow control.
      */
@@ -746,11 +869,50 @@ public class Configuration
     public static final FeedbackDelayGenerator RETRANSMIT_UNICAST_LINGER_GENERATOR =
         () -> RETRANSMIT_UNICAST_LINGER_DEFAULT_NS;
 
+    /**
+     * Property name for the max number of active retransmissions per publication. The pool of retransmit actions
+     * starts at {@link #MAX_RETRANSMITS_DEFAULT} and grows on demand up to this limit.
+     */
+    public static final String MAX_RETRANSMITS_PROP_NAME = "aeron.retransmit.max.actions";
+
     /**
      * Default max number of active retransmissions per connected stream.
      */
     public static final int MAX_RETRANSMITS_DEFAULT = 16;
 
+    /**
+     * Max number of active retransmissions per publication. NAKs which cannot be merged into an active
+     * retransmission once this is reached are dropped.
+     */
+    public static final int MAX_RETRANSMITS = getInteger(MAX_RETRANSMITS_PROP_NAME, MAX_RETRANSMITS_DEFAULT);
+
+    /**
+     * Property name for boolean value of whether NAK delays and retransmit linger timeouts should adapt to the RTT
+     * measured for each image and publication rather than use the static defaults.
+     */
+    public static final String ADAPTIVE_FEEDBACK_DELAY_PROP_NAME = "aeron.feedback.delay.adaptive";
+
+    /**
+     * Should NAK delays and retransmit linger timeouts adapt to measured RTT. Defaults to false.
+     */
+    public static final boolean ADAPTIVE_FEEDBACK_DELAY =
+        "true".equalsIgnoreCase(getProperty(ADAPTIVE_FEEDBACK_DELAY_PROP_NAME, "false"));
+
+    /**
+     * Lower bound for an adaptive feedback delay in nanoseconds.
+     */
+    public static final long ADAPTIVE_FEEDBACK_DELAY_MIN_NS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    /**
+     * Upper bound for an adaptive feedback delay in nanoseconds.
+     */
+    public static final long ADAPTIVE_FEEDBACK_DELAY_MAX_NS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Interval between RTT measurements initiated to keep an adaptive feedback delay current in nanoseconds.
+     */
+    public static final long ADAPTIVE_FEEDBACK_RTT_MEASUREMENT_INTERVAL_NS = TimeUnit.MILLISECONDS.toNanos(100);
+
     /**
      * How far ahead the publisher can get from the sender position.
      *
@@ -942,6 +1104,27 @@ public class Configuration
         return supplier;
     }
 
+    /**
+     * Get the supplier of {@link io.aeron.driver.media.DatagramTransport}s which perform the datagram I/O for
+     * channel endpoints.
+     *
+     * @return the {@link DatagramTransportSupplier}.
+     */
+    static DatagramTransportSupplier datagramTransportSupplier()
+    {
+        DatagramTransportSupplier supplier = null;
+        try
+        {
+            supplier = (DatagramTransportSupplier)Class.forName(DATAGRAM_TRANSPORT_SUPPLIER).newInstance();
+        }
+        catch (final Exception ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+
+        return supplier;
+    }
+
     /**
      * Get the supplier of {@link FlowControl}s which can be used for changing behavior of flow control for unicast
      * publications.
@@ -1025,6 +1208,126 @@ public class Configuration
         }
     }
 
+    /**
+     * Validate that the number of datagrams gathered per send operation is within range.
+     *
+     * @param sendBatchSize to be validated.
+     * @throws ConfigurationException if the batch size is not valid.
+     */
+    public static void validateSendBatchSize(final int sendBatchSize)
+    {
+        if (sendBatchSize < 1 || sendBatchSize > SEND_BATCH_SIZE_MAX)
+        {
+            throw new ConfigurationException(
+                "sendBatchSize must be >= 1 and <= " + SEND_BATCH_SIZE_MAX + ": sendBatchSize=" + sendBatchSize);
+        }
+    }
+
+    /**
+     * Validate that the number of receivers is positive and that a pool of receivers is only used when each agent has
+     * a dedicated thread.
+     *
+     * @param receiverCount to be validated.
+     * @param threadingMode the driver is running with.
+     * @throws ConfigurationException if the receiver count is not valid.
+     */
+    public static void validateReceiverCount(final int receiverCount, final ThreadingMode threadingMode)
+    {
+        if (receiverCount < 1)
+        {
+            throw new ConfigurationException("receiverCount must be >= 1: receiverCount=" + receiverCount);
+        }
+
+        if (receiverCount > 1 && ThreadingMode.DEDICATED != threadingMode)
+        {
+            throw new ConfigurationException(
+                "receiverCount > 1 requires ThreadingMode.DEDICATED: threadingMode=" + threadingMode);
+        }
+    }
+
+    /**
+     * Validate that the number of senders is positive and that a pool of senders is only used when each agent has
+     * a dedicated thread.
+     *
+     * @param senderCount   to be validated.
+     * @param threadingMode the driver is running with.
+     * @throws ConfigurationException if the sender count is not valid.
+     */
+    public static void validateSenderCount(final int senderCount, final ThreadingMode threadingMode)
+    {
+        if (senderCount < 1)
+        {
+            throw new ConfigurationException("senderCount must be >= 1: senderCount=" + senderCount);
+        }
+
+        if (senderCount > 1 && ThreadingMode.DEDICATED != threadingMode)
+        {
+            throw new ConfigurationException(
+                "senderCount > 1 requires ThreadingMode.DEDICATED: threadingMode=" + threadingMode);
+        }
+    }
+
+    /**
+     * Validate that the maximum number of gaps reported per NAK is within range.
+     *
+     * @param nakMaxGaps to be validated.
+     * @throws ConfigurationException if the number of gaps is not valid.
+     */
+    public static void validateNakMaxGaps(final int nakMaxGaps)
+    {
+        if (nakMaxGaps < 1 || nakMaxGaps > NakFlyweight.MAX_RANGE_COUNT)
+        {
+            throw new ConfigurationException(
+                "nakMaxGaps must be >= 1 and <= " + NakFlyweight.MAX_RANGE_COUNT + ": nakMaxGaps=" + nakMaxGaps);
+        }
+    }
+
+    /**
+     * Validate that the max number of active retransmissions is within range.
+     *
+     * @param maxRetransmits to be validated.
+     * @throws ConfigurationException if the max number of retransmissions is not valid.
+     */
+    public static void validateMaxRetransmits(final int maxRetransmits)
+    {
+        if (maxRetransmits < 1)
+        {
+            throw new ConfigurationException("maxRetransmits must be >= 1: maxRetransmits=" + maxRetransmits);
+        }
+    }
+
+    /**
+     * Validate that the number of endpoints above which the transport pollers select for readiness is not negative.
+     *
+     * @param iterationThreshold to be validated.
+     * @throws ConfigurationException if the threshold is not valid.
+     */
+    public static void validateTransportPollerIterationThreshold(final int iterationThreshold)
+    {
+        if (iterationThreshold < 0)
+        {
+            throw new ConfigurationException(
+                "transportPollerIterationThreshold must be >= 0: transportPollerIterationThreshold=" +
+                iterationThreshold);
+        }
+    }
+
+    /**
+     * Validate that the number of datagrams drained per endpoint per poll is within range.
+     *
+     * @param receiveBatchSize to be validated.
+     * @throws ConfigurationException if the batch size is not valid.
+     */
+    public static void validateReceiveBatchSize(final int receiveBatchSize)
+    {
+        if (receiveBatchSize < 1 || receiveBatchSize > RECEIVE_BATCH_SIZE_MAX)
+        {
+            throw new ConfigurationException(
+                "receiveBatchSize must be >= 1 and <= " + RECEIVE_BATCH_SIZE_MAX +
+                ": receiveBatchSize=" + receiveBatchSize);
+        }
+    }
+
     /**
      * Validate that the socket buffer lengths are sufficient for the media driver configuration.
      *
@@ -18,6 +18,7 @@ package io.aeron.driver;
 import io.aeron.driver.exceptions.UnknownSubscriptionException;
 import io.aeron.driver.media.ReceiveChannelEndpoint;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.FecFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
 import io.aeron.protocol.SetupFlyweight;
 import org.agrona.collections.BiInt2ObjectMap;
@@ -25,6 +26,7 @@ import org.agrona.collections.Int2ObjectHashMap;
 import org.agrona.concurrent.UnsafeBuffer;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 
 import static io.aeron.driver.DataPacketDispatcher.SessionState.INIT_IN_PROGRESS;
 import static io.aeron.driver.DataPacketDispatcher.SessionState.ON_COOL_DOWN;
@@ -49,6 +51,7 @@ public class DataPacketDispatcher implements DataPacketHandler, SetupMessageHand
         new Int2ObjectHashMap<>();
     private final DriverConductorProxy conductorProxy;
     private final Receiver receiver;
+    private PublicationImage singleImage;
 
     public DataPacketDispatcher(final DriverConductorProxy conductorProxy, final Receiver receiver)
     {
@@ -76,6 +79,8 @@ public class DataPacketDispatcher implements DataPacketHandler, SetupMessageHand
         {
             image.ifActiveGoInactive();
         }
+
+        updateSingleImage();
     }
 
     public void addPublicationImage(final PublicationImage image)
@@ -89,6 +94,7 @@ public class DataPacketDispatcher implements DataPacketHandler, SetupMessageHand
         ignoredSessionsMap.remove(sessionId, streamId);
 
         image.activate();
+        updateSingleImage();
     }
 
     public void removePublicationImage(final PublicationImage image)
@@ -110,6 +116,7 @@ public class DataPacketDispatcher implements DataPacketHandler, SetupMessageHand
 
         image.ifActiveGoInactive();
         ignoredSessionsMap.put(sessionId, streamId, ON_COOL_DOWN);
+        updateSingleImage();
     }
 
     public void removePendingSetup(final int sessionId, final int streamId)
@@ -157,6 +164,50 @@ public class DataPacketDispatcher implements DataPacketHandler, SetupMessageHand
         return 0;
     }
 
+    /**
+     * Source address of the image when the dispatcher has a single image so a channel could be connected to it.
+     *
+     * @return source address of the single image or null if there is not exactly one image.
+     */
+    public InetSocketAddress singleImageSourceAddress()
+    {
+        return null != singleImage ? singleImage.sourceAddress() : null;
+    }
+
+    /**
+     * Buffer in the term of the single image into which the payload of the next in order datagram can be received
+     * directly, see {@link PublicationImage#zeroCopyPayloadBuffer()}.
+     *
+     * @return buffer for the payload or null if the next datagram must be received with a copy.
+     */
+    public ByteBuffer zeroCopyPayloadBuffer()
+    {
+        return null != singleImage ? singleImage.zeroCopyPayloadBuffer() : null;
+    }
+
+    /**
+     * Complete the insert of a data packet whose payload was received into the buffer from
+     * {@link #zeroCopyPayloadBuffer()}.
+     *
+     * @param header of the data packet.
+     * @param buffer containing the header of the data packet.
+     * @param length of the data packet including the header.
+     * @return number of bytes inserted or 0 if the packet was not inserted so must be dispatched with a copy.
+     */
+    public int onZeroCopyDataPacket(final DataHeaderFlyweight header, final UnsafeBuffer buffer, final int length)
+    {
+        final PublicationImage image = singleImage;
+        if (null != image &&
+            image.sessionId() == header.sessionId() &&
+            image.streamId() == header.streamId() &&
+            image.insertZeroCopyPacket(header.termId(), header.termOffset(), buffer, length))
+        {
+            return length;
+        }
+
+        return 0;
+    }
+
     public void onSetupMessage(
         final ReceiveChannelEndpoint channelEndpoint,
         final SetupFlyweight header,
@@ -227,11 +278,48 @@ public class DataPacketDispatcher implements DataPacketHandler, SetupMessageHand
         }
     }
 
+    public void onFecMessage(
+        final ReceiveChannelEndpoint channelEndpoint,
+        final FecFlyweight header,
+        final int length,
+        final InetSocketAddress srcAddress)
+    {
+        final int streamId = header.streamId();
+        final Int2ObjectHashMap<PublicationImage> imageBySessionIdMap = sessionsByStreamIdMap.get(streamId);
+
+        if (null != imageBySessionIdMap)
+        {
+            final PublicationImage image = imageBySessionIdMap.get(header.sessionId());
+
+            if (null != image)
+            {
+                image.onFecMessage(header, length);
+            }
+        }
+    }
+
     public boolean shouldElicitSetupMessage()
     {
         return !sessionsByStreamIdMap.isEmpty();
     }
 
+    private void updateSingleImage()
+    {
+        PublicationImage image = null;
+        int imageCount = 0;
+
+        for (final Int2ObjectHashMap<PublicationImage> imageBySessionIdMap : sessionsByStreamIdMap.values())
+        {
+            for (final PublicationImage mappedImage : imageBySessionIdMap.values())
+            {
+                image = mappedImage;
+                imageCount++;
+            }
+        }
+
+        singleImage = 1 == imageCount ? image : null;
+    }
+
     private boolean isNotAlreadyInProgressOrOnCoolDown(final int streamId, final int sessionId)
     {
         final SessionState state = ignoredSessionsMap.get(sessionId, streamId);
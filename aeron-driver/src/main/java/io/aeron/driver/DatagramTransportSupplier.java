@@ -0,0 +1,31 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.driver.media.DatagramTransport;
+import io.aeron.driver.media.UdpChannel;
+
+@FunctionalInterface
+public interface DatagramTransportSupplier
+{
+    /**
+     * Return a new {@link DatagramTransport} instance which is yet to be opened.
+     *
+     * @param udpChannel for which the transport will be used.
+     * @return a new {@link DatagramTransport} instance.
+     */
+    DatagramTransport newInstance(UdpChannel udpChannel);
+}
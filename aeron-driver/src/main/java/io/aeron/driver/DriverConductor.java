@@ -68,7 +68,7 @@ public class DriverConductor implements Agent, Consumer<DriverConductorCmd>
     private final ClientProxy clientProxy;
     private final RingBuffer toDriverCommands;
     private final ClientCommandAdapter clientCommandAdapter;
-    private final OneToOneConcurrentArrayQueue<DriverConductorCmd> driverCmdQueue;
+    private final QueuedPipe<DriverConductorCmd> driverCmdQueue;
     private final HashMap<String, SendChannelEndpoint> sendChannelEndpointByChannelMap = new HashMap<>();
     private final HashMap<String, ReceiveChannelEndpoint> receiveChannelEndpointByChannelMap = new HashMap<>();
     private final ArrayList<NetworkPublication> networkPublications = new ArrayList<>();
@@ -214,10 +214,12 @@ public class DriverConductor implements Agent, Consumer<DriverConductorCmd>
                 activeTermId,
                 initialTermOffset,
                 rawLog,
-                udpChannel.isMulticast() ? NAK_MULTICAST_DELAY_GENERATOR : NAK_UNICAST_DELAY_GENERATOR,
+                newLossFeedbackDelayGenerator(udpChannel),
+                context.nakMaxGaps(),
                 positionArray(subscriberPositions),
                 ReceiverHwm.allocate(countersManager, registrationId, sessionId, streamId, channel),
                 ReceiverPos.allocate(countersManager, registrationId, sessionId, streamId, channel),
+                SubscriberLag.allocate(countersManager, registrationId, sessionId, streamId, channel),
                 nanoClock,
                 epochClock,
                 context.systemCounters(),
@@ -303,7 +305,7 @@ public class DriverConductor implements Agent, Consumer<DriverConductorCmd>
         }
         else
         {
-            confirmMatch(channelUri, params, publication.rawLog());
+            confirmMatch(channelUri, params, publication);
         }
 
         publicationLinks.add(new PublicationLink(correlationId, publication, getOrAddClient(clientId)));
@@ -686,6 +688,47 @@ public class DriverConductor implements Agent, Consumer<DriverConductorCmd>
         return null;
     }
 
+    private FeedbackDelayGenerator newLossFeedbackDelayGenerator(final UdpChannel udpChannel)
+    {
+        if (!context.adaptiveFeedbackDelay())
+        {
+            return udpChannel.isMulticast() ? NAK_MULTICAST_DELAY_GENERATOR : NAK_UNICAST_DELAY_GENERATOR;
+        }
+
+        if (udpChannel.isMulticast())
+        {
+            return new AdaptiveDelayGenerator(
+                NAK_MAX_BACKOFF_DEFAULT,
+                ADAPTIVE_FEEDBACK_DELAY_MIN_NS,
+                ADAPTIVE_FEEDBACK_DELAY_MAX_NS,
+                ADAPTIVE_FEEDBACK_RTT_MEASUREMENT_INTERVAL_NS,
+                NAK_GROUPSIZE_DEFAULT,
+                false);
+        }
+
+        return new AdaptiveDelayGenerator(
+            NAK_UNICAST_DELAY_DEFAULT_NS,
+            ADAPTIVE_FEEDBACK_DELAY_MIN_NS,
+            ADAPTIVE_FEEDBACK_DELAY_MAX_NS,
+            ADAPTIVE_FEEDBACK_RTT_MEASUREMENT_INTERVAL_NS,
+            true);
+    }
+
+    private FeedbackDelayGenerator newRetransmitLingerGenerator()
+    {
+        if (!context.adaptiveFeedbackDelay())
+        {
+            return RETRANSMIT_UNICAST_LINGER_GENERATOR;
+        }
+
+        return new AdaptiveDelayGenerator(
+            RETRANSMIT_UNICAST_LINGER_DEFAULT_NS,
+            ADAPTIVE_FEEDBACK_DELAY_MIN_NS,
+            ADAPTIVE_FEEDBACK_DELAY_MAX_NS,
+            ADAPTIVE_FEEDBACK_RTT_MEASUREMENT_INTERVAL_NS,
+            false);
+    }
+
     private NetworkPublication newNetworkPublication(
         final long registrationId,
         final int streamId,
@@ -714,13 +757,20 @@ public class DriverConductor implements Agent, Consumer<DriverConductorCmd>
             nanoClock,
             context.systemCounters(),
             RETRANSMIT_UNICAST_DELAY_GENERATOR,
-            RETRANSMIT_UNICAST_LINGER_GENERATOR);
+            newRetransmitLingerGenerator(),
+            context.maxRetransmits());
 
         final FlowControl flowControl =
             udpChannel.isMulticast() || udpChannel.hasExplicitControl() ?
                 context.multicastFlowControlSupplier().newInstance(udpChannel, streamId, registrationId) :
                 context.unicastFlowControlSupplier().newInstance(udpChannel, streamId, registrationId);
 
+        final SendRateLimiter sendRateLimiter = params.sendRate > 0 ?
+            new SendRateLimiter(params.sendRate, params.sendBurstLength, nanoClock.nanoTime()) : null;
+
+        final FecEncoder fecEncoder = params.fecGroupSize > 0 ?
+            new FecEncoder(params.fecGroupSize, params.mtuLength, sessionId, streamId) : null;
+
         final NetworkPublication publication = new NetworkPublication(
             registrationId,
             channelEndpoint,
@@ -733,6 +783,9 @@ public class DriverConductor implements Agent, Consumer<DriverConductorCmd>
             streamId,
             initialTermId,
             params.mtuLength,
+            context.sendBatchSize(),
+            sendRateLimiter,
+            fecEncoder,
             context.systemCounters(),
             flowControl,
             retransmitHandler,
@@ -857,6 +910,7 @@ public class DriverConductor implements Agent, Consumer<DriverConductorCmd>
         SendChannelEndpoint channelEndpoint = sendChannelEndpointByChannelMap.get(udpChannel.canonicalForm());
         if (null == channelEndpoint)
         {
+            senderProxy.validateAssignment(udpChannel);
             channelEndpoint = context.sendChannelEndpointSupplier().newInstance(
                 udpChannel,
                 SendChannelStatus.allocate(countersManager, udpChannel.originalUriString()),
@@ -1005,7 +1059,7 @@ public class DriverConductor implements Agent, Consumer<DriverConductorCmd>
         {
             channelEndpoint = context.receiveChannelEndpointSupplier().newInstance(
                 udpChannel,
-                new DataPacketDispatcher(context.driverConductorProxy(), receiverProxy.receiver()),
+                new DataPacketDispatcher(context.driverConductorProxy(), receiverProxy.receiver(udpChannel)),
                 ReceiveChannelStatus.allocate(countersManager, udpChannel.originalUriString()),
                 context);
 
@@ -1070,6 +1124,7 @@ public class DriverConductor implements Agent, Consumer<DriverConductorCmd>
             sessionId,
             streamId,
             PublisherLimit.allocate(countersManager, registrationId, sessionId, streamId, channel),
+            SubscriberLag.allocate(countersManager, registrationId, sessionId, streamId, channel),
             rawLog,
             publicationUnblockTimeoutNs,
             nanoClock.nanoTime(),
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.FecFlyweight;
+import org.agrona.BitUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static io.aeron.protocol.DataHeaderFlyweight.*;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.agrona.BitUtil.SIZE_OF_INT;
+
+/**
+ * Rebuilds a single datagram missing from a term from a parity frame built by a {@link FecEncoder} and the other
+ * datagrams of the group which have been received.
+ */
+public class FecDecoder
+{
+    private final UnsafeBuffer datagramBuffer;
+
+    /**
+     * Create a decoder for parity frames from a publication.
+     *
+     * @param mtuLength of the publication which is the longest datagram which can be rebuilt.
+     */
+    public FecDecoder(final int mtuLength)
+    {
+        datagramBuffer = new UnsafeBuffer(new byte[BitUtil.align(mtuLength, FRAME_ALIGNMENT)]);
+    }
+
+    /**
+     * Buffer containing the datagram rebuilt by {@link #recover(UnsafeBuffer, FecFlyweight, int)}.
+     *
+     * @return buffer containing the datagram rebuilt by the last recovery.
+     */
+    public UnsafeBuffer datagramBuffer()
+    {
+        return datagramBuffer;
+    }
+
+    /**
+     * Rebuild the datagram missing from the group protected by a parity frame if exactly one is missing.
+     *
+     * @param termBuffer into which datagrams of the group have been received.
+     * @param fecHeader  wrapping the parity frame.
+     * @param length     of the parity frame as received.
+     * @return the length of the datagram rebuilt into {@link #datagramBuffer()} at the term offset given by
+     * {@link #recoveredTermOffset()} otherwise 0 if no datagram could be rebuilt.
+     */
+    public int recover(final UnsafeBuffer termBuffer, final FecFlyweight fecHeader, final int length)
+    {
+        final int datagramCount = fecHeader.datagramCount();
+        final int parityLength = fecHeader.parityLength();
+        final int frameLength = fecHeader.frameLength();
+
+        if (datagramCount < 1 || datagramCount > FecFlyweight.MAX_DATAGRAM_COUNT ||
+            parityLength <= 0 || parityLength > datagramBuffer.capacity() ||
+            (parityLength & (FRAME_ALIGNMENT - 1)) != 0 ||
+            frameLength > length ||
+            FecFlyweight.HEADER_LENGTH + (datagramCount * SIZE_OF_INT) > frameLength - parityLength)
+        {
+            return 0;
+        }
+
+        final int termLength = termBuffer.capacity();
+        int missingIndex = -1;
+        int missingTermOffset = 0;
+        int termOffset = fecHeader.termOffset();
+
+        for (int i = 0; i < datagramCount; i++)
+        {
+            final int datagramLength = fecHeader.datagramLength(i);
+            if (datagramLength <= 0 || datagramLength > parityLength ||
+                (datagramLength & (FRAME_ALIGNMENT - 1)) != 0 ||
+                termOffset < 0 || termOffset > termLength - datagramLength)
+            {
+                return 0;
+            }
+
+            if (!isComplete(termBuffer, termOffset, datagramLength))
+            {
+                if (-1 != missingIndex)
+                {
+                    return 0;
+                }
+
+                missingIndex = i;
+                missingTermOffset = termOffset;
+            }
+
+            termOffset += datagramLength;
+        }
+
+        if (-1 == missingIndex)
+        {
+            return 0;
+        }
+
+        final UnsafeBuffer datagramBuffer = this.datagramBuffer;
+        datagramBuffer.putBytes(0, fecHeader, fecHeader.parityOffset(), parityLength);
+
+        termOffset = fecHeader.termOffset();
+        for (int i = 0; i < datagramCount; i++)
+        {
+            final int datagramLength = fecHeader.datagramLength(i);
+            if (i != missingIndex)
+            {
+                FecEncoder.xor(datagramBuffer, 0, termBuffer, termOffset, datagramLength);
+            }
+
+            termOffset += datagramLength;
+        }
+
+        final int missingLength = fecHeader.datagramLength(missingIndex);
+        final int recoveredFrameLength = sentLength(
+            datagramBuffer.getInt(FRAME_LENGTH_FIELD_OFFSET, LITTLE_ENDIAN),
+            datagramBuffer.getShort(TYPE_FIELD_OFFSET, LITTLE_ENDIAN));
+        if (recoveredFrameLength <= 0 || recoveredFrameLength > missingLength ||
+            datagramBuffer.getInt(TERM_OFFSET_FIELD_OFFSET, LITTLE_ENDIAN) != missingTermOffset ||
+            datagramBuffer.getInt(TERM_ID_FIELD_OFFSET, LITTLE_ENDIAN) != fecHeader.termId())
+        {
+            return 0;
+        }
+
+        return missingLength;
+    }
+
+    /**
+     * The term offset of the datagram rebuilt by the last successful {@link #recover(UnsafeBuffer, FecFlyweight, int)}.
+     *
+     * @return the term offset of the datagram rebuilt.
+     */
+    public int recoveredTermOffset()
+    {
+        return datagramBuffer.getInt(TERM_OFFSET_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    private static boolean isComplete(final UnsafeBuffer termBuffer, final int termOffset, final int length)
+    {
+        final int endOffset = termOffset + length;
+        int offset = termOffset;
+
+        while (offset < endOffset)
+        {
+            final int frameLength = termBuffer.getIntVolatile(offset + FRAME_LENGTH_FIELD_OFFSET);
+            if (frameLength <= 0)
+            {
+                return false;
+            }
+
+            offset += BitUtil.align(
+                sentLength(frameLength, termBuffer.getShort(offset + TYPE_FIELD_OFFSET, LITTLE_ENDIAN)),
+                FRAME_ALIGNMENT);
+        }
+
+        return offset == endOffset;
+    }
+
+    /**
+     * A padding frame is sent as its header alone so only the header occupies the datagram.
+     */
+    private static int sentLength(final int frameLength, final short frameType)
+    {
+        if (HDR_TYPE_PAD == (frameType & 0xFFFF) && frameLength > 0)
+        {
+            return DataHeaderFlyweight.HEADER_LENGTH;
+        }
+
+        return frameLength;
+    }
+}
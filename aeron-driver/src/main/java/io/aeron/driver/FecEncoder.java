@@ -0,0 +1,195 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.protocol.FecFlyweight;
+import io.aeron.protocol.HeaderFlyweight;
+import org.agrona.BitUtil;
+import org.agrona.BufferUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+
+/**
+ * Builds XOR parity frames over groups of consecutive datagrams sent for a {@link NetworkPublication} so a receiver
+ * can rebuild a single lost datagram in each group without the round trip of a NAK.
+ * <p>
+ * A group ends when it reaches the group size or is flushed, and is restarted if the next datagram does not follow on
+ * from the last one in the same term.
+ */
+public class FecEncoder
+{
+    private final int groupSize;
+    private final int parityOffset;
+    private final int mtuLength;
+    private final ByteBuffer frameBuffer;
+    private final FecFlyweight fecHeader;
+    private int datagramCount = 0;
+    private int parityLength = 0;
+    private int termId;
+    private int termOffset;
+    private int nextTermOffset;
+
+    /**
+     * Create an encoder for the datagrams of a publication.
+     *
+     * @param groupSize number of datagrams protected by each parity frame.
+     * @param mtuLength of the publication which is the longest datagram which can be sent.
+     * @param sessionId of the publication.
+     * @param streamId  of the publication.
+     */
+    public FecEncoder(final int groupSize, final int mtuLength, final int sessionId, final int streamId)
+    {
+        if (groupSize < 2 || groupSize > FecFlyweight.MAX_DATAGRAM_COUNT)
+        {
+            throw new IllegalArgumentException("groupSize must be in the range 2-" +
+                FecFlyweight.MAX_DATAGRAM_COUNT + ": " + groupSize);
+        }
+
+        this.groupSize = groupSize;
+        this.mtuLength = mtuLength;
+        this.parityOffset = FecFlyweight.parityOffset(groupSize);
+
+        frameBuffer = BufferUtil.allocateDirectAligned(
+            BitUtil.align(FecFlyweight.frameLength(groupSize, mtuLength), BitUtil.CACHE_LINE_LENGTH),
+            BitUtil.CACHE_LINE_LENGTH);
+
+        fecHeader = new FecFlyweight(frameBuffer);
+        fecHeader
+            .sessionId(sessionId)
+            .streamId(streamId)
+            .version(HeaderFlyweight.CURRENT_VERSION)
+            .flags((byte)0)
+            .headerType(HeaderFlyweight.HDR_TYPE_FEC);
+    }
+
+    /**
+     * Number of datagrams protected by each parity frame.
+     *
+     * @return number of datagrams protected by each parity frame.
+     */
+    public int groupSize()
+    {
+        return groupSize;
+    }
+
+    /**
+     * Has a datagram been added to the group since the last parity frame?
+     *
+     * @return true if a datagram has been added to the group since the last parity frame.
+     */
+    public boolean hasPendingGroup()
+    {
+        return datagramCount > 0;
+    }
+
+    /**
+     * Add a datagram which has been sent to the group.
+     *
+     * @param termBuffer from which the datagram was sent.
+     * @param termId     of the term from which the datagram was sent.
+     * @param termOffset at which the datagram begins in the term.
+     * @param length     of the datagram.
+     * @return true if the group is complete and {@link #parityFrame()} should be sent.
+     */
+    public boolean onDatagram(final UnsafeBuffer termBuffer, final int termId, final int termOffset, final int length)
+    {
+        if (length > mtuLength)
+        {
+            reset();
+            return false;
+        }
+
+        if (datagramCount > 0 && (termId != this.termId || termOffset != nextTermOffset))
+        {
+            reset();
+        }
+
+        if (0 == datagramCount)
+        {
+            this.termId = termId;
+            this.termOffset = termOffset;
+        }
+
+        xor(fecHeader, parityOffset, termBuffer, termOffset, length);
+        fecHeader.datagramLength(datagramCount++, length);
+        parityLength = Math.max(parityLength, length);
+        nextTermOffset = termOffset + length;
+
+        return datagramCount == groupSize;
+    }
+
+    /**
+     * Complete the parity frame for the pending group so it can be sent. {@link #reset()} must be called once sent.
+     *
+     * @return the buffer containing the parity frame between position and limit.
+     */
+    public ByteBuffer parityFrame()
+    {
+        final int frameLength = parityOffset + parityLength;
+
+        fecHeader
+            .termId(termId)
+            .termOffset(termOffset)
+            .datagramCount(datagramCount)
+            .parityLength(parityLength)
+            .frameLength(frameLength);
+
+        frameBuffer.limit(frameLength).position(0);
+
+        return frameBuffer;
+    }
+
+    /**
+     * Discard the pending group and clear the parity ready for the next group.
+     */
+    public void reset()
+    {
+        if (datagramCount > 0)
+        {
+            fecHeader.setMemory(FecFlyweight.HEADER_LENGTH, parityOffset - FecFlyweight.HEADER_LENGTH, (byte)0);
+            fecHeader.setMemory(parityOffset, parityLength, (byte)0);
+            datagramCount = 0;
+            parityLength = 0;
+        }
+    }
+
+    /**
+     * XOR a range of a source buffer into a destination buffer. The length must be a multiple of 8 bytes, which
+     * holds for datagrams as they are made up of aligned frames.
+     *
+     * @param dstBuffer to be updated.
+     * @param dstOffset at which the range begins in the destination.
+     * @param srcBuffer to be read.
+     * @param srcOffset at which the range begins in the source.
+     * @param length    of the range.
+     */
+    static void xor(
+        final UnsafeBuffer dstBuffer,
+        final int dstOffset,
+        final DirectBuffer srcBuffer,
+        final int srcOffset,
+        final int length)
+    {
+        for (int i = 0; i < length; i += SIZE_OF_LONG)
+        {
+            dstBuffer.putLong(dstOffset + i, dstBuffer.getLong(dstOffset + i) ^ srcBuffer.getLong(srcOffset + i));
+        }
+    }
+}
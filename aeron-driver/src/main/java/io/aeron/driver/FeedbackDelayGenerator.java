@@ -36,4 +36,25 @@ public interface FeedbackDelayGenerator
     {
         return false;
     }
+
+    /**
+     * Should an RTT measurement be initiated so the delay can adapt to the network?
+     *
+     * @param nowNs current time in nanoseconds.
+     * @return true if an RTT measurement should be initiated.
+     */
+    default boolean shouldMeasureRtt(final long nowNs)
+    {
+        return false;
+    }
+
+    /**
+     * Called upon an RTT measurement for the stream the delay is generated for.
+     *
+     * @param nowNs current time in nanoseconds.
+     * @param rttNs measured round trip time in nanoseconds.
+     */
+    default void onRttMeasurement(final long nowNs, final long rttNs)
+    {
+    }
 }
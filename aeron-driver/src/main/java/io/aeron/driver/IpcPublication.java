@@ -63,6 +63,7 @@ public class IpcPublication implements DriverManagedResource, Subscribable
     private final UnsafeBuffer[] termBuffers;
     private ReadablePosition[] subscriberPositions = EMPTY_POSITIONS;
     private final Position publisherLimit;
+    private final AtomicCounter subscriberLag;
     private final UnsafeBuffer metaDataBuffer;
     private final RawLog rawLog;
     private final AtomicCounter unblockedPublications;
@@ -72,6 +73,7 @@ public class IpcPublication implements DriverManagedResource, Subscribable
         final int sessionId,
         final int streamId,
         final Position publisherLimit,
+        final AtomicCounter subscriberLag,
         final RawLog rawLog,
         final long unblockTimeoutNs,
         final long nowNs,
@@ -91,6 +93,7 @@ public class IpcPublication implements DriverManagedResource, Subscribable
         this.termWindowLength = Configuration.ipcPublicationTermWindowLength(termLength);
         this.tripGain = termWindowLength / 8;
         this.publisherLimit = publisherLimit;
+        this.subscriberLag = subscriberLag;
         this.rawLog = rawLog;
         this.unblockTimeoutNs = unblockTimeoutNs;
         this.unblockedPublications = systemCounters.get(UNBLOCKED_PUBLICATIONS);
@@ -133,9 +136,15 @@ public class IpcPublication implements DriverManagedResource, Subscribable
         return publisherLimit.id();
     }
 
+    public int subscriberLagId()
+    {
+        return subscriberLag.id();
+    }
+
     public void close()
     {
         publisherLimit.close();
+        subscriberLag.close();
         for (final ReadablePosition position : subscriberPositions)
         {
             position.close();
@@ -187,6 +196,8 @@ public class IpcPublication implements DriverManagedResource, Subscribable
                 consumerPosition = maxSubscriberPosition;
             }
 
+            subscriberLag.setOrdered(Math.max(0, producerPosition() - minSubscriberPosition));
+
             final long proposedLimit = minSubscriberPosition + termWindowLength;
             if (proposedLimit > tripLimit)
             {
@@ -201,6 +212,7 @@ public class IpcPublication implements DriverManagedResource, Subscribable
         {
             tripLimit = maxSubscriberPosition;
             publisherLimit.setOrdered(maxSubscriberPosition);
+            subscriberLag.setOrdered(0);
         }
 
         return workCount;
@@ -23,7 +23,9 @@ import static io.aeron.logbuffer.TermGapScanner.scanForGap;
 /**
  * Detecting and handling of gaps in a message stream.
  * <p>
- * Each detector only notifies a single run of a gap in a message stream.
+ * Each detector tracks the first gap after the rebuild position to time its feedback. By default only that gap is
+ * notified. When created for multiple gaps the scan continues past the first gap, up to the end of the term or high
+ * water mark, and all gaps found are notified together so they can be recovered in a single round trip.
  */
 public class LossDetector implements TermGapScanner.GapHandler
 {
@@ -33,6 +35,10 @@ public class LossDetector implements TermGapScanner.GapHandler
     private final LossHandler lossHandler;
     private final Gap scannedGap = new Gap();
     private final Gap activeGap = new Gap();
+    private final int maxGaps;
+    private final int[] gapTermOffsets;
+    private final int[] gapLengths;
+    private int gapCount;
 
     private long expiry = TIMER_INACTIVE;
 
@@ -44,8 +50,28 @@ public class LossDetector implements TermGapScanner.GapHandler
      */
     public LossDetector(final FeedbackDelayGenerator delayGenerator, final LossHandler lossHandler)
     {
+        this(delayGenerator, lossHandler, 1);
+    }
+
+    /**
+     * Create a loss detector for a channel which notifies multiple gaps from a scan.
+     *
+     * @param delayGenerator to use for delay determination
+     * @param lossHandler    to call when signalling gaps
+     * @param maxGaps        maximum number of gaps to notify from a scan
+     */
+    public LossDetector(final FeedbackDelayGenerator delayGenerator, final LossHandler lossHandler, final int maxGaps)
+    {
+        if (maxGaps < 1)
+        {
+            throw new IllegalArgumentException("maxGaps must be positive: " + maxGaps);
+        }
+
         this.delayGenerator = delayGenerator;
         this.lossHandler = lossHandler;
+        this.maxGaps = maxGaps;
+        this.gapTermOffsets = new int[maxGaps];
+        this.gapLengths = new int[maxGaps];
     }
 
     /**
@@ -83,9 +109,15 @@ public class LossDetector implements TermGapScanner.GapHandler
             final int hwmTermOffset = (int)hwmPosition & termLengthMask;
             final int limitOffset = rebuildTermCount == hwmTermCount ? hwmTermOffset : termBuffer.capacity();
 
+            gapCount = 0;
             rebuildOffset = scanForGap(termBuffer, rebuildTermId, rebuildOffset, limitOffset, this);
             if (rebuildOffset < limitOffset)
             {
+                if (maxGaps > 1)
+                {
+                    scanForFurtherGaps(termBuffer, rebuildTermId, limitOffset);
+                }
+
                 if (!scannedGap.matches(activeGap))
                 {
                     activateGap(now, scannedGap);
@@ -101,7 +133,17 @@ public class LossDetector implements TermGapScanner.GapHandler
 
     public void onGap(final int termId, final int offset, final int length)
     {
-        scannedGap.set(termId, offset, length);
+        if (0 == gapCount)
+        {
+            scannedGap.set(termId, offset, length);
+        }
+
+        if (gapCount < maxGaps)
+        {
+            gapTermOffsets[gapCount] = offset;
+            gapLengths[gapCount] = length;
+            gapCount++;
+        }
     }
 
     /**
@@ -152,11 +194,34 @@ public class LossDetector implements TermGapScanner.GapHandler
         }
     }
 
+    private void scanForFurtherGaps(final UnsafeBuffer termBuffer, final int termId, final int limitOffset)
+    {
+        int offset = gapTermOffsets[0] + gapLengths[0];
+        while (gapCount < maxGaps && offset < limitOffset)
+        {
+            final int gapOffset = scanForGap(termBuffer, termId, offset, limitOffset, this);
+            if (gapOffset >= limitOffset)
+            {
+                break;
+            }
+
+            offset = gapOffset + gapLengths[gapCount - 1];
+        }
+    }
+
     private void checkTimerExpiry(final long now)
     {
         if (now >= expiry)
         {
-            lossHandler.onGapDetected(activeGap.termId, activeGap.termOffset, activeGap.length);
+            if (gapCount > 1)
+            {
+                lossHandler.onGapsDetected(activeGap.termId, gapTermOffsets, gapLengths, gapCount);
+            }
+            else
+            {
+                lossHandler.onGapDetected(activeGap.termId, activeGap.termOffset, activeGap.length);
+            }
+
             expiry = now + delayGenerator.generateDelay();
         }
     }
@@ -29,4 +29,20 @@ public interface LossHandler
      * @param length     of the gap
      */
     void onGapDetected(int termId, int termOffset, int length);
+
+    /**
+     * Called when multiple gaps in the same term of a message stream have been detected in a single scan.
+     *
+     * @param termId      for the gaps
+     * @param termOffsets for the beginning of each gap
+     * @param lengths     of each gap
+     * @param gapCount    number of gaps in the arrays
+     */
+    default void onGapsDetected(final int termId, final int[] termOffsets, final int[] lengths, final int gapCount)
+    {
+        for (int i = 0; i < gapCount; i++)
+        {
+            onGapDetected(termId, termOffsets[i], lengths[i]);
+        }
+    }
 }
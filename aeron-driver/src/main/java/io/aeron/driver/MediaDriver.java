@@ -64,8 +64,8 @@ public final class MediaDriver implements AutoCloseable
     private final AgentRunner sharedRunner;
     private final AgentRunner sharedNetworkRunner;
     private final AgentRunner conductorRunner;
-    private final AgentRunner receiverRunner;
-    private final AgentRunner senderRunner;
+    private final AgentRunner[] receiverRunners;
+    private final AgentRunner[] senderRunners;
     private final AgentInvoker sharedInvoker;
     private final Context ctx;
 
@@ -164,11 +164,21 @@ public final class MediaDriver implements AutoCloseable
         ctx.conclude();
 
         final DriverConductor conductor = new DriverConductor(ctx);
-        final Receiver receiver = new Receiver(ctx);
-        final Sender sender = new Sender(ctx);
+        final Receiver[] receivers = new Receiver[ctx.receiverCount()];
+        for (int i = 0; i < receivers.length; i++)
+        {
+            receivers[i] = new Receiver(ctx, i);
+        }
+        final Receiver receiver = receivers[0];
+        final Sender[] senders = new Sender[ctx.senderCount()];
+        for (int i = 0; i < senders.length; i++)
+        {
+            senders[i] = new Sender(ctx, i);
+        }
+        final Sender sender = senders[0];
 
-        ctx.receiverProxy().receiver(receiver);
-        ctx.senderProxy().sender(sender);
+        ctx.receiverProxy().receivers(receivers);
+        ctx.senderProxy().senders(senders);
         ctx.driverConductorProxy().driverConductor(conductor);
 
         final AtomicCounter errorCounter = ctx.systemCounters().get(ERRORS);
@@ -182,8 +192,8 @@ public final class MediaDriver implements AutoCloseable
                 sharedRunner = null;
                 sharedNetworkRunner = null;
                 conductorRunner = null;
-                receiverRunner = null;
-                senderRunner = null;
+                receiverRunners = null;
+                senderRunners = null;
                 break;
 
             case SHARED:
@@ -194,8 +204,8 @@ public final class MediaDriver implements AutoCloseable
                     new CompositeAgent(sender, receiver, conductor));
                 sharedNetworkRunner = null;
                 conductorRunner = null;
-                receiverRunner = null;
-                senderRunner = null;
+                receiverRunners = null;
+                senderRunners = null;
                 sharedInvoker = null;
                 break;
 
@@ -204,15 +214,25 @@ public final class MediaDriver implements AutoCloseable
                     ctx.sharedNetworkIdleStrategy, errorHandler, errorCounter, new CompositeAgent(sender, receiver));
                 conductorRunner = new AgentRunner(ctx.conductorIdleStrategy, errorHandler, errorCounter, conductor);
                 sharedRunner = null;
-                receiverRunner = null;
-                senderRunner = null;
+                receiverRunners = null;
+                senderRunners = null;
                 sharedInvoker = null;
                 break;
 
             default:
             case DEDICATED:
-                senderRunner = new AgentRunner(ctx.senderIdleStrategy, errorHandler, errorCounter, sender);
-                receiverRunner = new AgentRunner(ctx.receiverIdleStrategy, errorHandler, errorCounter, receiver);
+                senderRunners = new AgentRunner[senders.length];
+                for (int i = 0; i < senders.length; i++)
+                {
+                    senderRunners[i] = new AgentRunner(
+                        ctx.senderIdleStrategy(i), errorHandler, errorCounter, senders[i]);
+                }
+                receiverRunners = new AgentRunner[receivers.length];
+                for (int i = 0; i < receivers.length; i++)
+                {
+                    receiverRunners[i] = new AgentRunner(
+                        ctx.receiverIdleStrategy(i), errorHandler, errorCounter, receivers[i]);
+                }
                 conductorRunner = new AgentRunner(ctx.conductorIdleStrategy, errorHandler, errorCounter, conductor);
                 sharedNetworkRunner = null;
                 sharedRunner = null;
@@ -300,8 +320,20 @@ public final class MediaDriver implements AutoCloseable
     {
         CloseHelper.quietClose(sharedRunner);
         CloseHelper.quietClose(sharedNetworkRunner);
-        CloseHelper.quietClose(receiverRunner);
-        CloseHelper.quietClose(senderRunner);
+        if (null != receiverRunners)
+        {
+            for (final AgentRunner receiverRunner : receiverRunners)
+            {
+                CloseHelper.quietClose(receiverRunner);
+            }
+        }
+        if (null != senderRunners)
+        {
+            for (final AgentRunner senderRunner : senderRunners)
+            {
+                CloseHelper.quietClose(senderRunner);
+            }
+        }
         CloseHelper.quietClose(conductorRunner);
         CloseHelper.quietClose(sharedInvoker);
 
@@ -343,14 +375,20 @@ public final class MediaDriver implements AutoCloseable
             AgentRunner.startOnThread(conductorRunner, ctx.conductorThreadFactory);
         }
 
-        if (null != senderRunner)
+        if (null != senderRunners)
         {
-            AgentRunner.startOnThread(senderRunner, ctx.senderThreadFactory);
+            for (final AgentRunner senderRunner : senderRunners)
+            {
+                AgentRunner.startOnThread(senderRunner, ctx.senderThreadFactory);
+            }
         }
 
-        if (null != receiverRunner)
+        if (null != receiverRunners)
         {
-            AgentRunner.startOnThread(receiverRunner, ctx.receiverThreadFactory);
+            for (final AgentRunner receiverRunner : receiverRunners)
+            {
+                AgentRunner.startOnThread(receiverRunner, ctx.receiverThreadFactory);
+            }
         }
 
         if (null != sharedNetworkRunner)
@@ -455,6 +493,15 @@ public final class MediaDriver implements AutoCloseable
         private int initialWindowLength = Configuration.initialWindowLength();
         private int mtuLength = Configuration.MTU_LENGTH;
         private int ipcMtuLength = Configuration.IPC_MTU_LENGTH;
+        private int sendBatchSize = Configuration.SEND_BATCH_SIZE;
+        private int receiveBatchSize = Configuration.RECEIVE_BATCH_SIZE;
+        private int transportPollerIterationThreshold = Configuration.TRANSPORT_POLLER_ITERATION_THRESHOLD;
+        private int receiverCount = Configuration.RECEIVER_COUNT;
+        private int senderCount = Configuration.SENDER_COUNT;
+        private int sendToStatusMessagePollRatio = Configuration.sendToStatusMessagePollRatio();
+        private int nakMaxGaps = Configuration.NAK_MAX_GAPS;
+        private int maxRetransmits = Configuration.MAX_RETRANSMITS;
+        private boolean adaptiveFeedbackDelay = Configuration.ADAPTIVE_FEEDBACK_DELAY;
         private int filePageSize = Configuration.FILE_PAGE_SIZE;
 
         private EpochClock epochClock;
@@ -468,10 +515,13 @@ public final class MediaDriver implements AutoCloseable
         private IdleStrategy conductorIdleStrategy;
         private IdleStrategy senderIdleStrategy;
         private IdleStrategy receiverIdleStrategy;
+        private IdleStrategy[] receiverPoolIdleStrategies;
+        private IdleStrategy[] senderPoolIdleStrategies;
         private IdleStrategy sharedNetworkIdleStrategy;
         private IdleStrategy sharedIdleStrategy;
         private SendChannelEndpointSupplier sendChannelEndpointSupplier;
         private ReceiveChannelEndpointSupplier receiveChannelEndpointSupplier;
+        private DatagramTransportSupplier datagramTransportSupplier;
         private ReceiveChannelEndpointThreadLocals receiveChannelEndpointThreadLocals;
         private FlowControlSupplier unicastFlowControlSupplier;
         private FlowControlSupplier multicastFlowControlSupplier;
@@ -488,7 +538,7 @@ public final class MediaDriver implements AutoCloseable
         private RawLogFactory rawLogFactory;
         private DataTransportPoller dataTransportPoller;
         private ControlTransportPoller controlTransportPoller;
-        private OneToOneConcurrentArrayQueue<DriverConductorCmd> driverCommandQueue;
+        private QueuedPipe<DriverConductorCmd> driverCommandQueue;
         private OneToOneConcurrentArrayQueue<ReceiverCmd> receiverCommandQueue;
         private OneToOneConcurrentArrayQueue<SenderCmd> senderCommandQueue;
         private ReceiverProxy receiverProxy;
@@ -518,10 +568,18 @@ public final class MediaDriver implements AutoCloseable
 
             try
             {
+                validateReceiveBatchSize(receiveBatchSize);
+                validateTransportPollerIterationThreshold(transportPollerIterationThreshold);
+                validateReceiverCount(receiverCount, threadingMode);
+                validateSenderCount(senderCount, threadingMode);
+                validateNakMaxGaps(nakMaxGaps);
+                validateMaxRetransmits(maxRetransmits);
+
                 concludeNullProperties();
 
                 validateMtuLength(mtuLength);
                 validateMtuLength(ipcMtuLength);
+                validateSendBatchSize(sendBatchSize);
                 validatePageSize(filePageSize);
 
                 LogBufferDescriptor.checkTermLength(maxTermBufferLength);
@@ -1002,6 +1060,252 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        /**
+         * Maximum number of MTU sized datagrams a network publication will gather from its term buffer and hand to
+         * the channel endpoint in a single send operation.
+         * <p>
+         * Larger batches reduce the number of passes the {@link Sender} makes over its publications at the expense
+         * of fairness between publications sharing the sender.
+         *
+         * @return maximum number of datagrams gathered per send operation.
+         * @see Configuration#SEND_BATCH_SIZE_PROP_NAME
+         */
+        public int sendBatchSize()
+        {
+            return sendBatchSize;
+        }
+
+        /**
+         * Maximum number of MTU sized datagrams a network publication will gather from its term buffer and hand to
+         * the channel endpoint in a single send operation.
+         *
+         * @param sendBatchSize maximum number of datagrams gathered per send operation.
+         * @return this for a fluent API.
+         * @see Configuration#SEND_BATCH_SIZE_PROP_NAME
+         */
+        public Context sendBatchSize(final int sendBatchSize)
+        {
+            this.sendBatchSize = sendBatchSize;
+            return this;
+        }
+
+        /**
+         * Maximum number of datagrams the receiver will drain from an endpoint into its ring of receive buffers,
+         * before dispatching them in order, per poll of the transports.
+         * <p>
+         * Larger batches empty the socket receive buffer faster under bursty load at the expense of a receive buffer
+         * of {@link Configuration#MAX_UDP_PAYLOAD_LENGTH} per slot.
+         *
+         * @return maximum number of datagrams drained per endpoint per poll.
+         * @see Configuration#RECEIVE_BATCH_SIZE_PROP_NAME
+         */
+        public int receiveBatchSize()
+        {
+            return receiveBatchSize;
+        }
+
+        /**
+         * Maximum number of datagrams the receiver will drain from an endpoint into its ring of receive buffers,
+         * before dispatching them in order, per poll of the transports.
+         *
+         * @param receiveBatchSize maximum number of datagrams drained per endpoint per poll.
+         * @return this for a fluent API.
+         * @see Configuration#RECEIVE_BATCH_SIZE_PROP_NAME
+         */
+        public Context receiveBatchSize(final int receiveBatchSize)
+        {
+            this.receiveBatchSize = receiveBatchSize;
+            return this;
+        }
+
+        /**
+         * Number of endpoints above which the transport pollers select for the endpoints which are ready for read
+         * rather than polling each endpoint in turn.
+         *
+         * @return number of endpoints above which the transport pollers select for readiness.
+         * @see Configuration#TRANSPORT_POLLER_ITERATION_THRESHOLD_PROP_NAME
+         */
+        public int transportPollerIterationThreshold()
+        {
+            return transportPollerIterationThreshold;
+        }
+
+        /**
+         * Number of endpoints above which the transport pollers select for the endpoints which are ready for read
+         * rather than polling each endpoint in turn.
+         *
+         * @param threshold number of endpoints above which the transport pollers select for readiness.
+         * @return this for a fluent API.
+         * @see Configuration#TRANSPORT_POLLER_ITERATION_THRESHOLD_PROP_NAME
+         */
+        public Context transportPollerIterationThreshold(final int threshold)
+        {
+            this.transportPollerIterationThreshold = threshold;
+            return this;
+        }
+
+        /**
+         * Number of {@link Receiver} agents, each on its own thread, over which receive channel endpoints are sharded
+         * by a hash of the channel or by the {@link CommonContext#RECEIVER_INDEX_PARAM_NAME} channel param.
+         * <p>
+         * A count greater than 1 requires {@link ThreadingMode#DEDICATED}.
+         *
+         * @return number of {@link Receiver} agents.
+         * @see Configuration#RECEIVER_COUNT_PROP_NAME
+         */
+        public int receiverCount()
+        {
+            return receiverCount;
+        }
+
+        /**
+         * Number of {@link Receiver} agents, each on its own thread, over which receive channel endpoints are sharded
+         * by a hash of the channel or by the {@link CommonContext#RECEIVER_INDEX_PARAM_NAME} channel param.
+         * <p>
+         * A count greater than 1 requires {@link ThreadingMode#DEDICATED}.
+         *
+         * @param receiverCount number of {@link Receiver} agents.
+         * @return this for a fluent API.
+         * @see Configuration#RECEIVER_COUNT_PROP_NAME
+         */
+        public Context receiverCount(final int receiverCount)
+        {
+            this.receiverCount = receiverCount;
+            return this;
+        }
+
+        /**
+         * Number of {@link Sender} agents, each on its own thread, over which send channel endpoints and their
+         * publications are partitioned by a hash of the channel or by the {@link CommonContext#SENDER_INDEX_PARAM_NAME}
+         * channel param.
+         * <p>
+         * A count greater than 1 requires {@link ThreadingMode#DEDICATED}.
+         *
+         * @return number of {@link Sender} agents.
+         * @see Configuration#SENDER_COUNT_PROP_NAME
+         */
+        public int senderCount()
+        {
+            return senderCount;
+        }
+
+        /**
+         * Number of {@link Sender} agents, each on its own thread, over which send channel endpoints and their
+         * publications are partitioned by a hash of the channel or by the {@link CommonContext#SENDER_INDEX_PARAM_NAME}
+         * channel param.
+         * <p>
+         * A count greater than 1 requires {@link ThreadingMode#DEDICATED}.
+         *
+         * @param senderCount number of {@link Sender} agents.
+         * @return this for a fluent API.
+         * @see Configuration#SENDER_COUNT_PROP_NAME
+         */
+        public Context senderCount(final int senderCount)
+        {
+            this.senderCount = senderCount;
+            return this;
+        }
+
+        /**
+         * Ratio of duty cycles which send data to those which poll for status messages. Each {@link Sender} agent
+         * counts its own duty cycles against this ratio for the control transports it services.
+         *
+         * @return ratio of duty cycles which send data to those which poll for status messages.
+         * @see Configuration#SEND_TO_STATUS_POLL_RATIO_PROP_NAME
+         */
+        public int sendToStatusMessagePollRatio()
+        {
+            return sendToStatusMessagePollRatio;
+        }
+
+        /**
+         * Ratio of duty cycles which send data to those which poll for status messages. Each {@link Sender} agent
+         * counts its own duty cycles against this ratio for the control transports it services.
+         *
+         * @param ratio of duty cycles which send data to those which poll for status messages.
+         * @return this for a fluent API.
+         * @see Configuration#SEND_TO_STATUS_POLL_RATIO_PROP_NAME
+         */
+        public Context sendToStatusMessagePollRatio(final int ratio)
+        {
+            this.sendToStatusMessagePollRatio = ratio;
+            return this;
+        }
+
+        /**
+         * Maximum number of gaps in a term which an image reports in a single NAK. Reporting more than one gap lets
+         * a burst of loss be recovered in a single round trip.
+         *
+         * @return maximum number of gaps reported per NAK.
+         * @see Configuration#NAK_MAX_GAPS_PROP_NAME
+         */
+        public int nakMaxGaps()
+        {
+            return nakMaxGaps;
+        }
+
+        /**
+         * Maximum number of gaps in a term which an image reports in a single NAK.
+         *
+         * @param nakMaxGaps maximum number of gaps reported per NAK.
+         * @return this for a fluent API.
+         * @see Configuration#NAK_MAX_GAPS_PROP_NAME
+         */
+        public Context nakMaxGaps(final int nakMaxGaps)
+        {
+            this.nakMaxGaps = nakMaxGaps;
+            return this;
+        }
+
+        /**
+         * Max number of active retransmissions per publication. Overlapping and adjacent NAKs are merged into active
+         * retransmissions so this bounds the number of distinct ranges being retransmitted.
+         *
+         * @return max number of active retransmissions per publication.
+         * @see Configuration#MAX_RETRANSMITS_PROP_NAME
+         */
+        public int maxRetransmits()
+        {
+            return maxRetransmits;
+        }
+
+        /**
+         * Max number of active retransmissions per publication.
+         *
+         * @param maxRetransmits max number of active retransmissions per publication.
+         * @return this for a fluent API.
+         * @see Configuration#MAX_RETRANSMITS_PROP_NAME
+         */
+        public Context maxRetransmits(final int maxRetransmits)
+        {
+            this.maxRetransmits = maxRetransmits;
+            return this;
+        }
+
+        /**
+         * Should NAK delays and retransmit linger timeouts adapt to the RTT measured for each image and publication?
+         *
+         * @return true if NAK delays and retransmit linger timeouts adapt to measured RTT.
+         * @see Configuration#ADAPTIVE_FEEDBACK_DELAY_PROP_NAME
+         */
+        public boolean adaptiveFeedbackDelay()
+        {
+            return adaptiveFeedbackDelay;
+        }
+
+        /**
+         * Should NAK delays and retransmit linger timeouts adapt to the RTT measured for each image and publication?
+         *
+         * @param adaptiveFeedbackDelay true if NAK delays and retransmit linger timeouts adapt to measured RTT.
+         * @return this for a fluent API.
+         * @see Configuration#ADAPTIVE_FEEDBACK_DELAY_PROP_NAME
+         */
+        public Context adaptiveFeedbackDelay(final boolean adaptiveFeedbackDelay)
+        {
+            this.adaptiveFeedbackDelay = adaptiveFeedbackDelay;
+            return this;
+        }
+
         /**
          * The {@link EpochClock} as a source of time in milliseconds for wall clock time.
          *
@@ -1362,6 +1666,30 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        /**
+         * Supplier of {@link io.aeron.driver.media.DatagramTransport}s which perform the datagram I/O for
+         * {@link SendChannelEndpoint}s and {@link ReceiveChannelEndpoint}s.
+         *
+         * @return the supplier of {@link io.aeron.driver.media.DatagramTransport}s for channel endpoints.
+         */
+        public DatagramTransportSupplier datagramTransportSupplier()
+        {
+            return datagramTransportSupplier;
+        }
+
+        /**
+         * Supplier of {@link io.aeron.driver.media.DatagramTransport}s which perform the datagram I/O for
+         * {@link SendChannelEndpoint}s and {@link ReceiveChannelEndpoint}s.
+         *
+         * @param supplier of {@link io.aeron.driver.media.DatagramTransport}s for channel endpoints.
+         * @return this for a fluent API.
+         */
+        public Context datagramTransportSupplier(final DatagramTransportSupplier supplier)
+        {
+            datagramTransportSupplier = supplier;
+            return this;
+        }
+
         /**
          * The thread local buffers and associated objects for use by subclasses of {@link ReceiveChannelEndpoint}.
          *
@@ -1372,6 +1700,23 @@ public final class MediaDriver implements AutoCloseable
             return receiveChannelEndpointThreadLocals;
         }
 
+        /**
+         * The thread local buffers and associated objects of the {@link Receiver} which services a channel for use by
+         * subclasses of {@link ReceiveChannelEndpoint}.
+         *
+         * @param udpChannel for the {@link ReceiveChannelEndpoint}.
+         * @return thread local buffers and associated objects of the {@link Receiver} which services the channel.
+         */
+        public ReceiveChannelEndpointThreadLocals receiveChannelEndpointThreadLocals(final UdpChannel udpChannel)
+        {
+            if (receiverCount > 1)
+            {
+                return receiverProxy.receiver(udpChannel).receiveChannelEndpointThreadLocals();
+            }
+
+            return receiveChannelEndpointThreadLocals;
+        }
+
         /**
          * The thread local buffers and associated objects for use by subclasses of {@link ReceiveChannelEndpoint}.
          *
@@ -1641,12 +1986,12 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
-        OneToOneConcurrentArrayQueue<DriverConductorCmd> driverCommandQueue()
+        QueuedPipe<DriverConductorCmd> driverCommandQueue()
         {
             return driverCommandQueue;
         }
 
-        Context driverCommandQueue(final OneToOneConcurrentArrayQueue<DriverConductorCmd> queue)
+        Context driverCommandQueue(final QueuedPipe<DriverConductorCmd> queue)
         {
             this.driverCommandQueue = queue;
             return this;
@@ -1707,6 +2052,16 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        IdleStrategy receiverIdleStrategy(final int receiverIndex)
+        {
+            return receiverPoolIdleStrategies[receiverIndex];
+        }
+
+        IdleStrategy senderIdleStrategy(final int senderIndex)
+        {
+            return senderPoolIdleStrategies[senderIndex];
+        }
+
         ReceiverProxy receiverProxy()
         {
             return receiverProxy;
@@ -1856,14 +2211,19 @@ public final class MediaDriver implements AutoCloseable
                 receiveChannelEndpointSupplier = Configuration.receiveChannelEndpointSupplier();
             }
 
+            if (null == datagramTransportSupplier)
+            {
+                datagramTransportSupplier = Configuration.datagramTransportSupplier();
+            }
+
             if (null == dataTransportPoller)
             {
-                dataTransportPoller = new DataTransportPoller();
+                dataTransportPoller = new DataTransportPoller(receiveBatchSize, transportPollerIterationThreshold);
             }
 
             if (null == controlTransportPoller)
             {
-                controlTransportPoller = new ControlTransportPoller();
+                controlTransportPoller = new ControlTransportPoller(transportPollerIterationThreshold);
             }
 
             if (null == conductorThreadFactory)
@@ -1903,7 +2263,9 @@ public final class MediaDriver implements AutoCloseable
 
             if (null == driverCommandQueue)
             {
-                driverCommandQueue = new OneToOneConcurrentArrayQueue<>(CMD_QUEUE_CAPACITY);
+                driverCommandQueue = receiverCount > 1 ?
+                    new ManyToOneConcurrentArrayQueue<>(CMD_QUEUE_CAPACITY) :
+                    new OneToOneConcurrentArrayQueue<>(CMD_QUEUE_CAPACITY);
             }
 
             if (null == receiverCommandQueue)
@@ -1932,11 +2294,25 @@ public final class MediaDriver implements AutoCloseable
                 senderIdleStrategy(Configuration.senderIdleStrategy(controllableIdleStrategyStatus));
             }
 
+            senderPoolIdleStrategies = new IdleStrategy[senderCount];
+            senderPoolIdleStrategies[0] = senderIdleStrategy;
+            for (int i = 1; i < senderCount; i++)
+            {
+                senderPoolIdleStrategies[i] = Configuration.senderIdleStrategy(controllableIdleStrategyStatus);
+            }
+
             if (null == receiverIdleStrategy)
             {
                 receiverIdleStrategy(Configuration.receiverIdleStrategy(controllableIdleStrategyStatus));
             }
 
+            receiverPoolIdleStrategies = new IdleStrategy[receiverCount];
+            receiverPoolIdleStrategies[0] = receiverIdleStrategy;
+            for (int i = 1; i < receiverCount; i++)
+            {
+                receiverPoolIdleStrategies[i] = Configuration.receiverIdleStrategy(controllableIdleStrategyStatus);
+            }
+
             if (null == sharedNetworkIdleStrategy)
             {
                 sharedNetworkIdleStrategy(Configuration.sharedNetworkIdleStrategy(controllableIdleStrategyStatus));
@@ -34,6 +34,7 @@ import org.agrona.concurrent.status.ReadablePosition;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 
+import static io.aeron.driver.AgentPoolUtil.increment;
 import static io.aeron.driver.Configuration.*;
 import static io.aeron.driver.status.SystemCounterDescriptor.*;
 import static io.aeron.logbuffer.LogBufferDescriptor.*;
@@ -67,7 +68,9 @@ class NetworkPublicationSenderFields extends NetworkPublicationPadding2
     protected long timeOfLastSendOrHeartbeatNs;
     protected long timeOfLastSetupNs;
     protected long statusMessageDeadlineNs;
+    protected long fecFlushDeadlineNs;
     protected boolean trackSenderLimits = true;
+    protected boolean trackRateLimits = true;
     protected boolean shouldSendSetupFrame = true;
 }
 
@@ -97,10 +100,12 @@ public class NetworkPublication
     private final int termBufferLength;
     private final int termLengthMask;
     private final int mtuLength;
+    private final int sendBatchSize;
     private final int termWindowLength;
     private final int sessionId;
     private final int streamId;
     private final boolean isExclusive;
+    private final boolean isPooledSender;
     private final boolean spiesSimulateConnection;
     private volatile boolean hasReceivers;
     private volatile boolean hasSpies;
@@ -109,6 +114,7 @@ public class NetworkPublication
     private volatile boolean hasSenderReleased;
     private State state = State.ACTIVE;
 
+    private final int[] batchDatagramLengths;
     private final UnsafeBuffer[] termBuffers;
     private final ByteBuffer[] sendBuffers;
     private final Position publisherLimit;
@@ -122,6 +128,8 @@ public class NetworkPublication
     private final ByteBuffer rttMeasurementBuffer;
     private final RttMeasurementFlyweight rttMeasurementHeader;
     private final FlowControl flowControl;
+    private final SendRateLimiter sendRateLimiter;
+    private final FecEncoder fecEncoder;
     private final NanoClock nanoClock;
     private final RetransmitHandler retransmitHandler;
     private final UnsafeBuffer metaDataBuffer;
@@ -129,6 +137,7 @@ public class NetworkPublication
     private final AtomicCounter heartbeatsSent;
     private final AtomicCounter retransmitsSent;
     private final AtomicCounter senderFlowControlLimits;
+    private final AtomicCounter senderRateLimits;
     private final AtomicCounter shortSends;
     private final AtomicCounter unblockedPublications;
 
@@ -144,6 +153,9 @@ public class NetworkPublication
         final int streamId,
         final int initialTermId,
         final int mtuLength,
+        final int sendBatchSize,
+        final SendRateLimiter sendRateLimiter,
+        final FecEncoder fecEncoder,
         final SystemCounters systemCounters,
         final FlowControl flowControl,
         final RetransmitHandler retransmitHandler,
@@ -157,6 +169,7 @@ public class NetworkPublication
         this.unblockTimeoutNs = unblockTimeoutNs;
         this.connectionTimeoutNs = connectionTimeoutNs;
         this.channelEndpoint = channelEndpoint;
+        this.isPooledSender = channelEndpoint.isPooledSender();
         this.rawLog = rawLog;
         this.nanoClock = nanoClock;
         this.senderPosition = senderPosition;
@@ -165,6 +178,9 @@ public class NetworkPublication
         this.retransmitHandler = retransmitHandler;
         this.publisherLimit = publisherLimit;
         this.mtuLength = mtuLength;
+        this.sendBatchSize = sendBatchSize;
+        this.sendRateLimiter = sendRateLimiter;
+        this.fecEncoder = fecEncoder;
         this.initialTermId = initialTermId;
         this.sessionId = sessionId;
         this.streamId = streamId;
@@ -183,8 +199,10 @@ public class NetworkPublication
         shortSends = systemCounters.get(SHORT_SENDS);
         retransmitsSent = systemCounters.get(RETRANSMITS_SENT);
         senderFlowControlLimits = systemCounters.get(SENDER_FLOW_CONTROL_LIMITS);
+        senderRateLimits = systemCounters.get(SENDER_RATE_LIMITS);
         unblockedPublications = systemCounters.get(UNBLOCKED_PUBLICATIONS);
 
+        batchDatagramLengths = new int[sendBatchSize];
         termBuffers = rawLog.termBuffers();
         sendBuffers = rawLog.sliceTerms();
 
@@ -252,6 +270,11 @@ public class NetworkPublication
             final boolean isEndOfStream = this.isEndOfStream;
             bytesSent = heartbeatMessageCheck(nowNs, activeTermId, termOffset, isEndOfStream);
 
+            if (null != fecEncoder && fecEncoder.hasPendingGroup() && nowNs >= fecFlushDeadlineNs)
+            {
+                bytesSent += sendParityFrame();
+            }
+
             if (spiesSimulateConnection && nowNs > statusMessageDeadlineNs && hasSpies)
             {
                 final long newSenderPosition = maxSpyPosition(senderPosition);
@@ -267,6 +290,11 @@ public class NetworkPublication
         updateHasReceivers(nowNs);
         retransmitHandler.processTimeouts(nowNs, this);
 
+        if (hasReceivers && retransmitHandler.shouldMeasureRtt(nowNs))
+        {
+            sendRttMeasurement(nowNs);
+        }
+
         return bytesSent;
     }
 
@@ -301,34 +329,54 @@ public class NetworkPublication
             final UnsafeBuffer termBuffer = termBuffers[activeIndex];
             final ByteBuffer sendBuffer = sendBuffers[activeIndex];
 
+            final int[] datagramLengths = batchDatagramLengths;
             int remainingBytes = length;
-            int bytesSent = 0;
             int offset = termOffset;
             do
             {
-                offset += bytesSent;
+                int datagramCount = 0;
+                int batchLength = 0;
+                int padding = 0;
 
-                final long scanOutcome = scanForAvailability(termBuffer, offset, Math.min(mtuLength, remainingBytes));
-                final int available = available(scanOutcome);
-                if (available <= 0)
+                do
+                {
+                    final long scanOutcome = scanForAvailability(
+                        termBuffer, offset + batchLength, Math.min(mtuLength, remainingBytes - batchLength));
+                    final int available = available(scanOutcome);
+                    if (available <= 0)
+                    {
+                        break;
+                    }
+
+                    datagramLengths[datagramCount++] = available;
+                    batchLength += available;
+                    padding = padding(scanOutcome);
+                }
+                while (0 == padding && datagramCount < sendBatchSize && batchLength < remainingBytes);
+
+                if (0 == datagramCount)
                 {
                     break;
                 }
 
-                sendBuffer.limit(offset + available).position(offset);
+                sendBuffer.limit(offset + batchLength).position(offset);
+
+                final int datagramsSent = 1 == datagramCount ?
+                    (batchLength == channelEndpoint.send(sendBuffer) ? 1 : 0) :
+                    channelEndpoint.send(sendBuffer, datagramLengths, datagramCount);
 
-                if (available != channelEndpoint.send(sendBuffer))
+                if (datagramsSent < datagramCount)
                 {
                     shortSends.increment();
                     break;
                 }
 
-                bytesSent = available + padding(scanOutcome);
-                remainingBytes -= bytesSent;
+                offset += batchLength + padding;
+                remainingBytes -= batchLength + padding;
             }
             while (remainingBytes > 0);
 
-            retransmitsSent.orderedIncrement();
+            increment(retransmitsSent, isPooledSender);
         }
     }
 
@@ -408,8 +456,13 @@ public class NetworkPublication
                 shortSends.increment();
             }
         }
+        else
+        {
+            final long nowNs = nanoClock.nanoTime();
+            final long rttInNs = nowNs - msg.echoTimestampNs() - msg.receptionDelta();
 
-        // handling of RTT measurements would be done in an else clause here.
+            retransmitHandler.onRttMeasurement(nowNs, rttInNs);
+        }
     }
 
     RawLog rawLog()
@@ -417,6 +470,16 @@ public class NetworkPublication
         return rawLog;
     }
 
+    SendRateLimiter sendRateLimiter()
+    {
+        return sendRateLimiter;
+    }
+
+    FecEncoder fecEncoder()
+    {
+        return fecEncoder;
+    }
+
     int publisherLimitId()
     {
         return publisherLimit.id();
@@ -479,39 +542,187 @@ public class NetworkPublication
         final int availableWindow = (int)(senderLimit.get() - senderPosition);
         if (availableWindow > 0)
         {
-            final int scanLimit = Math.min(availableWindow, mtuLength);
             final int activeIndex = indexByPosition(senderPosition, positionBitsToShift);
+            final UnsafeBuffer termBuffer = termBuffers[activeIndex];
+            final int[] datagramLengths = batchDatagramLengths;
+            int datagramCount = 0;
+            int scanOffset = termOffset;
+            int remainingWindow = null == sendRateLimiter ?
+                availableWindow : Math.min(availableWindow, sendRateLimiter.available(nowNs));
+            int padding = 0;
 
-            final long scanOutcome = scanForAvailability(termBuffers[activeIndex], termOffset, scanLimit);
-            final int available = available(scanOutcome);
-            if (available > 0)
+            do
+            {
+                final long scanOutcome = scanForAvailability(
+                    termBuffer, scanOffset, Math.min(remainingWindow, mtuLength));
+                final int available = available(scanOutcome);
+                if (available <= 0)
+                {
+                    break;
+                }
+
+                datagramLengths[datagramCount++] = available;
+                scanOffset += available;
+                remainingWindow -= available;
+                padding = padding(scanOutcome);
+            }
+            while (0 == padding && datagramCount < sendBatchSize && remainingWindow > 0);
+
+            if (null != sendRateLimiter && 0 == padding && datagramCount < sendBatchSize)
+            {
+                checkForRateLimit(termBuffer, scanOffset, availableWindow - (scanOffset - termOffset));
+            }
+
+            if (datagramCount > 0)
             {
                 final ByteBuffer sendBuffer = sendBuffers[activeIndex];
-                sendBuffer.limit(termOffset + available).position(termOffset);
+                sendBuffer.limit(scanOffset).position(termOffset);
+                int datagramsSent = 0;
 
-                if (available == channelEndpoint.send(sendBuffer))
+                if (1 == datagramCount)
                 {
-                    timeOfLastSendOrHeartbeatNs = nowNs;
-                    trackSenderLimits = true;
-
-                    bytesSent = available;
-                    this.senderPosition.setOrdered(senderPosition + bytesSent + padding(scanOutcome));
+                    if (datagramLengths[0] == channelEndpoint.send(sendBuffer))
+                    {
+                        bytesSent = datagramLengths[0];
+                        datagramsSent = 1;
+                    }
+                    else
+                    {
+                        shortSends.increment();
+                    }
                 }
                 else
                 {
-                    shortSends.increment();
+                    datagramsSent = channelEndpoint.send(sendBuffer, datagramLengths, datagramCount);
+                    for (int i = 0; i < datagramsSent; i++)
+                    {
+                        bytesSent += datagramLengths[i];
+                    }
+
+                    if (datagramsSent < datagramCount)
+                    {
+                        shortSends.increment();
+                        padding = 0;
+                    }
+                }
+
+                if (bytesSent > 0)
+                {
+                    if (null != sendRateLimiter)
+                    {
+                        sendRateLimiter.consume(bytesSent);
+                    }
+
+                    timeOfLastSendOrHeartbeatNs = nowNs;
+                    trackSenderLimits = true;
+
+                    this.senderPosition.setOrdered(senderPosition + bytesSent + padding);
+
+                    if (null != fecEncoder)
+                    {
+                        encodeParity(nowNs, termBuffer, senderPosition, termOffset, datagramsSent, padding);
+                    }
                 }
             }
         }
         else if (trackSenderLimits)
         {
             trackSenderLimits = false;
-            senderFlowControlLimits.orderedIncrement();
+            increment(senderFlowControlLimits, isPooledSender);
+        }
+
+        return bytesSent;
+    }
+
+    private void encodeParity(
+        final long nowNs,
+        final UnsafeBuffer termBuffer,
+        final long senderPosition,
+        final int termOffset,
+        final int datagramsSent,
+        final int padding)
+    {
+        final FecEncoder fecEncoder = this.fecEncoder;
+        final int[] datagramLengths = batchDatagramLengths;
+        final int termId = computeTermIdFromPosition(senderPosition, positionBitsToShift, initialTermId);
+        int offset = termOffset;
+
+        for (int i = 0; i < datagramsSent; i++)
+        {
+            final int length = datagramLengths[i];
+            if (!fecEncoder.hasPendingGroup())
+            {
+                fecFlushDeadlineNs = nowNs + PUBLICATION_HEARTBEAT_TIMEOUT_NS;
+            }
+
+            if (fecEncoder.onDatagram(termBuffer, termId, offset, length))
+            {
+                sendParityFrame();
+            }
+
+            offset += length;
+        }
+
+        if (padding > 0 && fecEncoder.hasPendingGroup())
+        {
+            sendParityFrame();
+        }
+    }
+
+    private void sendRttMeasurement(final long nowNs)
+    {
+        rttMeasurementHeader
+            .receiverId(0)
+            .echoTimestampNs(nowNs)
+            .receptionDelta(0)
+            .sessionId(sessionId)
+            .streamId(streamId)
+            .flags(RttMeasurementFlyweight.REPLY_FLAG);
+
+        final int bytesSent = channelEndpoint.send(rttMeasurementBuffer);
+        if (RttMeasurementFlyweight.HEADER_LENGTH != bytesSent)
+        {
+            shortSends.increment();
+        }
+    }
+
+    private int sendParityFrame()
+    {
+        final ByteBuffer parityFrame = fecEncoder.parityFrame();
+        final int frameLength = parityFrame.remaining();
+
+        final int bytesSent = channelEndpoint.send(parityFrame);
+        if (frameLength != bytesSent)
+        {
+            shortSends.increment();
+        }
+
+        if (null != sendRateLimiter)
+        {
+            sendRateLimiter.consume(bytesSent);
         }
 
+        fecEncoder.reset();
+
         return bytesSent;
     }
 
+    private void checkForRateLimit(final UnsafeBuffer termBuffer, final int scanOffset, final int remainingWindow)
+    {
+        final boolean isRateLimited = remainingWindow > 0 &&
+            available(scanForAvailability(termBuffer, scanOffset, Math.min(remainingWindow, mtuLength))) > 0;
+
+        if (!isRateLimited)
+        {
+            trackRateLimits = true;
+        }
+        else if (trackRateLimits)
+        {
+            trackRateLimits = false;
+            increment(senderRateLimits, isPooledSender);
+        }
+    }
+
     private void setupMessageCheck(final long nowNs, final int activeTermId, final int termOffset)
     {
         if (nowNs > (timeOfLastSetupNs + PUBLICATION_SETUP_TIMEOUT_NS))
@@ -572,7 +783,7 @@ public class NetworkPublication
                 shortSends.increment();
             }
 
-            heartbeatsSent.orderedIncrement();
+            increment(heartbeatsSent, isPooledSender);
             timeOfLastSendOrHeartbeatNs = nowNs;
         }
 
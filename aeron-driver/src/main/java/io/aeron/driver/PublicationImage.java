@@ -22,6 +22,7 @@ import io.aeron.driver.status.SystemCounters;
 import io.aeron.logbuffer.LogBufferDescriptor;
 import io.aeron.logbuffer.TermRebuilder;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.FecFlyweight;
 import io.aeron.protocol.HeaderFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
 import org.agrona.collections.ArrayUtil;
@@ -33,13 +34,20 @@ import org.agrona.concurrent.status.Position;
 import org.agrona.concurrent.status.ReadablePosition;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 
+import static io.aeron.driver.AgentPoolUtil.increment;
 import static io.aeron.driver.LossDetector.lossFound;
 import static io.aeron.driver.LossDetector.rebuildOffset;
 import static io.aeron.driver.PublicationImage.State.ACTIVE;
 import static io.aeron.driver.status.SystemCounterDescriptor.*;
 import static io.aeron.logbuffer.LogBufferDescriptor.*;
+import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
 import static io.aeron.logbuffer.TermGapFiller.tryFillGap;
+import static io.aeron.protocol.DataHeaderFlyweight.RESERVED_VALUE_OFFSET;
+import static io.aeron.protocol.HeaderFlyweight.FRAME_LENGTH_FIELD_OFFSET;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.agrona.BitUtil.align;
 import static org.agrona.UnsafeAccess.UNSAFE;
 
 class PublicationImagePadding1
@@ -92,8 +100,11 @@ public class PublicationImage
     private volatile long beginLossChange = -1;
     private volatile long endLossChange = -1;
     private int lossTermId;
-    private int lossTermOffset;
-    private int lossLength;
+    private int lossGapCount;
+    private final int[] lossTermOffsets;
+    private final int[] lossLengths;
+    private final int[] nakTermOffsets;
+    private final int[] nakLengths;
 
     private volatile long beginSmChange = -1;
     private volatile long endSmChange = -1;
@@ -110,6 +121,8 @@ public class PublicationImage
     private final int termLengthMask;
     private final int initialTermId;
     private final boolean isReliable;
+    private final boolean isReceiveTimestamping;
+    private final boolean isPooledReceiver;
 
     private boolean noLongerActive;
     private boolean reachedEndOfLife;
@@ -121,8 +134,10 @@ public class PublicationImage
     private final UnsafeBuffer[] termBuffers;
     private final Position hwmPosition;
     private final LossDetector lossDetector;
+    private final FeedbackDelayGenerator lossFeedbackDelayGenerator;
     private final CongestionControl congestionControl;
     private final Position rebuildPosition;
+    private final AtomicCounter subscriberLag;
     private final InetSocketAddress sourceAddress;
     private final AtomicCounter heartbeatsReceived;
     private final AtomicCounter statusMessagesSent;
@@ -130,8 +145,12 @@ public class PublicationImage
     private final AtomicCounter flowControlUnderRuns;
     private final AtomicCounter flowControlOverRuns;
     private final AtomicCounter lossGapFills;
+    private final AtomicCounter fecRecoveries;
     private final EpochClock epochClock;
     private final RawLog rawLog;
+    private FecDecoder fecDecoder;
+    private ByteBuffer[] termByteBuffers;
+    private long zeroCopyPosition = -1;
 
     public PublicationImage(
         final long correlationId,
@@ -145,9 +164,11 @@ public class PublicationImage
         final int initialTermOffset,
         final RawLog rawLog,
         final FeedbackDelayGenerator lossFeedbackDelayGenerator,
+        final int nakMaxGaps,
         final ReadablePosition[] subscriberPositions,
         final Position hwmPosition,
         final Position rebuildPosition,
+        final AtomicCounter subscriberLag,
         final NanoClock nanoClock,
         final EpochClock epochClock,
         final SystemCounters systemCounters,
@@ -166,11 +187,14 @@ public class PublicationImage
         this.subscriberPositions = subscriberPositions;
         this.hwmPosition = hwmPosition;
         this.rebuildPosition = rebuildPosition;
+        this.subscriberLag = subscriberLag;
         this.sourceAddress = sourceAddress;
         this.initialTermId = initialTermId;
         this.congestionControl = congestionControl;
         this.lossReport = lossReport;
         this.isReliable = isReliable;
+        this.isReceiveTimestamping = channelEndpoint.isReceiveTimestamping();
+        this.isPooledReceiver = channelEndpoint.isPooledReceiver();
 
         heartbeatsReceived = systemCounters.get(HEARTBEATS_RECEIVED);
         statusMessagesSent = systemCounters.get(STATUS_MESSAGES_SENT);
@@ -178,6 +202,7 @@ public class PublicationImage
         flowControlUnderRuns = systemCounters.get(FLOW_CONTROL_UNDER_RUNS);
         flowControlOverRuns = systemCounters.get(FLOW_CONTROL_OVER_RUNS);
         lossGapFills = systemCounters.get(LOSS_GAP_FILLS);
+        fecRecoveries = systemCounters.get(FEC_RECOVERIES);
 
         this.nanoClock = nanoClock;
         this.epochClock = epochClock;
@@ -186,7 +211,12 @@ public class PublicationImage
         lastPacketTimestampNs = nowNs;
 
         termBuffers = rawLog.termBuffers();
-        lossDetector = new LossDetector(lossFeedbackDelayGenerator, this);
+        this.lossFeedbackDelayGenerator = lossFeedbackDelayGenerator;
+        lossDetector = new LossDetector(lossFeedbackDelayGenerator, this, nakMaxGaps);
+        lossTermOffsets = new int[nakMaxGaps];
+        lossLengths = new int[nakMaxGaps];
+        nakTermOffsets = new int[nakMaxGaps];
+        nakLengths = new int[nakMaxGaps];
 
         final int termLength = rawLog.termLength();
         termLengthMask = termLength - 1;
@@ -209,6 +239,7 @@ public class PublicationImage
     {
         hwmPosition.close();
         rebuildPosition.close();
+        subscriberLag.close();
         for (final ReadablePosition position : subscriberPositions)
         {
             position.close();
@@ -298,11 +329,41 @@ public class PublicationImage
         beginLossChange = changeNumber;
 
         lossTermId = termId;
-        lossTermOffset = termOffset;
-        lossLength = length;
+        lossTermOffsets[0] = termOffset;
+        lossLengths[0] = length;
+        lossGapCount = 1;
 
         endLossChange = changeNumber;
 
+        recordLoss(length);
+    }
+
+    /**
+     * Called from the {@link LossDetector} when multiple gaps are detected by the {@link DriverConductor} thread.
+     *
+     * @see LossHandler
+     */
+    public void onGapsDetected(final int termId, final int[] termOffsets, final int[] lengths, final int gapCount)
+    {
+        final long changeNumber = beginLossChange + 1;
+
+        beginLossChange = changeNumber;
+
+        lossTermId = termId;
+        System.arraycopy(termOffsets, 0, lossTermOffsets, 0, gapCount);
+        System.arraycopy(lengths, 0, lossLengths, 0, gapCount);
+        lossGapCount = gapCount;
+
+        endLossChange = changeNumber;
+
+        for (int i = 0; i < gapCount; i++)
+        {
+            recordLoss(lengths[i]);
+        }
+    }
+
+    private void recordLoss(final int length)
+    {
         if (null != reportEntry)
         {
             reportEntry.recordObservation(length, epochClock.time());
@@ -410,6 +471,7 @@ public class PublicationImage
 
         final long rebuildPosition = Math.max(this.rebuildPosition.get(), maxSubscriberPosition);
         final long hwmPosition = this.hwmPosition.getVolatile();
+        subscriberLag.setOrdered(Math.max(0, hwmPosition - minSubscriberPosition));
 
         final long scanOutcome = lossDetector.scan(
             termBuffers[indexByPosition(rebuildPosition, positionBitsToShift)],
@@ -482,10 +544,15 @@ public class PublicationImage
                     LogBufferDescriptor.endOfStreamPosition(rawLog.metaData(), packetPosition);
                 }
 
-                heartbeatsReceived.orderedIncrement();
+                increment(heartbeatsReceived, isPooledReceiver);
             }
             else
             {
+                if (isReceiveTimestamping)
+                {
+                    timestampFrames(buffer, 0, length, nanoClock.nanoTime());
+                }
+
                 final UnsafeBuffer termBuffer = termBuffers[indexByPosition(packetPosition, positionBitsToShift)];
                 TermRebuilder.insert(termBuffer, termOffset, buffer, length);
             }
@@ -496,6 +563,111 @@ public class PublicationImage
         return length;
     }
 
+    /**
+     * Buffer in the term at the high-water mark, following the space for a data header, into which the payload of the
+     * next in order datagram can be received directly to avoid a copy. The buffer holds one byte more than the payload
+     * of an MTU length datagram so a datagram which fills it has been truncated and can be detected as such.
+     * <p>
+     * Bytes received into the buffer for a datagram which is not then inserted with
+     * {@link #insertZeroCopyPacket(int, int, UnsafeBuffer, int)} must be zeroed by the caller.
+     *
+     * @return buffer for the payload or null if the image cannot take a datagram at the high-water mark.
+     */
+    ByteBuffer zeroCopyPayloadBuffer()
+    {
+        final long position = hwmPosition.get();
+        final int termOffset = (int)position & termLengthMask;
+        final long windowLimit = nextSmPosition + nextSmReceiverWindowLength;
+        final int available = (int)Math.min((termLengthMask + 1) - termOffset, windowLimit - position);
+        final int mtuLength = LogBufferDescriptor.mtuLength(rawLog.metaData());
+
+        if (ACTIVE != state || available <= mtuLength)
+        {
+            zeroCopyPosition = -1;
+            return null;
+        }
+
+        if (null == termByteBuffers)
+        {
+            termByteBuffers = rawLog.sliceTerms();
+        }
+
+        final ByteBuffer termByteBuffer = termByteBuffers[indexByPosition(position, positionBitsToShift)];
+        termByteBuffer.limit(termOffset + mtuLength + 1).position(termOffset + DataHeaderFlyweight.HEADER_LENGTH);
+        zeroCopyPosition = position;
+
+        return termByteBuffer;
+    }
+
+    /**
+     * Complete the insert of a data packet whose payload has been received directly into the term from
+     * {@link #zeroCopyPayloadBuffer()} by writing its header.
+     *
+     * @param termId     for the data packet.
+     * @param termOffset for the start of the packet in the term.
+     * @param header     of the data packet.
+     * @param length     of the data packet including the header.
+     * @return true if the packet was inserted or false if it is not at the position of the buffer so must be inserted
+     * with a copy.
+     */
+    boolean insertZeroCopyPacket(final int termId, final int termOffset, final UnsafeBuffer header, final int length)
+    {
+        final long packetPosition = computePosition(termId, termOffset, positionBitsToShift, initialTermId);
+        if (packetPosition != zeroCopyPosition || length <= DataHeaderFlyweight.HEADER_LENGTH)
+        {
+            return false;
+        }
+
+        final UnsafeBuffer termBuffer = termBuffers[indexByPosition(packetPosition, positionBitsToShift)];
+        if (isReceiveTimestamping)
+        {
+            final long timestampNs = nanoClock.nanoTime();
+            final int firstFrameLength = header.getInt(FRAME_LENGTH_FIELD_OFFSET, LITTLE_ENDIAN);
+            header.putLong(RESERVED_VALUE_OFFSET, timestampNs, LITTLE_ENDIAN);
+            timestampFrames(
+                termBuffer, termOffset + align(firstFrameLength, FRAME_ALIGNMENT), termOffset + length, timestampNs);
+        }
+
+        TermRebuilder.insertHeader(termBuffer, termOffset, header);
+        hwmCandidate(packetPosition + length);
+
+        return true;
+    }
+
+    /**
+     * Rebuild a datagram lost from a group protected by a FEC parity frame so it does not need to be recovered with
+     * a NAK. Groups which have been fully received, or have lost more than one datagram, are ignored. Parity frames
+     * are ignored altogether when frames are timestamped on receipt as the reserved values in the term no longer match
+     * those covered by the parity.
+     *
+     * @param header of the parity frame.
+     * @param length of the parity frame.
+     */
+    void onFecMessage(final FecFlyweight header, final int length)
+    {
+        final int termId = header.termId();
+        final long groupPosition = computePosition(termId, header.termOffset(), positionBitsToShift, initialTermId);
+        final long maxGroupEndPosition = groupPosition + ((long)header.datagramCount() * header.parityLength());
+
+        if (!isReceiveTimestamping &&
+            maxGroupEndPosition > rebuildPosition.getVolatile() &&
+            groupPosition <= (nextSmPosition + nextSmReceiverWindowLength))
+        {
+            if (null == fecDecoder)
+            {
+                fecDecoder = new FecDecoder(LogBufferDescriptor.mtuLength(rawLog.metaData()));
+            }
+
+            final UnsafeBuffer termBuffer = termBuffers[indexByPosition(groupPosition, positionBitsToShift)];
+            final int recoveredLength = fecDecoder.recover(termBuffer, header, length);
+            if (recoveredLength > 0)
+            {
+                insertPacket(termId, fecDecoder.recoveredTermOffset(), fecDecoder.datagramBuffer(), recoveredLength);
+                increment(fecRecoveries, isPooledReceiver);
+            }
+        }
+    }
+
     /**
      * To be called from the {@link Receiver} to see if a image should be garbage collected.
      *
@@ -542,7 +714,7 @@ public class PublicationImage
                     channelEndpoint.sendStatusMessage(
                         controlAddress, sessionId, streamId, termId, termOffset, receiverWindowLength, (byte)0);
 
-                    statusMessagesSent.orderedIncrement();
+                    increment(statusMessagesSent, isPooledReceiver);
 
                     lastSmChangeNumber = changeNumber;
                 }
@@ -567,8 +739,14 @@ public class PublicationImage
         if (changeNumber != lastLossChangeNumber)
         {
             final int termId = lossTermId;
-            final int termOffset = lossTermOffset;
-            final int length = lossLength;
+            final int gapCount = Math.min(lossGapCount, nakTermOffsets.length);
+            final int[] termOffsets = nakTermOffsets;
+            final int[] lengths = nakLengths;
+            for (int i = 0; i < gapCount; i++)
+            {
+                termOffsets[i] = lossTermOffsets[i];
+                lengths[i] = lossLengths[i];
+            }
 
             UNSAFE.loadFence(); // LoadLoad required so previous loads don't move past version check below.
 
@@ -576,15 +754,28 @@ public class PublicationImage
             {
                 if (isReliable)
                 {
-                    channelEndpoint.sendNakMessage(controlAddress, sessionId, streamId, termId, termOffset, length);
-                    nakMessagesSent.orderedIncrement();
+                    if (1 == gapCount)
+                    {
+                        channelEndpoint.sendNakMessage(
+                            controlAddress, sessionId, streamId, termId, termOffsets[0], lengths[0]);
+                    }
+                    else
+                    {
+                        channelEndpoint.sendNakMessage(
+                            controlAddress, sessionId, streamId, termId, termOffsets, lengths, gapCount);
+                    }
+
+                    increment(nakMessagesSent, isPooledReceiver);
                 }
                 else
                 {
                     final UnsafeBuffer termBuffer = termBuffers[indexByTerm(initialTermId, termId)];
-                    if (tryFillGap(rawLog.metaData(), termBuffer, termId, termOffset, length))
+                    for (int i = 0; i < gapCount; i++)
                     {
-                        lossGapFills.orderedIncrement();
+                        if (tryFillGap(rawLog.metaData(), termBuffer, termId, termOffsets[i], lengths[i]))
+                        {
+                            increment(lossGapFills, isPooledReceiver);
+                        }
                     }
                 }
 
@@ -607,7 +798,10 @@ public class PublicationImage
     {
         int workCount = 0;
 
-        if (congestionControl.shouldMeasureRtt(nowNs))
+        final boolean shouldMeasureRttForCongestion = congestionControl.shouldMeasureRtt(nowNs);
+        final boolean shouldMeasureRttForFeedback = lossFeedbackDelayGenerator.shouldMeasureRtt(nowNs);
+
+        if (shouldMeasureRttForCongestion || shouldMeasureRttForFeedback)
         {
             channelEndpoint.sendRttMeasurement(controlAddress, sessionId, streamId, nowNs, 0, true);
             workCount = 1;
@@ -628,6 +822,7 @@ public class PublicationImage
         final long rttInNs = nowNs - header.echoTimestampNs() - header.receptionDelta();
 
         congestionControl.onRttMeasurement(nowNs, rttInNs, srcAddress);
+        lossFeedbackDelayGenerator.onRttMeasurement(nowNs, rttInNs);
     }
 
     /**
@@ -718,6 +913,23 @@ public class PublicationImage
             (packet.getByte(HeaderFlyweight.FLAGS_FIELD_OFFSET) & 0xFF);
     }
 
+    private static void timestampFrames(
+        final UnsafeBuffer buffer, final int offset, final int limit, final long timestampNs)
+    {
+        int frameOffset = offset;
+        while (frameOffset + DataHeaderFlyweight.HEADER_LENGTH <= limit)
+        {
+            final int frameLength = buffer.getInt(frameOffset + FRAME_LENGTH_FIELD_OFFSET, LITTLE_ENDIAN);
+            if (frameLength < DataHeaderFlyweight.HEADER_LENGTH)
+            {
+                break;
+            }
+
+            buffer.putLong(frameOffset + RESERVED_VALUE_OFFSET, timestampNs, LITTLE_ENDIAN);
+            frameOffset += align(frameLength, FRAME_ALIGNMENT);
+        }
+    }
+
     private void hwmCandidate(final long proposedPosition)
     {
         lastPacketTimestampNs = nanoClock.nanoTime();
@@ -730,7 +942,7 @@ public class PublicationImage
 
         if (isFlowControlUnderRun)
         {
-            flowControlUnderRuns.orderedIncrement();
+            increment(flowControlUnderRuns, isPooledReceiver);
         }
 
         return isFlowControlUnderRun;
@@ -742,7 +954,7 @@ public class PublicationImage
 
         if (isFlowControlOverRun)
         {
-            flowControlOverRuns.orderedIncrement();
+            increment(flowControlOverRuns, isPooledReceiver);
         }
 
         return isFlowControlOverRun;
@@ -20,6 +20,7 @@ import io.aeron.driver.buffer.RawLog;
 import io.aeron.ChannelUri;
 import io.aeron.logbuffer.FrameDescriptor;
 import io.aeron.logbuffer.LogBufferDescriptor;
+import io.aeron.protocol.FecFlyweight;
 
 import static io.aeron.CommonContext.*;
 
@@ -30,6 +31,9 @@ class PublicationParams
     int initialTermId = 0;
     int termId = 0;
     int termOffset = 0;
+    int sendBurstLength = 0;
+    int fecGroupSize = 0;
+    long sendRate = 0;
     boolean isReplay = false;
 
     static int getTermBufferLength(final ChannelUri channelUri, final int defaultTermLength)
@@ -58,6 +62,71 @@ class PublicationParams
         return mtuLength;
     }
 
+    static long getSendRate(final ChannelUri channelUri)
+    {
+        long sendRate = 0;
+        final String sendRateParam = channelUri.get(SEND_RATE_PARAM_NAME);
+        if (null != sendRateParam)
+        {
+            sendRate = Long.parseLong(sendRateParam);
+            if (sendRate <= 0)
+            {
+                throw new IllegalArgumentException(
+                    SEND_RATE_PARAM_NAME + "=" + sendRate + " must be greater than zero");
+            }
+        }
+
+        return sendRate;
+    }
+
+    static int getSendBurstLength(final ChannelUri channelUri, final long sendRate, final int mtuLength)
+    {
+        int sendBurstLength = 0;
+        if (sendRate > 0)
+        {
+            sendBurstLength = (int)Math.min(Integer.MAX_VALUE, Math.max(mtuLength, sendRate / 1000));
+
+            final String sendBurstParam = channelUri.get(SEND_BURST_PARAM_NAME);
+            if (null != sendBurstParam)
+            {
+                sendBurstLength = Integer.parseInt(sendBurstParam);
+                if (sendBurstLength < mtuLength)
+                {
+                    throw new IllegalArgumentException(
+                        SEND_BURST_PARAM_NAME + "=" + sendBurstLength + " must be at least the MTU=" + mtuLength);
+                }
+            }
+        }
+
+        return sendBurstLength;
+    }
+
+    static int getFecGroupSize(final ChannelUri channelUri, final int mtuLength)
+    {
+        int fecGroupSize = 0;
+        final String fecGroupSizeParam = channelUri.get(FEC_GROUP_SIZE_PARAM_NAME);
+        if (null != fecGroupSizeParam)
+        {
+            fecGroupSize = Integer.parseInt(fecGroupSizeParam);
+            if (fecGroupSize < 2 || fecGroupSize > FecFlyweight.MAX_DATAGRAM_COUNT)
+            {
+                throw new IllegalArgumentException(
+                    FEC_GROUP_SIZE_PARAM_NAME + "=" + fecGroupSize + " must be in the range 2-" +
+                    FecFlyweight.MAX_DATAGRAM_COUNT);
+            }
+
+            final int parityFrameLength = FecFlyweight.frameLength(fecGroupSize, mtuLength);
+            if (parityFrameLength > Configuration.MAX_UDP_PAYLOAD_LENGTH)
+            {
+                throw new IllegalArgumentException(
+                    FEC_GROUP_SIZE_PARAM_NAME + "=" + fecGroupSize + " parity frame for MTU=" + mtuLength +
+                    " greater than MAX_UDP_PAYLOAD_LENGTH: " + parityFrameLength);
+            }
+        }
+
+        return fecGroupSize;
+    }
+
     static void validateMtuForMaxMessage(final PublicationParams params, final boolean isExclusive)
     {
         final int termLength = params.termLength;
@@ -89,6 +158,34 @@ class PublicationParams
         }
     }
 
+    static void confirmMatch(final ChannelUri uri, final PublicationParams params, final NetworkPublication publication)
+    {
+        confirmMatch(uri, params, publication.rawLog());
+
+        final SendRateLimiter sendRateLimiter = publication.sendRateLimiter();
+        final long sendRate = null != sendRateLimiter ? sendRateLimiter.bytesPerSecond() : 0;
+        if (uri.containsKey(SEND_RATE_PARAM_NAME) && sendRate != params.sendRate)
+        {
+            throw new IllegalStateException("Existing publication has different send rate: existing=" +
+                sendRate + " requested=" + params.sendRate);
+        }
+
+        final int sendBurstLength = null != sendRateLimiter ? sendRateLimiter.burstLength() : 0;
+        if (uri.containsKey(SEND_BURST_PARAM_NAME) && sendBurstLength != params.sendBurstLength)
+        {
+            throw new IllegalStateException("Existing publication has different send burst length: existing=" +
+                sendBurstLength + " requested=" + params.sendBurstLength);
+        }
+
+        final FecEncoder fecEncoder = publication.fecEncoder();
+        final int fecGroupSize = null != fecEncoder ? fecEncoder.groupSize() : 0;
+        if (uri.containsKey(FEC_GROUP_SIZE_PARAM_NAME) && fecGroupSize != params.fecGroupSize)
+        {
+            throw new IllegalStateException("Existing publication has different FEC group size: existing=" +
+                fecGroupSize + " requested=" + params.fecGroupSize);
+        }
+    }
+
     @SuppressWarnings("ConstantConditions")
     static PublicationParams getPublicationParams(
         final MediaDriver.Context context,
@@ -103,6 +200,13 @@ class PublicationParams
 
         params.mtuLength = getMtuLength(channelUri, isIpc ? context.ipcMtuLength() : context.mtuLength());
 
+        if (!isIpc)
+        {
+            params.sendRate = getSendRate(channelUri);
+            params.sendBurstLength = getSendBurstLength(channelUri, params.sendRate, params.mtuLength);
+            params.fecGroupSize = getFecGroupSize(channelUri, params.mtuLength);
+        }
+
         if (isExclusive)
         {
             int count = 0;
@@ -18,6 +18,7 @@ package io.aeron.driver;
 import io.aeron.driver.cmd.ReceiverCmd;
 import io.aeron.driver.media.DataTransportPoller;
 import io.aeron.driver.media.ReceiveChannelEndpoint;
+import io.aeron.driver.media.ReceiveChannelEndpointThreadLocals;
 import org.agrona.collections.ArrayListUtil;
 import org.agrona.concurrent.Agent;
 import org.agrona.concurrent.status.AtomicCounter;
@@ -33,11 +34,18 @@ import static io.aeron.driver.status.SystemCounterDescriptor.BYTES_RECEIVED;
 
 /**
  * Receiver agent for JVM based media driver, uses an event loop with command buffer
+ * <p>
+ * A driver may run a pool of receivers, see {@link MediaDriver.Context#receiverCount()}, in which case each receiver
+ * has its own {@link DataTransportPoller}, command queue, and {@link ReceiveChannelEndpointThreadLocals} and services
+ * the endpoints assigned to it by the {@link ReceiverProxy}.
  */
 public class Receiver implements Agent, Consumer<ReceiverCmd>
 {
+    private final boolean isPooled;
+    private final String roleName;
     private final DataTransportPoller dataTransportPoller;
     private final OneToOneConcurrentArrayQueue<ReceiverCmd> commandQueue;
+    private final ReceiveChannelEndpointThreadLocals receiveChannelEndpointThreadLocals;
     private final AtomicCounter totalBytesReceived;
     private final NanoClock clock;
     private final ArrayList<PublicationImage> publicationImages = new ArrayList<>();
@@ -45,8 +53,28 @@ public class Receiver implements Agent, Consumer<ReceiverCmd>
 
     public Receiver(final MediaDriver.Context ctx)
     {
-        dataTransportPoller = ctx.dataTransportPoller();
-        commandQueue = ctx.receiverCommandQueue();
+        this(ctx, 0);
+    }
+
+    public Receiver(final MediaDriver.Context ctx, final int receiverIndex)
+    {
+        isPooled = ctx.receiverCount() > 1;
+        roleName = isPooled ? "receiver-" + receiverIndex : "receiver";
+
+        if (0 == receiverIndex)
+        {
+            dataTransportPoller = ctx.dataTransportPoller();
+            commandQueue = ctx.receiverCommandQueue();
+            receiveChannelEndpointThreadLocals = ctx.receiveChannelEndpointThreadLocals();
+        }
+        else
+        {
+            dataTransportPoller = new DataTransportPoller(
+                ctx.receiveBatchSize(), ctx.transportPollerIterationThreshold());
+            commandQueue = new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY);
+            receiveChannelEndpointThreadLocals = new ReceiveChannelEndpointThreadLocals(ctx);
+        }
+
         totalBytesReceived = ctx.systemCounters().get(BYTES_RECEIVED);
         clock = ctx.nanoClock();
     }
@@ -58,7 +86,7 @@ public class Receiver implements Agent, Consumer<ReceiverCmd>
 
     public String roleName()
     {
-        return "receiver";
+        return roleName;
     }
 
     public int doWork() throws Exception
@@ -87,12 +115,41 @@ public class Receiver implements Agent, Consumer<ReceiverCmd>
         }
 
         checkPendingSetupMessages(nowNs);
+        workCount += dataTransportPoller.flushControlBatches();
 
-        totalBytesReceived.addOrdered(bytesReceived);
+        if (isPooled)
+        {
+            totalBytesReceived.add(bytesReceived);
+        }
+        else
+        {
+            totalBytesReceived.addOrdered(bytesReceived);
+        }
 
         return workCount + bytesReceived;
     }
 
+    /**
+     * The queue of commands to be executed by this receiver.
+     *
+     * @return the queue of commands to be executed by this receiver.
+     */
+    public OneToOneConcurrentArrayQueue<ReceiverCmd> commandQueue()
+    {
+        return commandQueue;
+    }
+
+    /**
+     * The thread local buffers and associated objects for the {@link ReceiveChannelEndpoint}s serviced by this
+     * receiver.
+     *
+     * @return the thread local buffers and associated objects for the endpoints serviced by this receiver.
+     */
+    public ReceiveChannelEndpointThreadLocals receiveChannelEndpointThreadLocals()
+    {
+        return receiveChannelEndpointThreadLocals;
+    }
+
     public void addPendingSetupMessage(
         final int sessionId,
         final int streamId,
@@ -15,8 +15,10 @@
  */
 package io.aeron.driver;
 
+import io.aeron.CommonContext;
 import io.aeron.driver.cmd.*;
 import io.aeron.driver.media.ReceiveChannelEndpoint;
+import io.aeron.driver.media.UdpChannel;
 import org.agrona.concurrent.status.AtomicCounter;
 
 import java.util.Queue;
@@ -26,42 +28,91 @@ import static io.aeron.driver.ThreadingMode.SHARED;
 
 /**
  * Proxy for offering into the {@link Receiver} Thread's command queue.
+ * <p>
+ * When the driver runs a pool of receivers each {@link ReceiveChannelEndpoint} is owned by one receiver and commands
+ * for an endpoint are routed to the command queue of its owner, see {@link #receiverIndex(UdpChannel, int)}.
  */
 public class ReceiverProxy
 {
     private final ThreadingMode threadingMode;
-    private final Queue<ReceiverCmd> commandQueue;
     private final AtomicCounter failCount;
 
-    private Receiver receiver;
+    private Queue<ReceiverCmd>[] commandQueues;
+    private Receiver[] receivers = new Receiver[1];
 
     public ReceiverProxy(
         final ThreadingMode threadingMode, final Queue<ReceiverCmd> commandQueue, final AtomicCounter failCount)
     {
         this.threadingMode = threadingMode;
-        this.commandQueue = commandQueue;
         this.failCount = failCount;
+        this.commandQueues = newCommandQueues(1);
+        this.commandQueues[0] = commandQueue;
+    }
+
+    /**
+     * Compute the index of the receiver in a pool which services a channel. The index is taken from the
+     * {@link CommonContext#RECEIVER_INDEX_PARAM_NAME} param if present otherwise from a hash of the canonical form of
+     * the channel.
+     *
+     * @param udpChannel    to be serviced.
+     * @param receiverCount in the pool.
+     * @return the index of the receiver which services the channel.
+     * @throws IllegalArgumentException if the param is not a valid index for the pool.
+     */
+    public static int receiverIndex(final UdpChannel udpChannel, final int receiverCount)
+    {
+        return AgentPoolUtil.agentIndex(udpChannel, CommonContext.RECEIVER_INDEX_PARAM_NAME, receiverCount);
     }
 
     public void receiver(final Receiver receiver)
     {
-        this.receiver = receiver;
+        receivers[0] = receiver;
+    }
+
+    /**
+     * Set the pool of receivers to which commands are routed. Receivers other than the first route to their own
+     * command queue.
+     *
+     * @param receivers in the pool.
+     */
+    public void receivers(final Receiver[] receivers)
+    {
+        final Queue<ReceiverCmd>[] commandQueues = newCommandQueues(receivers.length);
+        commandQueues[0] = this.commandQueues[0];
+        for (int i = 1; i < receivers.length; i++)
+        {
+            commandQueues[i] = receivers[i].commandQueue();
+        }
+
+        this.receivers = receivers;
+        this.commandQueues = commandQueues;
     }
 
     public Receiver receiver()
     {
-        return receiver;
+        return receivers[0];
+    }
+
+    /**
+     * The {@link Receiver} which services a channel.
+     *
+     * @param udpChannel to be serviced.
+     * @return the {@link Receiver} which services the channel.
+     */
+    public Receiver receiver(final UdpChannel udpChannel)
+    {
+        return receivers[receiverIndex(udpChannel, receivers.length)];
     }
 
     public void addSubscription(final ReceiveChannelEndpoint mediaEndpoint, final int streamId)
     {
         if (notConcurrent())
         {
-            receiver.onAddSubscription(mediaEndpoint, streamId);
+            receiver(mediaEndpoint.udpChannel()).onAddSubscription(mediaEndpoint, streamId);
         }
         else
         {
-            offer(new AddSubscriptionCmd(mediaEndpoint, streamId));
+            offer(mediaEndpoint, new AddSubscriptionCmd(mediaEndpoint, streamId));
         }
     }
 
@@ -69,11 +120,11 @@ public class ReceiverProxy
     {
         if (notConcurrent())
         {
-            receiver.onRemoveSubscription(mediaEndpoint, streamId);
+            receiver(mediaEndpoint.udpChannel()).onRemoveSubscription(mediaEndpoint, streamId);
         }
         else
         {
-            offer(new RemoveSubscriptionCmd(mediaEndpoint, streamId));
+            offer(mediaEndpoint, new RemoveSubscriptionCmd(mediaEndpoint, streamId));
         }
     }
 
@@ -81,11 +132,11 @@ public class ReceiverProxy
     {
         if (notConcurrent())
         {
-            receiver.onNewPublicationImage(channelEndpoint, image);
+            receiver(channelEndpoint.udpChannel()).onNewPublicationImage(channelEndpoint, image);
         }
         else
         {
-            offer(new NewPublicationImageCmd(channelEndpoint, image));
+            offer(channelEndpoint, new NewPublicationImageCmd(channelEndpoint, image));
         }
     }
 
@@ -93,11 +144,11 @@ public class ReceiverProxy
     {
         if (notConcurrent())
         {
-            receiver.onRegisterReceiveChannelEndpoint(channelEndpoint);
+            receiver(channelEndpoint.udpChannel()).onRegisterReceiveChannelEndpoint(channelEndpoint);
         }
         else
         {
-            offer(new RegisterReceiveChannelEndpointCmd(channelEndpoint));
+            offer(channelEndpoint, new RegisterReceiveChannelEndpointCmd(channelEndpoint));
         }
     }
 
@@ -105,11 +156,11 @@ public class ReceiverProxy
     {
         if (notConcurrent())
         {
-            receiver.onCloseReceiveChannelEndpoint(channelEndpoint);
+            receiver(channelEndpoint.udpChannel()).onCloseReceiveChannelEndpoint(channelEndpoint);
         }
         else
         {
-            offer(new CloseReceiveChannelEndpointCmd(channelEndpoint));
+            offer(channelEndpoint, new CloseReceiveChannelEndpointCmd(channelEndpoint));
         }
     }
 
@@ -117,11 +168,11 @@ public class ReceiverProxy
     {
         if (notConcurrent())
         {
-            receiver.onRemoveCoolDown(channelEndpoint, sessionId, streamId);
+            receiver(channelEndpoint.udpChannel()).onRemoveCoolDown(channelEndpoint, sessionId, streamId);
         }
         else
         {
-            offer(new RemoveCoolDownCmd(channelEndpoint, sessionId, streamId));
+            offer(channelEndpoint, new RemoveCoolDownCmd(channelEndpoint, sessionId, streamId));
         }
     }
 
@@ -130,8 +181,19 @@ public class ReceiverProxy
         return threadingMode == SHARED || threadingMode == INVOKER;
     }
 
-    private void offer(final ReceiverCmd cmd)
+    @SuppressWarnings("unchecked")
+    private static Queue<ReceiverCmd>[] newCommandQueues(final int length)
+    {
+        final Queue<?>[] commandQueues = new Queue<?>[length];
+
+        return (Queue<ReceiverCmd>[])commandQueues;
+    }
+
+    private void offer(final ReceiveChannelEndpoint channelEndpoint, final ReceiverCmd cmd)
     {
+        final Queue<ReceiverCmd> commandQueue = 1 == commandQueues.length ?
+            commandQueues[0] : commandQueues[receiverIndex(channelEndpoint.udpChannel(), commandQueues.length)];
+
         while (!commandQueue.offer(cmd))
         {
             failCount.orderedIncrement();
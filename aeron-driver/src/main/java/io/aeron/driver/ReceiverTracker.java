@@ -0,0 +1,311 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import org.agrona.collections.Long2LongHashMap;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+
+/**
+ * Tracking of receivers for multicast {@link FlowControl} strategies which scales to large numbers of receivers.
+ * <p>
+ * Receiver state is held in parallel arrays indexed by a slot found from the receiver id in an open addressed map.
+ * Slots are ordered in a min-heap by position plus window so a Status Message is O(log n) and the minimum is O(1).
+ * <p>
+ * Timeouts are checked with a timer wheel that holds each slot once. A slot is not moved when a Status Message arrives,
+ * instead when its tick expires the slot is removed if it has timed out, or else is rescheduled for its new deadline.
+ * Therefore the cost of timeouts is for the ticks which have elapsed and the slots which fall due in them. A tick is
+ * 1/64th of the timeout so receivers are removed within a tick of timing out.
+ */
+final class ReceiverTracker
+{
+    private static final int MISSING_SLOT = -1;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int WHEEL_LENGTH = 128;
+    private static final int WHEEL_MASK = WHEEL_LENGTH - 1;
+    private static final int TICKS_PER_TIMEOUT = WHEEL_LENGTH / 2;
+
+    private final long receiverTimeoutNs;
+    private final long tickNs;
+    private final Long2LongHashMap slotByReceiverIdMap = new Long2LongHashMap(MISSING_SLOT);
+    private final int[] wheel = new int[WHEEL_LENGTH];
+    private boolean isWheelStarted = false;
+    private long currentTick;
+
+    private int size = 0;
+    private int slotLimit = 0;
+    private int freeSlotCount = 0;
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private long[] receiverIds = new long[INITIAL_CAPACITY];
+    private long[] positions = new long[INITIAL_CAPACITY];
+    private long[] positionsPlusWindow = new long[INITIAL_CAPACITY];
+    private long[] timesOfLastStatusMessageNs = new long[INITIAL_CAPACITY];
+    private InetSocketAddress[] addresses = new InetSocketAddress[INITIAL_CAPACITY];
+    private int[] nextInWheel = new int[INITIAL_CAPACITY];
+    private int[] heapIndexes = new int[INITIAL_CAPACITY];
+    private int[] heap = new int[INITIAL_CAPACITY];
+
+    ReceiverTracker(final long receiverTimeoutNs)
+    {
+        this.receiverTimeoutNs = receiverTimeoutNs;
+        this.tickNs = Math.max(1, receiverTimeoutNs / TICKS_PER_TIMEOUT);
+        Arrays.fill(wheel, MISSING_SLOT);
+    }
+
+    /**
+     * Update the tracking of a receiver, adding it if not already tracked.
+     *
+     * @param receiverId         of the receiver.
+     * @param position           consumed by the receiver.
+     * @param positionPlusWindow consumed by the receiver plus its window.
+     * @param timeNs             of the Status Message.
+     * @param address            of the receiver.
+     */
+    void onStatusMessage(
+        final long receiverId,
+        final long position,
+        final long positionPlusWindow,
+        final long timeNs,
+        final InetSocketAddress address)
+    {
+        int slot = (int)slotByReceiverIdMap.get(receiverId);
+        if (MISSING_SLOT == slot)
+        {
+            slot = allocateSlot();
+            slotByReceiverIdMap.put(receiverId, slot);
+
+            receiverIds[slot] = receiverId;
+            positions[slot] = position;
+            positionsPlusWindow[slot] = positionPlusWindow;
+            timesOfLastStatusMessageNs[slot] = timeNs;
+            addresses[slot] = address;
+
+            heap[size] = slot;
+            heapIndexes[slot] = size;
+            siftUp(size++);
+
+            if (!isWheelStarted)
+            {
+                isWheelStarted = true;
+                currentTick = (timeNs / tickNs) - 1;
+            }
+            schedule(slot, currentTick + 1);
+        }
+        else
+        {
+            final long previousPositionPlusWindow = positionsPlusWindow[slot];
+            positions[slot] = Math.max(position, positions[slot]);
+            positionsPlusWindow[slot] = positionPlusWindow;
+            timesOfLastStatusMessageNs[slot] = timeNs;
+
+            if (positionPlusWindow < previousPositionPlusWindow)
+            {
+                siftUp(heapIndexes[slot]);
+            }
+            else if (positionPlusWindow > previousPositionPlusWindow)
+            {
+                siftDown(heapIndexes[slot]);
+            }
+        }
+    }
+
+    /**
+     * Remove receivers which have not sent a Status Message within the timeout.
+     *
+     * @param timeNs current time.
+     */
+    void removeTimedOut(final long timeNs)
+    {
+        if (!isWheelStarted)
+        {
+            return;
+        }
+
+        final long targetTick = timeNs / tickNs;
+        for (long tick = Math.max(currentTick + 1, targetTick - WHEEL_LENGTH + 2); tick <= targetTick; tick++)
+        {
+            final int bucket = (int)(tick & WHEEL_MASK);
+            int slot = wheel[bucket];
+            wheel[bucket] = MISSING_SLOT;
+
+            while (MISSING_SLOT != slot)
+            {
+                final int nextSlot = nextInWheel[slot];
+                final long deadlineNs = timesOfLastStatusMessageNs[slot] + receiverTimeoutNs;
+
+                if (timeNs > deadlineNs)
+                {
+                    remove(slot);
+                }
+                else
+                {
+                    schedule(slot, Math.max(deadlineNs / tickNs, targetTick + 1));
+                }
+
+                slot = nextSlot;
+            }
+        }
+
+        currentTick = Math.max(currentTick, targetTick);
+    }
+
+    /**
+     * Number of receivers tracked.
+     *
+     * @return number of receivers tracked.
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Minimum position plus window of the tracked receivers.
+     *
+     * @return minimum position plus window of the tracked receivers or {@link Long#MAX_VALUE} if none are tracked.
+     */
+    long minPositionPlusWindow()
+    {
+        return size > 0 ? positionsPlusWindow[heap[0]] : Long.MAX_VALUE;
+    }
+
+    /**
+     * Minimum position consumed by the tracked receivers. This is a scan of all receivers as it is only required
+     * at the end of a stream.
+     *
+     * @return minimum position consumed by the tracked receivers or {@link Long#MAX_VALUE} if none are tracked.
+     */
+    long minPosition()
+    {
+        long minPosition = Long.MAX_VALUE;
+        for (int i = 0; i < size; i++)
+        {
+            minPosition = Math.min(minPosition, positions[heap[i]]);
+        }
+
+        return minPosition;
+    }
+
+    private void schedule(final int slot, final long tick)
+    {
+        final int bucket = (int)(tick & WHEEL_MASK);
+        nextInWheel[slot] = wheel[bucket];
+        wheel[bucket] = slot;
+    }
+
+    private void remove(final int slot)
+    {
+        slotByReceiverIdMap.remove(receiverIds[slot]);
+        addresses[slot] = null;
+
+        final int heapIndex = heapIndexes[slot];
+        final int lastSlot = heap[--size];
+        heap[heapIndex] = lastSlot;
+        heapIndexes[lastSlot] = heapIndex;
+
+        if (heapIndex < size)
+        {
+            siftUp(heapIndex);
+            siftDown(heapIndexes[lastSlot]);
+        }
+
+        freeSlots[freeSlotCount++] = slot;
+    }
+
+    private int allocateSlot()
+    {
+        if (freeSlotCount > 0)
+        {
+            return freeSlots[--freeSlotCount];
+        }
+
+        if (slotLimit == receiverIds.length)
+        {
+            final int capacity = slotLimit * 2;
+            freeSlots = Arrays.copyOf(freeSlots, capacity);
+            receiverIds = Arrays.copyOf(receiverIds, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+            positionsPlusWindow = Arrays.copyOf(positionsPlusWindow, capacity);
+            timesOfLastStatusMessageNs = Arrays.copyOf(timesOfLastStatusMessageNs, capacity);
+            addresses = Arrays.copyOf(addresses, capacity);
+            nextInWheel = Arrays.copyOf(nextInWheel, capacity);
+            heapIndexes = Arrays.copyOf(heapIndexes, capacity);
+            heap = Arrays.copyOf(heap, capacity);
+        }
+
+        return slotLimit++;
+    }
+
+    private void siftUp(final int index)
+    {
+        final int slot = heap[index];
+        final long value = positionsPlusWindow[slot];
+        int i = index;
+
+        while (i > 0)
+        {
+            final int parentIndex = (i - 1) >> 1;
+            final int parentSlot = heap[parentIndex];
+            if (positionsPlusWindow[parentSlot] <= value)
+            {
+                break;
+            }
+
+            heap[i] = parentSlot;
+            heapIndexes[parentSlot] = i;
+            i = parentIndex;
+        }
+
+        heap[i] = slot;
+        heapIndexes[slot] = i;
+    }
+
+    private void siftDown(final int index)
+    {
+        final int slot = heap[index];
+        final long value = positionsPlusWindow[slot];
+        int i = index;
+
+        while (true)
+        {
+            int childIndex = (i << 1) + 1;
+            if (childIndex >= size)
+            {
+                break;
+            }
+
+            final int rightIndex = childIndex + 1;
+            if (rightIndex < size && positionsPlusWindow[heap[rightIndex]] < positionsPlusWindow[heap[childIndex]])
+            {
+                childIndex = rightIndex;
+            }
+
+            final int childSlot = heap[childIndex];
+            if (value <= positionsPlusWindow[childSlot])
+            {
+                break;
+            }
+
+            heap[i] = childSlot;
+            heapIndexes[childSlot] = i;
+            i = childIndex;
+        }
+
+        heap[i] = slot;
+        heapIndexes[slot] = i;
+    }
+}
@@ -17,30 +17,39 @@ package io.aeron.driver;
 
 import io.aeron.driver.status.SystemCounters;
 import io.aeron.protocol.DataHeaderFlyweight;
-import org.agrona.collections.BiInt2ObjectMap;
 import org.agrona.concurrent.status.AtomicCounter;
 import org.agrona.concurrent.NanoClock;
 
+import java.util.Arrays;
+
 import static io.aeron.driver.Configuration.MAX_RETRANSMITS_DEFAULT;
-import static io.aeron.driver.status.SystemCounterDescriptor.INVALID_PACKETS;
+import static io.aeron.driver.status.SystemCounterDescriptor.*;
 
 /**
  * Tracking and handling of retransmit request, NAKs, for senders, and receivers.
  * <p>
- * A max number of retransmits is permitted by {@link Configuration#MAX_RETRANSMITS_DEFAULT}. Additional received NAKs
- * will be ignored if this maximum is reached.
+ * A NAK for a range which has already been retransmitted, and is lingering, is ignored and a NAK which partially
+ * overlaps such a range only retransmits the remainder. A NAK which overlaps, or is adjacent to, a range waiting to be
+ * retransmitted is merged into it so the range is resent once.
+ * <p>
+ * The pool of retransmit actions grows on demand up to a max number of active retransmits. Additional received NAKs
+ * which cannot be merged will be dropped if this maximum is reached.
  */
 public class RetransmitHandler
 {
-    private final BiInt2ObjectMap<RetransmitAction> activeRetransmitsMap = new BiInt2ObjectMap<>();
-    private final RetransmitAction[] retransmitActionPool = new RetransmitAction[MAX_RETRANSMITS_DEFAULT];
+    private RetransmitAction[] retransmitActionPool;
+    private int activeRetransmitCount = 0;
+    private final int maxRetransmits;
     private final NanoClock nanoClock;
     private final FeedbackDelayGenerator delayGenerator;
     private final FeedbackDelayGenerator lingerTimeoutGenerator;
     private final AtomicCounter invalidPackets;
+    private final AtomicCounter retransmitsDropped;
+    private final AtomicCounter retransmitsCoalesced;
+    private final AtomicCounter retransmitsDeduplicated;
 
     /**
-     * Create a retransmit handler.
+     * Create a retransmit handler with the default max number of active retransmits.
      *
      * @param nanoClock              used to determine time
      * @param systemCounters         for recording significant events.
@@ -52,13 +61,37 @@ public class RetransmitHandler
         final SystemCounters systemCounters,
         final FeedbackDelayGenerator delayGenerator,
         final FeedbackDelayGenerator lingerTimeoutGenerator)
+    {
+        this(nanoClock, systemCounters, delayGenerator, lingerTimeoutGenerator, MAX_RETRANSMITS_DEFAULT);
+    }
+
+    /**
+     * Create a retransmit handler.
+     *
+     * @param nanoClock              used to determine time
+     * @param systemCounters         for recording significant events.
+     * @param delayGenerator         to use for delay determination
+     * @param lingerTimeoutGenerator to use for linger timeout
+     * @param maxRetransmits         max number of active retransmits.
+     */
+    public RetransmitHandler(
+        final NanoClock nanoClock,
+        final SystemCounters systemCounters,
+        final FeedbackDelayGenerator delayGenerator,
+        final FeedbackDelayGenerator lingerTimeoutGenerator,
+        final int maxRetransmits)
     {
         this.nanoClock = nanoClock;
         this.invalidPackets = systemCounters.get(INVALID_PACKETS);
+        this.retransmitsDropped = systemCounters.get(RETRANSMITS_DROPPED);
+        this.retransmitsCoalesced = systemCounters.get(RETRANSMITS_COALESCED);
+        this.retransmitsDeduplicated = systemCounters.get(RETRANSMITS_DEDUPLICATED);
         this.delayGenerator = delayGenerator;
         this.lingerTimeoutGenerator = lingerTimeoutGenerator;
+        this.maxRetransmits = maxRetransmits;
 
-        for (int i = 0; i < MAX_RETRANSMITS_DEFAULT; i++)
+        retransmitActionPool = new RetransmitAction[Math.min(maxRetransmits, MAX_RETRANSMITS_DEFAULT)];
+        for (int i = 0; i < retransmitActionPool.length; i++)
         {
             retransmitActionPool[i] = new RetransmitAction();
         }
@@ -82,26 +115,42 @@ public class RetransmitHandler
     {
         if (!isInvalid(termOffset, termLength))
         {
-            if (null == activeRetransmitsMap.get(termId, termOffset) &&
-                activeRetransmitsMap.size() < MAX_RETRANSMITS_DEFAULT)
+            final int endOffset = termOffset + Math.max(0, Math.min(length, termLength - termOffset));
+            final long range = trimToNotRetransmitted(termId, termOffset, endOffset);
+            final int rangeOffset = rangeOffset(range);
+            final int rangeEndOffset = rangeEndOffset(range);
+
+            if (rangeOffset >= rangeEndOffset || isWaitingForRetransmit(termId, rangeOffset, rangeEndOffset))
+            {
+                retransmitsDeduplicated.increment();
+            }
+            else if (mergeIntoWaitingRetransmits(termId, rangeOffset, rangeEndOffset))
+            {
+                retransmitsCoalesced.increment();
+            }
+            else
             {
                 final RetransmitAction action = assignRetransmitAction();
+                if (null == action)
+                {
+                    retransmitsDropped.increment();
+                    return;
+                }
+
                 action.termId = termId;
-                action.termOffset = termOffset;
-                action.length = Math.min(length, termLength - termOffset);
+                action.termOffset = rangeOffset;
+                action.length = rangeEndOffset - rangeOffset;
 
                 final long delay = determineRetransmitDelay();
                 if (0 == delay)
                 {
-                    retransmitSender.resend(termId, termOffset, action.length);
+                    retransmitSender.resend(termId, rangeOffset, action.length);
                     action.linger(determineLingerTimeout(), nanoClock.nanoTime());
                 }
                 else
                 {
                     action.delay(delay, nanoClock.nanoTime());
                 }
-
-                activeRetransmitsMap.put(termId, termOffset, action);
             }
         }
     }
@@ -116,13 +165,14 @@ public class RetransmitHandler
      */
     public void onRetransmitReceived(final int termId, final int termOffset)
     {
-        final RetransmitAction action = activeRetransmitsMap.get(termId, termOffset);
-
-        if (null != action && State.DELAYED == action.state)
+        for (final RetransmitAction action : retransmitActionPool)
         {
-            activeRetransmitsMap.remove(termId, termOffset);
-            action.cancel();
-            // do not go into linger
+            if (State.DELAYED == action.state && action.termId == termId && action.termOffset == termOffset)
+            {
+                cancel(action);
+                // do not go into linger
+                break;
+            }
         }
     }
 
@@ -134,7 +184,7 @@ public class RetransmitHandler
      */
     public void processTimeouts(final long nowNs, final RetransmitSender retransmitSender)
     {
-        if (activeRetransmitsMap.size() > 0)
+        if (activeRetransmitCount > 0)
         {
             for (final RetransmitAction action : retransmitActionPool)
             {
@@ -151,8 +201,7 @@ public class RetransmitHandler
                     case LINGERING:
                         if (nowNs > action.expireNs)
                         {
-                            action.cancel();
-                            activeRetransmitsMap.remove(action.termId, action.termOffset);
+                            cancel(action);
                         }
                         break;
                 }
@@ -160,6 +209,120 @@ public class RetransmitHandler
         }
     }
 
+    /**
+     * Should an RTT measurement be initiated so the retransmit delay or linger timeout can adapt to the network?
+     *
+     * @param nowNs current time in nanoseconds.
+     * @return true if an RTT measurement should be initiated.
+     */
+    public boolean shouldMeasureRtt(final long nowNs)
+    {
+        final boolean shouldMeasureRttForDelay = delayGenerator.shouldMeasureRtt(nowNs);
+        final boolean shouldMeasureRttForLinger = lingerTimeoutGenerator.shouldMeasureRtt(nowNs);
+
+        return shouldMeasureRttForDelay || shouldMeasureRttForLinger;
+    }
+
+    /**
+     * Called upon an RTT measurement to a receiver of the publication.
+     *
+     * @param nowNs current time in nanoseconds.
+     * @param rttNs measured round trip time in nanoseconds.
+     */
+    public void onRttMeasurement(final long nowNs, final long rttNs)
+    {
+        delayGenerator.onRttMeasurement(nowNs, rttNs);
+        lingerTimeoutGenerator.onRttMeasurement(nowNs, rttNs);
+    }
+
+    private long trimToNotRetransmitted(final int termId, final int termOffset, final int endOffset)
+    {
+        int rangeOffset = termOffset;
+        int rangeEndOffset = endOffset;
+        boolean isTrimmed;
+
+        do
+        {
+            isTrimmed = false;
+            for (final RetransmitAction action : retransmitActionPool)
+            {
+                if (State.LINGERING == action.state && action.termId == termId && rangeOffset < rangeEndOffset)
+                {
+                    final int actionEndOffset = action.termOffset + action.length;
+                    if (action.termOffset <= rangeOffset && actionEndOffset > rangeOffset)
+                    {
+                        rangeOffset = actionEndOffset;
+                        isTrimmed = true;
+                    }
+                    else if (action.termOffset < rangeEndOffset && actionEndOffset >= rangeEndOffset)
+                    {
+                        rangeEndOffset = action.termOffset;
+                        isTrimmed = true;
+                    }
+                }
+            }
+        }
+        while (isTrimmed);
+
+        return ((long)rangeOffset << 32) | (rangeEndOffset & 0xFFFF_FFFFL);
+    }
+
+    private boolean isWaitingForRetransmit(final int termId, final int rangeOffset, final int rangeEndOffset)
+    {
+        for (final RetransmitAction action : retransmitActionPool)
+        {
+            if (State.DELAYED == action.state && action.termId == termId &&
+                action.termOffset <= rangeOffset && (action.termOffset + action.length) >= rangeEndOffset)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean mergeIntoWaitingRetransmits(final int termId, final int rangeOffset, final int rangeEndOffset)
+    {
+        RetransmitAction mergedAction = null;
+        int mergedOffset = rangeOffset;
+        int mergedEndOffset = rangeEndOffset;
+        boolean isMerged;
+
+        do
+        {
+            isMerged = false;
+            for (final RetransmitAction action : retransmitActionPool)
+            {
+                if (State.DELAYED == action.state && action.termId == termId && action != mergedAction)
+                {
+                    final int actionEndOffset = action.termOffset + action.length;
+                    if (action.termOffset <= mergedEndOffset && actionEndOffset >= mergedOffset)
+                    {
+                        mergedOffset = Math.min(mergedOffset, action.termOffset);
+                        mergedEndOffset = Math.max(mergedEndOffset, actionEndOffset);
+
+                        if (null == mergedAction)
+                        {
+                            mergedAction = action;
+                        }
+                        else
+                        {
+                            mergedAction.expireNs = Math.min(mergedAction.expireNs, action.expireNs);
+                            cancel(action);
+                        }
+
+                        mergedAction.termOffset = mergedOffset;
+                        mergedAction.length = mergedEndOffset - mergedOffset;
+                        isMerged = true;
+                    }
+                }
+            }
+        }
+        while (isMerged);
+
+        return null != mergedAction;
+    }
+
     private boolean isInvalid(final int termOffset, final int termLength)
     {
         final boolean isInvalid = (termOffset > (termLength - DataHeaderFlyweight.HEADER_LENGTH)) || (termOffset < 0);
@@ -184,15 +347,46 @@ public class RetransmitHandler
 
     private RetransmitAction assignRetransmitAction()
     {
+        if (activeRetransmitCount >= maxRetransmits)
+        {
+            return null;
+        }
+
         for (final RetransmitAction action : retransmitActionPool)
         {
             if (State.INACTIVE == action.state)
             {
+                activeRetransmitCount++;
                 return action;
             }
         }
 
-        throw new IllegalStateException("Maximum number of active RetransmitActions reached");
+        final int oldLength = retransmitActionPool.length;
+        retransmitActionPool = Arrays.copyOf(retransmitActionPool, Math.min(oldLength * 2, maxRetransmits));
+        for (int i = oldLength; i < retransmitActionPool.length; i++)
+        {
+            retransmitActionPool[i] = new RetransmitAction();
+        }
+
+        activeRetransmitCount++;
+
+        return retransmitActionPool[oldLength];
+    }
+
+    private void cancel(final RetransmitAction action)
+    {
+        action.cancel();
+        activeRetransmitCount--;
+    }
+
+    private static int rangeOffset(final long range)
+    {
+        return (int)(range >>> 32);
+    }
+
+    private static int rangeEndOffset(final long range)
+    {
+        return (int)range;
     }
 
     private enum State
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket which paces the sending of data for a {@link NetworkPublication} so a fast publisher does not burst a
+ * whole flow control window at line rate.
+ * <p>
+ * Tokens are bytes which accrue at the send rate up to the burst length. The {@link Sender} only sends what is
+ * available and consumes what it has sent.
+ */
+public class SendRateLimiter
+{
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long bytesPerSecond;
+    private final int burstLength;
+    private final long burstRefillNs;
+    private long tokens;
+    private long timeOfLastRefillNs;
+
+    /**
+     * Create a rate limiter which starts with a full burst available.
+     *
+     * @param bytesPerSecond the sustained rate at which data may be sent.
+     * @param burstLength    the maximum number of bytes which can be sent at once after being idle.
+     * @param nowNs          current time.
+     */
+    public SendRateLimiter(final long bytesPerSecond, final int burstLength, final long nowNs)
+    {
+        if (bytesPerSecond <= 0)
+        {
+            throw new IllegalArgumentException("bytesPerSecond must be positive: " + bytesPerSecond);
+        }
+
+        if (burstLength <= 0)
+        {
+            throw new IllegalArgumentException("burstLength must be positive: " + burstLength);
+        }
+
+        this.bytesPerSecond = bytesPerSecond;
+        this.burstLength = burstLength;
+        this.burstRefillNs = Math.max(1, (burstLength * NANOS_PER_SECOND) / bytesPerSecond);
+        this.tokens = burstLength;
+        this.timeOfLastRefillNs = nowNs;
+    }
+
+    /**
+     * Refill the bucket for the time elapsed and return the number of bytes which may be sent.
+     *
+     * @param nowNs current time.
+     * @return the number of bytes which may be sent.
+     */
+    public int available(final long nowNs)
+    {
+        final long elapsedNs = nowNs - timeOfLastRefillNs;
+        if (elapsedNs >= burstRefillNs)
+        {
+            tokens = burstLength;
+            timeOfLastRefillNs = nowNs;
+        }
+        else if (elapsedNs > 0)
+        {
+            final long refill = (elapsedNs * bytesPerSecond) / NANOS_PER_SECOND;
+            if (refill > 0)
+            {
+                tokens = Math.min(burstLength, tokens + refill);
+                timeOfLastRefillNs += (refill * NANOS_PER_SECOND) / bytesPerSecond;
+            }
+        }
+
+        return (int)tokens;
+    }
+
+    /**
+     * Consume tokens for bytes which have been sent.
+     *
+     * @param length in bytes which have been sent.
+     */
+    public void consume(final int length)
+    {
+        tokens -= length;
+    }
+
+    /**
+     * The sustained rate at which data may be sent.
+     *
+     * @return the sustained rate at which data may be sent.
+     */
+    public long bytesPerSecond()
+    {
+        return bytesPerSecond;
+    }
+
+    /**
+     * The maximum number of bytes which can be sent at once after being idle.
+     *
+     * @return the maximum number of bytes which can be sent at once after being idle.
+     */
+    public int burstLength()
+    {
+        return burstLength;
+    }
+}
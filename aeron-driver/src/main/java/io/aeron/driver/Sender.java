@@ -27,6 +27,7 @@ import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
 import java.net.InetSocketAddress;
 import java.util.function.Consumer;
 
+import static io.aeron.driver.Configuration.TIMER_INTERVAL_NS;
 import static io.aeron.driver.status.SystemCounterDescriptor.BYTES_SENT;
 
 class SenderLhsPadding
@@ -38,6 +39,7 @@ class SenderLhsPadding
 class SenderHotFields extends SenderLhsPadding
 {
     protected long controlPollDeadlineNs;
+    protected long timerCheckDeadlineNs;
     protected int dutyCycleCounter;
     protected int roundRobinIndex = 0;
 }
@@ -50,11 +52,18 @@ class SenderRhsPadding extends SenderHotFields
 
 /**
  * Agent that iterates over {@link NetworkPublication}s for sending them to registered subscribers.
+ * <p>
+ * A driver may run a pool of senders, see {@link MediaDriver.Context#senderCount()}, in which case each sender has
+ * its own {@link ControlTransportPoller} and command queue and services the {@link SendChannelEndpoint}s, and their
+ * publications, assigned to it by the {@link SenderProxy}.
  */
 public class Sender extends SenderRhsPadding implements Agent, Consumer<SenderCmd>
 {
     private static final NetworkPublication[] EMPTY_PUBLICATIONS = new NetworkPublication[0];
+    private static final SendChannelEndpoint[] EMPTY_CHANNEL_ENDPOINTS = new SendChannelEndpoint[0];
 
+    private final boolean isPooled;
+    private final String roleName;
     private final long statusMessageReadTimeoutNs;
     private final int dutyCycleRatio;
     private final ControlTransportPoller controlTransportPoller;
@@ -63,15 +72,33 @@ public class Sender extends SenderRhsPadding implements Agent, Consumer<SenderCm
     private final NanoClock nanoClock;
 
     private NetworkPublication[] networkPublications = EMPTY_PUBLICATIONS;
+    private SendChannelEndpoint[] channelEndpoints = EMPTY_CHANNEL_ENDPOINTS;
 
     public Sender(final MediaDriver.Context ctx)
     {
-        this.controlTransportPoller = ctx.controlTransportPoller();
-        this.commandQueue = ctx.senderCommandQueue();
+        this(ctx, 0);
+    }
+
+    public Sender(final MediaDriver.Context ctx, final int senderIndex)
+    {
+        this.isPooled = ctx.senderCount() > 1;
+        this.roleName = isPooled ? "sender-" + senderIndex : "sender";
+
+        if (0 == senderIndex)
+        {
+            this.controlTransportPoller = ctx.controlTransportPoller();
+            this.commandQueue = ctx.senderCommandQueue();
+        }
+        else
+        {
+            this.controlTransportPoller = new ControlTransportPoller(ctx.transportPollerIterationThreshold());
+            this.commandQueue = new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY);
+        }
+
         this.totalBytesSent = ctx.systemCounters().get(BYTES_SENT);
         this.nanoClock = ctx.nanoClock();
         this.statusMessageReadTimeoutNs = ctx.statusMessageTimeoutNs() / 2;
-        this.dutyCycleRatio = Configuration.sendToStatusMessagePollRatio();
+        this.dutyCycleRatio = ctx.sendToStatusMessagePollRatio();
     }
 
     public void onClose()
@@ -81,7 +108,7 @@ public class Sender extends SenderRhsPadding implements Agent, Consumer<SenderCm
 
     public int doWork()
     {
-        final int workCount = commandQueue.drain(this, Configuration.COMMAND_DRAIN_LIMIT);
+        int workCount = commandQueue.drain(this, Configuration.COMMAND_DRAIN_LIMIT);
 
         final long nowNs = nanoClock.nanoTime();
         final int bytesSent = doSend(nowNs);
@@ -96,16 +123,33 @@ public class Sender extends SenderRhsPadding implements Agent, Consumer<SenderCm
             controlPollDeadlineNs = nowNs + statusMessageReadTimeoutNs;
         }
 
+        if (nowNs >= timerCheckDeadlineNs)
+        {
+            workCount += removeExpiredDestinations(nowNs);
+            timerCheckDeadlineNs = nowNs + TIMER_INTERVAL_NS;
+        }
+
         return workCount + bytesSent + bytesReceived;
     }
 
     public String roleName()
     {
-        return "sender";
+        return roleName;
+    }
+
+    /**
+     * The queue of commands to be executed by this sender.
+     *
+     * @return the queue of commands to be executed by this sender.
+     */
+    public OneToOneConcurrentArrayQueue<SenderCmd> commandQueue()
+    {
+        return commandQueue;
     }
 
     public void onRegisterSendChannelEndpoint(final SendChannelEndpoint channelEndpoint)
     {
+        channelEndpoints = ArrayUtil.add(channelEndpoints, channelEndpoint);
         channelEndpoint.openChannel();
         channelEndpoint.registerForRead(controlTransportPoller);
         channelEndpoint.indicateActive();
@@ -113,6 +157,7 @@ public class Sender extends SenderRhsPadding implements Agent, Consumer<SenderCm
 
     public void onCloseSendChannelEndpoint(final SendChannelEndpoint channelEndpoint)
     {
+        channelEndpoints = ArrayUtil.remove(channelEndpoints, channelEndpoint);
         channelEndpoint.close();
     }
 
@@ -144,6 +189,17 @@ public class Sender extends SenderRhsPadding implements Agent, Consumer<SenderCm
         cmd.execute(this);
     }
 
+    private int removeExpiredDestinations(final long nowNs)
+    {
+        int removed = 0;
+        for (final SendChannelEndpoint channelEndpoint : channelEndpoints)
+        {
+            removed += channelEndpoint.removeExpiredDestinations(nowNs);
+        }
+
+        return removed;
+    }
+
     private int doSend(final long nowNs)
     {
         int bytesSent = 0;
@@ -166,7 +222,14 @@ public class Sender extends SenderRhsPadding implements Agent, Consumer<SenderCm
             bytesSent += publications[i].send(nowNs);
         }
 
-        totalBytesSent.addOrdered(bytesSent);
+        if (isPooled)
+        {
+            totalBytesSent.add(bytesSent);
+        }
+        else
+        {
+            totalBytesSent.addOrdered(bytesSent);
+        }
 
         return bytesSent;
     }
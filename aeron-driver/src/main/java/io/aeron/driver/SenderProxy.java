@@ -15,8 +15,10 @@
  */
 package io.aeron.driver;
 
+import io.aeron.CommonContext;
 import io.aeron.driver.cmd.*;
 import io.aeron.driver.media.SendChannelEndpoint;
+import io.aeron.driver.media.UdpChannel;
 import org.agrona.concurrent.status.AtomicCounter;
 
 import java.net.InetSocketAddress;
@@ -27,36 +29,85 @@ import static io.aeron.driver.ThreadingMode.SHARED;
 
 /**
  * Proxy for offering into the Sender Thread's command queue.
+ * <p>
+ * When the driver runs a pool of senders each {@link SendChannelEndpoint}, and the publications on it, is owned by one
+ * sender and commands are routed to the command queue of the owner, see {@link #senderIndex(UdpChannel, int)}.
  */
 public class SenderProxy
 {
     private final ThreadingMode threadingMode;
-    private final Queue<SenderCmd> commandQueue;
     private final AtomicCounter failCount;
-    private Sender sender;
+    private Queue<SenderCmd>[] commandQueues;
+    private Sender[] senders = new Sender[1];
 
     public SenderProxy(
         final ThreadingMode threadingMode, final Queue<SenderCmd> commandQueue, final AtomicCounter failCount)
     {
         this.threadingMode = threadingMode;
-        this.commandQueue = commandQueue;
         this.failCount = failCount;
+        this.commandQueues = newCommandQueues(1);
+        this.commandQueues[0] = commandQueue;
+    }
+
+    /**
+     * Compute the index of the sender in a pool which services a channel. The index is taken from the
+     * {@link CommonContext#SENDER_INDEX_PARAM_NAME} param if present otherwise from a hash of the canonical form of
+     * the channel.
+     *
+     * @param udpChannel  to be serviced.
+     * @param senderCount in the pool.
+     * @return the index of the sender which services the channel.
+     * @throws IllegalArgumentException if the param is not a valid index for the pool.
+     */
+    public static int senderIndex(final UdpChannel udpChannel, final int senderCount)
+    {
+        return AgentPoolUtil.agentIndex(udpChannel, CommonContext.SENDER_INDEX_PARAM_NAME, senderCount);
     }
 
     public void sender(final Sender sender)
     {
-        this.sender = sender;
+        senders[0] = sender;
+    }
+
+    /**
+     * Set the pool of senders to which commands are routed. Senders other than the first route to their own
+     * command queue.
+     *
+     * @param senders in the pool.
+     */
+    public void senders(final Sender[] senders)
+    {
+        final Queue<SenderCmd>[] commandQueues = newCommandQueues(senders.length);
+        commandQueues[0] = this.commandQueues[0];
+        for (int i = 1; i < senders.length; i++)
+        {
+            commandQueues[i] = senders[i].commandQueue();
+        }
+
+        this.senders = senders;
+        this.commandQueues = commandQueues;
+    }
+
+    /**
+     * Validate that a channel can be assigned to a sender in the pool.
+     *
+     * @param udpChannel to be assigned.
+     * @throws IllegalArgumentException if the channel cannot be assigned.
+     */
+    public void validateAssignment(final UdpChannel udpChannel)
+    {
+        senderIndex(udpChannel, senders.length);
     }
 
     public void registerSendChannelEndpoint(final SendChannelEndpoint channelEndpoint)
     {
         if (notConcurrent())
         {
-            sender.onRegisterSendChannelEndpoint(channelEndpoint);
+            sender(channelEndpoint).onRegisterSendChannelEndpoint(channelEndpoint);
         }
         else
         {
-            offer(new RegisterSendChannelEndpointCmd(channelEndpoint));
+            offer(channelEndpoint, new RegisterSendChannelEndpointCmd(channelEndpoint));
         }
     }
 
@@ -64,11 +115,11 @@ public class SenderProxy
     {
         if (notConcurrent())
         {
-            sender.onCloseSendChannelEndpoint(channelEndpoint);
+            sender(channelEndpoint).onCloseSendChannelEndpoint(channelEndpoint);
         }
         else
         {
-            offer(new CloseSendChannelEndpointCmd(channelEndpoint));
+            offer(channelEndpoint, new CloseSendChannelEndpointCmd(channelEndpoint));
         }
     }
 
@@ -76,11 +127,11 @@ public class SenderProxy
     {
         if (notConcurrent())
         {
-            sender.onRemoveNetworkPublication(publication);
+            sender(publication.channelEndpoint()).onRemoveNetworkPublication(publication);
         }
         else
         {
-            offer(new RemovePublicationCmd(publication));
+            offer(publication.channelEndpoint(), new RemovePublicationCmd(publication));
         }
     }
 
@@ -88,11 +139,11 @@ public class SenderProxy
     {
         if (notConcurrent())
         {
-            sender.onNewNetworkPublication(publication);
+            sender(publication.channelEndpoint()).onNewNetworkPublication(publication);
         }
         else
         {
-            offer(new NewPublicationCmd(publication));
+            offer(publication.channelEndpoint(), new NewPublicationCmd(publication));
         }
     }
 
@@ -100,11 +151,11 @@ public class SenderProxy
     {
         if (notConcurrent())
         {
-            sender.onAddDestination(channelEndpoint, address);
+            sender(channelEndpoint).onAddDestination(channelEndpoint, address);
         }
         else
         {
-            offer(new AddDestinationCmd(channelEndpoint, address));
+            offer(channelEndpoint, new AddDestinationCmd(channelEndpoint, address));
         }
     }
 
@@ -112,11 +163,11 @@ public class SenderProxy
     {
         if (notConcurrent())
         {
-            sender.onRemoveDestination(channelEndpoint, address);
+            sender(channelEndpoint).onRemoveDestination(channelEndpoint, address);
         }
         else
         {
-            offer(new RemoveDestinationCmd(channelEndpoint, address));
+            offer(channelEndpoint, new RemoveDestinationCmd(channelEndpoint, address));
         }
     }
 
@@ -125,8 +176,24 @@ public class SenderProxy
         return threadingMode == SHARED || threadingMode == INVOKER;
     }
 
-    private void offer(final SenderCmd cmd)
+    private Sender sender(final SendChannelEndpoint channelEndpoint)
+    {
+        return 1 == senders.length ? senders[0] : senders[senderIndex(channelEndpoint.udpChannel(), senders.length)];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Queue<SenderCmd>[] newCommandQueues(final int length)
     {
+        final Queue<?>[] commandQueues = new Queue<?>[length];
+
+        return (Queue<SenderCmd>[])commandQueues;
+    }
+
+    private void offer(final SendChannelEndpoint channelEndpoint, final SenderCmd cmd)
+    {
+        final Queue<SenderCmd> commandQueue = 1 == commandQueues.length ?
+            commandQueues[0] : commandQueues[senderIndex(channelEndpoint.udpChannel(), commandQueues.length)];
+
         while (!commandQueue.offer(cmd))
         {
             failCount.orderedIncrement();
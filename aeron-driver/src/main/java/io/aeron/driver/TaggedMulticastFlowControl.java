@@ -0,0 +1,176 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.protocol.StatusMessageFlyweight;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.logbuffer.LogBufferDescriptor.computePosition;
+
+/**
+ * Minimum multicast sender flow control strategy for a group of receivers.
+ * <p>
+ * Receivers join a group by tagging their Status Messages with a group tag, see
+ * {@link io.aeron.CommonContext#GROUP_TAG_PARAM_NAME}. Flow control is set to the minimum of tracked receivers which
+ * carry the required group tag, or of all receivers when no group tag is required. Receivers outside the group are
+ * best-effort and do not hold back the sender.
+ * <p>
+ * When a group min size is given the sender is held at its current limit until at least that many members are
+ * tracked, see {@link io.aeron.CommonContext#GROUP_MIN_SIZE_PARAM_NAME}.
+ * <p>
+ * Members are tracked with a {@link ReceiverTracker} so the cost of a Status Message is logarithmic in the size of the
+ * group.
+ * <p>
+ * Tracking of receivers is done as long as they continue to send Status Messages. Once SMs stop, the receiver tracking
+ * for that receiver will timeout after a given number of nanoseconds.
+ */
+public class TaggedMulticastFlowControl implements FlowControl
+{
+    /**
+     * Property name to set timeout, in nanoseconds, for a receiver to be tracked.
+     */
+    private static final String RECEIVER_TIMEOUT_PROP_NAME = "aeron.TaggedMulticastFlowControl.receiverTimeout";
+
+    /**
+     * Default timeout, in nanoseconds, until a receiver is no longer tracked and considered for minimum.
+     */
+    private static final long RECEIVER_TIMEOUT_DEFAULT = TimeUnit.SECONDS.toNanos(2);
+
+    private static final long RECEIVER_TIMEOUT = Long.getLong(RECEIVER_TIMEOUT_PROP_NAME, RECEIVER_TIMEOUT_DEFAULT);
+
+    private final boolean isGroupTagRequired;
+    private final long groupTag;
+    private final int groupMinSize;
+    private final ReceiverTracker receiverTracker = new ReceiverTracker(RECEIVER_TIMEOUT);
+
+    private volatile boolean shouldLinger = true;
+
+    /**
+     * Construct a flow control strategy for a group of receivers.
+     *
+     * @param groupTag     required of receivers in the group or null for all receivers to be in the group.
+     * @param groupMinSize number of receivers in the group to be tracked before the sender can advance.
+     */
+    public TaggedMulticastFlowControl(final Long groupTag, final int groupMinSize)
+    {
+        this.isGroupTagRequired = null != groupTag;
+        this.groupTag = isGroupTagRequired ? groupTag : 0;
+        this.groupMinSize = groupMinSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void initialize(final int initialTermId, final int termBufferLength)
+    {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long onStatusMessage(
+        final StatusMessageFlyweight flyweight,
+        final InetSocketAddress receiverAddress,
+        final long senderLimit,
+        final int initialTermId,
+        final int positionBitsToShift,
+        final long timeNs)
+    {
+        final long position = computePosition(
+            flyweight.consumptionTermId(),
+            flyweight.consumptionTermOffset(),
+            positionBitsToShift,
+            initialTermId);
+
+        final long lastPositionPlusWindow = position + flyweight.receiverWindowLength();
+
+        final ReceiverTracker receiverTracker = this.receiverTracker;
+        if (isGroupMember(flyweight))
+        {
+            receiverTracker.onStatusMessage(
+                flyweight.receiverId(), position, lastPositionPlusWindow, timeNs, receiverAddress);
+        }
+
+        final int receiverCount = receiverTracker.size();
+        if (receiverCount < groupMinSize)
+        {
+            return senderLimit;
+        }
+
+        return receiverCount > 0 ?
+            Math.max(senderLimit, receiverTracker.minPositionPlusWindow()) :
+            Math.max(senderLimit, lastPositionPlusWindow);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public long onIdle(
+        final long timeNs, final long senderLimit, final long senderPosition, final boolean isEndOfStream)
+    {
+        final ReceiverTracker receiverTracker = this.receiverTracker;
+        receiverTracker.removeTimedOut(timeNs);
+
+        if (isEndOfStream && shouldLinger)
+        {
+            if (0 == receiverTracker.size() || receiverTracker.minPosition() >= senderPosition)
+            {
+                shouldLinger = false;
+            }
+        }
+
+        final int receiverCount = receiverTracker.size();
+
+        return receiverCount > 0 && receiverCount >= groupMinSize ?
+            receiverTracker.minPositionPlusWindow() : senderLimit;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean shouldLinger(final long timeNs)
+    {
+        return shouldLinger;
+    }
+
+    /**
+     * Is the Status Message from a receiver in the group.
+     *
+     * @param sm from the receiver.
+     * @return true if the receiver is in the group.
+     */
+    public boolean isGroupMember(final StatusMessageFlyweight sm)
+    {
+        if (!isGroupTagRequired)
+        {
+            return true;
+        }
+
+        return sm.hasGroupTag() && sm.groupTag() == groupTag;
+    }
+
+    /**
+     * Number of receivers in the group currently tracked.
+     *
+     * @return number of receivers in the group currently tracked.
+     */
+    public int groupSize()
+    {
+        return receiverTracker.size();
+    }
+}
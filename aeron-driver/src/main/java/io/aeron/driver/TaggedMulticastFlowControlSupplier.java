@@ -0,0 +1,52 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.ChannelUri;
+import io.aeron.driver.media.UdpChannel;
+
+import static io.aeron.CommonContext.GROUP_MIN_SIZE_PARAM_NAME;
+import static io.aeron.CommonContext.GROUP_TAG_PARAM_NAME;
+
+/**
+ * Supplier of {@link TaggedMulticastFlowControl} with the group tag and group min size taken from the channel URI
+ * params {@link io.aeron.CommonContext#GROUP_TAG_PARAM_NAME} and
+ * {@link io.aeron.CommonContext#GROUP_MIN_SIZE_PARAM_NAME}.
+ */
+public class TaggedMulticastFlowControlSupplier implements FlowControlSupplier
+{
+    public FlowControl newInstance(final UdpChannel udpChannel, final int streamId, final long registrationId)
+    {
+        final ChannelUri channelUri = udpChannel.channelUri();
+
+        final String groupTagParam = channelUri.get(GROUP_TAG_PARAM_NAME);
+        final Long groupTag = null != groupTagParam ? Long.valueOf(groupTagParam) : null;
+
+        int groupMinSize = 0;
+        final String groupMinSizeParam = channelUri.get(GROUP_MIN_SIZE_PARAM_NAME);
+        if (null != groupMinSizeParam)
+        {
+            groupMinSize = Integer.parseInt(groupMinSizeParam);
+            if (groupMinSize < 0)
+            {
+                throw new IllegalArgumentException(
+                    GROUP_MIN_SIZE_PARAM_NAME + "=" + groupMinSize + " must not be negative");
+            }
+        }
+
+        return new TaggedMulticastFlowControl(groupTag, groupMinSize);
+    }
+}
@@ -0,0 +1,423 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.ext;
+
+import io.aeron.driver.CongestionControl;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.media.UdpChannel;
+import io.aeron.driver.status.PerImageIndicator;
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.NanoClock;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.driver.CongestionControlUtil.packOutcome;
+
+/**
+ * BBR style model based congestion control manipulation of the receiver window length.
+ * <p>
+ * https://queue.acm.org/detail.cfm?id=3022184
+ * <p>
+ * Rather than reacting to loss the bottleneck bandwidth and min RTT of the path are estimated and the sending rate is
+ * paced at a gain on the bandwidth with data in flight capped at a gain on their product, the bandwidth-delay product:
+ * <p>
+ * BtlBw = max delivery rate over the last 10 rounds
+ * RTprop = min RTT over the last 10 seconds
+ * limit += pacing_gain * BtlBw * elapsed time, capped at hwm + W * BtlBw * RTprop
+ * <p>
+ * W = window gain to cover the delay in status messages reaching the sender (default 2)
+ * <p>
+ * The delivery rate is the data rebuilt beyond the high-water mark seen 8 rounds earlier over that time. This is a
+ * lower bound when there are gaps, as data past a gap is not counted until the gap is filled, so it is taken over
+ * several rounds to let gaps be recovered by NAKs within the sample.
+ * <p>
+ * The gain depends on the state. STARTUP grows the window by 2/ln(2) each round until the bandwidth stops growing,
+ * DRAIN removes the queue built in STARTUP, PROBE_BW cycles the gain through 1.25, 0.75 then 1 for 6 rounds to probe
+ * for more bandwidth, and PROBE_RTT drops to the min window when the min RTT has not been seen for 10 seconds so any
+ * queue drains and the RTT can be measured afresh.
+ * <p>
+ * A round is the min RTT, or 1 ms if longer, as the window is only applied once a status message reaches the sender.
+ * A receiver cannot pace the sender directly so the limit is released over time and a status message is forced each
+ * time it advances by 16 MTUs, which clocks the sender at the paced rate. Loss is recovered by NAKs and does not reduce
+ * the window.
+ */
+public class BbrCongestionControl implements CongestionControl
+{
+    enum State
+    {
+        STARTUP, DRAIN, PROBE_BW, PROBE_RTT
+    }
+
+    private static final double HIGH_GAIN = 2.885;
+    private static final double[] PROBE_BW_GAINS = { 1.25, 0.75, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0 };
+    private static final double FULL_BANDWIDTH_GROWTH = 1.25;
+    private static final int FULL_BANDWIDTH_ROUNDS = 3;
+    private static final int BANDWIDTH_FILTER_ROUNDS = 10;
+    private static final int DELIVERY_SAMPLE_ROUNDS = 8;
+    private static final int MIN_WINDOW_MTUS = 4;
+    private static final int INITIAL_WINDOW_MTUS = 10;
+    private static final int STATUS_MESSAGE_QUANTUM_MTUS = 16;
+
+    private static final double WINDOW_GAIN = BbrCongestionControlConfiguration.WINDOW_GAIN;
+    private static final long INITIAL_RTT_NS = BbrCongestionControlConfiguration.INITIAL_RTT_NS;
+    private static final long MIN_RTT_WINDOW_NS = BbrCongestionControlConfiguration.MIN_RTT_WINDOW_NS;
+
+    private static final long SECOND_IN_NS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MIN_ROUND_LENGTH_NS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long PROBE_RTT_DURATION_NS = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long RTT_MEASUREMENT_TIMEOUT_NS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long RTT_MAX_TIMEOUT_NS = SECOND_IN_NS;
+
+    private final int mtuLength;
+    private final int minWindow;
+    private final int initialWindow;
+    private final int maxWindow;
+    private final long[] bandwidthFilter = new long[BANDWIDTH_FILTER_ROUNDS];
+    private final long[] sampleStartTimesNs = new long[DELIVERY_SAMPLE_ROUNDS];
+    private final long[] sampleStartHwmPositions = new long[DELIVERY_SAMPLE_ROUNDS];
+
+    private State state = State.STARTUP;
+    private boolean isFullBandwidthReached = false;
+    private int fullBandwidthRoundCount = 0;
+    private long fullBandwidth = 0;
+    private long maxBandwidth = 0;
+    private long roundCount = 0;
+    private boolean isRoundStarted = false;
+    private long roundStartNs;
+    private int probeBwCycleIndex = 0;
+    private long probeRttDoneNs;
+    private boolean hasMinRtt = false;
+    private long minRttNs = INITIAL_RTT_NS;
+    private long minRttTimestampNs;
+    private long lastRttSampleCount = 0;
+    private int window;
+    private long pacedLimit;
+    private long advertisedLimit;
+    private long lastPacingNs;
+
+    private long lastRttMeasurementNs = 0;
+    private boolean isRttMeasurementOutstanding = false;
+    private long rttSampleNs;
+    private volatile long rttSampleCount = 0;
+
+    private final AtomicCounter rttIndicator;
+    private final AtomicCounter windowIndicator;
+    private final AtomicCounter bandwidthIndicator;
+
+    BbrCongestionControl(
+        final long registrationId,
+        final UdpChannel udpChannel,
+        final int streamId,
+        final int sessionId,
+        final int termLength,
+        final int senderMtuLength,
+        final NanoClock clock,
+        final MediaDriver.Context context,
+        final CountersManager countersManager)
+    {
+        mtuLength = senderMtuLength;
+        maxWindow = termLength / 2;
+        minWindow = Math.min(MIN_WINDOW_MTUS * senderMtuLength, maxWindow);
+        initialWindow = Math.min(INITIAL_WINDOW_MTUS * senderMtuLength, maxWindow);
+        window = initialWindow;
+
+        rttIndicator = PerImageIndicator.allocate(
+            "rcv-cc-bbr-rtt",
+            countersManager,
+            registrationId,
+            sessionId,
+            streamId,
+            udpChannel.originalUriString());
+
+        windowIndicator = PerImageIndicator.allocate(
+            "rcv-cc-bbr-wnd",
+            countersManager,
+            registrationId,
+            sessionId,
+            streamId,
+            udpChannel.originalUriString());
+
+        bandwidthIndicator = PerImageIndicator.allocate(
+            "rcv-cc-bbr-bw",
+            countersManager,
+            registrationId,
+            sessionId,
+            streamId,
+            udpChannel.originalUriString());
+
+        rttIndicator.setOrdered(0);
+        windowIndicator.setOrdered(initialWindow);
+        bandwidthIndicator.setOrdered(0);
+
+        minRttTimestampNs = clock.nanoTime();
+        lastPacingNs = minRttTimestampNs;
+    }
+
+    public boolean shouldMeasureRtt(final long nowNs)
+    {
+        final long timeoutNs = isRttMeasurementOutstanding ? RTT_MAX_TIMEOUT_NS : RTT_MEASUREMENT_TIMEOUT_NS;
+
+        if (nowNs > (lastRttMeasurementNs + timeoutNs))
+        {
+            lastRttMeasurementNs = nowNs;
+            isRttMeasurementOutstanding = true;
+
+            return true;
+        }
+
+        return false;
+    }
+
+    public void onRttMeasurement(final long nowNs, final long rttNs, final InetSocketAddress srcAddress)
+    {
+        isRttMeasurementOutstanding = false;
+        lastRttMeasurementNs = nowNs;
+        rttSampleNs = rttNs;
+        rttSampleCount = rttSampleCount + 1;
+    }
+
+    public long onTrackRebuild(
+        final long nowNs,
+        final long newConsumptionPosition,
+        final long lastSmPosition,
+        final long hwmPosition,
+        final long startingRebuildPosition,
+        final long endingRebuildPosition,
+        final boolean lossOccurred)
+    {
+        final State previousState = state;
+
+        final boolean isMinRttExpired = hasMinRtt && nowNs - minRttTimestampNs > MIN_RTT_WINDOW_NS;
+        final long rttSampleCount = this.rttSampleCount;
+        if (rttSampleCount != lastRttSampleCount)
+        {
+            lastRttSampleCount = rttSampleCount;
+            onRttSample(nowNs, rttSampleNs, isMinRttExpired);
+        }
+
+        if (!isRoundStarted)
+        {
+            startRound(nowNs, hwmPosition);
+        }
+        else if (nowNs - roundStartNs >= Math.max(minRttNs, MIN_ROUND_LENGTH_NS))
+        {
+            onRoundEnd(nowNs, endingRebuildPosition, hwmPosition);
+        }
+
+        if (isMinRttExpired && State.PROBE_RTT != state)
+        {
+            state = State.PROBE_RTT;
+            probeRttDoneNs = nowNs + Math.max(PROBE_RTT_DURATION_NS, minRttNs);
+        }
+        else if (State.PROBE_RTT == state && nowNs >= probeRttDoneNs)
+        {
+            minRttTimestampNs = nowNs;
+            state = isFullBandwidthReached ? State.PROBE_BW : State.STARTUP;
+            startRound(nowNs, hwmPosition);
+        }
+
+        final long pacedLimit = pace(nowNs, newConsumptionPosition, hwmPosition);
+        window = (int)(pacedLimit - newConsumptionPosition);
+        windowIndicator.setOrdered(window);
+
+        final boolean forceStatusMessage =
+            state != previousState || pacedLimit >= advertisedLimit + (STATUS_MESSAGE_QUANTUM_MTUS * mtuLength);
+
+        if (forceStatusMessage)
+        {
+            advertisedLimit = pacedLimit;
+        }
+
+        return packOutcome(window, forceStatusMessage);
+    }
+
+    public int initialWindowLength()
+    {
+        return initialWindow;
+    }
+
+    public void close()
+    {
+        CloseHelper.close(rttIndicator);
+        CloseHelper.close(windowIndicator);
+        CloseHelper.close(bandwidthIndicator);
+    }
+
+    State state()
+    {
+        return state;
+    }
+
+    long maxBandwidth()
+    {
+        return maxBandwidth;
+    }
+
+    long minRttNs()
+    {
+        return minRttNs;
+    }
+
+    private void onRttSample(final long nowNs, final long rttNs, final boolean isMinRttExpired)
+    {
+        if (rttNs < 0)
+        {
+            return;
+        }
+
+        if (!hasMinRtt || rttNs <= minRttNs || isMinRttExpired)
+        {
+            hasMinRtt = true;
+            minRttNs = rttNs;
+            minRttTimestampNs = nowNs;
+            rttIndicator.setOrdered(rttNs);
+        }
+    }
+
+    private void startRound(final long nowNs, final long hwmPosition)
+    {
+        isRoundStarted = true;
+        roundStartNs = nowNs;
+
+        final int sampleIndex = (int)(roundCount % DELIVERY_SAMPLE_ROUNDS);
+        sampleStartTimesNs[sampleIndex] = nowNs;
+        sampleStartHwmPositions[sampleIndex] = hwmPosition;
+    }
+
+    private void onRoundEnd(final long nowNs, final long rebuildPosition, final long hwmPosition)
+    {
+        final int sampleIndex = roundCount >= DELIVERY_SAMPLE_ROUNDS - 1 ?
+            (int)((roundCount + 1) % DELIVERY_SAMPLE_ROUNDS) : 0;
+        final long delivered = Math.max(0, rebuildPosition - sampleStartHwmPositions[sampleIndex]);
+        final double elapsedSeconds = (double)(nowNs - sampleStartTimesNs[sampleIndex]) / (double)SECOND_IN_NS;
+
+        bandwidthFilter[(int)(roundCount++ % BANDWIDTH_FILTER_ROUNDS)] = (long)(delivered / elapsedSeconds);
+
+        long maxBandwidth = 0;
+        for (final long sample : bandwidthFilter)
+        {
+            maxBandwidth = Math.max(maxBandwidth, sample);
+        }
+
+        this.maxBandwidth = maxBandwidth;
+        bandwidthIndicator.setOrdered(maxBandwidth);
+
+        startRound(nowNs, hwmPosition);
+
+        switch (state)
+        {
+            case STARTUP:
+                if (hasMinRtt)
+                {
+                    checkFullBandwidthReached();
+                }
+                if (isFullBandwidthReached)
+                {
+                    state = State.DRAIN;
+                }
+                break;
+
+            case DRAIN:
+                state = State.PROBE_BW;
+                probeBwCycleIndex = ThreadLocalRandom.current().nextInt(PROBE_BW_GAINS.length - 1);
+                if (probeBwCycleIndex > 0)
+                {
+                    probeBwCycleIndex++;
+                }
+                break;
+
+            case PROBE_BW:
+                probeBwCycleIndex = (probeBwCycleIndex + 1) % PROBE_BW_GAINS.length;
+                break;
+        }
+    }
+
+    private void checkFullBandwidthReached()
+    {
+        if (maxBandwidth >= fullBandwidth * FULL_BANDWIDTH_GROWTH)
+        {
+            fullBandwidth = maxBandwidth;
+            fullBandwidthRoundCount = 0;
+        }
+        else if (++fullBandwidthRoundCount >= FULL_BANDWIDTH_ROUNDS)
+        {
+            isFullBandwidthReached = true;
+        }
+    }
+
+    private long pace(final long nowNs, final long consumptionPosition, final long hwmPosition)
+    {
+        final long elapsedNs = nowNs - lastPacingNs;
+        lastPacingNs = nowNs;
+
+        if (0 == maxBandwidth)
+        {
+            pacedLimit = consumptionPosition + initialWindow;
+            return pacedLimit;
+        }
+
+        final long credit = (long)(pacingGain() * maxBandwidth * elapsedNs / SECOND_IN_NS);
+        final long inFlightLimit = hwmPosition + inFlightWindow();
+        final long minLimit = consumptionPosition + (State.STARTUP == state ? initialWindow : minWindow);
+        final long maxLimit = consumptionPosition + maxWindow;
+
+        pacedLimit = Math.min(Math.max(Math.min(pacedLimit + credit, inFlightLimit), minLimit), maxLimit);
+
+        return pacedLimit;
+    }
+
+    private long inFlightWindow()
+    {
+        switch (state)
+        {
+            case PROBE_RTT:
+                return minWindow;
+
+            case PROBE_BW:
+                return (long)(WINDOW_GAIN * bandwidthDelayProduct());
+
+            default:
+                return (long)(HIGH_GAIN * bandwidthDelayProduct());
+        }
+    }
+
+    private double pacingGain()
+    {
+        switch (state)
+        {
+            case STARTUP:
+                return HIGH_GAIN;
+
+            case DRAIN:
+                return 1.0 / HIGH_GAIN;
+
+            case PROBE_BW:
+                return PROBE_BW_GAINS[probeBwCycleIndex];
+
+            default:
+                return 1.0;
+        }
+    }
+
+    private double bandwidthDelayProduct()
+    {
+        return (double)maxBandwidth * minRttNs / SECOND_IN_NS;
+    }
+}
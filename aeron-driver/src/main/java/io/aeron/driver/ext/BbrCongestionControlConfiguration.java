@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.ext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration options to be applied when {@link BbrCongestionControl}
+ * are loaded.
+ */
+public class BbrCongestionControlConfiguration
+{
+    /**
+     * Property name for initial RTT estimate in nanoseconds used until the first measurement.
+     */
+    public static final String INITIAL_RTT_NS_PROP_NAME = "aeron.BbrCongestionControl.initialRtt";
+
+    /**
+     * Default initial RTT estimate in nanoseconds
+     */
+    public static final long INITIAL_RTT_NS_DEFAULT = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /**
+     * Property name for the gain applied to the estimated bandwidth-delay product to give the receiver window.
+     * <p>
+     * A gain above 1 covers the delay in status messages reaching the sender so the window does not limit the rate.
+     */
+    public static final String WINDOW_GAIN_PROP_NAME = "aeron.BbrCongestionControl.windowGain";
+
+    /**
+     * Default gain applied to the estimated bandwidth-delay product.
+     */
+    public static final String WINDOW_GAIN_DEFAULT = "2.0";
+
+    /**
+     * Property name for the length of time a min RTT estimate remains valid before probing for a new one.
+     */
+    public static final String MIN_RTT_WINDOW_NS_PROP_NAME = "aeron.BbrCongestionControl.minRttWindow";
+
+    /**
+     * Default length of time a min RTT estimate remains valid in nanoseconds.
+     */
+    public static final long MIN_RTT_WINDOW_NS_DEFAULT = TimeUnit.SECONDS.toNanos(10);
+
+    public static final long INITIAL_RTT_NS = Long.getLong(INITIAL_RTT_NS_PROP_NAME, INITIAL_RTT_NS_DEFAULT);
+    public static final double WINDOW_GAIN = Double.parseDouble(
+        System.getProperty(WINDOW_GAIN_PROP_NAME, WINDOW_GAIN_DEFAULT));
+    public static final long MIN_RTT_WINDOW_NS = Long.getLong(MIN_RTT_WINDOW_NS_PROP_NAME, MIN_RTT_WINDOW_NS_DEFAULT);
+}
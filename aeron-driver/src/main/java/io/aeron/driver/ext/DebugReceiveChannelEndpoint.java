@@ -20,6 +20,7 @@ import io.aeron.driver.media.ReceiveChannelEndpoint;
 import io.aeron.driver.DataPacketDispatcher;
 import io.aeron.driver.media.UdpChannel;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.FecFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
 import io.aeron.protocol.SetupFlyweight;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -118,4 +119,16 @@ public class DebugReceiveChannelEndpoint extends ReceiveChannelEndpoint
             super.onRttMeasurement(header, buffer, length, srcAddress);
         }
     }
+
+    public void onFecMessage(
+        final FecFlyweight header,
+        final UnsafeBuffer buffer,
+        final int length,
+        final InetSocketAddress srcAddress)
+    {
+        if (!dataLossGenerator.shouldDropFrame(srcAddress, buffer, length))
+        {
+            super.onFecMessage(header, buffer, length, srcAddress);
+        }
+    }
 }
@@ -30,25 +30,39 @@ import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SelectionKey;
 
 import static io.aeron.logbuffer.FrameDescriptor.frameType;
+import static io.aeron.protocol.HeaderFlyweight.FRAME_LENGTH_FIELD_OFFSET;
 import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_NAK;
 import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_RTTM;
 import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_SM;
+import static io.aeron.protocol.HeaderFlyweight.HEADER_LENGTH;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
 
 /**
  * Encapsulates the polling of a number of {@link UdpChannelTransport}s using whatever means provides the lowest latency.
+ * <p>
+ * A datagram may carry several control frames packed one after the other by a receiver which batches its control
+ * traffic, see {@link io.aeron.CommonContext#CONTROL_BATCH_PARAM_NAME}, so each frame is dispatched in turn.
  */
 public class ControlTransportPoller extends UdpTransportPoller
 {
     private final ByteBuffer byteBuffer;
     private final UnsafeBuffer unsafeBuffer;
+    private final UnsafeBuffer frameBuffer = new UnsafeBuffer(0, 0);
     private final NakFlyweight nakMessage;
     private final StatusMessageFlyweight statusMessage;
     private final RttMeasurementFlyweight rttMeasurement;
     private SendChannelEndpoint[] transports = new SendChannelEndpoint[0];
+    private SendChannelEndpoint[] unselectableTransports = new SendChannelEndpoint[0];
 
     public ControlTransportPoller()
     {
+        this(Configuration.TRANSPORT_POLLER_ITERATION_THRESHOLD);
+    }
+
+    public ControlTransportPoller(final int iterationThreshold)
+    {
+        super(iterationThreshold);
         byteBuffer = NetworkUtil.allocateDirectAlignedAndPadded(Configuration.MTU_LENGTH, CACHE_LINE_LENGTH * 2);
         unsafeBuffer = new UnsafeBuffer(byteBuffer);
         nakMessage = new NakFlyweight(unsafeBuffer);
@@ -71,7 +85,7 @@ public class ControlTransportPoller extends UdpTransportPoller
         int bytesReceived = 0;
         try
         {
-            if (transports.length <= ITERATION_THRESHOLD)
+            if (transports.length <= iterationThreshold)
             {
                 for (final SendChannelEndpoint transport : transports)
                 {
@@ -89,6 +103,11 @@ public class ControlTransportPoller extends UdpTransportPoller
                 }
 
                 selectedKeySet.reset();
+
+                for (final SendChannelEndpoint transport : unselectableTransports)
+                {
+                    bytesReceived += poll(transport);
+                }
             }
         }
         catch (final IOException ex)
@@ -110,7 +129,11 @@ public class ControlTransportPoller extends UdpTransportPoller
         try
         {
             transports = ArrayUtil.add(transports, transport);
-            key = transport.receiveDatagramChannel().register(selector, SelectionKey.OP_READ, transport);
+            key = transport.datagramTransport().registerForRead(selector, transport);
+            if (null == key)
+            {
+                unselectableTransports = ArrayUtil.add(unselectableTransports, transport);
+            }
         }
         catch (final ClosedChannelException ex)
         {
@@ -128,6 +151,7 @@ public class ControlTransportPoller extends UdpTransportPoller
     public void cancelRead(final SendChannelEndpoint transport)
     {
         transports = ArrayUtil.remove(transports, transport);
+        unselectableTransports = ArrayUtil.remove(unselectableTransports, transport);
     }
 
     private int poll(final SendChannelEndpoint channelEndpoint)
@@ -138,25 +162,53 @@ public class ControlTransportPoller extends UdpTransportPoller
         if (null != srcAddress)
         {
             byteReceived = byteBuffer.position();
-            if (channelEndpoint.isValidFrame(unsafeBuffer, byteReceived))
+
+            int offset = 0;
+            do
             {
-                switch (frameType(unsafeBuffer, 0))
+                final int remaining = byteReceived - offset;
+                frameBuffer.wrap(unsafeBuffer, offset, remaining);
+                if (!channelEndpoint.isValidFrame(frameBuffer, remaining))
                 {
-                    case HDR_TYPE_NAK:
-                        channelEndpoint.onNakMessage(nakMessage, unsafeBuffer, byteReceived, srcAddress);
-                        break;
+                    break;
+                }
 
-                    case HDR_TYPE_SM:
-                        channelEndpoint.onStatusMessage(statusMessage, unsafeBuffer, byteReceived, srcAddress);
-                        break;
+                final int frameLength = frameBuffer.getInt(FRAME_LENGTH_FIELD_OFFSET, LITTLE_ENDIAN);
+                final int length = frameLength >= HEADER_LENGTH && frameLength <= remaining ? frameLength : remaining;
+                dispatch(channelEndpoint, offset, length, srcAddress);
 
-                    case HDR_TYPE_RTTM:
-                        channelEndpoint.onRttMeasurement(rttMeasurement, unsafeBuffer, byteReceived, srcAddress);
-                        break;
-                }
+                offset += length;
             }
+            while (offset + HEADER_LENGTH <= byteReceived);
         }
 
         return byteReceived;
     }
+
+    private void dispatch(
+        final SendChannelEndpoint channelEndpoint,
+        final int offset,
+        final int length,
+        final InetSocketAddress srcAddress)
+    {
+        frameBuffer.wrap(unsafeBuffer, offset, length);
+
+        switch (frameType(frameBuffer, 0))
+        {
+            case HDR_TYPE_NAK:
+                nakMessage.wrap(frameBuffer, 0, length);
+                channelEndpoint.onNakMessage(nakMessage, frameBuffer, length, srcAddress);
+                break;
+
+            case HDR_TYPE_SM:
+                statusMessage.wrap(frameBuffer, 0, length);
+                channelEndpoint.onStatusMessage(statusMessage, frameBuffer, length, srcAddress);
+                break;
+
+            case HDR_TYPE_RTTM:
+                rttMeasurement.wrap(frameBuffer, 0, length);
+                channelEndpoint.onRttMeasurement(rttMeasurement, frameBuffer, length, srcAddress);
+                break;
+        }
+    }
 }
@@ -15,7 +15,9 @@
  */
 package io.aeron.driver.media;
 
+import io.aeron.driver.Configuration;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.FecFlyweight;
 import io.aeron.protocol.RttMeasurementFlyweight;
 import io.aeron.protocol.SetupFlyweight;
 import org.agrona.LangUtil;
@@ -29,30 +31,65 @@ import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SelectionKey;
 
 import static io.aeron.logbuffer.FrameDescriptor.frameType;
+import static io.aeron.logbuffer.FrameDescriptor.frameVersion;
 import static io.aeron.protocol.HeaderFlyweight.*;
 import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
 
 /**
  * Encapsulates the polling of a number of {@link UdpChannelTransport}s using whatever means provides the lowest latency.
+ * <p>
+ * Each poll of an endpoint drains up to a batch of datagrams into a ring of receive buffers before dispatching them in
+ * the order they were received.
+ * <p>
+ * Endpoints which receive with zero copy, see {@link ReceiveChannelEndpoint#isZeroCopyReceive()}, have each datagram
+ * scattered so the header lands in a receive buffer and the payload lands directly in the term of the image at the
+ * high-water mark. An in order data packet from the source of the image is then completed by writing its header.
+ * Otherwise the payload is copied back to the receive buffer, the term is zeroed, and the datagram is dispatched as
+ * normal unless it filled the space, which is one byte beyond an MTU, so was truncated and is dropped.
  */
 public class DataTransportPoller extends UdpTransportPoller
 {
     private static final int MAX_UDP_PACKET = 1024 * 64;
 
-    private final ByteBuffer byteBuffer;
-    private final UnsafeBuffer unsafeBuffer;
-    private final DataHeaderFlyweight dataMessage;
-    private final SetupFlyweight setupMessage;
-    private final RttMeasurementFlyweight rttMeasurement;
+    private final int receiveBatchSize;
+    private final ByteBuffer[] byteBuffers;
+    private final UnsafeBuffer[] unsafeBuffers;
+    private final InetSocketAddress[] srcAddresses;
+    private final int[] lengths;
+    private final DataHeaderFlyweight dataMessage = new DataHeaderFlyweight();
+    private final SetupFlyweight setupMessage = new SetupFlyweight();
+    private final RttMeasurementFlyweight rttMeasurement = new RttMeasurementFlyweight();
+    private final FecFlyweight fecMessage = new FecFlyweight();
+    private final UnsafeBuffer zeroCopyPayload = new UnsafeBuffer(0, 0);
     private ReceiveChannelEndpoint[] transports = new ReceiveChannelEndpoint[0];
+    private ReceiveChannelEndpoint[] unselectableTransports = new ReceiveChannelEndpoint[0];
 
     public DataTransportPoller()
     {
-        byteBuffer = NetworkUtil.allocateDirectAlignedAndPadded(MAX_UDP_PACKET, CACHE_LINE_LENGTH * 2);
-        unsafeBuffer = new UnsafeBuffer(byteBuffer);
-        dataMessage = new DataHeaderFlyweight(unsafeBuffer);
-        setupMessage = new SetupFlyweight(unsafeBuffer);
-        rttMeasurement = new RttMeasurementFlyweight(unsafeBuffer);
+        this(Configuration.RECEIVE_BATCH_SIZE_DEFAULT);
+    }
+
+    public DataTransportPoller(final int receiveBatchSize)
+    {
+        this(receiveBatchSize, Configuration.TRANSPORT_POLLER_ITERATION_THRESHOLD);
+    }
+
+    public DataTransportPoller(final int receiveBatchSize, final int iterationThreshold)
+    {
+        super(iterationThreshold);
+        Configuration.validateReceiveBatchSize(receiveBatchSize);
+
+        this.receiveBatchSize = receiveBatchSize;
+        byteBuffers = new ByteBuffer[receiveBatchSize];
+        unsafeBuffers = new UnsafeBuffer[receiveBatchSize];
+        srcAddresses = new InetSocketAddress[receiveBatchSize];
+        lengths = new int[receiveBatchSize];
+
+        for (int i = 0; i < receiveBatchSize; i++)
+        {
+            byteBuffers[i] = NetworkUtil.allocateDirectAlignedAndPadded(MAX_UDP_PACKET, CACHE_LINE_LENGTH * 2);
+            unsafeBuffers[i] = new UnsafeBuffer(byteBuffers[i]);
+        }
     }
 
     public void close()
@@ -70,7 +107,7 @@ public class DataTransportPoller extends UdpTransportPoller
         int bytesReceived = 0;
         try
         {
-            if (transports.length <= ITERATION_THRESHOLD)
+            if (transports.length <= iterationThreshold)
             {
                 for (final ReceiveChannelEndpoint transport : transports)
                 {
@@ -88,6 +125,11 @@ public class DataTransportPoller extends UdpTransportPoller
                 }
 
                 selectedKeySet.reset();
+
+                for (final ReceiveChannelEndpoint transport : unselectableTransports)
+                {
+                    bytesReceived += poll(transport);
+                }
             }
         }
         catch (final IOException ex)
@@ -98,6 +140,23 @@ public class DataTransportPoller extends UdpTransportPoller
         return bytesReceived;
     }
 
+    /**
+     * Send the control frames batched by each of the endpoints, see
+     * {@link ReceiveChannelEndpoint#flushControlBatches()}.
+     *
+     * @return number of datagrams sent.
+     */
+    public int flushControlBatches()
+    {
+        int datagramsSent = 0;
+        for (final ReceiveChannelEndpoint transport : transports)
+        {
+            datagramsSent += transport.flushControlBatches();
+        }
+
+        return datagramsSent;
+    }
+
     public SelectionKey registerForRead(final UdpChannelTransport transport)
     {
         return registerForRead((ReceiveChannelEndpoint)transport);
@@ -109,7 +168,11 @@ public class DataTransportPoller extends UdpTransportPoller
         try
         {
             transports = ArrayUtil.add(transports, transport);
-            key = transport.receiveDatagramChannel().register(selector, SelectionKey.OP_READ, transport);
+            key = transport.datagramTransport().registerForRead(selector, transport);
+            if (null == key)
+            {
+                unselectableTransports = ArrayUtil.add(unselectableTransports, transport);
+            }
         }
         catch (final ClosedChannelException ex)
         {
@@ -127,35 +190,144 @@ public class DataTransportPoller extends UdpTransportPoller
     public void cancelRead(final ReceiveChannelEndpoint transport)
     {
         transports = ArrayUtil.remove(transports, transport);
+        unselectableTransports = ArrayUtil.remove(unselectableTransports, transport);
     }
 
     private int poll(final ReceiveChannelEndpoint channelEndpoint)
     {
+        if (channelEndpoint.isZeroCopyReceive())
+        {
+            return pollZeroCopy(channelEndpoint);
+        }
+
+        final ByteBuffer[] byteBuffers = this.byteBuffers;
+        final InetSocketAddress[] srcAddresses = this.srcAddresses;
+        final int[] lengths = this.lengths;
+        int datagramCount = 0;
+
+        do
+        {
+            final ByteBuffer byteBuffer = byteBuffers[datagramCount];
+            final InetSocketAddress srcAddress = channelEndpoint.receive(byteBuffer);
+            if (null == srcAddress)
+            {
+                break;
+            }
+
+            srcAddresses[datagramCount] = srcAddress;
+            lengths[datagramCount] = byteBuffer.position();
+        }
+        while (++datagramCount < receiveBatchSize);
+
+        int bytesReceived = 0;
+        for (int i = 0; i < datagramCount; i++)
+        {
+            bytesReceived += dispatch(channelEndpoint, unsafeBuffers[i], lengths[i], srcAddresses[i]);
+            srcAddresses[i] = null;
+        }
+
+        return bytesReceived;
+    }
+
+    private int pollZeroCopy(final ReceiveChannelEndpoint channelEndpoint)
+    {
+        final ByteBuffer byteBuffer = byteBuffers[0];
+        final UnsafeBuffer unsafeBuffer = unsafeBuffers[0];
         int bytesReceived = 0;
-        final InetSocketAddress srcAddress = channelEndpoint.receive(byteBuffer);
 
-        if (null != srcAddress)
+        for (int i = 0; i < receiveBatchSize; i++)
         {
-            final int length = byteBuffer.position();
+            final ByteBuffer payloadBuffer = channelEndpoint.zeroCopyPayloadBuffer();
+            if (null == payloadBuffer)
+            {
+                final InetSocketAddress srcAddress = channelEndpoint.receive(byteBuffer);
+                if (null == srcAddress)
+                {
+                    break;
+                }
 
-            if (channelEndpoint.isValidFrame(unsafeBuffer, length))
+                bytesReceived += dispatch(channelEndpoint, unsafeBuffer, byteBuffer.position(), srcAddress);
+                continue;
+            }
+
+            byteBuffer.clear().limit(DataHeaderFlyweight.HEADER_LENGTH);
+            final int payloadOffset = payloadBuffer.position();
+            final InetSocketAddress srcAddress = channelEndpoint.receive(byteBuffer, payloadBuffer);
+            if (null == srcAddress)
+            {
+                break;
+            }
+
+            final int headerLength = byteBuffer.position();
+            final int payloadLength = payloadBuffer.position() - payloadOffset;
+            final int length = headerLength + payloadLength;
+
+            if (payloadLength > 0)
             {
-                switch (frameType(unsafeBuffer, 0))
+                final boolean isTruncated = !payloadBuffer.hasRemaining();
+                if (!isTruncated &&
+                    frameVersion(unsafeBuffer, 0) == CURRENT_VERSION &&
+                    HDR_TYPE_DATA == frameType(unsafeBuffer, 0))
+                {
+                    dataMessage.wrap(unsafeBuffer);
+                    final int bytesInserted = channelEndpoint.onZeroCopyDataPacket(
+                        dataMessage, unsafeBuffer, length, srcAddress);
+                    if (bytesInserted > 0)
+                    {
+                        bytesReceived += bytesInserted;
+                        continue;
+                    }
+                }
+
+                unsafeBuffer.putBytes(headerLength, payloadBuffer, payloadOffset, payloadLength);
+                zeroCopyPayload.wrap(payloadBuffer, payloadOffset, payloadLength);
+                zeroCopyPayload.setMemory(0, payloadLength, (byte)0);
+
+                if (isTruncated)
                 {
-                    case HDR_TYPE_PAD:
-                    case HDR_TYPE_DATA:
-                        bytesReceived = channelEndpoint.onDataPacket(dataMessage, unsafeBuffer, length, srcAddress);
-                        break;
-
-                    case HDR_TYPE_SETUP:
-                        channelEndpoint.onSetupMessage(setupMessage, unsafeBuffer, length, srcAddress);
-                        break;
-
-                    case HDR_TYPE_RTTM:
-                        channelEndpoint.onRttMeasurement(rttMeasurement, unsafeBuffer, length, srcAddress);
-                        break;
+                    continue;
                 }
             }
+
+            bytesReceived += dispatch(channelEndpoint, unsafeBuffer, length, srcAddress);
+        }
+
+        return bytesReceived;
+    }
+
+    private int dispatch(
+        final ReceiveChannelEndpoint channelEndpoint,
+        final UnsafeBuffer unsafeBuffer,
+        final int length,
+        final InetSocketAddress srcAddress)
+    {
+        int bytesReceived = 0;
+
+        if (channelEndpoint.isValidFrame(unsafeBuffer, length))
+        {
+            switch (frameType(unsafeBuffer, 0))
+            {
+                case HDR_TYPE_PAD:
+                case HDR_TYPE_DATA:
+                    dataMessage.wrap(unsafeBuffer);
+                    bytesReceived = channelEndpoint.onDataPacket(dataMessage, unsafeBuffer, length, srcAddress);
+                    break;
+
+                case HDR_TYPE_SETUP:
+                    setupMessage.wrap(unsafeBuffer);
+                    channelEndpoint.onSetupMessage(setupMessage, unsafeBuffer, length, srcAddress);
+                    break;
+
+                case HDR_TYPE_RTTM:
+                    rttMeasurement.wrap(unsafeBuffer);
+                    channelEndpoint.onRttMeasurement(rttMeasurement, unsafeBuffer, length, srcAddress);
+                    break;
+
+                case HDR_TYPE_FEC:
+                    fecMessage.wrap(unsafeBuffer);
+                    channelEndpoint.onFecMessage(fecMessage, unsafeBuffer, length, srcAddress);
+                    break;
+            }
         }
 
         return bytesReceived;
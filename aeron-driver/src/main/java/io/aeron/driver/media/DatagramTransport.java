@@ -0,0 +1,221 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.media;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.PortUnreachableException;
+import java.net.SocketOption;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+
+/**
+ * Datagram I/O operations beneath a {@link UdpChannelTransport} so alternative backends to
+ * {@link java.nio.channels.DatagramChannel} can be plugged into the driver without changing the endpoints or pollers.
+ * <p>
+ * A transport is used by a single endpoint. Sends and receives for an endpoint happen on the agent thread which owns
+ * it, however the send and receive sides of different transports may be exercised concurrently.
+ */
+public interface DatagramTransport extends AutoCloseable
+{
+    /**
+     * Open the transport for sending and receiving datagrams.
+     *
+     * @param udpChannel      for which the transport is being opened.
+     * @param endPointAddress on which datagrams are received which is the group for multicast.
+     * @param bindAddress     to bind for sending and unicast receiving.
+     * @param connectAddress  to connect for sending without an address or null if not connected.
+     * @throws IOException if the transport cannot be opened.
+     */
+    void open(
+        UdpChannel udpChannel,
+        InetSocketAddress endPointAddress,
+        InetSocketAddress bindAddress,
+        InetSocketAddress connectAddress) throws IOException;
+
+    /**
+     * Register the receive side of the transport with a {@link Selector} for read readiness.
+     *
+     * @param selector   to register with.
+     * @param attachment for the registration.
+     * @return the {@link SelectionKey} for the registration or null if the transport is not selectable and must be
+     * polled directly.
+     * @throws ClosedChannelException if the transport is closed.
+     */
+    SelectionKey registerForRead(Selector selector, Object attachment) throws ClosedChannelException;
+
+    /**
+     * Send the remaining contents of a buffer to the connected address.
+     *
+     * @param buffer containing the datagram.
+     * @return number of bytes sent.
+     * @throws IOException if an error occurs on send.
+     */
+    int send(ByteBuffer buffer) throws IOException;
+
+    /**
+     * Send the remaining contents of a buffer to a given address.
+     *
+     * @param buffer  containing the datagram.
+     * @param address to send to.
+     * @return number of bytes sent.
+     * @throws IOException if an error occurs on send.
+     */
+    int sendTo(ByteBuffer buffer, InetSocketAddress address) throws IOException;
+
+    /**
+     * Send the remaining contents of a buffer to each of a number of addresses. The position of the buffer is the
+     * same on return so the one payload is sent to all addresses without being copied or re-encoded.
+     * <p>
+     * An address which is unreachable counts as 0 bytes sent and does not stop the send to the other addresses.
+     * Transports which can deliver to many addresses in a single operation should override this method.
+     *
+     * @param buffer       containing the datagram.
+     * @param addresses    to send to.
+     * @param addressCount of addresses to send to from the start of the array.
+     * @return the minimum number of bytes sent to any of the addresses.
+     * @throws IOException if an error occurs on send.
+     */
+    default int sendToAll(final ByteBuffer buffer, final InetSocketAddress[] addresses, final int addressCount)
+        throws IOException
+    {
+        final int position = buffer.position();
+        int minBytesSent = buffer.remaining();
+
+        for (int i = 0; i < addressCount; i++)
+        {
+            int bytesSent = 0;
+            try
+            {
+                bytesSent = sendTo(buffer, addresses[i]);
+            }
+            catch (final PortUnreachableException ignore)
+            {
+            }
+
+            buffer.position(position);
+            minBytesSent = Math.min(minBytesSent, bytesSent);
+        }
+
+        return minBytesSent;
+    }
+
+    /**
+     * Is {@link #sendSegmented(ByteBuffer, int)} supported in a single operation by this transport so it is worth
+     * coalescing datagrams for it.
+     *
+     * @return true if segmented sends are supported in a single operation.
+     */
+    default boolean isSegmentedSendSupported()
+    {
+        return false;
+    }
+
+    /**
+     * Send the remaining contents of a buffer to the connected address as consecutive datagrams of the segment length,
+     * the last of which may be shorter, in the style of UDP generic segmentation offload.
+     * <p>
+     * Transports which cannot send the segments in a single operation send them one at a time and stop at the first
+     * segment which cannot be sent in full.
+     *
+     * @param buffer        containing the datagrams.
+     * @param segmentLength of each datagram apart from the last.
+     * @return number of bytes sent.
+     * @throws IOException if an error occurs on send.
+     */
+    default int sendSegmented(final ByteBuffer buffer, final int segmentLength) throws IOException
+    {
+        final int limit = buffer.limit();
+        int bytesSent = 0;
+
+        try
+        {
+            while (buffer.hasRemaining())
+            {
+                final int length = Math.min(segmentLength, buffer.remaining());
+                buffer.limit(buffer.position() + length);
+
+                if (length != send(buffer))
+                {
+                    break;
+                }
+
+                bytesSent += length;
+                buffer.limit(limit);
+            }
+        }
+        finally
+        {
+            buffer.limit(limit);
+        }
+
+        return bytesSent;
+    }
+
+    /**
+     * Receive a datagram, if available, into a buffer from its position.
+     *
+     * @param buffer into which the datagram is received.
+     * @return the source address of the datagram or null if none is available.
+     * @throws IOException if an error occurs on receive.
+     */
+    InetSocketAddress receive(ByteBuffer buffer) throws IOException;
+
+    /**
+     * Is {@link #receive(ByteBuffer, ByteBuffer)} supported by this transport so a datagram from any source can be
+     * scattered across buffers as it is received.
+     *
+     * @return true if a datagram from any source can be scattered across buffers as it is received.
+     */
+    default boolean isScatterReceiveSupported()
+    {
+        return false;
+    }
+
+    /**
+     * Receive a datagram, if available, by filling the remaining space of the header buffer from its position before
+     * continuing into the payload buffer from its position. Bytes which do not fit in either buffer are discarded.
+     *
+     * @param header  into which the start of the datagram is received.
+     * @param payload into which the rest of the datagram is received.
+     * @return the source address of the datagram or null if none is available.
+     * @throws IOException if an error occurs on receive.
+     * @see #isScatterReceiveSupported()
+     */
+    default InetSocketAddress receive(final ByteBuffer header, final ByteBuffer payload) throws IOException
+    {
+        throw new UnsupportedOperationException("scatter receive not supported");
+    }
+
+    /**
+     * Get the value of a socket option for the transport.
+     *
+     * @param socketOption to get.
+     * @param <T>          type of the option.
+     * @return the value of the option or null if the option is not modelled by the transport.
+     * @throws IOException if the option cannot be read.
+     */
+    <T> T getOption(SocketOption<T> socketOption) throws IOException;
+
+    /**
+     * Close the transport and release its resources.
+     *
+     * @throws IOException if an error occurs on close.
+     */
+    void close() throws IOException;
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.media;
+
+import io.aeron.driver.Configuration;
+import org.agrona.concurrent.ManyToOneConcurrentArrayQueue;
+
+import java.io.IOException;
+import java.net.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NotYetConnectedException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link DatagramTransport} which exchanges datagrams between transports in the same process without touching the
+ * network. Useful for testing the driver, or applications, on hosts without a usable network stack.
+ * <p>
+ * Transports are addressed by port in a process wide table. A datagram sent to an address is delivered to each open
+ * transport on the port which is bound to the wildcard address, the same address, or has joined the multicast group.
+ * As with UDP, datagrams are dropped if the receiving queue is full or if no transport is listening.
+ * <p>
+ * Loopback transports are not selectable so are polled directly by the transport pollers.
+ */
+public class LoopbackDatagramTransport implements DatagramTransport
+{
+    /**
+     * Number of datagrams which can be queued for receipt before further datagrams are dropped.
+     */
+    public static final int DATAGRAM_QUEUE_CAPACITY = 4096;
+
+    private static final int DEFAULT_SOCKET_BUFFER_LENGTH = 128 * 1024;
+    private static final int EPHEMERAL_PORT_BASE = 49152;
+    private static final int EPHEMERAL_PORT_RANGE = 16384;
+
+    private static final AtomicInteger EPHEMERAL_PORT_COUNTER = new AtomicInteger();
+    private static final ConcurrentHashMap<Integer, List<LoopbackDatagramTransport>> TRANSPORTS_BY_PORT =
+        new ConcurrentHashMap<>();
+
+    private final ManyToOneConcurrentArrayQueue<Datagram> datagramQueue =
+        new ManyToOneConcurrentArrayQueue<>(DATAGRAM_QUEUE_CAPACITY);
+    private boolean isMulticast;
+    private boolean isClosed = false;
+    private int multicastTtl;
+    private InetSocketAddress receiveAddress;
+    private InetSocketAddress sourceAddress;
+    private InetSocketAddress connectAddress;
+
+    public void open(
+        final UdpChannel udpChannel,
+        final InetSocketAddress endPointAddress,
+        final InetSocketAddress bindAddress,
+        final InetSocketAddress connectAddress) throws IOException
+    {
+        this.connectAddress = connectAddress;
+        isMulticast = udpChannel.isMulticast();
+        multicastTtl = udpChannel.multicastTtl();
+
+        final InetAddress loopbackAddress = InetAddress.getLoopbackAddress();
+
+        if (isMulticast)
+        {
+            receiveAddress = endPointAddress;
+            sourceAddress = null == connectAddress ?
+                new InetSocketAddress(loopbackAddress, endPointAddress.getPort()) :
+                new InetSocketAddress(loopbackAddress, nextEphemeralPort());
+        }
+        else
+        {
+            final int port = 0 == bindAddress.getPort() ? nextEphemeralPort() : bindAddress.getPort();
+            final InetAddress address = bindAddress.getAddress();
+
+            receiveAddress = new InetSocketAddress(address, port);
+            sourceAddress = new InetSocketAddress(address.isAnyLocalAddress() ? loopbackAddress : address, port);
+        }
+
+        final List<LoopbackDatagramTransport> transports = TRANSPORTS_BY_PORT.computeIfAbsent(
+            receiveAddress.getPort(), (port) -> new CopyOnWriteArrayList<>());
+
+        synchronized (transports)
+        {
+            if (!isMulticast)
+            {
+                for (final LoopbackDatagramTransport transport : transports)
+                {
+                    if (!transport.isMulticast && transport.overlaps(receiveAddress.getAddress()))
+                    {
+                        throw new BindException("Address already in use: " + receiveAddress);
+                    }
+                }
+            }
+
+            transports.add(this);
+        }
+    }
+
+    public SelectionKey registerForRead(final Selector selector, final Object attachment)
+        throws ClosedChannelException
+    {
+        if (isClosed)
+        {
+            throw new ClosedChannelException();
+        }
+
+        return null;
+    }
+
+    public int send(final ByteBuffer buffer) throws IOException
+    {
+        if (null == connectAddress)
+        {
+            throw new NotYetConnectedException();
+        }
+
+        return sendTo(buffer, connectAddress);
+    }
+
+    public int sendTo(final ByteBuffer buffer, final InetSocketAddress address) throws IOException
+    {
+        if (isClosed)
+        {
+            throw new ClosedChannelException();
+        }
+
+        final int length = buffer.remaining();
+        final byte[] data = new byte[length];
+        buffer.get(data);
+
+        deliver(new Datagram(sourceAddress, data), address);
+
+        return length;
+    }
+
+    public boolean isSegmentedSendSupported()
+    {
+        return true;
+    }
+
+    public int sendSegmented(final ByteBuffer buffer, final int segmentLength) throws IOException
+    {
+        if (null == connectAddress)
+        {
+            throw new NotYetConnectedException();
+        }
+
+        if (isClosed)
+        {
+            throw new ClosedChannelException();
+        }
+
+        final int length = buffer.remaining();
+        while (buffer.hasRemaining())
+        {
+            final byte[] data = new byte[Math.min(segmentLength, buffer.remaining())];
+            buffer.get(data);
+
+            deliver(new Datagram(sourceAddress, data), connectAddress);
+        }
+
+        return length;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The payload is copied once and the same datagram is queued for every address.
+     */
+    public int sendToAll(final ByteBuffer buffer, final InetSocketAddress[] addresses, final int addressCount)
+        throws IOException
+    {
+        if (isClosed)
+        {
+            throw new ClosedChannelException();
+        }
+
+        final int length = buffer.remaining();
+        if (addressCount > 0)
+        {
+            final int position = buffer.position();
+            final byte[] data = new byte[length];
+            buffer.get(data);
+            buffer.position(position);
+
+            final Datagram datagram = new Datagram(sourceAddress, data);
+            for (int i = 0; i < addressCount; i++)
+            {
+                deliver(datagram, addresses[i]);
+            }
+        }
+
+        return length;
+    }
+
+    public InetSocketAddress receive(final ByteBuffer buffer) throws IOException
+    {
+        if (isClosed)
+        {
+            throw new ClosedChannelException();
+        }
+
+        final Datagram datagram = datagramQueue.poll();
+        if (null == datagram)
+        {
+            return null;
+        }
+
+        buffer.put(datagram.data, 0, Math.min(buffer.remaining(), datagram.data.length));
+
+        return datagram.sourceAddress;
+    }
+
+    public boolean isScatterReceiveSupported()
+    {
+        return true;
+    }
+
+    public InetSocketAddress receive(final ByteBuffer header, final ByteBuffer payload) throws IOException
+    {
+        if (isClosed)
+        {
+            throw new ClosedChannelException();
+        }
+
+        final Datagram datagram = datagramQueue.poll();
+        if (null == datagram)
+        {
+            return null;
+        }
+
+        final byte[] data = datagram.data;
+        final int headerLength = Math.min(header.remaining(), data.length);
+        header.put(data, 0, headerLength);
+        payload.put(data, headerLength, Math.min(payload.remaining(), data.length - headerLength));
+
+        return datagram.sourceAddress;
+    }
+
+    public <T> T getOption(final SocketOption<T> socketOption) throws IOException
+    {
+        final Object value;
+        if (StandardSocketOptions.SO_SNDBUF == socketOption)
+        {
+            value = 0 != Configuration.SOCKET_SNDBUF_LENGTH ?
+                Configuration.SOCKET_SNDBUF_LENGTH : DEFAULT_SOCKET_BUFFER_LENGTH;
+        }
+        else if (StandardSocketOptions.SO_RCVBUF == socketOption)
+        {
+            value = 0 != Configuration.SOCKET_RCVBUF_LENGTH ?
+                Configuration.SOCKET_RCVBUF_LENGTH : DEFAULT_SOCKET_BUFFER_LENGTH;
+        }
+        else if (StandardSocketOptions.IP_MULTICAST_TTL == socketOption)
+        {
+            value = multicastTtl;
+        }
+        else
+        {
+            value = null;
+        }
+
+        return socketOption.type().cast(value);
+    }
+
+    public void close()
+    {
+        if (!isClosed)
+        {
+            isClosed = true;
+
+            if (null != receiveAddress)
+            {
+                final List<LoopbackDatagramTransport> transports = TRANSPORTS_BY_PORT.get(receiveAddress.getPort());
+                if (null != transports)
+                {
+                    synchronized (transports)
+                    {
+                        transports.remove(this);
+                    }
+                }
+            }
+
+            datagramQueue.clear();
+        }
+    }
+
+    /**
+     * The address from which datagrams sent on this transport appear to come.
+     *
+     * @return the address from which datagrams sent on this transport appear to come.
+     */
+    public InetSocketAddress sourceAddress()
+    {
+        return sourceAddress;
+    }
+
+    private static void deliver(final Datagram datagram, final InetSocketAddress address)
+    {
+        final List<LoopbackDatagramTransport> transports = TRANSPORTS_BY_PORT.get(address.getPort());
+        if (null != transports)
+        {
+            for (final LoopbackDatagramTransport transport : transports)
+            {
+                if (transport.accepts(address.getAddress()))
+                {
+                    transport.datagramQueue.offer(datagram);
+                }
+            }
+        }
+    }
+
+    private boolean accepts(final InetAddress address)
+    {
+        final InetAddress receiveInetAddress = receiveAddress.getAddress();
+
+        if (isMulticast)
+        {
+            return receiveInetAddress.equals(address);
+        }
+
+        return !address.isMulticastAddress() &&
+            (receiveInetAddress.isAnyLocalAddress() || receiveInetAddress.equals(address));
+    }
+
+    private boolean overlaps(final InetAddress address)
+    {
+        final InetAddress receiveInetAddress = receiveAddress.getAddress();
+
+        return receiveInetAddress.isAnyLocalAddress() || address.isAnyLocalAddress() ||
+            receiveInetAddress.equals(address);
+    }
+
+    private static int nextEphemeralPort()
+    {
+        return EPHEMERAL_PORT_BASE + (EPHEMERAL_PORT_COUNTER.getAndIncrement() & (EPHEMERAL_PORT_RANGE - 1));
+    }
+
+    static final class Datagram
+    {
+        final InetSocketAddress sourceAddress;
+        final byte[] data;
+
+        Datagram(final InetSocketAddress sourceAddress, final byte[] data)
+        {
+            this.sourceAddress = sourceAddress;
+            this.data = data;
+        }
+    }
+}
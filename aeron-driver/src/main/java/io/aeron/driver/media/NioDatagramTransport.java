@@ -0,0 +1,157 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.media;
+
+import io.aeron.driver.Configuration;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketOption;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+
+import static java.net.StandardSocketOptions.SO_RCVBUF;
+import static java.net.StandardSocketOptions.SO_SNDBUF;
+
+/**
+ * {@link DatagramTransport} implemented with non-blocking {@link DatagramChannel}s which is the default for the driver.
+ * <p>
+ * Scatter receive is not supported as a {@link DatagramChannel} can only scatter a read when connected to a single
+ * source, which would drop datagrams from all other sources.
+ * <p>
+ * When the receive side shares a channel connected to a single remote address, as for a unicast send channel, datagrams
+ * are read rather than received so no {@link InetSocketAddress} is allocated per datagram and the connect address is
+ * returned as the source.
+ */
+public class NioDatagramTransport implements DatagramTransport
+{
+    private DatagramChannel sendDatagramChannel;
+    private DatagramChannel receiveDatagramChannel;
+    private InetSocketAddress receiveConnectAddress;
+
+    public void open(
+        final UdpChannel udpChannel,
+        final InetSocketAddress endPointAddress,
+        final InetSocketAddress bindAddress,
+        final InetSocketAddress connectAddress) throws IOException
+    {
+        sendDatagramChannel = DatagramChannel.open(udpChannel.protocolFamily());
+        receiveDatagramChannel = sendDatagramChannel;
+
+        if (udpChannel.isMulticast())
+        {
+            if (null != connectAddress)
+            {
+                receiveDatagramChannel = DatagramChannel.open(udpChannel.protocolFamily());
+            }
+
+            receiveDatagramChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            receiveDatagramChannel.bind(new InetSocketAddress(endPointAddress.getPort()));
+            receiveDatagramChannel.join(endPointAddress.getAddress(), udpChannel.localInterface());
+            sendDatagramChannel.setOption(StandardSocketOptions.IP_MULTICAST_IF, udpChannel.localInterface());
+
+            if (0 != udpChannel.multicastTtl())
+            {
+                sendDatagramChannel.setOption(StandardSocketOptions.IP_MULTICAST_TTL, udpChannel.multicastTtl());
+            }
+        }
+        else
+        {
+            sendDatagramChannel.bind(bindAddress);
+        }
+
+        if (null != connectAddress)
+        {
+            sendDatagramChannel.connect(connectAddress);
+
+            if (receiveDatagramChannel == sendDatagramChannel)
+            {
+                receiveConnectAddress = connectAddress;
+            }
+        }
+
+        if (0 != Configuration.SOCKET_SNDBUF_LENGTH)
+        {
+            sendDatagramChannel.setOption(SO_SNDBUF, Configuration.SOCKET_SNDBUF_LENGTH);
+        }
+
+        if (0 != Configuration.SOCKET_RCVBUF_LENGTH)
+        {
+            receiveDatagramChannel.setOption(SO_RCVBUF, Configuration.SOCKET_RCVBUF_LENGTH);
+        }
+
+        sendDatagramChannel.configureBlocking(false);
+        receiveDatagramChannel.configureBlocking(false);
+    }
+
+    public SelectionKey registerForRead(final Selector selector, final Object attachment)
+        throws ClosedChannelException
+    {
+        return receiveDatagramChannel.register(selector, SelectionKey.OP_READ, attachment);
+    }
+
+    public int send(final ByteBuffer buffer) throws IOException
+    {
+        return sendDatagramChannel.write(buffer);
+    }
+
+    public int sendTo(final ByteBuffer buffer, final InetSocketAddress address) throws IOException
+    {
+        return sendDatagramChannel.send(buffer, address);
+    }
+
+    public InetSocketAddress receive(final ByteBuffer buffer) throws IOException
+    {
+        if (null != receiveConnectAddress)
+        {
+            return receiveDatagramChannel.read(buffer) > 0 ? receiveConnectAddress : null;
+        }
+
+        return (InetSocketAddress)receiveDatagramChannel.receive(buffer);
+    }
+
+    public <T> T getOption(final SocketOption<T> socketOption) throws IOException
+    {
+        return sendDatagramChannel.getOption(socketOption);
+    }
+
+    public void close() throws IOException
+    {
+        if (null != sendDatagramChannel)
+        {
+            sendDatagramChannel.close();
+        }
+
+        if (receiveDatagramChannel != sendDatagramChannel && null != receiveDatagramChannel)
+        {
+            receiveDatagramChannel.close();
+        }
+    }
+
+    /**
+     * The {@link DatagramChannel} on which datagrams are received.
+     *
+     * @return {@link DatagramChannel} on which datagrams are received.
+     */
+    public DatagramChannel receiveDatagramChannel()
+    {
+        return receiveDatagramChannel;
+    }
+}
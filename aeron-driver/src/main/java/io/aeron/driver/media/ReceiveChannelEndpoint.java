@@ -15,6 +15,7 @@
  */
 package io.aeron.driver.media;
 
+import io.aeron.CommonContext;
 import io.aeron.driver.*;
 import io.aeron.driver.exceptions.ConfigurationException;
 import io.aeron.driver.status.ChannelEndpointStatus;
@@ -28,10 +29,13 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.StandardSocketOptions;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 
 import static io.aeron.driver.status.ChannelEndpointStatus.status;
 import static io.aeron.driver.status.SystemCounterDescriptor.*;
+import static io.aeron.driver.AgentPoolUtil.increment;
 import static io.aeron.protocol.StatusMessageFlyweight.SEND_SETUP_FLAG;
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
 
 /**
  * Aggregator of multiple subscriptions onto a single transport channel for receiving of data and setup frames
@@ -53,6 +57,16 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
     private final Int2IntCounterMap refCountByStreamIdMap = new Int2IntCounterMap(0);
 
     private final long receiverId;
+    private final boolean hasGroupTag;
+    private final long groupTag;
+    private final byte[] applicationSpecificFeedback;
+    private final boolean isZeroCopyReceive;
+    private final boolean isControlBatching;
+    private final boolean isReceiveTimestamping;
+    private final boolean isPooledReceiver;
+    private final ArrayList<ControlBatch> pendingControlBatches = new ArrayList<>();
+    private final ArrayList<ControlBatch> freeControlBatches = new ArrayList<>();
+    private InetSocketAddress zeroCopySourceAddress;
     private int soRcvBufLength;
     private boolean isClosed = false;
 
@@ -67,6 +81,7 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
             udpChannel.remoteData(),
             udpChannel.remoteData(),
             null,
+            context.datagramTransportSupplier().newInstance(udpChannel),
             context.errorLog(),
             context.systemCounters().get(INVALID_PACKETS));
 
@@ -75,8 +90,9 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
 
         shortSends = context.systemCounters().get(SHORT_SENDS);
         possibleTtlAsymmetry = context.systemCounters().get(POSSIBLE_TTL_ASYMMETRY);
+        isPooledReceiver = context.receiverCount() > 1;
 
-        final ReceiveChannelEndpointThreadLocals threadLocals = context.receiveChannelEndpointThreadLocals();
+        final ReceiveChannelEndpointThreadLocals threadLocals = context.receiveChannelEndpointThreadLocals(udpChannel);
         smBuffer = threadLocals.smBuffer();
         statusMessageFlyweight = threadLocals.statusMessageFlyweight();
         nakBuffer = threadLocals.nakBuffer();
@@ -84,6 +100,16 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
         rttMeasurementBuffer = threadLocals.rttMeasurementBuffer();
         rttMeasurementFlyweight = threadLocals.rttMeasurementFlyweight();
         receiverId = threadLocals.receiverId();
+
+        final String groupTagParam = udpChannel.channelUri().get(CommonContext.GROUP_TAG_PARAM_NAME);
+        hasGroupTag = null != groupTagParam;
+        groupTag = hasGroupTag ? Long.parseLong(groupTagParam) : 0;
+        applicationSpecificFeedback = context.applicationSpecificFeedback();
+        isZeroCopyReceive = !udpChannel.isMulticast() &&
+            "true".equals(udpChannel.channelUri().get(CommonContext.ZERO_COPY_RECEIVE_PARAM_NAME));
+        isControlBatching = "true".equals(udpChannel.channelUri().get(CommonContext.CONTROL_BATCH_PARAM_NAME));
+        isReceiveTimestamping =
+            "true".equals(udpChannel.channelUri().get(CommonContext.RECEIVE_TIMESTAMP_PARAM_NAME));
     }
 
     /**
@@ -98,7 +124,7 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
         int bytesSent = 0;
         try
         {
-            bytesSent = sendDatagramChannel.send(buffer, remoteAddress);
+            bytesSent = datagramTransport.sendTo(buffer, remoteAddress);
         }
         catch (final IOException ex)
         {
@@ -149,7 +175,7 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
 
     public void possibleTtlAsymmetryEncountered()
     {
-        possibleTtlAsymmetry.orderedIncrement();
+        increment(possibleTtlAsymmetry, isPooledReceiver);
     }
 
     public int incRefToStream(final int streamId)
@@ -199,6 +225,74 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
         return dispatcher.onDataPacket(this, header, buffer, length, srcAddress);
     }
 
+    /**
+     * Is the channel receiving the payload of datagrams directly into the term of its single image, see
+     * {@link CommonContext#ZERO_COPY_RECEIVE_PARAM_NAME}.
+     *
+     * @return true if the channel is receiving the payload of datagrams directly into the term of its image.
+     */
+    public boolean isZeroCopyReceive()
+    {
+        return null != zeroCopySourceAddress && datagramTransport.isScatterReceiveSupported();
+    }
+
+    /**
+     * Should data frames be stamped with the time they are inserted into the term, see
+     * {@link CommonContext#RECEIVE_TIMESTAMP_PARAM_NAME}.
+     *
+     * @return true if data frames should be stamped with the time they are inserted into the term.
+     */
+    public boolean isReceiveTimestamping()
+    {
+        return isReceiveTimestamping;
+    }
+
+    /**
+     * Is this endpoint serviced by one of a pool of receivers, in which case the system counters are shared between
+     * receiver threads and must be incremented atomically.
+     *
+     * @return true if this endpoint is serviced by one of a pool of receivers.
+     */
+    public boolean isPooledReceiver()
+    {
+        return isPooledReceiver;
+    }
+
+    /**
+     * Buffer in the term of the image into which the payload of the next datagram can be received, see
+     * {@link DataPacketDispatcher#zeroCopyPayloadBuffer()}.
+     *
+     * @return buffer for the payload of the next datagram or null if it must be received with a copy.
+     */
+    public ByteBuffer zeroCopyPayloadBuffer()
+    {
+        return dispatcher.zeroCopyPayloadBuffer();
+    }
+
+    /**
+     * Complete the insert of a data packet whose payload was received into the buffer from
+     * {@link #zeroCopyPayloadBuffer()} if it came from the source of the single image.
+     *
+     * @param header     of the data packet.
+     * @param buffer     containing the header of the data packet.
+     * @param length     of the data packet including the header.
+     * @param srcAddress of the datagram.
+     * @return number of bytes inserted or 0 if the packet was not inserted so must be dispatched with a copy.
+     */
+    public int onZeroCopyDataPacket(
+        final DataHeaderFlyweight header,
+        final UnsafeBuffer buffer,
+        final int length,
+        final InetSocketAddress srcAddress)
+    {
+        if (!srcAddress.equals(zeroCopySourceAddress))
+        {
+            return 0;
+        }
+
+        return dispatcher.onZeroCopyDataPacket(header, buffer, length);
+    }
+
     public void onSetupMessage(
         final SetupFlyweight header,
         final UnsafeBuffer buffer,
@@ -220,6 +314,15 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
         }
     }
 
+    public void onFecMessage(
+        final FecFlyweight header,
+        final UnsafeBuffer buffer,
+        final int length,
+        final InetSocketAddress srcAddress)
+    {
+        dispatcher.onFecMessage(this, header, length, srcAddress);
+    }
+
     public void sendSetupElicitingStatusMessage(
         final InetSocketAddress controlAddress, final int sessionId, final int streamId)
     {
@@ -268,11 +371,20 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
                 .receiverWindowLength(window)
                 .flags(flags);
 
-            final int bytesSent = sendTo(smBuffer, controlAddress);
-            if (StatusMessageFlyweight.HEADER_LENGTH != bytesSent)
+            if (hasGroupTag)
             {
-                shortSends.increment();
+                statusMessageFlyweight.groupTag(groupTag);
+            }
+            else
+            {
+                statusMessageFlyweight.applicationSpecificFeedback(
+                    applicationSpecificFeedback, 0, applicationSpecificFeedback.length);
             }
+
+            final int smLength = statusMessageFlyweight.frameLength();
+            smBuffer.limit(smLength);
+
+            sendControlFrame(smBuffer, statusMessageFlyweight, smLength, controlAddress);
         }
     }
 
@@ -286,7 +398,8 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
     {
         if (!isClosed)
         {
-            nakBuffer.clear();
+            nakBuffer.clear().limit(NakFlyweight.HEADER_LENGTH);
+            nakFlyweight.frameLength(NakFlyweight.HEADER_LENGTH);
             nakFlyweight
                 .streamId(streamId)
                 .sessionId(sessionId)
@@ -294,11 +407,35 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
                 .termOffset(termOffset)
                 .length(length);
 
-            final int bytesSent = sendTo(nakBuffer, controlAddress);
-            if (NakFlyweight.HEADER_LENGTH != bytesSent)
+            sendControlFrame(nakBuffer, nakFlyweight, NakFlyweight.HEADER_LENGTH, controlAddress);
+        }
+    }
+
+    public void sendNakMessage(
+        final InetSocketAddress controlAddress,
+        final int sessionId,
+        final int streamId,
+        final int termId,
+        final int[] termOffsets,
+        final int[] lengths,
+        final int gapCount)
+    {
+        if (!isClosed)
+        {
+            final int frameLength = NakFlyweight.frameLengthForRangeCount(gapCount);
+            nakBuffer.clear().limit(frameLength);
+            nakFlyweight.frameLength(frameLength);
+            nakFlyweight
+                .streamId(streamId)
+                .sessionId(sessionId)
+                .termId(termId);
+
+            for (int i = 0; i < gapCount; i++)
             {
-                shortSends.increment();
+                nakFlyweight.range(i, termOffsets[i], lengths[i]);
             }
+
+            sendControlFrame(nakBuffer, nakFlyweight, frameLength, controlAddress);
         }
     }
 
@@ -320,12 +457,37 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
                 .receptionDelta(receptionDelta)
                 .flags(isReply ? RttMeasurementFlyweight.REPLY_FLAG : 0);
 
-            final int bytesSent = sendTo(rttMeasurementBuffer, controlAddress);
-            if (RttMeasurementFlyweight.HEADER_LENGTH != bytesSent)
+            sendControlFrame(
+                rttMeasurementBuffer, rttMeasurementFlyweight, RttMeasurementFlyweight.HEADER_LENGTH, controlAddress);
+        }
+    }
+
+    /**
+     * Send the control frames gathered for each control address since the last flush when control batching is
+     * enabled, see {@link CommonContext#CONTROL_BATCH_PARAM_NAME}. Called once per duty cycle of the receiver.
+     *
+     * @return number of datagrams sent.
+     */
+    public int flushControlBatches()
+    {
+        final ArrayList<ControlBatch> pendingControlBatches = this.pendingControlBatches;
+        final int batchCount = pendingControlBatches.size();
+
+        for (int i = 0; i < batchCount; i++)
+        {
+            final ControlBatch batch = pendingControlBatches.get(i);
+            if (!isClosed)
             {
-                shortSends.increment();
+                sendControlBatch(batch);
             }
+
+            batch.reset();
+            freeControlBatches.add(batch);
         }
+
+        pendingControlBatches.clear();
+
+        return batchCount;
     }
 
     public void removePendingSetup(final int sessionId, final int streamId)
@@ -336,6 +498,7 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
     public void removePublicationImage(final PublicationImage publicationImage)
     {
         dispatcher.removePublicationImage(publicationImage);
+        updateZeroCopySource();
     }
 
     public void addSubscription(final int streamId)
@@ -346,11 +509,79 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
     public void removeSubscription(final int streamId)
     {
         dispatcher.removeSubscription(streamId);
+        updateZeroCopySource();
     }
 
     public void addPublicationImage(final PublicationImage image)
     {
         dispatcher.addPublicationImage(image);
+        updateZeroCopySource();
+    }
+
+    private void sendControlFrame(
+        final ByteBuffer buffer, final UnsafeBuffer frame, final int length, final InetSocketAddress controlAddress)
+    {
+        if (isControlBatching && length <= Configuration.MTU_LENGTH)
+        {
+            final ControlBatch batch = pendingControlBatch(controlAddress);
+            if (batch.length + length > batch.buffer.capacity())
+            {
+                sendControlBatch(batch);
+                batch.length = 0;
+            }
+
+            batch.buffer.putBytes(batch.length, frame, 0, length);
+            batch.length += length;
+        }
+        else
+        {
+            final int bytesSent = sendTo(buffer, controlAddress);
+            if (length != bytesSent)
+            {
+                shortSends.increment();
+            }
+        }
+    }
+
+    private ControlBatch pendingControlBatch(final InetSocketAddress controlAddress)
+    {
+        final ArrayList<ControlBatch> pendingControlBatches = this.pendingControlBatches;
+        for (int i = 0, size = pendingControlBatches.size(); i < size; i++)
+        {
+            final ControlBatch batch = pendingControlBatches.get(i);
+            if (batch.address == controlAddress || batch.address.equals(controlAddress))
+            {
+                return batch;
+            }
+        }
+
+        final int freeCount = freeControlBatches.size();
+        final ControlBatch batch = freeCount > 0 ?
+            freeControlBatches.remove(freeCount - 1) : new ControlBatch(Configuration.MTU_LENGTH);
+        batch.address = controlAddress;
+        pendingControlBatches.add(batch);
+
+        return batch;
+    }
+
+    private void sendControlBatch(final ControlBatch batch)
+    {
+        final ByteBuffer byteBuffer = batch.byteBuffer;
+        byteBuffer.clear().limit(batch.length);
+
+        final int bytesSent = sendTo(byteBuffer, batch.address);
+        if (batch.length != bytesSent)
+        {
+            shortSends.increment();
+        }
+    }
+
+    private void updateZeroCopySource()
+    {
+        if (isZeroCopyReceive)
+        {
+            zeroCopySourceAddress = dispatcher.singleImageSourceAddress();
+        }
     }
 
     public void removeCoolDown(final int sessionId, final int streamId)
@@ -362,4 +593,24 @@ public class ReceiveChannelEndpoint extends UdpChannelTransport
     {
         return dispatcher.shouldElicitSetupMessage();
     }
-}
\ No newline at end of file
+
+    static final class ControlBatch
+    {
+        final ByteBuffer byteBuffer;
+        final UnsafeBuffer buffer;
+        InetSocketAddress address;
+        int length;
+
+        ControlBatch(final int capacity)
+        {
+            byteBuffer = NetworkUtil.allocateDirectAlignedAndPadded(capacity, CACHE_LINE_LENGTH);
+            buffer = new UnsafeBuffer(byteBuffer, 0, capacity);
+        }
+
+        void reset()
+        {
+            address = null;
+            length = 0;
+        }
+    }
+}
@@ -44,10 +44,11 @@ public class ReceiveChannelEndpointThreadLocals
     public ReceiveChannelEndpointThreadLocals(final MediaDriver.Context context)
     {
         final byte[] applicationSpecificFeedback = context.applicationSpecificFeedback();
-        final int smLength = StatusMessageFlyweight.HEADER_LENGTH + applicationSpecificFeedback.length;
+        final int smLength = StatusMessageFlyweight.HEADER_LENGTH +
+            Math.max(applicationSpecificFeedback.length, StatusMessageFlyweight.GROUP_TAG_LENGTH);
         final int bufferLength =
             BitUtil.align(smLength, CACHE_LINE_LENGTH) +
-            BitUtil.align(NakFlyweight.HEADER_LENGTH, CACHE_LINE_LENGTH) +
+            BitUtil.align(NakFlyweight.MAX_LENGTH, CACHE_LINE_LENGTH) +
             BitUtil.align(RttMeasurementFlyweight.HEADER_LENGTH, CACHE_LINE_LENGTH);
 
         final UUID uuid = UUID.randomUUID();
@@ -60,11 +61,11 @@ public class ReceiveChannelEndpointThreadLocals
         statusMessageFlyweight = new StatusMessageFlyweight(smBuffer);
 
         final int nakMessageOffset = BitUtil.align(smLength, 32);
-        byteBuffer.limit(nakMessageOffset + NakFlyweight.HEADER_LENGTH).position(nakMessageOffset);
+        byteBuffer.limit(nakMessageOffset + NakFlyweight.MAX_LENGTH).position(nakMessageOffset);
         nakBuffer = byteBuffer.slice();
         nakFlyweight = new NakFlyweight(nakBuffer);
 
-        final int rttMeasurementOffset = nakMessageOffset + BitUtil.align(NakFlyweight.HEADER_LENGTH, 32);
+        final int rttMeasurementOffset = nakMessageOffset + BitUtil.align(NakFlyweight.MAX_LENGTH, 32);
         byteBuffer.limit(rttMeasurementOffset + RttMeasurementFlyweight.HEADER_LENGTH).position(rttMeasurementOffset);
         rttMeasurementBuffer = byteBuffer.slice();
         rttMeasurementFlyweight = new RttMeasurementFlyweight(rttMeasurementBuffer);
@@ -33,6 +33,7 @@ import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.util.concurrent.TimeUnit;
 
+import static io.aeron.driver.AgentPoolUtil.increment;
 import static io.aeron.driver.status.ChannelEndpointStatus.status;
 import static io.aeron.driver.status.SystemCounterDescriptor.*;
 import static io.aeron.protocol.StatusMessageFlyweight.SEND_SETUP_FLAG;
@@ -45,10 +46,13 @@ import static io.aeron.protocol.StatusMessageFlyweight.SEND_SETUP_FLAG;
 public class SendChannelEndpoint extends UdpChannelTransport
 {
     private static final long DESTINATION_TIMEOUT = TimeUnit.SECONDS.toNanos(5);
+    private static final int MAX_SEGMENTED_SEND_LENGTH = Configuration.MAX_UDP_PAYLOAD_LENGTH;
 
     private int refCount = 0;
     private final BiInt2ObjectMap<NetworkPublication> publicationBySessionAndStreamId = new BiInt2ObjectMap<>();
     private final UdpDestinationTracker multiDestinationTracker;
+    private final boolean isSegmentedSend;
+    private final boolean isPooledSender;
     private final AtomicCounter statusMessagesReceived;
     private final AtomicCounter nakMessagesReceived;
     private final AtomicCounter statusIndicator;
@@ -61,12 +65,14 @@ public class SendChannelEndpoint extends UdpChannelTransport
             udpChannel.remoteControl(),
             udpChannel.localControl(),
             !udpChannel.hasExplicitControl() ? udpChannel.remoteData() : null,
+            context.datagramTransportSupplier().newInstance(udpChannel),
             context.errorLog(),
             context.systemCounters().get(INVALID_PACKETS));
 
         nakMessagesReceived = context.systemCounters().get(NAK_MESSAGES_RECEIVED);
         statusMessagesReceived = context.systemCounters().get(STATUS_MESSAGES_RECEIVED);
         this.statusIndicator = statusIndicator;
+        isPooledSender = context.senderCount() > 1;
 
         UdpDestinationTracker destinationTracker = null;
         if (udpChannel.hasExplicitControl())
@@ -83,6 +89,9 @@ public class SendChannelEndpoint extends UdpChannelTransport
         }
 
         multiDestinationTracker = destinationTracker;
+        isSegmentedSend = null == destinationTracker &&
+            "true".equals(udpChannel.channelUri().get(CommonContext.SEGMENTED_SEND_PARAM_NAME)) &&
+            datagramTransport.isSegmentedSendSupported();
     }
 
     public int decRef()
@@ -100,6 +109,17 @@ public class SendChannelEndpoint extends UdpChannelTransport
         openDatagramChannel(statusIndicator);
     }
 
+    /**
+     * Is this endpoint serviced by one of a pool of senders, in which case the system counters are shared between
+     * sender threads and must be incremented atomically.
+     *
+     * @return true if this endpoint is serviced by one of a pool of senders.
+     */
+    public boolean isPooledSender()
+    {
+        return isPooledSender;
+    }
+
     public String originalUriString()
     {
         return udpChannel().originalUriString();
@@ -172,7 +192,7 @@ public class SendChannelEndpoint extends UdpChannelTransport
             try
             {
                 presend(buffer, connectAddress);
-                byteSent = sendDatagramChannel.write(buffer);
+                byteSent = datagramTransport.send(buffer);
             }
             catch (final PortUnreachableException | ClosedChannelException ignore)
             {
@@ -184,12 +204,122 @@ public class SendChannelEndpoint extends UdpChannelTransport
         }
         else
         {
-            byteSent = multiDestinationTracker.sendToDestinations(sendDatagramChannel, buffer);
+            byteSent = multiDestinationTracker.sendToDestinations(datagramTransport, buffer);
         }
 
         return byteSent;
     }
 
+    /**
+     * Send a batch of datagrams which are laid out contiguously in a {@link ByteBuffer} starting at its position.
+     * <p>
+     * Datagrams are sent in order and the batch stops at the first datagram which cannot be sent in full. When
+     * segmented sends are enabled for the channel, see {@link CommonContext#SEGMENTED_SEND_PARAM_NAME}, and supported
+     * by the transport, runs of equal length datagrams are coalesced into a single
+     * {@link DatagramTransport#sendSegmented(ByteBuffer, int)} of no more than
+     * {@link Configuration#MAX_UDP_PAYLOAD_LENGTH}.
+     *
+     * @param buffer          containing the datagrams from its position.
+     * @param datagramLengths of the datagrams in the batch.
+     * @param datagramCount   of datagrams to be sent from the batch.
+     * @return number of datagrams sent in full.
+     */
+    public int send(final ByteBuffer buffer, final int[] datagramLengths, final int datagramCount)
+    {
+        if (isSegmentedSend)
+        {
+            return sendSegmented(buffer, datagramLengths, datagramCount);
+        }
+
+        final int limit = buffer.limit();
+        int offset = buffer.position();
+        int datagramsSent = 0;
+
+        for (int i = 0; i < datagramCount; i++)
+        {
+            final int length = datagramLengths[i];
+            buffer.limit(offset + length).position(offset);
+
+            if (length != send(buffer))
+            {
+                break;
+            }
+
+            offset += length;
+            datagramsSent++;
+        }
+
+        buffer.limit(limit);
+
+        return datagramsSent;
+    }
+
+    private int sendSegmented(final ByteBuffer buffer, final int[] datagramLengths, final int datagramCount)
+    {
+        final int limit = buffer.limit();
+        int offset = buffer.position();
+        int datagramsSent = 0;
+
+        while (datagramsSent < datagramCount)
+        {
+            final int segmentLength = datagramLengths[datagramsSent];
+            int segmentCount = 1;
+            int length = segmentLength;
+
+            while (datagramsSent + segmentCount < datagramCount)
+            {
+                final int nextLength = datagramLengths[datagramsSent + segmentCount];
+                if (nextLength > segmentLength || length + nextLength > MAX_SEGMENTED_SEND_LENGTH)
+                {
+                    break;
+                }
+
+                length += nextLength;
+                segmentCount++;
+
+                if (nextLength < segmentLength)
+                {
+                    break;
+                }
+            }
+
+            int bytesSent = 0;
+            try
+            {
+                for (int i = 0, segmentOffset = offset; i < segmentCount; i++)
+                {
+                    final int datagramLength = datagramLengths[datagramsSent + i];
+                    buffer.limit(segmentOffset + datagramLength).position(segmentOffset);
+                    presend(buffer, connectAddress);
+                    segmentOffset += datagramLength;
+                }
+
+                buffer.limit(offset + length).position(offset);
+                bytesSent = datagramTransport.sendSegmented(buffer, segmentLength);
+            }
+            catch (final PortUnreachableException | ClosedChannelException ignore)
+            {
+            }
+            catch (final IOException ex)
+            {
+                LangUtil.rethrowUnchecked(ex);
+            }
+
+            if (bytesSent != length)
+            {
+                datagramsSent += Math.min(bytesSent / segmentLength, segmentCount - 1);
+                break;
+            }
+
+            offset += length;
+            datagramsSent += segmentCount;
+        }
+
+        buffer.limit(limit);
+
+        return datagramsSent;
+    }
+
     /*
      * Method used as a hook for logging.
      */
@@ -213,7 +343,7 @@ public class SendChannelEndpoint extends UdpChannelTransport
             if (0 == msg.sessionId() && 0 == msg.streamId() && SEND_SETUP_FLAG == (msg.flags() & SEND_SETUP_FLAG))
             {
                 publicationBySessionAndStreamId.forEach(NetworkPublication::triggerSendSetupFrame);
-                statusMessagesReceived.orderedIncrement();
+                increment(statusMessagesReceived, isPooledSender);
             }
         }
 
@@ -228,7 +358,7 @@ public class SendChannelEndpoint extends UdpChannelTransport
                 publication.onStatusMessage(msg, srcAddress);
             }
 
-            statusMessagesReceived.orderedIncrement();
+            increment(statusMessagesReceived, isPooledSender);
         }
     }
 
@@ -243,8 +373,14 @@ public class SendChannelEndpoint extends UdpChannelTransport
 
         if (null != publication)
         {
-            publication.onNak(msg.termId(), msg.termOffset(), msg.length());
-            nakMessagesReceived.orderedIncrement();
+            final int termId = msg.termId();
+            final int rangeCount = NakFlyweight.rangeCount(Math.min(msg.frameLength(), length));
+            for (int i = 0; i < rangeCount; i++)
+            {
+                publication.onNak(termId, msg.rangeTermOffset(i), msg.rangeLength(i));
+            }
+
+            increment(nakMessagesReceived, isPooledSender);
         }
     }
 
@@ -263,6 +399,17 @@ public class SendChannelEndpoint extends UdpChannelTransport
         }
     }
 
+    /**
+     * Called periodically from the {@link Sender} to remove multi-destination-cast destinations which have timed out.
+     *
+     * @param nowNs current time.
+     * @return the number of destinations removed.
+     */
+    public int removeExpiredDestinations(final long nowNs)
+    {
+        return null != multiDestinationTracker ? multiDestinationTracker.removeExpiredDestinations(nowNs) : 0;
+    }
+
     public void validateAllowsManualControl()
     {
         if (null == multiDestinationTracker || !multiDestinationTracker.isManualControlMode())
@@ -15,7 +15,6 @@
  */
 package io.aeron.driver.media;
 
-import io.aeron.driver.Configuration;
 import io.aeron.driver.status.ChannelEndpointStatus;
 import io.aeron.protocol.HeaderFlyweight;
 import org.agrona.LangUtil;
@@ -31,7 +30,6 @@ import java.nio.channels.DatagramChannel;
 import java.nio.channels.SelectionKey;
 
 import static io.aeron.logbuffer.FrameDescriptor.frameVersion;
-import static java.net.StandardSocketOptions.*;
 
 public abstract class UdpChannelTransport implements AutoCloseable
 {
@@ -44,8 +42,7 @@ public abstract class UdpChannelTransport implements AutoCloseable
     protected InetSocketAddress bindAddress;
     protected InetSocketAddress endPointAddress;
     protected InetSocketAddress connectAddress;
-    protected DatagramChannel sendDatagramChannel;
-    protected DatagramChannel receiveDatagramChannel;
+    protected final DatagramTransport datagramTransport;
     protected int multicastTtl = 0;
 
     public UdpChannelTransport(
@@ -53,10 +50,12 @@ public abstract class UdpChannelTransport implements AutoCloseable
         final InetSocketAddress endPointAddress,
         final InetSocketAddress bindAddress,
         final InetSocketAddress connectAddress,
+        final DatagramTransport datagramTransport,
         final DistinctErrorLog errorLog,
         final AtomicCounter invalidPackets)
     {
         this.udpChannel = udpChannel;
+        this.datagramTransport = datagramTransport;
         this.errorLog = errorLog;
         this.endPointAddress = endPointAddress;
         this.bindAddress = bindAddress;
@@ -73,49 +72,12 @@ public abstract class UdpChannelTransport implements AutoCloseable
     {
         try
         {
-            sendDatagramChannel = DatagramChannel.open(udpChannel.protocolFamily());
-            receiveDatagramChannel = sendDatagramChannel;
+            datagramTransport.open(udpChannel, endPointAddress, bindAddress, connectAddress);
 
-            if (udpChannel.isMulticast())
+            if (udpChannel.isMulticast() && 0 != udpChannel.multicastTtl())
             {
-                if (null != connectAddress)
-                {
-                    receiveDatagramChannel = DatagramChannel.open(udpChannel.protocolFamily());
-                }
-
-                receiveDatagramChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
-                receiveDatagramChannel.bind(new InetSocketAddress(endPointAddress.getPort()));
-                receiveDatagramChannel.join(endPointAddress.getAddress(), udpChannel.localInterface());
-                sendDatagramChannel.setOption(StandardSocketOptions.IP_MULTICAST_IF, udpChannel.localInterface());
-
-                if (0 != udpChannel.multicastTtl())
-                {
-                    sendDatagramChannel.setOption(StandardSocketOptions.IP_MULTICAST_TTL, udpChannel.multicastTtl());
-                    multicastTtl = getOption(StandardSocketOptions.IP_MULTICAST_TTL);
-                }
-            }
-            else
-            {
-                sendDatagramChannel.bind(bindAddress);
-            }
-
-            if (null != connectAddress)
-            {
-                sendDatagramChannel.connect(connectAddress);
-            }
-
-            if (0 != Configuration.SOCKET_SNDBUF_LENGTH)
-            {
-                sendDatagramChannel.setOption(SO_SNDBUF, Configuration.SOCKET_SNDBUF_LENGTH);
+                multicastTtl = getOption(StandardSocketOptions.IP_MULTICAST_TTL);
             }
-
-            if (0 != Configuration.SOCKET_RCVBUF_LENGTH)
-            {
-                receiveDatagramChannel.setOption(SO_RCVBUF, Configuration.SOCKET_RCVBUF_LENGTH);
-            }
-
-            sendDatagramChannel.configureBlocking(false);
-            receiveDatagramChannel.configureBlocking(false);
         }
         catch (final IOException ex)
         {
@@ -147,13 +109,26 @@ public abstract class UdpChannelTransport implements AutoCloseable
     }
 
     /**
-     * The {@link DatagramChannel} for this transport channel.
+     * The {@link DatagramTransport} which performs the datagram I/O for this transport channel.
      *
-     * @return {@link DatagramChannel} for this transport channel.
+     * @return {@link DatagramTransport} which performs the datagram I/O for this transport channel.
      */
+    public DatagramTransport datagramTransport()
+    {
+        return datagramTransport;
+    }
+
+    /**
+     * The {@link DatagramChannel} on which datagrams are received when the transport is a {@link NioDatagramTransport}.
+     *
+     * @return {@link DatagramChannel} on which datagrams are received or null if not a {@link NioDatagramTransport}.
+     * @deprecated use {@link #datagramTransport()} as datagram I/O may not be performed with a {@link DatagramChannel}.
+     */
+    @Deprecated
     public DatagramChannel receiveDatagramChannel()
     {
-        return receiveDatagramChannel;
+        return datagramTransport instanceof NioDatagramTransport ?
+            ((NioDatagramTransport)datagramTransport).receiveDatagramChannel() : null;
     }
 
     /**
@@ -184,15 +159,7 @@ public abstract class UdpChannelTransport implements AutoCloseable
                 transportPoller.selectNowWithoutProcessing();
             }
 
-            if (null != sendDatagramChannel)
-            {
-                sendDatagramChannel.close();
-            }
-
-            if (receiveDatagramChannel != sendDatagramChannel && null != receiveDatagramChannel)
-            {
-                receiveDatagramChannel.close();
-            }
+            datagramTransport.close();
         }
         catch (final IOException ex)
         {
@@ -240,7 +207,7 @@ public abstract class UdpChannelTransport implements AutoCloseable
      * Receive a datagram from the media layer.
      *
      * @param buffer into which the datagram will be received.
-     * @return the source address of the datagram if one is available otherwise false.
+     * @return the source address of the datagram if one is available otherwise null.
      */
     public InetSocketAddress receive(final ByteBuffer buffer)
     {
@@ -249,7 +216,34 @@ public abstract class UdpChannelTransport implements AutoCloseable
         InetSocketAddress address = null;
         try
         {
-            address = (InetSocketAddress)receiveDatagramChannel.receive(buffer);
+            address = datagramTransport.receive(buffer);
+        }
+        catch (final PortUnreachableException | ClosedChannelException ignored)
+        {
+            // do nothing
+        }
+        catch (final Exception ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+
+        return address;
+    }
+
+    /**
+     * Receive a datagram from the media layer by scattering it across a header and a payload buffer from their
+     * positions, see {@link DatagramTransport#receive(ByteBuffer, ByteBuffer)}.
+     *
+     * @param header  into which the start of the datagram will be received.
+     * @param payload into which the rest of the datagram will be received.
+     * @return the source address of the datagram if one is available otherwise null.
+     */
+    public InetSocketAddress receive(final ByteBuffer header, final ByteBuffer payload)
+    {
+        InetSocketAddress address = null;
+        try
+        {
+            address = datagramTransport.receive(header, payload);
         }
         catch (final PortUnreachableException | ClosedChannelException ignored)
         {
@@ -275,7 +269,7 @@ public abstract class UdpChannelTransport implements AutoCloseable
         T option = null;
         try
         {
-            option = sendDatagramChannel.getOption(socketOption);
+            option = datagramTransport.getOption(socketOption);
         }
         catch (final IOException ex)
         {
@@ -25,11 +25,20 @@ import java.net.InetSocketAddress;
 import java.net.PortUnreachableException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
-import java.nio.channels.DatagramChannel;
 import java.util.ArrayList;
 
+/**
+ * Tracks the destinations of a multi-destination-cast channel.
+ * <p>
+ * The addresses of the destinations are kept in a compact array so a datagram can be sent to all of them with a
+ * single {@link DatagramTransport#sendToAll(ByteBuffer, InetSocketAddress[], int)}. Destinations which have timed out
+ * in dynamic control mode are removed by a periodic {@link #removeExpiredDestinations(long)} rather than on the send
+ * path.
+ */
 public class UdpDestinationTracker
 {
+    private static final InetSocketAddress[] EMPTY_ADDRESSES = new InetSocketAddress[0];
+
     public interface PreSendFunction
     {
         void presend(ByteBuffer buffer, InetSocketAddress address);
@@ -39,6 +48,7 @@ public class UdpDestinationTracker
     private final NanoClock nanoClock;
     private final PreSendFunction preSendFunction;
     private final long destinationTimeoutNs;
+    private InetSocketAddress[] addresses = EMPTY_ADDRESSES;
 
     public UdpDestinationTracker(
         final NanoClock nanoClock,
@@ -57,45 +67,68 @@ public class UdpDestinationTracker
         this.destinationTimeoutNs = 0;
     }
 
-    public int sendToDestinations(final DatagramChannel sendDatagramChannel, final ByteBuffer buffer)
+    public int sendToDestinations(final DatagramTransport datagramTransport, final ByteBuffer buffer)
     {
-        final ArrayList<Destination> destinationList = this.destinationList;
-        final long nowNs = nanoClock.nanoTime();
+        final InetSocketAddress[] addresses = this.addresses;
+        final int addressCount = addresses.length;
         int minByteSent = buffer.remaining();
 
-        for (int lastIndex = destinationList.size() - 1, i = lastIndex; i >= 0; i--)
+        if (addressCount > 0)
         {
-            final Destination destination = destinationList.get(i);
+            for (final InetSocketAddress address : addresses)
+            {
+                preSendFunction.presend(buffer, address);
+            }
 
-            if (nowNs > (destination.timeOfLastActivityNs + destinationTimeoutNs))
+            try
             {
-                ArrayListUtil.fastUnorderedRemove(destinationList, i, lastIndex);
-                lastIndex--;
+                minByteSent = datagramTransport.sendToAll(buffer, addresses, addressCount);
             }
-            else
+            catch (final PortUnreachableException | ClosedChannelException ignore)
             {
-                int byteSent = 0;
-                try
-                {
-                    preSendFunction.presend(buffer, destination.address);
+                minByteSent = 0;
+            }
+            catch (final IOException ex)
+            {
+                LangUtil.rethrowUnchecked(ex);
+            }
+        }
 
-                    final int position = buffer.position();
-                    byteSent = sendDatagramChannel.send(buffer, destination.address);
-                    buffer.position(position);
-                }
-                catch (final PortUnreachableException | ClosedChannelException ignore)
-                {
-                }
-                catch (final IOException ex)
+        return minByteSent;
+    }
+
+    /**
+     * Remove destinations which have not shown activity within the timeout. Manually controlled destinations do not
+     * expire.
+     *
+     * @param nowNs current time.
+     * @return the number of destinations removed.
+     */
+    public int removeExpiredDestinations(final long nowNs)
+    {
+        int removed = 0;
+
+        if (!isManualControlMode())
+        {
+            final ArrayList<Destination> destinationList = this.destinationList;
+            for (int lastIndex = destinationList.size() - 1, i = lastIndex; i >= 0; i--)
+            {
+                final Destination destination = destinationList.get(i);
+                if (nowNs > (destination.timeOfLastActivityNs + destinationTimeoutNs))
                 {
-                    LangUtil.rethrowUnchecked(ex);
+                    ArrayListUtil.fastUnorderedRemove(destinationList, i, lastIndex);
+                    lastIndex--;
+                    removed++;
                 }
+            }
 
-                minByteSent = Math.min(minByteSent, byteSent);
+            if (removed > 0)
+            {
+                updateAddresses();
             }
         }
 
-        return minByteSent;
+        return removed;
     }
 
     public void destinationActivity(final StatusMessageFlyweight msg, final InetSocketAddress destAddress)
@@ -122,6 +155,7 @@ public class UdpDestinationTracker
             if (!isExisting)
             {
                 destinationList.add(new Destination(nowNs, receiverId, destAddress));
+                updateAddresses();
             }
         }
     }
@@ -134,6 +168,7 @@ public class UdpDestinationTracker
     public void addDestination(final InetSocketAddress address)
     {
         destinationList.add(new Destination(Long.MAX_VALUE, 0, address));
+        updateAddresses();
     }
 
     public void removeDestination(final InetSocketAddress address)
@@ -147,11 +182,26 @@ public class UdpDestinationTracker
             if (address.equals(destination.address))
             {
                 ArrayListUtil.fastUnorderedRemove(destinationList, i, lastIndex);
+                updateAddresses();
                 break;
             }
         }
     }
 
+    private void updateAddresses()
+    {
+        final ArrayList<Destination> destinationList = this.destinationList;
+        final int size = destinationList.size();
+        final InetSocketAddress[] addresses = 0 == size ? EMPTY_ADDRESSES : new InetSocketAddress[size];
+
+        for (int i = 0; i < size; i++)
+        {
+            addresses[i] = destinationList.get(i).address;
+        }
+
+        this.addresses = addresses;
+    }
+
     public static class Destination
     {
         long timeOfLastActivityNs;
@@ -15,15 +15,48 @@
  */
 package io.aeron.driver.media;
 
+import io.aeron.driver.Configuration;
 import org.agrona.nio.TransportPoller;
 
 import java.nio.channels.SelectionKey;
 
 /**
  * Encapsulates the polling of a number of {@link UdpChannelTransport}s using whatever means provides the lowest latency.
+ * <p>
+ * Up to {@link #iterationThreshold()} transports are polled in turn, which avoids a select when few are registered.
+ * Above the threshold only those transports the {@link java.nio.channels.Selector} reports as ready for read are
+ * polled so idle transports add no cost to a poll.
  */
 public abstract class UdpTransportPoller extends TransportPoller
 {
+    /**
+     * Default number of transports above which the poller selects, which is the threshold of {@link TransportPoller}.
+     */
+    public static final int ITERATION_THRESHOLD_DEFAULT = ITERATION_THRESHOLD;
+
+    protected final int iterationThreshold;
+
+    public UdpTransportPoller()
+    {
+        this(Configuration.TRANSPORT_POLLER_ITERATION_THRESHOLD);
+    }
+
+    public UdpTransportPoller(final int iterationThreshold)
+    {
+        Configuration.validateTransportPollerIterationThreshold(iterationThreshold);
+        this.iterationThreshold = iterationThreshold;
+    }
+
+    /**
+     * Number of transports above which the poller selects for the transports which are ready for read.
+     *
+     * @return number of transports above which the poller selects for the transports which are ready for read.
+     */
+    public int iterationThreshold()
+    {
+        return iterationThreshold;
+    }
+
     /**
      * Explicit event loop processing as a poll
      *
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.status;
+
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+
+/**
+ * The lag of the slowest Subscriber behind the data available in an Image for a session-channel-stream tuple. For
+ * a {@link io.aeron.driver.PublicationImage} this is the distance behind the receiver high-water mark and for an
+ * {@link io.aeron.driver.IpcPublication} the distance behind the publisher position.
+ */
+public class SubscriberLag
+{
+    /**
+     * Human readable name for the counter.
+     */
+    public static final String NAME = "sub-lag";
+
+    /**
+     * Allocate a subscriber lag counter which is a {@link PerImageIndicator}.
+     *
+     * @param countersManager from which to allocated the underlying storage.
+     * @param registrationId  of the Image.
+     * @param sessionId       for the stream of messages.
+     * @param streamId        for the stream of messages.
+     * @param channel         for the stream of messages.
+     * @return a new {@link AtomicCounter} for tracking the lag in bytes.
+     */
+    public static AtomicCounter allocate(
+        final CountersManager countersManager,
+        final long registrationId,
+        final int sessionId,
+        final int streamId,
+        final String channel)
+    {
+        return PerImageIndicator.allocate(NAME, countersManager, registrationId, sessionId, streamId, channel);
+    }
+}
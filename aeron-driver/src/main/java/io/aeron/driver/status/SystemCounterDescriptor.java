@@ -46,7 +46,12 @@ public enum SystemCounterDescriptor
     UNBLOCKED_COMMANDS(20, "Unblocked Control Commands"),
     POSSIBLE_TTL_ASYMMETRY(21, "Possible TTL Asymmetry"),
     CONTROLLABLE_IDLE_STRATEGY(22, "ControllableIdleStrategy status"),
-    LOSS_GAP_FILLS(23, "Loss gap fills");
+    LOSS_GAP_FILLS(23, "Loss gap fills"),
+    SENDER_RATE_LIMITS(24, "Sender rate limits applied"),
+    FEC_RECOVERIES(25, "Loss recovered from FEC parity"),
+    RETRANSMITS_DROPPED(26, "Retransmits dropped"),
+    RETRANSMITS_COALESCED(27, "Retransmits coalesced"),
+    RETRANSMITS_DEDUPLICATED(28, "Retransmits deduplicated");
     /**
      * All system counters have the same type id, i.e. system counters are the same type. Other types can exist.
      */
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class AdaptiveDelayGeneratorTest
+{
+    private static final long INITIAL_DELAY_NS = 60_000_000;
+    private static final long MIN_DELAY_NS = 10_000;
+    private static final long MAX_DELAY_NS = 1_000_000_000;
+    private static final long MEASUREMENT_INTERVAL_NS = 100_000_000;
+
+    private final AdaptiveDelayGenerator unicastGenerator = new AdaptiveDelayGenerator(
+        INITIAL_DELAY_NS, MIN_DELAY_NS, MAX_DELAY_NS, MEASUREMENT_INTERVAL_NS, true);
+
+    @Test
+    public void shouldUseInitialDelayUntilMeasured()
+    {
+        assertThat(unicastGenerator.generateDelay(), is(INITIAL_DELAY_NS));
+        assertThat(unicastGenerator.shouldFeedbackImmediately(), is(true));
+    }
+
+    @Test
+    public void shouldDeriveDelayFromFirstMeasurement()
+    {
+        unicastGenerator.onRttMeasurement(0, 100_000);
+
+        assertThat(unicastGenerator.smoothedRttNs(), is(100_000L));
+        assertThat(unicastGenerator.rttVarianceNs(), is(50_000L));
+        assertThat(unicastGenerator.generateDelay(), is(300_000L));
+    }
+
+    @Test
+    public void shouldSmoothMeasurements()
+    {
+        unicastGenerator.onRttMeasurement(0, 100_000);
+        unicastGenerator.onRttMeasurement(1, 180_000);
+
+        assertThat(unicastGenerator.smoothedRttNs(), is(110_000L));
+        assertThat(unicastGenerator.rttVarianceNs(), is(57_500L));
+        assertThat(unicastGenerator.generateDelay(), is(340_000L));
+    }
+
+    @Test
+    public void shouldConvergeDelayToStableRtt()
+    {
+        for (int i = 0; i < 100; i++)
+        {
+            unicastGenerator.onRttMeasurement(i, 2_000_000);
+        }
+
+        assertThat(unicastGenerator.smoothedRttNs(), is(2_000_000L));
+        assertThat(unicastGenerator.generateDelay(), both(greaterThanOrEqualTo(2_000_000L)).and(lessThan(2_100_000L)));
+    }
+
+    @Test
+    public void shouldBoundDelay()
+    {
+        unicastGenerator.onRttMeasurement(0, 1_000);
+        assertThat(unicastGenerator.generateDelay(), is(MIN_DELAY_NS));
+
+        final AdaptiveDelayGenerator generator = new AdaptiveDelayGenerator(
+            INITIAL_DELAY_NS, MIN_DELAY_NS, MAX_DELAY_NS, MEASUREMENT_INTERVAL_NS, true);
+        generator.onRttMeasurement(0, MAX_DELAY_NS);
+        assertThat(generator.generateDelay(), is(MAX_DELAY_NS));
+    }
+
+    @Test
+    public void shouldIgnoreNegativeMeasurement()
+    {
+        unicastGenerator.onRttMeasurement(0, -1);
+
+        assertThat(unicastGenerator.generateDelay(), is(INITIAL_DELAY_NS));
+    }
+
+    @Test
+    public void shouldRandomiseDelayWithinBackoffForGroup()
+    {
+        final AdaptiveDelayGenerator generator = new AdaptiveDelayGenerator(
+            INITIAL_DELAY_NS, MIN_DELAY_NS, MAX_DELAY_NS, MEASUREMENT_INTERVAL_NS, 10, false);
+
+        generator.onRttMeasurement(0, 100_000);
+        final long maxBackoffNs = AdaptiveDelayGenerator.MULTICAST_BACKOFF_RTT_MULTIPLE * 300_000L;
+        assertThat(generator.delayNs(), is(maxBackoffNs));
+
+        for (int i = 0; i < 1000; i++)
+        {
+            assertThat(generator.generateDelay(), both(greaterThanOrEqualTo(0L)).and(lessThanOrEqualTo(maxBackoffNs)));
+        }
+    }
+
+    @Test
+    public void shouldMeasureRttOncePerInterval()
+    {
+        final long nowNs = 1_000_000_000;
+
+        assertThat(unicastGenerator.shouldMeasureRtt(nowNs), is(true));
+        assertThat(unicastGenerator.shouldMeasureRtt(nowNs + 1), is(false));
+        assertThat(unicastGenerator.shouldMeasureRtt(nowNs + MEASUREMENT_INTERVAL_NS), is(true));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.CommonContext;
+import io.aeron.driver.media.UdpChannel;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class AgentPoolUtilTest
+{
+    private static final String PARAM_NAME = CommonContext.RECEIVER_INDEX_PARAM_NAME;
+    private static final UdpChannel UDP_CHANNEL = UdpChannel.parse("aeron:udp?endpoint=localhost:40123");
+    private static final UdpChannel INDEXED_UDP_CHANNEL = UdpChannel.parse(
+        "aeron:udp?endpoint=localhost:40124|" + PARAM_NAME + "=2");
+
+    @Test
+    public void shouldAssignAllChannelsToOnlyAgent()
+    {
+        assertThat(AgentPoolUtil.agentIndex(UDP_CHANNEL, PARAM_NAME, 1), is(0));
+        assertThat(AgentPoolUtil.agentIndex(INDEXED_UDP_CHANNEL, PARAM_NAME, 1), is(0));
+    }
+
+    @Test
+    public void shouldAssignChannelByHashWithinPool()
+    {
+        final int index = AgentPoolUtil.agentIndex(UDP_CHANNEL, PARAM_NAME, 3);
+
+        assertThat(index, lessThan(3));
+        assertThat(
+            AgentPoolUtil.agentIndex(UdpChannel.parse("aeron:udp?endpoint=localhost:40123"), PARAM_NAME, 3),
+            is(index));
+    }
+
+    @Test
+    public void shouldAssignChannelByIndexParam()
+    {
+        assertThat(AgentPoolUtil.agentIndex(INDEXED_UDP_CHANNEL, PARAM_NAME, 3), is(2));
+    }
+
+    @Test
+    public void shouldIgnoreParamForOtherPool()
+    {
+        final String otherParamName = CommonContext.SENDER_INDEX_PARAM_NAME;
+
+        assertThat(
+            AgentPoolUtil.agentIndex(INDEXED_UDP_CHANNEL, otherParamName, 3),
+            is((INDEXED_UDP_CHANNEL.canonicalForm().hashCode() & Integer.MAX_VALUE) % 3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectIndexParamOutsidePool()
+    {
+        AgentPoolUtil.agentIndex(INDEXED_UDP_CHANNEL, PARAM_NAME, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectIndexParamWhichIsNotAnInteger()
+    {
+        final UdpChannel udpChannel = UdpChannel.parse("aeron:udp?endpoint=localhost:40125|" + PARAM_NAME + "=one");
+
+        AgentPoolUtil.agentIndex(udpChannel, PARAM_NAME, 2);
+    }
+
+    @Test
+    public void shouldIncrementAtomicallyOnlyWhenPooled()
+    {
+        final AtomicCounter pooledCounter = mock(AtomicCounter.class);
+        final AtomicCounter counter = mock(AtomicCounter.class);
+
+        AgentPoolUtil.increment(pooledCounter, true);
+        AgentPoolUtil.increment(counter, false);
+
+        verify(pooledCounter).increment();
+        verify(pooledCounter, never()).orderedIncrement();
+        verify(counter).orderedIncrement();
+        verify(counter, never()).increment();
+    }
+}
@@ -141,6 +141,7 @@ public class DriverConductorTest
             .nanoClock(nanoClock)
             .sendChannelEndpointSupplier(Configuration.sendChannelEndpointSupplier())
             .receiveChannelEndpointSupplier(Configuration.receiveChannelEndpointSupplier())
+            .datagramTransportSupplier(Configuration.datagramTransportSupplier())
             .congestControlSupplier(Configuration.congestionControlSupplier());
 
         ctx.toDriverCommands(fromClientCommands)
@@ -1151,6 +1152,28 @@ public class DriverConductorTest
         verify(receiverProxy, times(1)).closeReceiveChannelEndpoint(any());
     }
 
+    @Test
+    public void shouldErrorWhenPublicationAddedWithDifferentSendBurst() throws Exception
+    {
+        final String sendRateParams =
+            "|" + CommonContext.SEND_RATE_PARAM_NAME + "=1000000" +
+            "|" + CommonContext.SEND_BURST_PARAM_NAME + "=";
+
+        final long id1 = driverProxy.addPublication(CHANNEL_4000 + sendRateParams + 4096, STREAM_ID_1);
+        driverConductor.doWork();
+
+        final long id2 = driverProxy.addPublication(CHANNEL_4000 + sendRateParams + 4096, STREAM_ID_1);
+        driverConductor.doWork();
+
+        final long id3 = driverProxy.addPublication(CHANNEL_4000 + sendRateParams + 8192, STREAM_ID_1);
+        driverConductor.doWork();
+
+        verify(senderProxy, times(1)).newNetworkPublication(any());
+        verify(mockClientProxy, never()).onError(eq(id1), any(ErrorCode.class), anyString());
+        verify(mockClientProxy, never()).onError(eq(id2), any(ErrorCode.class), anyString());
+        verify(mockClientProxy).onError(eq(id3), any(ErrorCode.class), anyString());
+    }
+
     @Test
     public void shouldErrorWhenConflictingUnreliableSubscriptionAdded() throws Exception
     {
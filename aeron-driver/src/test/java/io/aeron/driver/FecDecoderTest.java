@@ -0,0 +1,237 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.logbuffer.FrameDescriptor;
+import io.aeron.logbuffer.TermRebuilder;
+import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.FecFlyweight;
+import io.aeron.protocol.HeaderFlyweight;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static io.aeron.logbuffer.LogBufferDescriptor.TERM_MIN_LENGTH;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class FecDecoderTest
+{
+    private static final int MTU_LENGTH = 1408;
+    private static final int GROUP_SIZE = 4;
+    private static final int SESSION_ID = 1;
+    private static final int STREAM_ID = 10;
+    private static final int TERM_ID = 7;
+    private static final int[] DATAGRAM_LENGTHS = { 1408, 96, 1024, 256 };
+
+    private final UnsafeBuffer senderTermBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(TERM_MIN_LENGTH));
+    private final UnsafeBuffer receiverTermBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(TERM_MIN_LENGTH));
+    private final FecEncoder fecEncoder = new FecEncoder(GROUP_SIZE, MTU_LENGTH, SESSION_ID, STREAM_ID);
+    private final FecDecoder fecDecoder = new FecDecoder(MTU_LENGTH);
+    private final FecFlyweight fecHeader = new FecFlyweight();
+    private final int[] datagramOffsets = new int[DATAGRAM_LENGTHS.length];
+
+    @Test
+    public void shouldRecoverSingleLostDatagram()
+    {
+        final int frameLength = encodeGroup(DATAGRAM_LENGTHS.length);
+        receiveAllExcept(2, -1);
+
+        assertThat(fecDecoder.recover(receiverTermBuffer, fecHeader, frameLength), is(DATAGRAM_LENGTHS[2]));
+        assertThat(fecDecoder.recoveredTermOffset(), is(datagramOffsets[2]));
+
+        final UnsafeBuffer recovered = fecDecoder.datagramBuffer();
+        for (int i = 0; i < DATAGRAM_LENGTHS[2]; i++)
+        {
+            assertThat(recovered.getByte(i), is(senderTermBuffer.getByte(datagramOffsets[2] + i)));
+        }
+    }
+
+    @Test
+    public void shouldRecoverFirstDatagramOfGroup()
+    {
+        final int frameLength = encodeGroup(DATAGRAM_LENGTHS.length);
+        receiveAllExcept(0, -1);
+
+        assertThat(fecDecoder.recover(receiverTermBuffer, fecHeader, frameLength), is(DATAGRAM_LENGTHS[0]));
+        assertThat(fecDecoder.recoveredTermOffset(), is(datagramOffsets[0]));
+    }
+
+    @Test
+    public void shouldNotRecoverWhenNothingLost()
+    {
+        final int frameLength = encodeGroup(DATAGRAM_LENGTHS.length);
+        receiveAllExcept(-1, -1);
+
+        assertThat(fecDecoder.recover(receiverTermBuffer, fecHeader, frameLength), is(0));
+    }
+
+    @Test
+    public void shouldNotRecoverWhenMoreThanOneDatagramLost()
+    {
+        final int frameLength = encodeGroup(DATAGRAM_LENGTHS.length);
+        receiveAllExcept(1, 3);
+
+        assertThat(fecDecoder.recover(receiverTermBuffer, fecHeader, frameLength), is(0));
+    }
+
+    @Test
+    public void shouldRecoverFromParityOfPartialGroup()
+    {
+        final int frameLength = encodeGroup(2);
+        receiveAllExcept(1, -1);
+
+        assertThat(fecHeader.datagramCount(), is(2));
+        assertThat(fecDecoder.recover(receiverTermBuffer, fecHeader, frameLength), is(DATAGRAM_LENGTHS[1]));
+        assertThat(fecDecoder.recoveredTermOffset(), is(datagramOffsets[1]));
+    }
+
+    @Test
+    public void shouldRestartGroupWhenDatagramsAreNotContiguous()
+    {
+        writeDatagram(0, 256, (byte)1);
+        fecEncoder.onDatagram(senderTermBuffer, TERM_ID, 0, 256);
+        writeDatagram(512, 128, (byte)2);
+        fecEncoder.onDatagram(senderTermBuffer, TERM_ID, 512, 128);
+
+        fecHeader.wrap(fecEncoder.parityFrame());
+
+        assertThat(fecHeader.datagramCount(), is(1));
+        assertThat(fecHeader.termOffset(), is(512));
+        assertThat(fecHeader.parityLength(), is(128));
+    }
+
+    @Test
+    public void shouldRecoverDatagramWhenGroupEndsWithPaddingHeader()
+    {
+        final int paddingOffset = 256 + 128;
+        writeDatagram(0, 256, (byte)1);
+        writeDatagram(256, 128, (byte)2);
+        writePaddingHeader(paddingOffset, TERM_MIN_LENGTH - paddingOffset);
+        fecEncoder.onDatagram(senderTermBuffer, TERM_ID, 0, 256);
+        fecEncoder.onDatagram(senderTermBuffer, TERM_ID, 256, 128 + DataHeaderFlyweight.HEADER_LENGTH);
+
+        final ByteBuffer parityFrame = fecEncoder.parityFrame();
+        final int frameLength = parityFrame.remaining();
+        fecHeader.wrap(parityFrame);
+
+        final int lastDatagramLength = 128 + DataHeaderFlyweight.HEADER_LENGTH;
+        TermRebuilder.insert(
+            receiverTermBuffer, 256, new UnsafeBuffer(senderTermBuffer, 256, lastDatagramLength), lastDatagramLength);
+
+        assertThat(fecDecoder.recover(receiverTermBuffer, fecHeader, frameLength), is(256));
+        assertThat(fecDecoder.recoveredTermOffset(), is(0));
+    }
+
+    @Test
+    public void shouldRecoverDatagramOfPaddingHeaderAlone()
+    {
+        writeDatagram(0, 256, (byte)1);
+        writePaddingHeader(256, TERM_MIN_LENGTH - 256);
+        fecEncoder.onDatagram(senderTermBuffer, TERM_ID, 0, 256);
+        fecEncoder.onDatagram(senderTermBuffer, TERM_ID, 256, DataHeaderFlyweight.HEADER_LENGTH);
+
+        final ByteBuffer parityFrame = fecEncoder.parityFrame();
+        final int frameLength = parityFrame.remaining();
+        fecHeader.wrap(parityFrame);
+
+        TermRebuilder.insert(receiverTermBuffer, 0, new UnsafeBuffer(senderTermBuffer, 0, 256), 256);
+
+        assertThat(
+            fecDecoder.recover(receiverTermBuffer, fecHeader, frameLength), is(DataHeaderFlyweight.HEADER_LENGTH));
+        assertThat(fecDecoder.recoveredTermOffset(), is(256));
+        assertThat(fecDecoder.datagramBuffer().getInt(0), is(TERM_MIN_LENGTH - 256));
+    }
+
+    private int encodeGroup(final int datagramCount)
+    {
+        int termOffset = 0;
+        boolean isGroupComplete = false;
+        for (int i = 0; i < datagramCount; i++)
+        {
+            datagramOffsets[i] = termOffset;
+            writeDatagram(termOffset, DATAGRAM_LENGTHS[i], (byte)(i + 1));
+            isGroupComplete = fecEncoder.onDatagram(senderTermBuffer, TERM_ID, termOffset, DATAGRAM_LENGTHS[i]);
+            termOffset += DATAGRAM_LENGTHS[i];
+        }
+
+        assertThat(isGroupComplete, is(GROUP_SIZE == datagramCount));
+
+        final ByteBuffer parityFrame = fecEncoder.parityFrame();
+        final int frameLength = parityFrame.remaining();
+        fecHeader.wrap(parityFrame);
+
+        assertThat(fecHeader.headerType(), is(HeaderFlyweight.HDR_TYPE_FEC));
+        assertThat(fecHeader.termId(), is(TERM_ID));
+        assertThat(fecHeader.termOffset(), is(0));
+        assertThat(fecHeader.datagramCount(), is(datagramCount));
+
+        return frameLength;
+    }
+
+    private void receiveAllExcept(final int lostIndex, final int otherLostIndex)
+    {
+        for (int i = 0; i < DATAGRAM_LENGTHS.length; i++)
+        {
+            if (i != lostIndex && i != otherLostIndex)
+            {
+                final UnsafeBuffer packet = new UnsafeBuffer(
+                    senderTermBuffer, datagramOffsets[i], DATAGRAM_LENGTHS[i]);
+                TermRebuilder.insert(receiverTermBuffer, datagramOffsets[i], packet, DATAGRAM_LENGTHS[i]);
+            }
+        }
+    }
+
+    private void writePaddingHeader(final int termOffset, final int frameLength)
+    {
+        final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
+        dataHeader.wrap(senderTermBuffer, termOffset, DataHeaderFlyweight.HEADER_LENGTH);
+        dataHeader
+            .termOffset(termOffset)
+            .sessionId(SESSION_ID)
+            .streamId(STREAM_ID)
+            .termId(TERM_ID)
+            .version(HeaderFlyweight.CURRENT_VERSION)
+            .flags((byte)DataHeaderFlyweight.BEGIN_AND_END_FLAGS)
+            .headerType(HeaderFlyweight.HDR_TYPE_PAD)
+            .frameLength(frameLength);
+    }
+
+    private void writeDatagram(final int termOffset, final int length, final byte value)
+    {
+        final int halfLength = length / 2;
+        final int frameLength = 0 == (halfLength & (FrameDescriptor.FRAME_ALIGNMENT - 1)) ? halfLength : length;
+        final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
+
+        for (int offset = termOffset; offset < termOffset + length; offset += frameLength)
+        {
+            dataHeader.wrap(senderTermBuffer, offset, frameLength);
+            dataHeader
+                .termOffset(offset)
+                .sessionId(SESSION_ID)
+                .streamId(STREAM_ID)
+                .termId(TERM_ID)
+                .version(HeaderFlyweight.CURRENT_VERSION)
+                .flags((byte)DataHeaderFlyweight.BEGIN_AND_END_FLAGS)
+                .headerType(HeaderFlyweight.HDR_TYPE_DATA)
+                .frameLength(frameLength);
+
+            senderTermBuffer.setMemory(
+                offset + DataHeaderFlyweight.HEADER_LENGTH, frameLength - DataHeaderFlyweight.HEADER_LENGTH, value);
+        }
+    }
+}
@@ -31,6 +31,7 @@ import org.agrona.concurrent.status.UnsafeBufferPosition;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
+import static io.aeron.logbuffer.LogBufferDescriptor.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
@@ -47,6 +48,7 @@ public class IpcPublicationTest
     private static final int BUFFER_LENGTH = 16 * 1024;
 
     private Position publisherLimit;
+    private Position subscriberLag;
     private IpcPublication ipcPublication;
 
     private DriverProxy driverProxy;
@@ -93,6 +95,7 @@ public class IpcPublicationTest
         ipcPublication = driverConductor.getSharedIpcPublication(STREAM_ID);
 
         publisherLimit = new UnsafeBufferPosition(counterBuffer, ipcPublication.publisherLimitId());
+        subscriberLag = new UnsafeBufferPosition(counterBuffer, ipcPublication.subscriberLagId());
     }
 
     @Test
@@ -122,4 +125,17 @@ public class IpcPublicationTest
 
         assertThat(publisherLimit.get(), is(greaterThan(0L)));
     }
+
+    @Test
+    public void shouldTrackSubscriberLagBehindPublisher() throws Exception
+    {
+        driverProxy.addSubscription(CommonContext.IPC_CHANNEL, STREAM_ID);
+        driverConductor.doWork();
+
+        final UnsafeBuffer metaData = ipcPublication.rawLog().metaData();
+        rawTail(metaData, 0, packTail(initialTermId(metaData), 1024));
+        ipcPublication.updatePublishersLimit();
+
+        assertThat(subscriberLag.get(), is(1024L));
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.driver.cmd.AddSubscriptionCmd;
+import io.aeron.driver.cmd.NewPublicationImageCmd;
+import io.aeron.driver.cmd.ReceiverCmd;
+import io.aeron.driver.cmd.RegisterReceiveChannelEndpointCmd;
+import io.aeron.driver.media.ReceiveChannelEndpoint;
+import io.aeron.driver.media.UdpChannel;
+import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public class ReceiverProxyTest
+{
+    private static final int STREAM_ID = 10;
+    private static final UdpChannel FIRST_UDP_CHANNEL = UdpChannel.parse(
+        "aeron:udp?endpoint=localhost:40123|receiver-index=0");
+    private static final UdpChannel OWNER_UDP_CHANNEL = UdpChannel.parse(
+        "aeron:udp?endpoint=localhost:40124|receiver-index=2");
+
+    private final OneToOneConcurrentArrayQueue<ReceiverCmd> commandQueue = new OneToOneConcurrentArrayQueue<>(16);
+    private final OneToOneConcurrentArrayQueue<ReceiverCmd> otherCommandQueue = new OneToOneConcurrentArrayQueue<>(16);
+    private final OneToOneConcurrentArrayQueue<ReceiverCmd> ownerCommandQueue = new OneToOneConcurrentArrayQueue<>(16);
+    private final Receiver firstReceiver = mock(Receiver.class);
+    private final Receiver otherReceiver = mock(Receiver.class);
+    private final Receiver ownerReceiver = mock(Receiver.class);
+    private final ReceiveChannelEndpoint firstChannelEndpoint = mock(ReceiveChannelEndpoint.class);
+    private final ReceiveChannelEndpoint ownerChannelEndpoint = mock(ReceiveChannelEndpoint.class);
+
+    @Before
+    public void setUp()
+    {
+        when(otherReceiver.commandQueue()).thenReturn(otherCommandQueue);
+        when(ownerReceiver.commandQueue()).thenReturn(ownerCommandQueue);
+        when(firstChannelEndpoint.udpChannel()).thenReturn(FIRST_UDP_CHANNEL);
+        when(ownerChannelEndpoint.udpChannel()).thenReturn(OWNER_UDP_CHANNEL);
+    }
+
+    @Test
+    public void shouldRouteEndpointLifecycleToQueueOfOwningReceiver()
+    {
+        final ReceiverProxy receiverProxy = newPooledReceiverProxy();
+        final PublicationImage image = mock(PublicationImage.class);
+
+        receiverProxy.registerReceiveChannelEndpoint(ownerChannelEndpoint);
+        receiverProxy.addSubscription(ownerChannelEndpoint, STREAM_ID);
+        receiverProxy.newPublicationImage(ownerChannelEndpoint, image);
+
+        assertThat(receiverProxy.receiver(OWNER_UDP_CHANNEL), is(ownerReceiver));
+        assertThat(ownerCommandQueue.poll(), instanceOf(RegisterReceiveChannelEndpointCmd.class));
+        assertThat(ownerCommandQueue.poll(), instanceOf(AddSubscriptionCmd.class));
+        assertThat(ownerCommandQueue.poll(), instanceOf(NewPublicationImageCmd.class));
+        assertThat(otherCommandQueue.size(), is(0));
+        assertThat(commandQueue.size(), is(0));
+    }
+
+    @Test
+    public void shouldRouteCommandsForFirstReceiverToQueueOfProxy()
+    {
+        final ReceiverProxy receiverProxy = newPooledReceiverProxy();
+
+        receiverProxy.addSubscription(firstChannelEndpoint, STREAM_ID);
+
+        assertThat(receiverProxy.receiver(FIRST_UDP_CHANNEL), is(firstReceiver));
+        assertThat(commandQueue.poll(), instanceOf(AddSubscriptionCmd.class));
+        assertThat(otherCommandQueue.size(), is(0));
+        assertThat(ownerCommandQueue.size(), is(0));
+        verifyZeroInteractions(firstReceiver);
+    }
+
+    @Test
+    public void shouldInvokeReceiverDirectlyWhenNotConcurrent()
+    {
+        final ReceiverProxy receiverProxy = new ReceiverProxy(
+            ThreadingMode.SHARED, commandQueue, mock(AtomicCounter.class));
+        receiverProxy.receiver(firstReceiver);
+
+        receiverProxy.addSubscription(ownerChannelEndpoint, STREAM_ID);
+
+        verify(firstReceiver).onAddSubscription(ownerChannelEndpoint, STREAM_ID);
+        assertThat(commandQueue.size(), is(0));
+    }
+
+    private ReceiverProxy newPooledReceiverProxy()
+    {
+        final ReceiverProxy receiverProxy = new ReceiverProxy(
+            ThreadingMode.DEDICATED, commandQueue, mock(AtomicCounter.class));
+        receiverProxy.receivers(new Receiver[]{ firstReceiver, otherReceiver, ownerReceiver });
+
+        return receiverProxy;
+    }
+}
@@ -19,6 +19,7 @@ import io.aeron.driver.buffer.*;
 import io.aeron.driver.cmd.*;
 import io.aeron.driver.media.*;
 import io.aeron.driver.reports.LossReport;
+import io.aeron.driver.status.SystemCounterDescriptor;
 import io.aeron.driver.status.SystemCounters;
 import io.aeron.logbuffer.*;
 import io.aeron.protocol.*;
@@ -30,14 +31,18 @@ import org.junit.*;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
 
+import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
 import static io.aeron.logbuffer.LogBufferDescriptor.*;
 import static java.lang.Integer.numberOfTrailingZeros;
 import static junit.framework.TestCase.assertTrue;
 import static org.agrona.BitUtil.align;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.*;
 
 public class ReceiverTest
@@ -141,7 +146,8 @@ public class ReceiverTest
         termBuffers = rawLog.termBuffers();
 
         final MediaDriver.Context context = new MediaDriver.Context()
-            .systemCounters(mockSystemCounters);
+            .systemCounters(mockSystemCounters)
+            .datagramTransportSupplier(Configuration.datagramTransportSupplier());
 
         context.receiveChannelEndpointThreadLocals(new ReceiveChannelEndpointThreadLocals(context));
 
@@ -183,9 +189,11 @@ public class ReceiverTest
             INITIAL_TERM_OFFSET,
             rawLog,
             mockFeedbackDelayGenerator,
+            Configuration.NAK_MAX_GAPS_DEFAULT,
             POSITIONS,
             mockHighestReceivedPosition,
             mockRebuildPosition,
+            mock(AtomicCounter.class),
             nanoClock,
             epochClock,
             mockSystemCounters,
@@ -265,9 +273,11 @@ public class ReceiverTest
                         INITIAL_TERM_OFFSET,
                         rawLog,
                         mockFeedbackDelayGenerator,
+                        Configuration.NAK_MAX_GAPS_DEFAULT,
                         POSITIONS,
                         mockHighestReceivedPosition,
                         mockRebuildPosition,
+                        mock(AtomicCounter.class),
                         nanoClock,
                         epochClock,
                         mockSystemCounters,
@@ -335,9 +345,11 @@ public class ReceiverTest
                         INITIAL_TERM_OFFSET,
                         rawLog,
                         mockFeedbackDelayGenerator,
+                        Configuration.NAK_MAX_GAPS_DEFAULT,
                         POSITIONS,
                         mockHighestReceivedPosition,
                         mockRebuildPosition,
+                        mock(AtomicCounter.class),
                         nanoClock,
                         epochClock,
                         mockSystemCounters,
@@ -408,9 +420,11 @@ public class ReceiverTest
                         INITIAL_TERM_OFFSET,
                         rawLog,
                         mockFeedbackDelayGenerator,
+                        Configuration.NAK_MAX_GAPS_DEFAULT,
                         POSITIONS,
                         mockHighestReceivedPosition,
                         mockRebuildPosition,
+                        mock(AtomicCounter.class),
                         nanoClock,
                         epochClock,
                         mockSystemCounters,
@@ -485,9 +499,11 @@ public class ReceiverTest
                         initialTermOffset,
                         rawLog,
                         mockFeedbackDelayGenerator,
+                        Configuration.NAK_MAX_GAPS_DEFAULT,
                         POSITIONS,
                         mockHighestReceivedPosition,
                         mockRebuildPosition,
+                        mock(AtomicCounter.class),
                         nanoClock,
                         epochClock,
                         mockSystemCounters,
@@ -575,6 +591,244 @@ public class ReceiverTest
         verify(mockImage, never()).removeFromDispatcher();
     }
 
+    @Test
+    public void shouldStampReceiveTimestampInReservedValueWhenEnabled()
+    {
+        final ReceiveChannelEndpoint mockChannelEndpoint = mock(ReceiveChannelEndpoint.class);
+        when(mockChannelEndpoint.isReceiveTimestamping()).thenReturn(true);
+        currentTime = 123_456_789L;
+
+        final PublicationImage image = new PublicationImage(
+            CORRELATION_ID,
+            Configuration.IMAGE_LIVENESS_TIMEOUT_NS,
+            mockChannelEndpoint,
+            senderAddress,
+            SESSION_ID,
+            STREAM_ID,
+            INITIAL_TERM_ID,
+            ACTIVE_TERM_ID,
+            INITIAL_TERM_OFFSET,
+            rawLog,
+            mockFeedbackDelayGenerator,
+            Configuration.NAK_MAX_GAPS_DEFAULT,
+            POSITIONS,
+            mockHighestReceivedPosition,
+            mockRebuildPosition,
+            mock(AtomicCounter.class),
+            nanoClock,
+            epochClock,
+            mockSystemCounters,
+            SOURCE_ADDRESS,
+            congestionControl,
+            lossReport,
+            true);
+
+        fillDataFrame(dataHeader, INITIAL_TERM_OFFSET, FAKE_PAYLOAD);
+        dataHeader.reservedValue(42L);
+        image.insertPacket(ACTIVE_TERM_ID, INITIAL_TERM_OFFSET, dataBuffer, dataHeader.frameLength());
+
+        final int readOutcome = TermReader.read(
+            termBuffers[ACTIVE_INDEX],
+            INITIAL_TERM_OFFSET,
+            (buffer, offset, length, header) -> assertThat(header.reservedValue(), is(currentTime)),
+            Integer.MAX_VALUE,
+            header,
+            mockErrorHandler,
+            0,
+            mockSubscriberPosition);
+
+        assertThat(readOutcome, is(1));
+    }
+
+    @Test
+    public void shouldRebuildLostDatagramFromFecParityFrame()
+    {
+        final int datagramLength = align(DataHeaderFlyweight.HEADER_LENGTH + FAKE_PAYLOAD.length, FRAME_ALIGNMENT);
+        final AtomicCounter fecRecoveries = mock(AtomicCounter.class);
+        when(mockSystemCounters.get(SystemCounterDescriptor.FEC_RECOVERIES)).thenReturn(fecRecoveries);
+        mtuLength(rawLog.metaData(), Configuration.MTU_LENGTH);
+
+        final PublicationImage image = new PublicationImage(
+            CORRELATION_ID,
+            Configuration.IMAGE_LIVENESS_TIMEOUT_NS,
+            mock(ReceiveChannelEndpoint.class),
+            senderAddress,
+            SESSION_ID,
+            STREAM_ID,
+            INITIAL_TERM_ID,
+            ACTIVE_TERM_ID,
+            INITIAL_TERM_OFFSET,
+            rawLog,
+            mockFeedbackDelayGenerator,
+            Configuration.NAK_MAX_GAPS_DEFAULT,
+            POSITIONS,
+            mockHighestReceivedPosition,
+            mockRebuildPosition,
+            mock(AtomicCounter.class),
+            nanoClock,
+            epochClock,
+            mockSystemCounters,
+            SOURCE_ADDRESS,
+            congestionControl,
+            lossReport,
+            true);
+
+        final UnsafeBuffer senderTermBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(2 * datagramLength));
+        final FecEncoder fecEncoder = new FecEncoder(2, Configuration.MTU_LENGTH, SESSION_ID, STREAM_ID);
+        for (int i = 0; i < 2; i++)
+        {
+            final int termOffset = INITIAL_TERM_OFFSET + (i * datagramLength);
+            fillDataFrame(dataHeader, termOffset, FAKE_PAYLOAD);
+            senderTermBuffer.putBytes(i * datagramLength, dataBuffer, 0, datagramLength);
+            fecEncoder.onDatagram(senderTermBuffer, ACTIVE_TERM_ID, i * datagramLength, datagramLength);
+        }
+
+        image.insertPacket(
+            ACTIVE_TERM_ID,
+            INITIAL_TERM_OFFSET + datagramLength,
+            new UnsafeBuffer(senderTermBuffer, datagramLength, datagramLength),
+            datagramLength);
+
+        final ByteBuffer parityFrame = fecEncoder.parityFrame();
+        image.onFecMessage(new FecFlyweight(parityFrame), parityFrame.remaining());
+
+        final int readOutcome = TermReader.read(
+            termBuffers[ACTIVE_INDEX],
+            INITIAL_TERM_OFFSET,
+            (buffer, offset, length, header) -> assertThat(length, is(FAKE_PAYLOAD.length)),
+            Integer.MAX_VALUE,
+            header,
+            mockErrorHandler,
+            0,
+            mockSubscriberPosition);
+
+        assertThat(readOutcome, is(2));
+        verify(fecRecoveries).orderedIncrement();
+    }
+
+    @Test
+    public void shouldInsertZeroCopyPacketAtHighWaterMark()
+    {
+        final int datagramLength = align(DataHeaderFlyweight.HEADER_LENGTH + FAKE_PAYLOAD.length, FRAME_ALIGNMENT);
+        mtuLength(rawLog.metaData(), Configuration.MTU_LENGTH);
+        final PublicationImage image = newPublicationImage();
+
+        assertNull(image.zeroCopyPayloadBuffer());
+
+        image.activate();
+        final ByteBuffer payloadBuffer = image.zeroCopyPayloadBuffer();
+        assertThat(payloadBuffer.position(), is(INITIAL_TERM_OFFSET + DataHeaderFlyweight.HEADER_LENGTH));
+        assertThat(payloadBuffer.limit(), is(INITIAL_TERM_OFFSET + Configuration.MTU_LENGTH + 1));
+        payloadBuffer.put(FAKE_PAYLOAD);
+
+        fillDataFrame(dataHeader, INITIAL_TERM_OFFSET, FAKE_PAYLOAD);
+        assertTrue(image.insertZeroCopyPacket(ACTIVE_TERM_ID, INITIAL_TERM_OFFSET, dataBuffer, datagramLength));
+        assertThat(mockHighestReceivedPosition.get(), is((long)datagramLength));
+
+        final int readOutcome = TermReader.read(
+            termBuffers[ACTIVE_INDEX],
+            INITIAL_TERM_OFFSET,
+            (buffer, offset, length, header) ->
+            {
+                final byte[] payload = new byte[length];
+                buffer.getBytes(offset, payload);
+                assertThat(payload, is(FAKE_PAYLOAD));
+            },
+            Integer.MAX_VALUE,
+            header,
+            mockErrorHandler,
+            0,
+            mockSubscriberPosition);
+
+        assertThat(readOutcome, is(1));
+    }
+
+    @Test
+    public void shouldNotInsertZeroCopyPacketAwayFromHighWaterMark()
+    {
+        final int datagramLength = align(DataHeaderFlyweight.HEADER_LENGTH + FAKE_PAYLOAD.length, FRAME_ALIGNMENT);
+        mtuLength(rawLog.metaData(), Configuration.MTU_LENGTH);
+        final PublicationImage image = newPublicationImage();
+        image.activate();
+
+        fillDataFrame(dataHeader, INITIAL_TERM_OFFSET, FAKE_PAYLOAD);
+        image.insertPacket(ACTIVE_TERM_ID, INITIAL_TERM_OFFSET, dataBuffer, datagramLength);
+
+        final ByteBuffer payloadBuffer = image.zeroCopyPayloadBuffer();
+        assertThat(payloadBuffer.position(), is(datagramLength + DataHeaderFlyweight.HEADER_LENGTH));
+
+        assertFalse(image.insertZeroCopyPacket(ACTIVE_TERM_ID, INITIAL_TERM_OFFSET, dataBuffer, datagramLength));
+        assertFalse(image.insertZeroCopyPacket(
+            ACTIVE_TERM_ID, INITIAL_TERM_OFFSET + (2 * datagramLength), dataBuffer, datagramLength));
+        assertFalse(image.insertZeroCopyPacket(
+            ACTIVE_TERM_ID, datagramLength, dataBuffer, DataHeaderFlyweight.HEADER_LENGTH));
+        assertThat(mockHighestReceivedPosition.get(), is((long)datagramLength));
+    }
+
+    @Test
+    public void shouldTrackSubscriberLagFromHighWaterMarkToSlowestSubscriber()
+    {
+        final int datagramLength = align(DataHeaderFlyweight.HEADER_LENGTH + FAKE_PAYLOAD.length, FRAME_ALIGNMENT);
+        final int termOffset = 4 * datagramLength;
+        final long hwmPosition = termOffset + datagramLength;
+        final CountersManager countersManager = new CountersManager(
+            new UnsafeBuffer(ByteBuffer.allocateDirect(16 * 1024)),
+            new UnsafeBuffer(ByteBuffer.allocateDirect(4 * 1024)),
+            StandardCharsets.US_ASCII);
+        final AtomicCounter subscriberLag = countersManager.newCounter("sub-lag");
+        final ReadablePosition slowSubscriberPosition = mock(ReadablePosition.class);
+        final ReadablePosition fastSubscriberPosition = mock(ReadablePosition.class);
+        when(slowSubscriberPosition.getVolatile()).thenReturn((long)datagramLength, hwmPosition);
+        when(fastSubscriberPosition.getVolatile()).thenReturn(hwmPosition);
+
+        final PublicationImage image = newPublicationImage(
+            new ReadablePosition[]{ slowSubscriberPosition, fastSubscriberPosition }, subscriberLag);
+
+        fillDataFrame(dataHeader, termOffset, FAKE_PAYLOAD);
+        image.insertPacket(ACTIVE_TERM_ID, termOffset, dataBuffer, datagramLength);
+        assertThat(mockHighestReceivedPosition.get(), is(hwmPosition));
+
+        image.trackRebuild(currentTime, STATUS_MESSAGE_TIMEOUT);
+        assertThat(subscriberLag.get(), is(hwmPosition - datagramLength));
+
+        image.trackRebuild(currentTime, STATUS_MESSAGE_TIMEOUT);
+        assertThat(subscriberLag.get(), is(0L));
+    }
+
+    private PublicationImage newPublicationImage()
+    {
+        return newPublicationImage(POSITIONS, mock(AtomicCounter.class));
+    }
+
+    private PublicationImage newPublicationImage(
+        final ReadablePosition[] subscriberPositions, final AtomicCounter subscriberLag)
+    {
+        return new PublicationImage(
+            CORRELATION_ID,
+            Configuration.IMAGE_LIVENESS_TIMEOUT_NS,
+            mock(ReceiveChannelEndpoint.class),
+            senderAddress,
+            SESSION_ID,
+            STREAM_ID,
+            INITIAL_TERM_ID,
+            ACTIVE_TERM_ID,
+            INITIAL_TERM_OFFSET,
+            rawLog,
+            mockFeedbackDelayGenerator,
+            Configuration.NAK_MAX_GAPS_DEFAULT,
+            subscriberPositions,
+            mockHighestReceivedPosition,
+            mockRebuildPosition,
+            subscriberLag,
+            nanoClock,
+            epochClock,
+            mockSystemCounters,
+            SOURCE_ADDRESS,
+            congestionControl,
+            lossReport,
+            true);
+    }
+
     private void fillDataFrame(final DataHeaderFlyweight header, final int termOffset, final byte[] payload)
     {
         header.wrap(dataBuffer);
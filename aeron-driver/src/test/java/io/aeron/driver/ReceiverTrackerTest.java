@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class ReceiverTrackerTest
+{
+    private static final long TIMEOUT_NS = 64_000;
+
+    private final ReceiverTracker tracker = new ReceiverTracker(TIMEOUT_NS);
+
+    @Test
+    public void shouldTrackMinimumAsReceiversAdvance()
+    {
+        tracker.onStatusMessage(1, 100, 200, 0, null);
+        tracker.onStatusMessage(2, 50, 150, 0, null);
+        tracker.onStatusMessage(3, 300, 400, 0, null);
+
+        assertThat(tracker.size(), is(3));
+        assertThat(tracker.minPositionPlusWindow(), is(150L));
+        assertThat(tracker.minPosition(), is(50L));
+
+        tracker.onStatusMessage(2, 250, 350, 0, null);
+        assertThat(tracker.minPositionPlusWindow(), is(200L));
+
+        tracker.onStatusMessage(1, 500, 600, 0, null);
+        assertThat(tracker.minPositionPlusWindow(), is(350L));
+        assertThat(tracker.size(), is(3));
+    }
+
+    @Test
+    public void shouldRemoveOnlyTimedOutReceivers()
+    {
+        tracker.onStatusMessage(1, 0, 100, 0, null);
+        tracker.onStatusMessage(2, 0, 200, TIMEOUT_NS / 2, null);
+
+        tracker.removeTimedOut(TIMEOUT_NS);
+        assertThat(tracker.size(), is(2));
+
+        tracker.onStatusMessage(1, 0, 100, TIMEOUT_NS, null);
+        tracker.removeTimedOut(TIMEOUT_NS * 2);
+        assertThat(tracker.size(), is(1));
+        assertThat(tracker.minPositionPlusWindow(), is(100L));
+
+        tracker.removeTimedOut(TIMEOUT_NS * 3);
+        assertThat(tracker.size(), is(0));
+        assertThat(tracker.minPositionPlusWindow(), is(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void shouldMatchLinearScanForManyReceivers()
+    {
+        final Random random = new Random(13);
+        final Map<Long, long[]> expected = new HashMap<>();
+        final long tickNs = TIMEOUT_NS / 64;
+        long timeNs = 0;
+
+        for (int i = 0; i < 100_000; i++)
+        {
+            timeNs += random.nextInt(100);
+
+            final long receiverId = random.nextInt(2000);
+            final long positionPlusWindow = random.nextInt(1_000_000);
+            tracker.onStatusMessage(receiverId, positionPlusWindow, positionPlusWindow, timeNs, null);
+            expected.put(receiverId, new long[]{ positionPlusWindow, timeNs });
+
+            if (0 == (i % 100))
+            {
+                tracker.removeTimedOut(timeNs);
+
+                int minSize = 0;
+                int maxSize = 0;
+                long minOfLive = Long.MAX_VALUE;
+                long minOfPossiblyLive = Long.MAX_VALUE;
+                for (final long[] state : expected.values())
+                {
+                    final long ageNs = timeNs - state[1];
+                    if (ageNs <= TIMEOUT_NS)
+                    {
+                        minSize++;
+                        minOfLive = Math.min(minOfLive, state[0]);
+                    }
+
+                    if (ageNs <= TIMEOUT_NS + (2 * tickNs))
+                    {
+                        maxSize++;
+                        minOfPossiblyLive = Math.min(minOfPossiblyLive, state[0]);
+                    }
+                }
+
+                assertThat(tracker.size(), both(greaterThanOrEqualTo(minSize)).and(lessThanOrEqualTo(maxSize)));
+                assertThat(
+                    tracker.minPositionPlusWindow(),
+                    both(greaterThanOrEqualTo(minOfPossiblyLive)).and(lessThanOrEqualTo(minOfLive)));
+            }
+        }
+    }
+}
@@ -80,6 +80,7 @@ public class SelectorAndTransportTest
         when(mockPublication.sessionId()).thenReturn(SESSION_ID);
 
         context.systemCounters(mockSystemCounters);
+        context.datagramTransportSupplier(Configuration.datagramTransportSupplier());
         context.receiveChannelEndpointThreadLocals(new ReceiveChannelEndpointThreadLocals(context));
     }
 
@@ -285,6 +286,46 @@ public class SelectorAndTransportTest
         verify(mockStatusMessagesReceivedCounter, times(1)).orderedIncrement();
     }
 
+    @Test(timeout = 1000)
+    public void shouldHandleBatchedControlFramesFromReceiverToSender() throws Exception
+    {
+        final AtomicInteger controlMessagesReceived = new AtomicInteger(0);
+
+        doAnswer(
+            (invocation) ->
+            {
+                controlMessagesReceived.incrementAndGet();
+                return null;
+            })
+            .when(mockPublication).onStatusMessage(any(), any());
+
+        receiveChannelEndpoint = new ReceiveChannelEndpoint(
+            UdpChannel.parse(RCV_DST.originalUriString() + "|control-batch=true"),
+            mockDispatcher,
+            mockReceiveStatusIndicator,
+            context);
+        sendChannelEndpoint = new SendChannelEndpoint(SRC_DST, mockSendStatusIndicator, context);
+        sendChannelEndpoint.registerForSend(mockPublication);
+
+        receiveChannelEndpoint.openDatagramChannel(mockReceiveStatusIndicator);
+        receiveChannelEndpoint.registerForRead(dataTransportPoller);
+        sendChannelEndpoint.openDatagramChannel(mockSendStatusIndicator);
+        sendChannelEndpoint.registerForRead(controlTransportPoller);
+
+        processLoop(dataTransportPoller, 5);
+        receiveChannelEndpoint.sendStatusMessage(rcvRemoteAddress, SESSION_ID, STREAM_ID, TERM_ID, 0, 1000, (short)0);
+        receiveChannelEndpoint.sendStatusMessage(rcvRemoteAddress, SESSION_ID, STREAM_ID, TERM_ID, 64, 1000, (short)0);
+
+        assertThat(dataTransportPoller.flushControlBatches(), is(1));
+
+        while (controlMessagesReceived.get() < 2)
+        {
+            processLoop(controlTransportPoller, 1);
+        }
+
+        verify(mockStatusMessagesReceivedCounter, times(2)).orderedIncrement();
+    }
+
     private void processLoop(final UdpTransportPoller transportPoller, final int iterations) throws Exception
     {
         for (int i = 0; i < iterations; i++)
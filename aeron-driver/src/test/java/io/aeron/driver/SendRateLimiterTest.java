@@ -0,0 +1,74 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class SendRateLimiterTest
+{
+    private static final long BYTES_PER_SECOND = 1_000_000;
+    private static final int BURST_LENGTH = 4096;
+
+    private final SendRateLimiter sendRateLimiter = new SendRateLimiter(BYTES_PER_SECOND, BURST_LENGTH, 0);
+
+    @Test
+    public void shouldStartWithFullBurst()
+    {
+        assertThat(sendRateLimiter.available(0), is(BURST_LENGTH));
+    }
+
+    @Test
+    public void shouldRefillAtRate()
+    {
+        sendRateLimiter.consume(BURST_LENGTH);
+        assertThat(sendRateLimiter.available(0), is(0));
+
+        assertThat(sendRateLimiter.available(TimeUnit.MICROSECONDS.toNanos(1000)), is(1000));
+        assertThat(sendRateLimiter.available(TimeUnit.MICROSECONDS.toNanos(1500)), is(1500));
+    }
+
+    @Test
+    public void shouldAccumulateFractionalRefills()
+    {
+        sendRateLimiter.consume(BURST_LENGTH);
+
+        for (long nowNs = 0; nowNs <= 10_000; nowNs += 100)
+        {
+            sendRateLimiter.available(nowNs);
+        }
+
+        assertThat(sendRateLimiter.available(10_000), is(10));
+    }
+
+    @Test
+    public void shouldNotRefillBeyondBurst()
+    {
+        sendRateLimiter.consume(1000);
+
+        assertThat(sendRateLimiter.available(TimeUnit.SECONDS.toNanos(10)), is(BURST_LENGTH));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNonPositiveRate()
+    {
+        new SendRateLimiter(0, BURST_LENGTH, 0);
+    }
+}
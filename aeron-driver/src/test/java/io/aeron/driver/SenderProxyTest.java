@@ -0,0 +1,94 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.driver.cmd.NewPublicationCmd;
+import io.aeron.driver.cmd.SenderCmd;
+import io.aeron.driver.media.SendChannelEndpoint;
+import io.aeron.driver.media.UdpChannel;
+import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SenderProxyTest
+{
+    private static final UdpChannel UDP_CHANNEL = UdpChannel.parse("aeron:udp?endpoint=localhost:40123");
+    private static final UdpChannel INDEXED_UDP_CHANNEL = UdpChannel.parse(
+        "aeron:udp?endpoint=localhost:40124|sender-index=2");
+
+    private final OneToOneConcurrentArrayQueue<SenderCmd> commandQueue = new OneToOneConcurrentArrayQueue<>(16);
+
+    @Test
+    public void shouldAssignAllChannelsToOnlySender()
+    {
+        assertThat(SenderProxy.senderIndex(UDP_CHANNEL, 1), is(0));
+        assertThat(SenderProxy.senderIndex(INDEXED_UDP_CHANNEL, 1), is(0));
+    }
+
+    @Test
+    public void shouldAssignChannelByHashWithinPool()
+    {
+        final int index = SenderProxy.senderIndex(UDP_CHANNEL, 3);
+
+        assertThat(index, lessThan(3));
+        assertThat(SenderProxy.senderIndex(UdpChannel.parse("aeron:udp?endpoint=localhost:40123"), 3), is(index));
+    }
+
+    @Test
+    public void shouldAssignChannelByIndexParam()
+    {
+        assertThat(SenderProxy.senderIndex(INDEXED_UDP_CHANNEL, 3), is(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectIndexParamOutsidePool()
+    {
+        SenderProxy.senderIndex(INDEXED_UDP_CHANNEL, 2);
+    }
+
+    @Test
+    public void shouldRoutePublicationToSenderOwningEndpoint()
+    {
+        final OneToOneConcurrentArrayQueue<SenderCmd> otherCommandQueue = new OneToOneConcurrentArrayQueue<>(16);
+        final OneToOneConcurrentArrayQueue<SenderCmd> ownerCommandQueue = new OneToOneConcurrentArrayQueue<>(16);
+        final Sender otherSender = mock(Sender.class);
+        final Sender ownerSender = mock(Sender.class);
+        when(otherSender.commandQueue()).thenReturn(otherCommandQueue);
+        when(ownerSender.commandQueue()).thenReturn(ownerCommandQueue);
+
+        final SenderProxy senderProxy = new SenderProxy(
+            ThreadingMode.DEDICATED, commandQueue, mock(AtomicCounter.class));
+        senderProxy.senders(new Sender[]{ mock(Sender.class), otherSender, ownerSender });
+
+        final SendChannelEndpoint channelEndpoint = mock(SendChannelEndpoint.class);
+        when(channelEndpoint.udpChannel()).thenReturn(INDEXED_UDP_CHANNEL);
+        final NetworkPublication publication = mock(NetworkPublication.class);
+        when(publication.channelEndpoint()).thenReturn(channelEndpoint);
+
+        senderProxy.newNetworkPublication(publication);
+
+        assertThat(ownerCommandQueue.poll(), instanceOf(NewPublicationCmd.class));
+        assertThat(otherCommandQueue.size(), is(0));
+        assertThat(commandQueue.size(), is(0));
+    }
+}
@@ -31,6 +31,7 @@ import io.aeron.logbuffer.HeaderWriter;
 import io.aeron.logbuffer.LogBufferDescriptor;
 import io.aeron.logbuffer.TermAppender;
 import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.FecFlyweight;
 import io.aeron.protocol.HeaderFlyweight;
 import io.aeron.protocol.SetupFlyweight;
 import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
@@ -67,6 +68,7 @@ public class SenderTest
     private static final int ALIGNED_FRAME_LENGTH = align(FRAME_LENGTH, FRAME_ALIGNMENT);
 
     private final ControlTransportPoller mockTransportPoller = mock(ControlTransportPoller.class);
+    private final SendChannelEndpoint mockSendChannelEndpoint = mock(SendChannelEndpoint.class);
 
     private final RawLog rawLog = LogBufferHelper.newTestLogBuffers(TERM_BUFFER_LENGTH);
 
@@ -104,10 +106,28 @@ public class SenderTest
             return length;
         };
 
+    private Answer<Integer> saveBatchAnswer =
+        (invocation) ->
+        {
+            final Object args[] = invocation.getArguments();
+            final ByteBuffer buffer = (ByteBuffer)args[0];
+            final int[] datagramLengths = (int[])args[1];
+            final int datagramCount = (Integer)args[2];
+
+            for (int i = 0; i < datagramCount; i++)
+            {
+                final ByteBuffer datagram = buffer.duplicate();
+                datagram.limit(datagram.position() + datagramLengths[i]);
+                receivedFrames.add(ByteBuffer.allocateDirect(datagramLengths[i]).put(datagram));
+                buffer.position(buffer.position() + datagramLengths[i]);
+            }
+
+            return datagramCount;
+        };
+
     @Before
     public void setUp() throws Exception
     {
-        final SendChannelEndpoint mockSendChannelEndpoint = mock(SendChannelEndpoint.class);
         when(mockSendChannelEndpoint.udpChannel()).thenReturn(udpChannel);
         when(mockSendChannelEndpoint.send(any())).thenAnswer(saveByteBufferAnswer);
         when(mockSystemCounters.get(any())).thenReturn(mock(AtomicCounter.class));
@@ -139,6 +159,9 @@ public class SenderTest
             STREAM_ID,
             INITIAL_TERM_ID,
             MAX_FRAME_LENGTH,
+            Configuration.SEND_BATCH_SIZE_DEFAULT,
+            null,
+            null,
             mockSystemCounters,
             flowControl,
             mockRetransmitHandler,
@@ -488,6 +511,212 @@ public class SenderTest
         assertThat(dataHeader.termOffset(), is(offsetOfMessage(2)));
     }
 
+    @Test
+    public void shouldGatherMultipleDatagramsIntoBatchedSend()
+    {
+        final int sendBatchSize = 4;
+        final int messageCount = 3;
+        final int payloadLength = MAX_FRAME_LENGTH - DataHeaderFlyweight.HEADER_LENGTH;
+        final RawLog batchRawLog = LogBufferHelper.newTestLogBuffers(TERM_BUFFER_LENGTH);
+        LogBufferDescriptor.initialiseTailWithTermId(batchRawLog.metaData(), 0, INITIAL_TERM_ID);
+        final TermAppender termAppender = new TermAppender(batchRawLog.termBuffers()[0], batchRawLog.metaData(), 0);
+        final Position senderPosition = new AtomicLongPosition();
+
+        when(mockSendChannelEndpoint.send(any(), any(), anyInt())).thenAnswer(saveBatchAnswer);
+
+        final NetworkPublication batchPublication = new NetworkPublication(
+            2,
+            mockSendChannelEndpoint,
+            () -> currentTimestamp,
+            batchRawLog,
+            mock(Position.class),
+            senderPosition,
+            new AtomicLongPosition(),
+            SESSION_ID,
+            STREAM_ID,
+            INITIAL_TERM_ID,
+            MAX_FRAME_LENGTH,
+            sendBatchSize,
+            null,
+            null,
+            mockSystemCounters,
+            flowControl,
+            mockRetransmitHandler,
+            new NetworkPublicationThreadLocals(),
+            Configuration.PUBLICATION_UNBLOCK_TIMEOUT_NS,
+            Configuration.PUBLICATION_CONNECTION_TIMEOUT_NS,
+            false,
+            false);
+
+        final StatusMessageFlyweight msg = mock(StatusMessageFlyweight.class);
+        when(msg.consumptionTermId()).thenReturn(INITIAL_TERM_ID);
+        when(msg.consumptionTermOffset()).thenReturn(0);
+        when(msg.receiverWindowLength()).thenReturn(messageCount * MAX_FRAME_LENGTH);
+        batchPublication.onStatusMessage(msg, rcvAddress);
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(payloadLength));
+        for (int i = 0; i < messageCount; i++)
+        {
+            termAppender.appendUnfragmentedMessage(headerWriter, buffer, 0, payloadLength, null, INITIAL_TERM_ID);
+        }
+
+        final int bytesSent = batchPublication.send(currentTimestamp);
+
+        assertThat(bytesSent, is(messageCount * MAX_FRAME_LENGTH));
+        assertThat(senderPosition.get(), is((long)(messageCount * MAX_FRAME_LENGTH)));
+        verify(mockSendChannelEndpoint, times(1)).send(any(), any(), eq(messageCount));
+
+        assertThat(receivedFrames.size(), is(messageCount + 1));
+        setupHeader.wrap(new UnsafeBuffer(receivedFrames.remove()));
+        assertThat(setupHeader.headerType(), is(HeaderFlyweight.HDR_TYPE_SETUP));
+
+        for (int i = 0; i < messageCount; i++)
+        {
+            dataHeader.wrap(new UnsafeBuffer(receivedFrames.remove()));
+            assertThat(dataHeader.frameLength(), is(MAX_FRAME_LENGTH));
+            assertThat(dataHeader.termOffset(), is(i * MAX_FRAME_LENGTH));
+        }
+    }
+
+    @Test
+    public void shouldSendOneParityFrameForEachFullGroupOfDatagrams()
+    {
+        final int groupSize = 3;
+        final NetworkPublication fecPublication = newFecPublication(groupSize, groupSize);
+
+        for (int i = 0; i < groupSize; i++)
+        {
+            fecPublication.send(currentTimestamp);
+        }
+
+        fecPublication.send(currentTimestamp);
+        fecPublication.send(currentTimestamp);
+
+        setupHeader.wrap(new UnsafeBuffer(receivedFrames.remove()));
+        assertThat(setupHeader.headerType(), is(HeaderFlyweight.HDR_TYPE_SETUP));
+
+        for (int i = 0; i < groupSize; i++)
+        {
+            dataHeader.wrap(new UnsafeBuffer(receivedFrames.remove()));
+            assertThat(dataHeader.headerType(), is(HeaderFlyweight.HDR_TYPE_DATA));
+            assertThat(dataHeader.termOffset(), is(i * MAX_FRAME_LENGTH));
+        }
+
+        final FecFlyweight fecHeader = new FecFlyweight(receivedFrames.remove());
+        assertThat(fecHeader.headerType(), is(HeaderFlyweight.HDR_TYPE_FEC));
+        assertThat(fecHeader.termOffset(), is(0));
+        assertThat(fecHeader.datagramCount(), is(groupSize));
+        assertThat(receivedFrames.size(), is(0));
+    }
+
+    @Test
+    public void shouldSendParityFrameForPartialGroupOnlyAfterLinger()
+    {
+        final int messageCount = 2;
+        final NetworkPublication fecPublication = newFecPublication(4, messageCount);
+
+        for (int i = 0; i < messageCount; i++)
+        {
+            fecPublication.send(currentTimestamp);
+        }
+
+        currentTimestamp += Configuration.PUBLICATION_HEARTBEAT_TIMEOUT_NS - 1;
+        fecPublication.send(currentTimestamp);
+
+        assertThat(receivedFrames.size(), is(1 + messageCount));
+        receivedFrames.clear();
+
+        currentTimestamp += 1;
+        fecPublication.send(currentTimestamp);
+
+        int fecFrameCount = 0;
+        while (!receivedFrames.isEmpty())
+        {
+            final FecFlyweight fecHeader = new FecFlyweight(receivedFrames.remove());
+            if (HeaderFlyweight.HDR_TYPE_FEC == fecHeader.headerType())
+            {
+                assertThat(fecHeader.datagramCount(), is(messageCount));
+                fecFrameCount++;
+            }
+        }
+
+        assertThat(fecFrameCount, is(1));
+    }
+
+    @Test
+    public void shouldRunPooledSenderOnItsOwnCommandQueueAndControlPoller()
+    {
+        final Sender pooledSender = new Sender(
+            new MediaDriver.Context()
+                .senderCount(2)
+                .controlTransportPoller(mockTransportPoller)
+                .systemCounters(mockSystemCounters)
+                .senderCommandQueue(senderCommandQueue)
+                .nanoClock(() -> currentTimestamp),
+            1);
+
+        try
+        {
+            assertThat(pooledSender.roleName(), is("sender-1"));
+            assertThat(pooledSender.commandQueue() == senderCommandQueue, is(false));
+
+            pooledSender.doWork();
+
+            verify(mockTransportPoller, never()).pollTransports();
+            assertThat(senderCommandQueue.size(), is(1));
+        }
+        finally
+        {
+            pooledSender.onClose();
+        }
+    }
+
+    private NetworkPublication newFecPublication(final int groupSize, final int messageCount)
+    {
+        final int payloadLength = MAX_FRAME_LENGTH - DataHeaderFlyweight.HEADER_LENGTH;
+        final RawLog fecRawLog = LogBufferHelper.newTestLogBuffers(TERM_BUFFER_LENGTH);
+        LogBufferDescriptor.initialiseTailWithTermId(fecRawLog.metaData(), 0, INITIAL_TERM_ID);
+        final TermAppender termAppender = new TermAppender(fecRawLog.termBuffers()[0], fecRawLog.metaData(), 0);
+
+        final NetworkPublication fecPublication = new NetworkPublication(
+            3,
+            mockSendChannelEndpoint,
+            () -> currentTimestamp,
+            fecRawLog,
+            mock(Position.class),
+            new AtomicLongPosition(),
+            new AtomicLongPosition(),
+            SESSION_ID,
+            STREAM_ID,
+            INITIAL_TERM_ID,
+            MAX_FRAME_LENGTH,
+            1,
+            null,
+            new FecEncoder(groupSize, MAX_FRAME_LENGTH, SESSION_ID, STREAM_ID),
+            mockSystemCounters,
+            flowControl,
+            mockRetransmitHandler,
+            new NetworkPublicationThreadLocals(),
+            Configuration.PUBLICATION_UNBLOCK_TIMEOUT_NS,
+            Configuration.PUBLICATION_CONNECTION_TIMEOUT_NS,
+            false,
+            false);
+
+        final StatusMessageFlyweight msg = mock(StatusMessageFlyweight.class);
+        when(msg.consumptionTermId()).thenReturn(INITIAL_TERM_ID);
+        when(msg.consumptionTermOffset()).thenReturn(0);
+        when(msg.receiverWindowLength()).thenReturn(messageCount * MAX_FRAME_LENGTH);
+        fecPublication.onStatusMessage(msg, rcvAddress);
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(payloadLength));
+        for (int i = 0; i < messageCount; i++)
+        {
+            termAppender.appendUnfragmentedMessage(headerWriter, buffer, 0, payloadLength, null, INITIAL_TERM_ID);
+        }
+
+        return fecPublication;
+    }
+
     private int offsetOfMessage(final int offset)
     {
         return (offset - 1) * align(HEADER.capacity() + PAYLOAD.length, FRAME_ALIGNMENT);
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver;
+
+import io.aeron.driver.media.UdpChannel;
+import io.aeron.protocol.StatusMessageFlyweight;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class TaggedMulticastFlowControlTest
+{
+    private static final int INITIAL_TERM_ID = 7;
+    private static final int POSITION_BITS_TO_SHIFT = 16;
+    private static final int WINDOW_LENGTH = 1024;
+    private static final long GROUP_TAG = 0x1234_5678_9ABC_DEF0L;
+    private static final InetSocketAddress ADDRESS = new InetSocketAddress("localhost", 40123);
+
+    private final StatusMessageFlyweight statusMessage = new StatusMessageFlyweight(
+        new UnsafeBuffer(ByteBuffer.allocateDirect(StatusMessageFlyweight.HEADER_LENGTH + 64)));
+
+    @Test
+    public void shouldEncodeGroupTagInStatusMessage()
+    {
+        statusMessage.groupTag(GROUP_TAG);
+
+        assertThat(statusMessage.hasGroupTag(), is(true));
+        assertThat(statusMessage.groupTag(), is(GROUP_TAG));
+        assertThat(statusMessage.frameLength(), is(StatusMessageFlyweight.HEADER_LENGTH + 8));
+    }
+
+    @Test
+    public void shouldTrackSlowestMemberOfGroupOnly()
+    {
+        final TaggedMulticastFlowControl flowControl = new TaggedMulticastFlowControl(GROUP_TAG, 0);
+
+        long senderLimit = onStatusMessage(flowControl, 1, GROUP_TAG, 1000, 0);
+        assertThat(senderLimit, is(1000L + WINDOW_LENGTH));
+
+        senderLimit = onStatusMessage(flowControl, 2, null, 10, senderLimit);
+        assertThat(senderLimit, is(1000L + WINDOW_LENGTH));
+
+        senderLimit = onStatusMessage(flowControl, 3, GROUP_TAG + 1, 10, senderLimit);
+        assertThat(senderLimit, is(1000L + WINDOW_LENGTH));
+
+        senderLimit = onStatusMessage(flowControl, 4, GROUP_TAG, 2000, senderLimit);
+        assertThat(senderLimit, is(1000L + WINDOW_LENGTH));
+
+        senderLimit = onStatusMessage(flowControl, 1, GROUP_TAG, 3000, senderLimit);
+        assertThat(senderLimit, is(2000L + WINDOW_LENGTH));
+        assertThat(flowControl.groupSize(), is(2));
+    }
+
+    @Test
+    public void shouldHoldSenderUntilGroupMinSizeReached()
+    {
+        final TaggedMulticastFlowControl flowControl = new TaggedMulticastFlowControl(null, 3);
+
+        long senderLimit = onStatusMessage(flowControl, 1, null, 1000, 0);
+        assertThat(senderLimit, is(0L));
+
+        senderLimit = onStatusMessage(flowControl, 2, GROUP_TAG, 2000, senderLimit);
+        assertThat(senderLimit, is(0L));
+        assertThat(flowControl.onIdle(0, senderLimit, 0, false), is(0L));
+
+        senderLimit = onStatusMessage(flowControl, 3, null, 3000, senderLimit);
+        assertThat(senderLimit, is(1000L + WINDOW_LENGTH));
+        assertThat(flowControl.onIdle(0, senderLimit, 0, false), is(1000L + WINDOW_LENGTH));
+    }
+
+    @Test
+    public void shouldTimeoutMembersAndMoveToNextSlowest()
+    {
+        final TaggedMulticastFlowControl flowControl = new TaggedMulticastFlowControl(GROUP_TAG, 0);
+        final long timeoutNs = TimeUnit.SECONDS.toNanos(2);
+
+        onStatusMessage(flowControl, 1, GROUP_TAG, 1000, 0, 0);
+        onStatusMessage(flowControl, 2, GROUP_TAG, 5000, 0, timeoutNs);
+
+        assertThat(flowControl.onIdle(timeoutNs, 0, 0, false), is(1000L + WINDOW_LENGTH));
+        assertThat(flowControl.onIdle(timeoutNs + (timeoutNs / 2), 0, 0, false), is(5000L + WINDOW_LENGTH));
+        assertThat(flowControl.groupSize(), is(1));
+    }
+
+    @Test
+    public void shouldBuildFromChannelUri()
+    {
+        final UdpChannel udpChannel = UdpChannel.parse(
+            "aeron:udp?endpoint=224.20.30.39:54326|interface=localhost|group-tag=" + GROUP_TAG + "|group-min-size=2");
+        final TaggedMulticastFlowControl flowControl =
+            (TaggedMulticastFlowControl)new TaggedMulticastFlowControlSupplier().newInstance(udpChannel, 1, 1);
+
+        assertThat(onStatusMessage(flowControl, 1, GROUP_TAG, 1000, 0), is(0L));
+        assertThat(onStatusMessage(flowControl, 2, GROUP_TAG, 1000, 0), is(1000L + WINDOW_LENGTH));
+    }
+
+    private long onStatusMessage(
+        final TaggedMulticastFlowControl flowControl,
+        final long receiverId,
+        final Long groupTag,
+        final int termOffset,
+        final long senderLimit)
+    {
+        return onStatusMessage(flowControl, receiverId, groupTag, termOffset, senderLimit, 0);
+    }
+
+    private long onStatusMessage(
+        final TaggedMulticastFlowControl flowControl,
+        final long receiverId,
+        final Long groupTag,
+        final int termOffset,
+        final long senderLimit,
+        final long timeNs)
+    {
+        statusMessage
+            .consumptionTermId(INITIAL_TERM_ID)
+            .consumptionTermOffset(termOffset)
+            .receiverWindowLength(WINDOW_LENGTH)
+            .receiverId(receiverId)
+            .frameLength(StatusMessageFlyweight.HEADER_LENGTH);
+
+        if (null != groupTag)
+        {
+            statusMessage.groupTag(groupTag);
+        }
+
+        return flowControl.onStatusMessage(
+            statusMessage, ADDRESS, senderLimit, INITIAL_TERM_ID, POSITION_BITS_TO_SHIFT, timeNs);
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.ext;
+
+import io.aeron.driver.CongestionControlUtil;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.media.UdpChannel;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.CountersManager;
+import org.junit.After;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.aeron.driver.ext.BbrCongestionControl.State.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+
+public class BbrCongestionControlTest
+{
+    private static final int MTU_LENGTH = 1408;
+    private static final int TERM_LENGTH = 16 * 1024 * 1024;
+    private static final long BYTES_PER_SECOND = 100 * 1024 * 1024;
+    private static final long STEP_NS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long RTT_NS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final UdpChannel UDP_CHANNEL = UdpChannel.parse("aeron:udp?endpoint=localhost:40123");
+    private static final InetSocketAddress SOURCE_ADDRESS = new InetSocketAddress("localhost", 40124);
+
+    private final CountersManager countersManager = new CountersManager(
+        new UnsafeBuffer(ByteBuffer.allocateDirect(64 * 1024)),
+        new UnsafeBuffer(ByteBuffer.allocateDirect(16 * 1024)),
+        StandardCharsets.US_ASCII);
+
+    private final List<BbrCongestionControl> congestionControls = new ArrayList<>();
+    private long nowNs = 0;
+    private long position = 0;
+
+    @After
+    public void tearDown()
+    {
+        congestionControls.forEach(BbrCongestionControl::close);
+    }
+
+    @Test
+    public void shouldStartWithInitialWindow()
+    {
+        final BbrCongestionControl congestionControl = newCongestionControl(TERM_LENGTH);
+
+        assertThat(congestionControl.initialWindowLength(), is(10 * MTU_LENGTH));
+        assertThat(congestionControl.state(), is(STARTUP));
+        assertThat(window(step(congestionControl, false)), is(10 * MTU_LENGTH));
+    }
+
+    @Test
+    public void shouldMoveThroughDrainToProbeBwWhenBandwidthStopsGrowing()
+    {
+        final BbrCongestionControl congestionControl = newCongestionControl(TERM_LENGTH);
+        congestionControl.onRttMeasurement(nowNs, RTT_NS, SOURCE_ADDRESS);
+
+        final List<BbrCongestionControl.State> states = new ArrayList<>();
+        states.add(congestionControl.state());
+
+        for (int i = 0; i < 500; i++)
+        {
+            final long outcome = step(congestionControl, false);
+            final BbrCongestionControl.State state = congestionControl.state();
+            if (state != states.get(states.size() - 1))
+            {
+                states.add(state);
+                assertThat(CongestionControlUtil.shouldForceStatusMessage(outcome), is(true));
+            }
+        }
+
+        assertThat(states, contains(STARTUP, DRAIN, PROBE_BW));
+        assertThat(congestionControl.minRttNs(), is(RTT_NS));
+        assertThat((double)congestionControl.maxBandwidth(), closeTo(BYTES_PER_SECOND, BYTES_PER_SECOND * 0.05));
+    }
+
+    @Test
+    public void shouldLimitWindowToGainOnBandwidthDelayProductInProbeBw()
+    {
+        final BbrCongestionControl congestionControl = newCongestionControl(TERM_LENGTH);
+        reachProbeBw(congestionControl);
+
+        final long bandwidthDelayProduct = congestionControl.maxBandwidth() * congestionControl.minRttNs() /
+            TimeUnit.SECONDS.toNanos(1);
+
+        for (int i = 0; i < 500; i++)
+        {
+            final int window = window(step(congestionControl, false));
+
+            assertThat(congestionControl.state(), is(PROBE_BW));
+            assertThat((long)window, lessThanOrEqualTo(
+                (long)(BbrCongestionControlConfiguration.WINDOW_GAIN * bandwidthDelayProduct) + 1));
+            assertThat(window, greaterThanOrEqualTo(4 * MTU_LENGTH));
+        }
+    }
+
+    @Test
+    public void shouldNotExceedHalfTermLength()
+    {
+        final int termLength = 64 * 1024;
+        final BbrCongestionControl congestionControl = newCongestionControl(termLength);
+        reachProbeBw(congestionControl);
+
+        for (int i = 0; i < 100; i++)
+        {
+            assertThat(window(step(congestionControl, false)), lessThanOrEqualTo(termLength / 2));
+        }
+    }
+
+    @Test
+    public void shouldProbeRttWhenMinRttHasNotBeenSeenWithinWindow()
+    {
+        final BbrCongestionControl congestionControl = newCongestionControl(TERM_LENGTH);
+        reachProbeBw(congestionControl);
+
+        congestionControl.onRttMeasurement(nowNs, RTT_NS * 2, SOURCE_ADDRESS);
+        step(congestionControl, false);
+        assertThat(congestionControl.minRttNs(), is(RTT_NS));
+
+        nowNs += BbrCongestionControlConfiguration.MIN_RTT_WINDOW_NS;
+        final long outcome = step(congestionControl, false);
+
+        assertThat(congestionControl.state(), is(PROBE_RTT));
+        assertThat(CongestionControlUtil.shouldForceStatusMessage(outcome), is(true));
+        assertThat(window(outcome), is(4 * MTU_LENGTH));
+
+        nowNs += TimeUnit.MILLISECONDS.toNanos(200);
+        step(congestionControl, false);
+
+        assertThat(congestionControl.state(), is(PROBE_BW));
+    }
+
+    @Test
+    public void shouldNotReduceWindowOnLoss()
+    {
+        final BbrCongestionControl congestionControl = newCongestionControl(TERM_LENGTH);
+        final BbrCongestionControl lossCongestionControl = newCongestionControl(TERM_LENGTH);
+        congestionControl.onRttMeasurement(nowNs, RTT_NS, SOURCE_ADDRESS);
+        lossCongestionControl.onRttMeasurement(nowNs, RTT_NS, SOURCE_ADDRESS);
+
+        while (PROBE_BW != congestionControl.state())
+        {
+            nowNs += STEP_NS;
+            position += BYTES_PER_SECOND * STEP_NS / TimeUnit.SECONDS.toNanos(1);
+
+            final long outcome = onTrackRebuild(congestionControl, false);
+            final long lossOutcome = onTrackRebuild(lossCongestionControl, true);
+
+            assertThat(lossCongestionControl.state(), is(congestionControl.state()));
+            if (PROBE_BW != congestionControl.state())
+            {
+                assertThat(lossOutcome, is(outcome));
+            }
+        }
+
+        assertThat(lossCongestionControl.maxBandwidth(), is(congestionControl.maxBandwidth()));
+    }
+
+    @Test
+    public void shouldIgnoreNegativeRttSampleAndStayInStartupWithoutMinRtt()
+    {
+        final BbrCongestionControl congestionControl = newCongestionControl(TERM_LENGTH);
+        congestionControl.onRttMeasurement(nowNs, -1, SOURCE_ADDRESS);
+
+        for (int i = 0; i < 500; i++)
+        {
+            step(congestionControl, false);
+        }
+
+        assertThat(congestionControl.minRttNs(), is(BbrCongestionControlConfiguration.INITIAL_RTT_NS));
+        assertThat(congestionControl.state(), is(STARTUP));
+        assertThat(congestionControl.maxBandwidth(), greaterThan(0L));
+    }
+
+    @Test
+    public void shouldMeasureRttOnlyAfterTimeout()
+    {
+        final BbrCongestionControl congestionControl = newCongestionControl(TERM_LENGTH);
+        nowNs = TimeUnit.MILLISECONDS.toNanos(11);
+
+        assertThat(congestionControl.shouldMeasureRtt(nowNs), is(true));
+        assertThat(congestionControl.shouldMeasureRtt(nowNs + TimeUnit.MILLISECONDS.toNanos(20)), is(false));
+
+        congestionControl.onRttMeasurement(nowNs + 1, RTT_NS, SOURCE_ADDRESS);
+
+        assertThat(congestionControl.shouldMeasureRtt(nowNs + TimeUnit.MILLISECONDS.toNanos(20)), is(true));
+    }
+
+    private void reachProbeBw(final BbrCongestionControl congestionControl)
+    {
+        congestionControl.onRttMeasurement(nowNs, RTT_NS, SOURCE_ADDRESS);
+
+        for (int i = 0; i < 1000 && PROBE_BW != congestionControl.state(); i++)
+        {
+            step(congestionControl, false);
+        }
+
+        assertThat(congestionControl.state(), is(PROBE_BW));
+    }
+
+    private long step(final BbrCongestionControl congestionControl, final boolean lossOccurred)
+    {
+        nowNs += STEP_NS;
+        position += BYTES_PER_SECOND * STEP_NS / TimeUnit.SECONDS.toNanos(1);
+
+        return onTrackRebuild(congestionControl, lossOccurred);
+    }
+
+    private long onTrackRebuild(final BbrCongestionControl congestionControl, final boolean lossOccurred)
+    {
+        return congestionControl.onTrackRebuild(nowNs, position, position, position, position, position, lossOccurred);
+    }
+
+    private static int window(final long outcome)
+    {
+        return CongestionControlUtil.receiverWindowLength(outcome);
+    }
+
+    private BbrCongestionControl newCongestionControl(final int termLength)
+    {
+        final BbrCongestionControl congestionControl = new BbrCongestionControl(
+            congestionControls.size(),
+            UDP_CHANNEL,
+            10,
+            7,
+            termLength,
+            MTU_LENGTH,
+            () -> nowNs,
+            new MediaDriver.Context(),
+            countersManager);
+
+        congestionControls.add(congestionControl);
+
+        return congestionControl;
+    }
+}
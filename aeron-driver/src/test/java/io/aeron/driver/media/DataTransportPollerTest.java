@@ -0,0 +1,397 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.media;
+
+import io.aeron.driver.exceptions.ConfigurationException;
+import io.aeron.protocol.DataHeaderFlyweight;
+import io.aeron.protocol.HeaderFlyweight;
+import io.aeron.protocol.SetupFlyweight;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.nio.channels.Selector;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import static io.aeron.driver.Configuration.MTU_LENGTH;
+import static io.aeron.logbuffer.LogBufferDescriptor.TERM_MIN_LENGTH;
+import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_DATA;
+import static io.aeron.protocol.HeaderFlyweight.HDR_TYPE_SETUP;
+import static java.nio.channels.SelectionKey.OP_READ;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class DataTransportPollerTest
+{
+    private static final int SESSION_ID = 7;
+    private static final int STREAM_ID = 10;
+    private static final int TERM_ID = 3;
+    private static final int PAYLOAD_LENGTH = 32;
+    private static final int FRAME_LENGTH = DataHeaderFlyweight.HEADER_LENGTH + PAYLOAD_LENGTH;
+    private static final InetSocketAddress SOURCE_ADDRESS = new InetSocketAddress("localhost", 40123);
+
+    private final Queue<Integer> pendingTermOffsets = new ArrayDeque<>();
+    private final Queue<UnsafeBuffer> pendingDatagrams = new ArrayDeque<>();
+    private final ByteBuffer termByteBuffer = ByteBuffer.allocateDirect(1024);
+    private final UnsafeBuffer termBuffer = new UnsafeBuffer(termByteBuffer);
+    private final List<Integer> dispatchedTermOffsets = new ArrayList<>();
+    private final ReceiveChannelEndpoint endpoint = mock(ReceiveChannelEndpoint.class);
+    private final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
+    private final List<Pipe> pipes = new ArrayList<>();
+    private DataTransportPoller poller;
+
+    @Before
+    public void setUp()
+    {
+        when(endpoint.datagramTransport()).thenReturn(mock(DatagramTransport.class));
+        when(endpoint.isValidFrame(any(UnsafeBuffer.class), anyInt())).thenReturn(true);
+        when(endpoint.receive(any(ByteBuffer.class))).then(
+            (invocation) ->
+            {
+                final Integer termOffset = pendingTermOffsets.poll();
+                if (null == termOffset)
+                {
+                    return null;
+                }
+
+                final ByteBuffer buffer = invocation.getArgument(0);
+                buffer.clear();
+                dataHeader.wrap(new UnsafeBuffer(buffer));
+                fillDataHeader(termOffset);
+                buffer.position(FRAME_LENGTH);
+
+                return SOURCE_ADDRESS;
+            });
+        when(endpoint.onDataPacket(any(DataHeaderFlyweight.class), any(UnsafeBuffer.class), anyInt(), any())).then(
+            (invocation) ->
+            {
+                final DataHeaderFlyweight header = invocation.getArgument(0);
+                dispatchedTermOffsets.add(header.termOffset());
+
+                return invocation.getArgument(2);
+            });
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        if (null != poller)
+        {
+            poller.close();
+        }
+
+        for (final Pipe pipe : pipes)
+        {
+            pipe.sink().close();
+            pipe.source().close();
+        }
+    }
+
+    @Test
+    public void shouldDrainBatchOfDatagramsBeforeDispatchingInOrder()
+    {
+        poller = new DataTransportPoller(4);
+        poller.registerForRead(endpoint);
+        for (int i = 0; i < 6; i++)
+        {
+            pendingTermOffsets.add(i * FRAME_LENGTH);
+        }
+
+        assertThat(poller.pollTransports(), is(4 * FRAME_LENGTH));
+        assertThat(dispatchedTermOffsets, contains(0, FRAME_LENGTH, 2 * FRAME_LENGTH, 3 * FRAME_LENGTH));
+
+        final InOrder inOrder = inOrder(endpoint);
+        inOrder.verify(endpoint, times(4)).receive(any(ByteBuffer.class));
+        inOrder.verify(endpoint, times(4)).onDataPacket(
+            any(DataHeaderFlyweight.class), any(UnsafeBuffer.class), eq(FRAME_LENGTH), eq(SOURCE_ADDRESS));
+
+        assertThat(poller.pollTransports(), is(2 * FRAME_LENGTH));
+        assertThat(dispatchedTermOffsets.size(), is(6));
+        assertThat(dispatchedTermOffsets.get(5), is(5 * FRAME_LENGTH));
+        verify(endpoint, times(7)).receive(any(ByteBuffer.class));
+    }
+
+    @Test
+    public void shouldReceiveSingleDatagramPerPollByDefault()
+    {
+        poller = new DataTransportPoller();
+        poller.registerForRead(endpoint);
+        pendingTermOffsets.add(0);
+        pendingTermOffsets.add(FRAME_LENGTH);
+
+        assertThat(poller.pollTransports(), is(FRAME_LENGTH));
+        assertThat(dispatchedTermOffsets, contains(0));
+        verify(endpoint, times(1)).receive(any(ByteBuffer.class));
+    }
+
+    @Test
+    public void shouldPollEachEndpointInTurnUpToIterationThreshold() throws Exception
+    {
+        poller = new DataTransportPoller(1, 3);
+        final ReceiveChannelEndpoint readyEndpoint = selectableEndpoint(true);
+        final ReceiveChannelEndpoint idleEndpoint = selectableEndpoint(false);
+        final ReceiveChannelEndpoint unselectableEndpoint = unselectableEndpoint();
+
+        poller.pollTransports();
+
+        verify(readyEndpoint).receive(any(ByteBuffer.class));
+        verify(idleEndpoint).receive(any(ByteBuffer.class));
+        verify(unselectableEndpoint).receive(any(ByteBuffer.class));
+    }
+
+    @Test
+    public void shouldSelectReadyEndpointsAboveIterationThreshold() throws Exception
+    {
+        poller = new DataTransportPoller(1, 2);
+        final ReceiveChannelEndpoint readyEndpoint = selectableEndpoint(true);
+        final ReceiveChannelEndpoint idleEndpoint = selectableEndpoint(false);
+        final ReceiveChannelEndpoint unselectableEndpoint = unselectableEndpoint();
+
+        poller.pollTransports();
+
+        verify(readyEndpoint).receive(any(ByteBuffer.class));
+        verify(idleEndpoint, never()).receive(any(ByteBuffer.class));
+        verify(unselectableEndpoint).receive(any(ByteBuffer.class));
+    }
+
+    @Test
+    public void shouldSwitchToSelectingWhenEndpointsExceedIterationThreshold() throws Exception
+    {
+        poller = new DataTransportPoller(1, 1);
+        final ReceiveChannelEndpoint idleEndpoint = selectableEndpoint(false);
+
+        poller.pollTransports();
+        verify(idleEndpoint).receive(any(ByteBuffer.class));
+
+        final ReceiveChannelEndpoint readyEndpoint = selectableEndpoint(true);
+
+        poller.pollTransports();
+        verify(idleEndpoint).receive(any(ByteBuffer.class));
+        verify(readyEndpoint).receive(any(ByteBuffer.class));
+
+        poller.cancelRead(readyEndpoint);
+
+        poller.pollTransports();
+        verify(idleEndpoint, times(2)).receive(any(ByteBuffer.class));
+    }
+
+    @Test
+    public void shouldReceiveInOrderDataPayloadDirectlyIntoTerm()
+    {
+        poller = newZeroCopyPoller(DataHeaderFlyweight.HEADER_LENGTH + 256);
+        when(endpoint.onZeroCopyDataPacket(
+            any(DataHeaderFlyweight.class), any(UnsafeBuffer.class), anyInt(), any(InetSocketAddress.class)))
+            .then((invocation) -> invocation.getArgument(2));
+        pendingDatagrams.add(newDataDatagram(0, (byte)7));
+
+        assertThat(poller.pollTransports(), is(FRAME_LENGTH));
+
+        verify(endpoint).onZeroCopyDataPacket(
+            any(DataHeaderFlyweight.class), any(UnsafeBuffer.class), eq(FRAME_LENGTH), eq(SOURCE_ADDRESS));
+        verify(endpoint, never()).onDataPacket(
+            any(DataHeaderFlyweight.class), any(UnsafeBuffer.class), anyInt(), any(InetSocketAddress.class));
+        assertTermPayload(DataHeaderFlyweight.HEADER_LENGTH, PAYLOAD_LENGTH, (byte)7);
+    }
+
+    @Test
+    public void shouldCopyAndZeroTermWhenDataIsNotInsertedInPlace()
+    {
+        poller = newZeroCopyPoller(DataHeaderFlyweight.HEADER_LENGTH + 256);
+        final List<Byte> dispatchedPayloadBytes = new ArrayList<>();
+        when(endpoint.onDataPacket(any(DataHeaderFlyweight.class), any(UnsafeBuffer.class), anyInt(), any())).then(
+            (invocation) ->
+            {
+                final UnsafeBuffer buffer = invocation.getArgument(1);
+                dispatchedTermOffsets.add(((DataHeaderFlyweight)invocation.getArgument(0)).termOffset());
+                dispatchedPayloadBytes.add(buffer.getByte(DataHeaderFlyweight.HEADER_LENGTH));
+                dispatchedPayloadBytes.add(buffer.getByte(FRAME_LENGTH - 1));
+
+                return invocation.getArgument(2);
+            });
+        pendingDatagrams.add(newDataDatagram(4 * FRAME_LENGTH, (byte)7));
+
+        assertThat(poller.pollTransports(), is(FRAME_LENGTH));
+
+        verify(endpoint).onZeroCopyDataPacket(
+            any(DataHeaderFlyweight.class), any(UnsafeBuffer.class), eq(FRAME_LENGTH), eq(SOURCE_ADDRESS));
+        assertThat(dispatchedTermOffsets, contains(4 * FRAME_LENGTH));
+        assertThat(dispatchedPayloadBytes, contains((byte)7, (byte)7));
+        assertTermPayload(DataHeaderFlyweight.HEADER_LENGTH, PAYLOAD_LENGTH, (byte)0);
+    }
+
+    @Test
+    public void shouldCopyAndDispatchNonDataFrame()
+    {
+        poller = newZeroCopyPoller(DataHeaderFlyweight.HEADER_LENGTH + 256);
+        final UnsafeBuffer datagram = new UnsafeBuffer(new byte[SetupFlyweight.HEADER_LENGTH]);
+        new SetupFlyweight(datagram)
+            .streamId(STREAM_ID)
+            .sessionId(SESSION_ID)
+            .initialTermId(TERM_ID)
+            .activeTermId(TERM_ID)
+            .termLength(TERM_MIN_LENGTH)
+            .mtuLength(MTU_LENGTH)
+            .ttl(1)
+            .frameLength(SetupFlyweight.HEADER_LENGTH)
+            .headerType(HDR_TYPE_SETUP)
+            .version(HeaderFlyweight.CURRENT_VERSION);
+        pendingDatagrams.add(datagram);
+
+        poller.pollTransports();
+
+        verify(endpoint, never()).onZeroCopyDataPacket(
+            any(DataHeaderFlyweight.class), any(UnsafeBuffer.class), anyInt(), any(InetSocketAddress.class));
+        verify(endpoint).onSetupMessage(
+            any(SetupFlyweight.class), any(UnsafeBuffer.class), eq(SetupFlyweight.HEADER_LENGTH), eq(SOURCE_ADDRESS));
+        final int spilledLength = SetupFlyweight.HEADER_LENGTH - DataHeaderFlyweight.HEADER_LENGTH;
+        assertTermPayload(DataHeaderFlyweight.HEADER_LENGTH, spilledLength, (byte)0);
+    }
+
+    @Test
+    public void shouldDropTruncatedDatagramWithoutInsertingInPlace()
+    {
+        poller = newZeroCopyPoller(DataHeaderFlyweight.HEADER_LENGTH + PAYLOAD_LENGTH);
+        final UnsafeBuffer datagram = new UnsafeBuffer(new byte[FRAME_LENGTH + PAYLOAD_LENGTH]);
+        datagram.putBytes(0, newDataDatagram(0, (byte)7), 0, FRAME_LENGTH);
+        datagram.setMemory(FRAME_LENGTH, PAYLOAD_LENGTH, (byte)7);
+        pendingDatagrams.add(datagram);
+
+        assertThat(poller.pollTransports(), is(0));
+
+        verify(endpoint, never()).onZeroCopyDataPacket(
+            any(DataHeaderFlyweight.class), any(UnsafeBuffer.class), anyInt(), any(InetSocketAddress.class));
+        verify(endpoint, never()).onDataPacket(
+            any(DataHeaderFlyweight.class), any(UnsafeBuffer.class), anyInt(), any(InetSocketAddress.class));
+        assertTermPayload(DataHeaderFlyweight.HEADER_LENGTH, PAYLOAD_LENGTH, (byte)0);
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void shouldRejectReceiveBatchSizeAboveMax()
+    {
+        new DataTransportPoller(65).close();
+    }
+
+    @Test(expected = ConfigurationException.class)
+    public void shouldRejectNegativeIterationThreshold()
+    {
+        new DataTransportPoller(1, -1).close();
+    }
+
+    private ReceiveChannelEndpoint selectableEndpoint(final boolean isReady) throws Exception
+    {
+        final Pipe pipe = Pipe.open();
+        pipes.add(pipe);
+        pipe.source().configureBlocking(false);
+        if (isReady)
+        {
+            pipe.sink().write(ByteBuffer.wrap(new byte[]{ 1 }));
+        }
+
+        final DatagramTransport datagramTransport = mock(DatagramTransport.class);
+        final ReceiveChannelEndpoint endpoint = mock(ReceiveChannelEndpoint.class);
+        when(endpoint.datagramTransport()).thenReturn(datagramTransport);
+        when(datagramTransport.registerForRead(any(Selector.class), any())).then(
+            (invocation) -> pipe.source().register(invocation.getArgument(0), OP_READ, invocation.getArgument(1)));
+
+        poller.registerForRead(endpoint);
+
+        return endpoint;
+    }
+
+    private ReceiveChannelEndpoint unselectableEndpoint()
+    {
+        final ReceiveChannelEndpoint endpoint = mock(ReceiveChannelEndpoint.class);
+        when(endpoint.datagramTransport()).thenReturn(mock(DatagramTransport.class));
+        poller.registerForRead(endpoint);
+
+        return endpoint;
+    }
+
+    private DataTransportPoller newZeroCopyPoller(final int termLimit)
+    {
+        when(endpoint.isZeroCopyReceive()).thenReturn(true);
+        when(endpoint.zeroCopyPayloadBuffer()).then(
+            (invocation) ->
+            {
+                termByteBuffer.limit(termLimit).position(DataHeaderFlyweight.HEADER_LENGTH);
+                return termByteBuffer;
+            });
+        when(endpoint.receive(any(ByteBuffer.class), any(ByteBuffer.class))).then(
+            (invocation) ->
+            {
+                final UnsafeBuffer datagram = pendingDatagrams.poll();
+                if (null == datagram)
+                {
+                    return null;
+                }
+
+                final ByteBuffer header = invocation.getArgument(0);
+                final ByteBuffer payload = invocation.getArgument(1);
+                final int headerLength = Math.min(header.remaining(), datagram.capacity());
+                final int payloadLength = Math.min(payload.remaining(), datagram.capacity() - headerLength);
+                datagram.getBytes(0, header, headerLength);
+                datagram.getBytes(headerLength, payload, payloadLength);
+
+                return SOURCE_ADDRESS;
+            });
+
+        final DataTransportPoller poller = new DataTransportPoller(1);
+        poller.registerForRead(endpoint);
+
+        return poller;
+    }
+
+    private UnsafeBuffer newDataDatagram(final int termOffset, final byte value)
+    {
+        final UnsafeBuffer datagram = new UnsafeBuffer(new byte[FRAME_LENGTH]);
+        dataHeader.wrap(datagram);
+        fillDataHeader(termOffset);
+        datagram.setMemory(DataHeaderFlyweight.HEADER_LENGTH, PAYLOAD_LENGTH, value);
+
+        return datagram;
+    }
+
+    private void assertTermPayload(final int offset, final int length, final byte value)
+    {
+        for (int i = offset; i < offset + length; i++)
+        {
+            assertThat(termBuffer.getByte(i), is(value));
+        }
+    }
+
+    private void fillDataHeader(final int termOffset)
+    {
+        dataHeader
+            .sessionId(SESSION_ID)
+            .streamId(STREAM_ID)
+            .termId(TERM_ID)
+            .termOffset(termOffset)
+            .frameLength(FRAME_LENGTH)
+            .headerType(HDR_TYPE_DATA)
+            .flags(DataHeaderFlyweight.BEGIN_AND_END_FLAGS)
+            .version(DataHeaderFlyweight.CURRENT_VERSION);
+    }
+}
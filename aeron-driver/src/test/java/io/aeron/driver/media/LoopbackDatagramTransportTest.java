@@ -0,0 +1,217 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.media;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.net.BindException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class LoopbackDatagramTransportTest
+{
+    private static final int PORT = 40123;
+
+    private final List<LoopbackDatagramTransport> transports = new ArrayList<>();
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocate(64);
+
+    @After
+    public void after()
+    {
+        transports.forEach(LoopbackDatagramTransport::close);
+    }
+
+    @Test
+    public void shouldSendToConnectedUnicastAddress() throws Exception
+    {
+        final UdpChannel udpChannel = UdpChannel.parse("aeron:udp?endpoint=localhost:" + PORT);
+        final LoopbackDatagramTransport receiver = open(
+            udpChannel, udpChannel.remoteData(), udpChannel.remoteData(), null);
+        final LoopbackDatagramTransport sender = open(
+            udpChannel, udpChannel.remoteControl(), udpChannel.localControl(), udpChannel.remoteData());
+
+        assertThat(sender.send(ByteBuffer.wrap(new byte[]{ 1, 2, 3 })), is(3));
+
+        assertThat(receiver.receive(receiveBuffer), is(sender.sourceAddress()));
+        assertThat(receiveBuffer.position(), is(3));
+        assertThat(receiveBuffer.get(2), is((byte)3));
+        assertThat(receiver.receive(receiveBuffer), nullValue());
+    }
+
+    @Test
+    public void shouldReplyToSourceAddress() throws Exception
+    {
+        final UdpChannel udpChannel = UdpChannel.parse("aeron:udp?endpoint=localhost:" + PORT);
+        final LoopbackDatagramTransport receiver = open(
+            udpChannel, udpChannel.remoteData(), udpChannel.remoteData(), null);
+        final LoopbackDatagramTransport sender = open(
+            udpChannel, udpChannel.remoteControl(), udpChannel.localControl(), udpChannel.remoteData());
+
+        sender.send(ByteBuffer.wrap(new byte[]{ 1 }));
+        final InetSocketAddress srcAddress = receiver.receive(receiveBuffer);
+
+        receiver.sendTo(ByteBuffer.wrap(new byte[]{ 2, 2 }), srcAddress);
+
+        receiveBuffer.clear();
+        assertThat(sender.receive(receiveBuffer), is(receiver.sourceAddress()));
+        assertThat(receiveBuffer.position(), is(2));
+    }
+
+    @Test
+    public void shouldScatterReceiveFromAnySource() throws Exception
+    {
+        final UdpChannel udpChannel = UdpChannel.parse("aeron:udp?endpoint=localhost:" + PORT);
+        final LoopbackDatagramTransport receiver = open(
+            udpChannel, udpChannel.remoteData(), udpChannel.remoteData(), null);
+        final LoopbackDatagramTransport sender = open(
+            udpChannel, udpChannel.remoteControl(), udpChannel.localControl(), udpChannel.remoteData());
+        final LoopbackDatagramTransport otherSender = open(
+            udpChannel, udpChannel.remoteControl(), udpChannel.localControl(), udpChannel.remoteData());
+
+        sender.send(ByteBuffer.wrap(new byte[]{ 1, 2, 3, 4, 5 }));
+        otherSender.send(ByteBuffer.wrap(new byte[]{ 9, 9, 9 }));
+
+        final ByteBuffer header = ByteBuffer.allocate(2);
+        final ByteBuffer payload = ByteBuffer.allocate(16);
+        payload.position(8);
+
+        assertThat(receiver.isScatterReceiveSupported(), is(true));
+        assertThat(receiver.receive(header, payload), is(sender.sourceAddress()));
+        assertThat(header.position(), is(2));
+        assertThat(header.get(1), is((byte)2));
+        assertThat(payload.position(), is(11));
+        assertThat(payload.get(8), is((byte)3));
+        assertThat(payload.get(10), is((byte)5));
+
+        header.clear();
+        payload.position(8);
+        assertThat(receiver.receive(header, payload), is(otherSender.sourceAddress()));
+        assertThat(header.get(0), is((byte)9));
+        assertThat(payload.position(), is(9));
+        assertThat(payload.get(8), is((byte)9));
+        assertThat(receiver.receive(receiveBuffer), nullValue());
+    }
+
+    @Test
+    public void shouldDeliverToAllMembersOfMulticastGroup() throws Exception
+    {
+        final UdpChannel udpChannel = UdpChannel.parse(
+            "aeron:udp?endpoint=224.20.30.39:" + PORT + "|interface=localhost");
+        final LoopbackDatagramTransport receiverOne = open(
+            udpChannel, udpChannel.remoteData(), udpChannel.remoteData(), null);
+        final LoopbackDatagramTransport receiverTwo = open(
+            udpChannel, udpChannel.remoteData(), udpChannel.remoteData(), null);
+        final LoopbackDatagramTransport sender = open(
+            udpChannel, udpChannel.remoteControl(), udpChannel.localControl(), udpChannel.remoteData());
+
+        sender.send(ByteBuffer.wrap(new byte[]{ 1, 2 }));
+
+        assertThat(receiverOne.receive(receiveBuffer), is(sender.sourceAddress()));
+        receiveBuffer.clear();
+        assertThat(receiverTwo.receive(receiveBuffer), is(sender.sourceAddress()));
+        receiveBuffer.clear();
+        assertThat(sender.receive(receiveBuffer), nullValue());
+    }
+
+    @Test
+    public void shouldSendSamePayloadToAllAddresses() throws Exception
+    {
+        final UdpChannel udpChannel = UdpChannel.parse("aeron:udp?endpoint=localhost:" + PORT);
+        final UdpChannel otherUdpChannel = UdpChannel.parse("aeron:udp?endpoint=localhost:" + (PORT + 1));
+        final LoopbackDatagramTransport receiverOne = open(
+            udpChannel, udpChannel.remoteData(), udpChannel.remoteData(), null);
+        final LoopbackDatagramTransport receiverTwo = open(
+            otherUdpChannel, otherUdpChannel.remoteData(), otherUdpChannel.remoteData(), null);
+        final LoopbackDatagramTransport sender = open(
+            udpChannel, udpChannel.remoteControl(), udpChannel.localControl(), null);
+
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[]{ 1, 2, 3 });
+        final InetSocketAddress[] addresses = { udpChannel.remoteData(), otherUdpChannel.remoteData() };
+
+        assertThat(sender.sendToAll(buffer, addresses, addresses.length), is(3));
+        assertThat(buffer.position(), is(0));
+
+        assertThat(receiverOne.receive(receiveBuffer), is(sender.sourceAddress()));
+        assertThat(receiveBuffer.position(), is(3));
+        receiveBuffer.clear();
+        assertThat(receiverTwo.receive(receiveBuffer), is(sender.sourceAddress()));
+        assertThat(receiveBuffer.position(), is(3));
+    }
+
+    @Test
+    public void shouldSplitSegmentedSendIntoDatagrams() throws Exception
+    {
+        final UdpChannel udpChannel = UdpChannel.parse("aeron:udp?endpoint=localhost:" + PORT);
+        final LoopbackDatagramTransport receiver = open(
+            udpChannel, udpChannel.remoteData(), udpChannel.remoteData(), null);
+        final LoopbackDatagramTransport sender = open(
+            udpChannel, udpChannel.remoteControl(), udpChannel.localControl(), udpChannel.remoteData());
+
+        assertThat(sender.isSegmentedSendSupported(), is(true));
+        assertThat(sender.sendSegmented(ByteBuffer.wrap(new byte[]{ 1, 1, 2, 2, 3 }), 2), is(5));
+
+        for (final int length : new int[]{ 2, 2, 1 })
+        {
+            receiveBuffer.clear();
+            assertThat(receiver.receive(receiveBuffer), is(sender.sourceAddress()));
+            assertThat(receiveBuffer.position(), is(length));
+        }
+
+        assertThat(receiveBuffer.get(0), is((byte)3));
+        assertThat(receiver.receive(receiveBuffer), nullValue());
+    }
+
+    @Test
+    public void shouldReturnNullForSocketOptionWhichIsNotModelled() throws Exception
+    {
+        final UdpChannel udpChannel = UdpChannel.parse("aeron:udp?endpoint=localhost:" + PORT);
+        final LoopbackDatagramTransport transport = open(
+            udpChannel, udpChannel.remoteData(), udpChannel.remoteData(), null);
+
+        assertThat(transport.getOption(StandardSocketOptions.SO_REUSEADDR), nullValue());
+        assertThat(transport.getOption(StandardSocketOptions.IP_MULTICAST_TTL), is(0));
+    }
+
+    @Test(expected = BindException.class)
+    public void shouldRejectSecondUnicastBindOnSameAddress() throws Exception
+    {
+        final UdpChannel udpChannel = UdpChannel.parse("aeron:udp?endpoint=localhost:" + PORT);
+
+        open(udpChannel, udpChannel.remoteData(), udpChannel.remoteData(), null);
+        open(udpChannel, udpChannel.remoteData(), udpChannel.remoteData(), null);
+    }
+
+    private LoopbackDatagramTransport open(
+        final UdpChannel udpChannel,
+        final InetSocketAddress endPointAddress,
+        final InetSocketAddress bindAddress,
+        final InetSocketAddress connectAddress) throws Exception
+    {
+        final LoopbackDatagramTransport transport = new LoopbackDatagramTransport();
+        transports.add(transport);
+        transport.open(udpChannel, endPointAddress, bindAddress, connectAddress);
+
+        return transport;
+    }
+}
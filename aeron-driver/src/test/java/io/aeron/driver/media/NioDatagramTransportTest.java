@@ -0,0 +1,97 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.media;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class NioDatagramTransportTest
+{
+    private static final int PORT = 40124;
+
+    private final List<NioDatagramTransport> transports = new ArrayList<>();
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocate(64);
+
+    @After
+    public void after() throws IOException
+    {
+        for (final NioDatagramTransport transport : transports)
+        {
+            transport.close();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void shouldReceiveFromConnectAddressWithoutNewSourceAddress() throws Exception
+    {
+        final UdpChannel udpChannel = UdpChannel.parse("aeron:udp?endpoint=localhost:" + PORT);
+        final NioDatagramTransport receiver = open(
+            udpChannel, udpChannel.remoteData(), udpChannel.remoteData(), null);
+        final NioDatagramTransport sender = open(
+            udpChannel, udpChannel.remoteControl(), udpChannel.localControl(), udpChannel.remoteData());
+
+        sender.send(ByteBuffer.wrap(new byte[]{ 1 }));
+        final InetSocketAddress senderAddress = awaitReceive(receiver);
+
+        receiver.sendTo(ByteBuffer.wrap(new byte[]{ 2, 2 }), senderAddress);
+        assertThat(awaitReceive(sender), sameInstance(udpChannel.remoteData()));
+        assertThat(receiveBuffer.position(), is(2));
+
+        receiver.sendTo(ByteBuffer.wrap(new byte[]{ 3, 3, 3 }), senderAddress);
+        assertThat(awaitReceive(sender), sameInstance(udpChannel.remoteData()));
+        assertThat(receiveBuffer.position(), is(3));
+
+        receiveBuffer.clear();
+        assertThat(sender.receive(receiveBuffer), nullValue());
+    }
+
+    private InetSocketAddress awaitReceive(final NioDatagramTransport transport) throws IOException
+    {
+        InetSocketAddress srcAddress;
+        do
+        {
+            receiveBuffer.clear();
+            srcAddress = transport.receive(receiveBuffer);
+        }
+        while (null == srcAddress);
+
+        return srcAddress;
+    }
+
+    private NioDatagramTransport open(
+        final UdpChannel udpChannel,
+        final InetSocketAddress endPointAddress,
+        final InetSocketAddress bindAddress,
+        final InetSocketAddress connectAddress) throws Exception
+    {
+        final NioDatagramTransport transport = new NioDatagramTransport();
+        transports.add(transport);
+        transport.open(udpChannel, endPointAddress, bindAddress, connectAddress);
+
+        return transport;
+    }
+}
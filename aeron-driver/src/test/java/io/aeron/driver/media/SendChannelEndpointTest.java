@@ -0,0 +1,153 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.media;
+
+import io.aeron.driver.Configuration;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.status.SystemCounters;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class SendChannelEndpointTest
+{
+    private static final UdpChannel SEGMENTED_UDP_CHANNEL = UdpChannel.parse(
+        "aeron:udp?endpoint=localhost:40123|gso=true");
+
+    private final DatagramTransport datagramTransport = mock(DatagramTransport.class);
+    private final SystemCounters systemCounters = mock(SystemCounters.class);
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(128 * 1024);
+    private final List<String> segmentedSends = new ArrayList<>();
+    private int bytesSentLimit = Integer.MAX_VALUE;
+    private SendChannelEndpoint sendChannelEndpoint;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        when(systemCounters.get(any())).thenReturn(mock(AtomicCounter.class));
+        when(datagramTransport.isSegmentedSendSupported()).thenReturn(true);
+        when(datagramTransport.sendSegmented(any(ByteBuffer.class), anyInt())).then(
+            (invocation) ->
+            {
+                final ByteBuffer buffer = invocation.getArgument(0);
+                final int segmentLength = invocation.getArgument(1);
+                final int length = Math.min(buffer.remaining(), bytesSentLimit);
+                segmentedSends.add(buffer.position() + ":" + buffer.remaining() + "/" + segmentLength);
+                buffer.position(buffer.position() + length);
+
+                return length;
+            });
+
+        sendChannelEndpoint = newSendChannelEndpoint(SEGMENTED_UDP_CHANNEL);
+    }
+
+    @Test
+    public void shouldCoalesceEqualLengthDatagramsEndingWithShorterDatagram() throws Exception
+    {
+        final int[] datagramLengths = { 96, 96, 96, 64, 96, 96 };
+
+        assertThat(sendChannelEndpoint.send(buffer, datagramLengths, datagramLengths.length), is(6));
+
+        assertThat(segmentedSends, contains("0:352/96", "352:192/96"));
+        assertThat(buffer.limit(), is(buffer.capacity()));
+    }
+
+    @Test
+    public void shouldStartNewSegmentedSendWhenDatagramIsLonger() throws Exception
+    {
+        final int[] datagramLengths = { 64, 96, 96 };
+
+        assertThat(sendChannelEndpoint.send(buffer, datagramLengths, datagramLengths.length), is(3));
+
+        assertThat(segmentedSends, contains("0:64/64", "64:192/96"));
+    }
+
+    @Test
+    public void shouldLimitSegmentedSendToMaxUdpPayloadLength() throws Exception
+    {
+        final int segmentLength = 1408;
+        final int[] datagramLengths = new int[50];
+        Arrays.fill(datagramLengths, segmentLength);
+        final int segmentsPerSend = Configuration.MAX_UDP_PAYLOAD_LENGTH / segmentLength;
+
+        assertThat(sendChannelEndpoint.send(buffer, datagramLengths, datagramLengths.length), is(50));
+
+        assertThat(segmentedSends, contains(
+            "0:" + (segmentsPerSend * segmentLength) + "/" + segmentLength,
+            (segmentsPerSend * segmentLength) + ":" + ((50 - segmentsPerSend) * segmentLength) + "/" + segmentLength));
+    }
+
+    @Test
+    public void shouldCountOnlyFullySentDatagramsOnPartialSend() throws Exception
+    {
+        final int[] datagramLengths = { 96, 96, 96, 96, 64, 96 };
+        bytesSentLimit = 250;
+
+        assertThat(sendChannelEndpoint.send(buffer, datagramLengths, datagramLengths.length), is(2));
+
+        assertThat(segmentedSends, contains("0:448/96"));
+        assertThat(buffer.limit(), is(buffer.capacity()));
+    }
+
+    @Test
+    public void shouldNotCountPartiallySentShorterLastDatagram() throws Exception
+    {
+        final int[] datagramLengths = { 96, 96, 64 };
+        bytesSentLimit = 250;
+
+        assertThat(sendChannelEndpoint.send(buffer, datagramLengths, datagramLengths.length), is(2));
+    }
+
+    @Test
+    public void shouldSendDatagramsOneAtATimeWhenTransportDoesNotSupportSegmentedSend() throws Exception
+    {
+        when(datagramTransport.isSegmentedSendSupported()).thenReturn(false);
+        when(datagramTransport.send(any(ByteBuffer.class))).then(
+            (invocation) -> ((ByteBuffer)invocation.getArgument(0)).remaining());
+        final SendChannelEndpoint sendChannelEndpoint = newSendChannelEndpoint(SEGMENTED_UDP_CHANNEL);
+        final int[] datagramLengths = { 96, 96, 96 };
+
+        assertThat(sendChannelEndpoint.send(buffer, datagramLengths, datagramLengths.length), is(3));
+
+        verify(datagramTransport, times(3)).send(any(ByteBuffer.class));
+        verify(datagramTransport, never()).sendSegmented(any(ByteBuffer.class), anyInt());
+    }
+
+    private SendChannelEndpoint newSendChannelEndpoint(final UdpChannel udpChannel)
+    {
+        final MediaDriver.Context context = new MediaDriver.Context()
+            .systemCounters(systemCounters)
+            .datagramTransportSupplier((channel) -> datagramTransport);
+
+        return new SendChannelEndpoint(udpChannel, mock(AtomicCounter.class), context);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.driver.media;
+
+import io.aeron.protocol.StatusMessageFlyweight;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class UdpDestinationTrackerTest
+{
+    private static final long TIMEOUT_NS = 5_000_000_000L;
+    private static final UdpDestinationTracker.PreSendFunction PRE_SEND_FUNCTION = (buffer, address) -> {};
+
+    private final InetSocketAddress addressOne = new InetSocketAddress("localhost", 40123);
+    private final InetSocketAddress addressTwo = new InetSocketAddress("localhost", 40124);
+    private final DatagramTransport datagramTransport = mock(DatagramTransport.class);
+    private final ByteBuffer buffer = ByteBuffer.allocate(32);
+    private long nowNs = 0;
+
+    @Test
+    public void shouldSendToAllDestinationsInOneOperation() throws Exception
+    {
+        final UdpDestinationTracker tracker = new UdpDestinationTracker(PRE_SEND_FUNCTION);
+        tracker.addDestination(addressOne);
+        tracker.addDestination(addressTwo);
+        when(datagramTransport.sendToAll(eq(buffer), any(), eq(2))).thenReturn(32);
+
+        assertThat(tracker.sendToDestinations(datagramTransport, buffer), is(32));
+
+        verify(datagramTransport).sendToAll(eq(buffer), any(), eq(2));
+        verify(datagramTransport, never()).sendTo(any(), any());
+    }
+
+    @Test
+    public void shouldNotExpireDestinationsOnSend() throws Exception
+    {
+        final UdpDestinationTracker tracker = new UdpDestinationTracker(() -> nowNs, PRE_SEND_FUNCTION, TIMEOUT_NS);
+        tracker.destinationActivity(statusMessage(1), addressOne);
+
+        nowNs += TIMEOUT_NS + 1;
+        tracker.sendToDestinations(datagramTransport, buffer);
+
+        verify(datagramTransport).sendToAll(eq(buffer), any(), eq(1));
+    }
+
+    @Test
+    public void shouldRemoveExpiredDestinations() throws Exception
+    {
+        final UdpDestinationTracker tracker = new UdpDestinationTracker(() -> nowNs, PRE_SEND_FUNCTION, TIMEOUT_NS);
+        tracker.destinationActivity(statusMessage(1), addressOne);
+        nowNs += TIMEOUT_NS;
+        tracker.destinationActivity(statusMessage(2), addressTwo);
+
+        nowNs += 1;
+        assertThat(tracker.removeExpiredDestinations(nowNs), is(1));
+
+        tracker.sendToDestinations(datagramTransport, buffer);
+        verify(datagramTransport).sendToAll(eq(buffer), any(), eq(1));
+    }
+
+    @Test
+    public void shouldNotExpireManualDestinations()
+    {
+        final UdpDestinationTracker tracker = new UdpDestinationTracker(PRE_SEND_FUNCTION);
+        tracker.addDestination(addressOne);
+
+        assertThat(tracker.removeExpiredDestinations(Long.MAX_VALUE), is(0));
+    }
+
+    private static StatusMessageFlyweight statusMessage(final long receiverId)
+    {
+        final StatusMessageFlyweight msg = new StatusMessageFlyweight(ByteBuffer.allocate(64));
+        msg.receiverId(receiverId);
+
+        return msg;
+    }
+}
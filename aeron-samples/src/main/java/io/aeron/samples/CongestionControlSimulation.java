@@ -0,0 +1,278 @@
+/*
+ * Copyright 2014-2017 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.aeron.samples;
+
+import io.aeron.driver.CongestionControl;
+import io.aeron.driver.CongestionControlSupplier;
+import io.aeron.driver.CongestionControlUtil;
+import io.aeron.driver.DefaultCongestionControlSupplier;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ext.BbrCongestionControlSupplier;
+import io.aeron.driver.ext.CubicCongestionControlSupplier;
+import io.aeron.driver.ext.LossGenerator;
+import io.aeron.driver.ext.RandomLossGenerator;
+import io.aeron.driver.media.UdpChannel;
+import org.agrona.collections.LongArrayList;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.CountersManager;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulation of a single stream over a bottleneck link to compare {@link CongestionControl} strategies without a
+ * network.
+ * <p>
+ * The sender sends as fast as the receiver window allows into a bottleneck queue of limited length which drains at
+ * the link bandwidth then delays each datagram by the one way propagation delay. Datagrams are dropped when the queue
+ * is full or when the {@link LossGenerator} says so, and are retransmitted a round trip after being lost as they would
+ * be following a NAK. The receiver passes its progress to the congestion control, sends status messages when the
+ * window is a quarter consumed, and measures RTT including the queueing delay when asked.
+ * <p>
+ * Configure with the system properties below then run to print delivered throughput for each strategy.
+ */
+public class CongestionControlSimulation
+{
+    private static final long BANDWIDTH_MBPS = Long.getLong("aeron.sample.simulation.bandwidthMbps", 1000);
+    private static final long RTT_US = Long.getLong("aeron.sample.simulation.rttUs", 50_000);
+    private static final int QUEUE_LENGTH = Integer.getInteger("aeron.sample.simulation.queueLength", 256 * 1024);
+    private static final double LOSS_RATE = Double.parseDouble(
+        System.getProperty("aeron.sample.simulation.lossRate", "0.0001"));
+    private static final long DURATION_MS = Long.getLong("aeron.sample.simulation.durationMs", 10_000);
+    private static final int TERM_LENGTH = Integer.getInteger("aeron.sample.simulation.termLength", 64 * 1024 * 1024);
+    private static final int MTU_LENGTH = 1408;
+
+    private static final long TICK_NS = TimeUnit.MICROSECONDS.toNanos(10);
+    private static final long SENDER_BYTES_PER_TICK = (10_000_000_000L / 8) * TICK_NS / TimeUnit.SECONDS.toNanos(1);
+    private static final long STATUS_MESSAGE_TIMEOUT_NS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final long oneWayDelayNs = TimeUnit.MICROSECONDS.toNanos(RTT_US) / 2;
+    private final double linkBytesPerNs = (BANDWIDTH_MBPS * 1_000_000.0 / 8) / TimeUnit.SECONDS.toNanos(1);
+    private final LossGenerator lossGenerator = new RandomLossGenerator(LOSS_RATE, 7);
+    private final CongestionControl congestionControl;
+
+    private final ArrayDeque<long[]> bottleneckQueue = new ArrayDeque<>();
+    private final ArrayDeque<long[]> inFlight = new ArrayDeque<>();
+    private final ArrayDeque<long[]> statusMessages = new ArrayDeque<>();
+    private final ArrayDeque<long[]> retransmitRequests = new ArrayDeque<>();
+    private final LongArrayList rttReplies = new LongArrayList();
+    private final LongArrayList lossDetections = new LongArrayList();
+    private final BitSet received = new BitSet();
+
+    private long nowNs = 0;
+    private long senderPosition = 0;
+    private long senderLimit = 0;
+    private long queuedBytes = 0;
+    private double linkCredit = 0;
+    private long hwmPosition = 0;
+    private long rebuildPosition = 0;
+    private long lastSmPosition = 0;
+    private long lastSmTimeNs = 0;
+    private long droppedCount = 0;
+    private long windowSum = 0;
+    private long windowSamples = 0;
+
+    public CongestionControlSimulation(final CongestionControlSupplier supplier)
+    {
+        final CountersManager countersManager = new CountersManager(
+            new UnsafeBuffer(ByteBuffer.allocateDirect(64 * 1024)),
+            new UnsafeBuffer(ByteBuffer.allocateDirect(16 * 1024)));
+
+        congestionControl = supplier.newInstance(
+            1,
+            UdpChannel.parse("aeron:udp?endpoint=localhost:40123"),
+            1,
+            1,
+            TERM_LENGTH,
+            MTU_LENGTH,
+            () -> nowNs,
+            new MediaDriver.Context(),
+            countersManager);
+    }
+
+    public static void main(final String[] args)
+    {
+        System.out.format(
+            "Bottleneck %d Mbps, RTT %d us, queue %d bytes, loss rate %f, duration %d ms%n",
+            BANDWIDTH_MBPS, RTT_US, QUEUE_LENGTH, LOSS_RATE, DURATION_MS);
+
+        run("static", new DefaultCongestionControlSupplier());
+        run("cubic", new CubicCongestionControlSupplier());
+        run("bbr", new BbrCongestionControlSupplier());
+    }
+
+    private static void run(final String name, final CongestionControlSupplier supplier)
+    {
+        final CongestionControlSimulation simulation = new CongestionControlSimulation(supplier);
+        simulation.run(TimeUnit.MILLISECONDS.toNanos(DURATION_MS));
+
+        final double seconds = DURATION_MS / 1000.0;
+        final double mbps = (simulation.rebuildPosition * 8 / 1_000_000.0) / seconds;
+
+        System.out.format(
+            "%-8s %,10.1f Mbps (%5.1f%% of link), dropped %,d, mean window %,d bytes%n",
+            name,
+            mbps,
+            mbps * 100 / BANDWIDTH_MBPS,
+            simulation.droppedCount,
+            simulation.windowSamples > 0 ? simulation.windowSum / simulation.windowSamples : 0);
+    }
+
+    private void run(final long durationNs)
+    {
+        final int initialWindow = congestionControl.initialWindowLength();
+        statusMessages.add(new long[]{ oneWayDelayNs, 0, initialWindow });
+
+        while (nowNs < durationNs)
+        {
+            onStatusMessages();
+            send();
+            drainBottleneck();
+            receive();
+            trackRebuild();
+
+            nowNs += TICK_NS;
+        }
+
+        congestionControl.close();
+    }
+
+    private void onStatusMessages()
+    {
+        while (!statusMessages.isEmpty() && statusMessages.peekFirst()[0] <= nowNs)
+        {
+            final long[] statusMessage = statusMessages.pollFirst();
+            senderLimit = Math.max(senderLimit, statusMessage[1] + statusMessage[2]);
+        }
+    }
+
+    private void send()
+    {
+        long bytesSent = 0;
+
+        while (bytesSent < SENDER_BYTES_PER_TICK &&
+            !retransmitRequests.isEmpty() && retransmitRequests.peekFirst()[0] <= nowNs)
+        {
+            sendDatagram(retransmitRequests.pollFirst()[1]);
+            bytesSent += MTU_LENGTH;
+        }
+
+        while (bytesSent < SENDER_BYTES_PER_TICK && senderPosition + MTU_LENGTH <= senderLimit)
+        {
+            sendDatagram(senderPosition);
+            senderPosition += MTU_LENGTH;
+            bytesSent += MTU_LENGTH;
+        }
+    }
+
+    private void sendDatagram(final long position)
+    {
+        if (lossGenerator.shouldDropFrame(null, null, MTU_LENGTH) || queuedBytes + MTU_LENGTH > QUEUE_LENGTH)
+        {
+            droppedCount++;
+            lossDetections.addLong(nowNs + oneWayDelayNs);
+            retransmitRequests.add(new long[]{ nowNs + (2 * oneWayDelayNs), position });
+            return;
+        }
+
+        bottleneckQueue.add(new long[]{ position });
+        queuedBytes += MTU_LENGTH;
+    }
+
+    private void drainBottleneck()
+    {
+        linkCredit += linkBytesPerNs * TICK_NS;
+
+        while (!bottleneckQueue.isEmpty() && linkCredit >= MTU_LENGTH)
+        {
+            final long position = bottleneckQueue.pollFirst()[0];
+            queuedBytes -= MTU_LENGTH;
+            linkCredit -= MTU_LENGTH;
+            inFlight.add(new long[]{ nowNs + oneWayDelayNs, position });
+        }
+
+        if (bottleneckQueue.isEmpty())
+        {
+            linkCredit = Math.min(linkCredit, MTU_LENGTH);
+        }
+    }
+
+    private void receive()
+    {
+        while (!inFlight.isEmpty() && inFlight.peekFirst()[0] <= nowNs)
+        {
+            final long position = inFlight.pollFirst()[1];
+            received.set((int)(position / MTU_LENGTH));
+            hwmPosition = Math.max(hwmPosition, position + MTU_LENGTH);
+        }
+
+        for (int i = rttReplies.size() - 1; i >= 0; i--)
+        {
+            final long sentNs = rttReplies.getLong(i);
+            final long rttNs = (2 * oneWayDelayNs) + (long)(queuedBytes / linkBytesPerNs);
+            if (sentNs + rttNs <= nowNs)
+            {
+                rttReplies.remove(i);
+                congestionControl.onRttMeasurement(nowNs, nowNs - sentNs, null);
+            }
+        }
+
+        if (congestionControl.shouldMeasureRtt(nowNs))
+        {
+            rttReplies.addLong(nowNs);
+        }
+    }
+
+    private void trackRebuild()
+    {
+        boolean lossOccurred = false;
+        for (int i = lossDetections.size() - 1; i >= 0; i--)
+        {
+            if (lossDetections.getLong(i) <= nowNs)
+            {
+                lossDetections.remove(i);
+                lossOccurred = true;
+            }
+        }
+
+        final long startingRebuildPosition = rebuildPosition;
+        rebuildPosition = (long)received.nextClearBit((int)(rebuildPosition / MTU_LENGTH)) * MTU_LENGTH;
+
+        final long ccOutcome = congestionControl.onTrackRebuild(
+            nowNs,
+            rebuildPosition,
+            lastSmPosition,
+            hwmPosition,
+            startingRebuildPosition,
+            rebuildPosition,
+            lossOccurred);
+
+        final int window = CongestionControlUtil.receiverWindowLength(ccOutcome);
+        windowSum += window;
+        windowSamples++;
+
+        if (CongestionControlUtil.shouldForceStatusMessage(ccOutcome) ||
+            rebuildPosition > lastSmPosition + CongestionControlUtil.positionThreshold(window) ||
+            nowNs > lastSmTimeNs + STATUS_MESSAGE_TIMEOUT_NS)
+        {
+            statusMessages.add(new long[]{ nowNs + oneWayDelayNs, rebuildPosition, window });
+            lastSmPosition = rebuildPosition;
+            lastSmTimeNs = nowNs;
+        }
+    }
+}